@@ -0,0 +1,69 @@
+package hu.alextoth.injector.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.alextoth.injector.DependencyInjector;
+
+/**
+ * Benchmark of {@link DependencyInjector#injectDependencies()} over synthetic
+ * graphs of different sizes.<br>
+ * Each invocation gets a freshly created injector, as injection can only be
+ * done once per injector.
+ *
+ * @author Alex Toth
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class InjectDependenciesBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	private int size;
+
+	@Param({ "true", "false" })
+	private boolean indexed;
+
+	private SyntheticGraph syntheticGraph;
+	private DependencyInjector dependencyInjector;
+
+	@Setup(Level.Trial)
+	public void setUpGraph() throws IOException {
+		syntheticGraph = SyntheticGraph.create(size, indexed);
+		Thread.currentThread().setContextClassLoader(syntheticGraph.getClassLoader());
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpInjector() {
+		dependencyInjector = new DependencyInjector(syntheticGraph.getPackageName());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		syntheticGraph.close();
+	}
+
+	@Benchmark
+	public DependencyInjector injectDependencies() {
+		dependencyInjector.injectDependencies();
+		return dependencyInjector;
+	}
+
+}
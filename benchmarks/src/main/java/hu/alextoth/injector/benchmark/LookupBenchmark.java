@@ -0,0 +1,98 @@
+package hu.alextoth.injector.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.alextoth.injector.DependencyInjector;
+import hu.alextoth.injector.annotation.Alias;
+
+/**
+ * Benchmark of {@link DependencyInjector#getDependency(Class, String)} hot
+ * lookups of already created components, both single-threaded and contended.
+ *
+ * @author Alex Toth
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LookupBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Container {
+
+		@Param({ "100", "10000" })
+		private int size;
+
+		@Param({ "true", "false" })
+		private boolean frozen;
+
+		private SyntheticGraph syntheticGraph;
+		private DependencyInjector dependencyInjector;
+		private Class<?>[] components;
+
+		@Setup(Level.Trial)
+		public void setUp() throws IOException {
+			syntheticGraph = SyntheticGraph.create(size, true);
+			Thread.currentThread().setContextClassLoader(syntheticGraph.getClassLoader());
+
+			dependencyInjector = new DependencyInjector(syntheticGraph.getPackageName());
+			dependencyInjector.injectDependencies();
+
+			components = syntheticGraph.getComponents();
+			for (Class<?> component : components) {
+				dependencyInjector.getDependency(component, Alias.DEFAULT_ALIAS);
+			}
+
+			if (frozen) {
+				dependencyInjector.freeze();
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() throws IOException {
+			syntheticGraph.close();
+		}
+
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int index;
+
+		private Class<?> next(Class<?>[] components) {
+			index = (index + 1) % components.length;
+			return components[index];
+		}
+
+	}
+
+	@Benchmark
+	public Object getDependency(Container container, Cursor cursor) {
+		return container.dependencyInjector.getDependency(cursor.next(container.components), Alias.DEFAULT_ALIAS);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public Object getDependencyContended(Container container, Cursor cursor) {
+		return container.dependencyInjector.getDependency(cursor.next(container.components), Alias.DEFAULT_ALIAS);
+	}
+
+}
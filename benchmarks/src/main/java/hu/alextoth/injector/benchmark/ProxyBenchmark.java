@@ -0,0 +1,63 @@
+package hu.alextoth.injector.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.alextoth.injector.DependencyInjector;
+import hu.alextoth.injector.annotation.Alias;
+import hu.alextoth.injector.benchmark.proxy.ProxiedConfiguration;
+import hu.alextoth.injector.benchmark.proxy.ProxiedService;
+
+/**
+ * Benchmark of the method call overhead of the proxies created for
+ * configuration classes, compared to plain instances.
+ *
+ * @author Alex Toth
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProxyBenchmark {
+
+	private ProxiedConfiguration plainConfiguration;
+	private ProxiedConfiguration proxiedConfiguration;
+	private int value;
+
+	@Setup
+	public void setUp() {
+		DependencyInjector dependencyInjector = new DependencyInjector(ProxiedConfiguration.class.getPackage().getName());
+		dependencyInjector.injectDependencies();
+
+		plainConfiguration = new ProxiedConfiguration();
+		proxiedConfiguration = dependencyInjector.getDependency(ProxiedConfiguration.class, Alias.DEFAULT_ALIAS);
+	}
+
+	@Benchmark
+	public int plainMethodCall() {
+		return plainConfiguration.compute(value++);
+	}
+
+	@Benchmark
+	public int proxiedMethodCall() {
+		return proxiedConfiguration.compute(value++);
+	}
+
+	@Benchmark
+	public ProxiedService proxiedInjectableMethodCall() {
+		return proxiedConfiguration.proxiedService();
+	}
+
+}
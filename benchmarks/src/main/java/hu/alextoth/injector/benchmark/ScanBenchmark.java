@@ -0,0 +1,61 @@
+package hu.alextoth.injector.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.alextoth.injector.DependencyInjector;
+
+/**
+ * Benchmark of creating a {@link DependencyInjector}, which collects the
+ * metadata of the given package either from the dependency index or by
+ * scanning the classpath.
+ *
+ * @author Alex Toth
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScanBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	private int size;
+
+	@Param({ "true", "false" })
+	private boolean indexed;
+
+	private SyntheticGraph syntheticGraph;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		syntheticGraph = SyntheticGraph.create(size, indexed);
+		Thread.currentThread().setContextClassLoader(syntheticGraph.getClassLoader());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		syntheticGraph.close();
+	}
+
+	@Benchmark
+	public DependencyInjector createDependencyInjector() {
+		return new DependencyInjector(syntheticGraph.getPackageName());
+	}
+
+}
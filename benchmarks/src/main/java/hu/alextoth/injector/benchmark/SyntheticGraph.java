@@ -0,0 +1,194 @@
+package hu.alextoth.injector.benchmark;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import hu.alextoth.injector.processor.ComponentFactoryProcessor;
+import hu.alextoth.injector.processor.DependencyIndexProcessor;
+
+/**
+ * Synthetic graph of components, generated and compiled at runtime.<br>
+ * Component {@code i} gets component {@code i - 1} injected into a field and
+ * component {@code (i - 1) / 2} injected through a method, so the graph is both
+ * deep and wide. Each graph lives in its own package and class loader.
+ *
+ * @author Alex Toth
+ */
+public final class SyntheticGraph implements Closeable {
+
+	private static final String PACKAGE_PREFIX = "hu.alextoth.injector.benchmark.generated";
+	private static final String COMPONENT_PREFIX = "Component";
+
+	private final String packageName;
+	private final Path directory;
+	private final URLClassLoader classLoader;
+	private final Class<?>[] components;
+
+	private SyntheticGraph(String packageName, Path directory, URLClassLoader classLoader, Class<?>[] components) {
+		this.packageName = packageName;
+		this.directory = directory;
+		this.classLoader = classLoader;
+		this.components = components;
+	}
+
+	/**
+	 * Generates and compiles a graph of the given size.
+	 *
+	 * @param size    Number of components in the graph.
+	 * @param indexed Whether the compile time dependency index and component
+	 *                factories must be generated or not.
+	 * @return The compiled graph.
+	 * @throws IOException If the graph cannot be written or compiled.
+	 */
+	public static SyntheticGraph create(int size, boolean indexed) throws IOException {
+		String packageName = String.format("%s.%s%d", PACKAGE_PREFIX, indexed ? "indexed" : "scanned", size);
+		Path directory = Files.createTempDirectory("synthetic-graph");
+		Path packageDirectory = Files.createDirectories(directory.resolve(packageName.replace('.', '/')));
+
+		List<Path> sourceFiles = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Path sourceFile = packageDirectory.resolve(COMPONENT_PREFIX + i + ".java");
+			Files.write(sourceFile, createSourceOf(packageName, i).getBytes(StandardCharsets.UTF_8));
+			sourceFiles.add(sourceFile);
+		}
+
+		compile(directory, sourceFiles, indexed);
+
+		URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() },
+				SyntheticGraph.class.getClassLoader());
+		Class<?>[] components = new Class<?>[size];
+		try {
+			for (int i = 0; i < size; i++) {
+				components[i] = classLoader.loadClass(packageName + "." + COMPONENT_PREFIX + i);
+			}
+		} catch (ClassNotFoundException e) {
+			classLoader.close();
+			throw new IOException("Cannot load synthetic component", e);
+		}
+
+		return new SyntheticGraph(packageName, directory, classLoader, components);
+	}
+
+	/**
+	 * Returns the package of the graph.
+	 *
+	 * @return The package of the graph.
+	 */
+	public String getPackageName() {
+		return packageName;
+	}
+
+	/**
+	 * Returns the class loader of the graph. It must be set as the context class
+	 * loader of the thread scanning the graph.
+	 *
+	 * @return The class loader of the graph.
+	 */
+	public ClassLoader getClassLoader() {
+		return classLoader;
+	}
+
+	/**
+	 * Returns the component classes of the graph.
+	 *
+	 * @return The component classes of the graph.
+	 */
+	public Class<?>[] getComponents() {
+		return components.clone();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		classLoader.close();
+
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	/**
+	 * Returns the source code of the given component.
+	 *
+	 * @param packageName Package of the component.
+	 * @param index       Index of the component.
+	 * @return The source code of the given component.
+	 */
+	private static String createSourceOf(String packageName, int index) {
+		StringBuilder source = new StringBuilder();
+		source.append("package ").append(packageName).append(";\n\n");
+		source.append("@hu.alextoth.injector.annotation.Component\n");
+		source.append("public class ").append(COMPONENT_PREFIX).append(index).append(" {\n");
+		if (index > 0) {
+			String previous = COMPONENT_PREFIX + (index - 1);
+			String parent = COMPONENT_PREFIX + ((index - 1) / 2);
+
+			source.append("\t@hu.alextoth.injector.annotation.Inject\n");
+			source.append("\t").append(previous).append(" previous;\n");
+			source.append("\tprivate ").append(parent).append(" parent;\n");
+			source.append("\t@hu.alextoth.injector.annotation.Inject\n");
+			source.append("\tpublic void setParent(").append(parent).append(" parent) {\n");
+			source.append("\t\tthis.parent = parent;\n");
+			source.append("\t}\n");
+		}
+		source.append("}\n");
+		return source.toString();
+	}
+
+	/**
+	 * Compiles the given source files into the given directory.
+	 *
+	 * @param directory   Output directory.
+	 * @param sourceFiles Source files to be compiled.
+	 * @param indexed     Whether the framework's annotation processors must run or
+	 *                    not.
+	 * @throws IOException If the sources cannot be compiled.
+	 */
+	private static void compile(Path directory, List<Path> sourceFiles, boolean indexed) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			throw new IOException("Synthetic graphs can only be compiled on a JDK");
+		}
+
+		List<String> options = new ArrayList<>(Arrays.asList("-classpath", System.getProperty("java.class.path"),
+				"-d", directory.toString()));
+		if (indexed) {
+			options.add("-processor");
+			options.add(DependencyIndexProcessor.class.getName() + "," + ComponentFactoryProcessor.class.getName());
+		} else {
+			options.add("-proc:none");
+		}
+
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+				StandardCharsets.UTF_8)) {
+			Iterable<? extends JavaFileObject> compilationUnits = fileManager
+					.getJavaFileObjectsFromFiles(sourceFiles.stream().map(Path::toFile)::iterator);
+
+			if (!compiler.getTask(null, fileManager, null, options, null, compilationUnits).call()) {
+				throw new IOException("Cannot compile synthetic graph");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,23 @@
+package hu.alextoth.injector.benchmark.proxy;
+
+import hu.alextoth.injector.annotation.Configuration;
+import hu.alextoth.injector.annotation.Injectable;
+
+/**
+ * Configuration class, which is always proxied by the framework.
+ *
+ * @author Alex Toth
+ */
+@Configuration
+public class ProxiedConfiguration {
+
+	@Injectable
+	public ProxiedService proxiedService() {
+		return new ProxiedService();
+	}
+
+	public int compute(int value) {
+		return value * 31 + 7;
+	}
+
+}
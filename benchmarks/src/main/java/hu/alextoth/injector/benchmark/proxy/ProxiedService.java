@@ -0,0 +1,10 @@
+package hu.alextoth.injector.benchmark.proxy;
+
+/**
+ * Service provided by {@link ProxiedConfiguration}.
+ *
+ * @author Alex Toth
+ */
+public class ProxiedService {
+
+}
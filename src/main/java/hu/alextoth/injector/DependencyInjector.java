@@ -1,58 +1,370 @@
 package hu.alextoth.injector;
 
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
 import org.reflections.Reflections;
-import org.reflections.scanners.FieldAnnotationsScanner;
-import org.reflections.scanners.MethodAnnotationsScanner;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
 
 import hu.alextoth.injector.annotation.Component;
 import hu.alextoth.injector.annotation.Configuration;
 import hu.alextoth.injector.annotation.Inject;
 import hu.alextoth.injector.annotation.Injectable;
+import hu.alextoth.injector.annotation.Value;
 import hu.alextoth.injector.core.AnnotationProcessor;
+import hu.alextoth.injector.core.ContainerMetrics;
 import hu.alextoth.injector.core.DependencyAliasResolver;
 import hu.alextoth.injector.core.DependencyHandler;
+import hu.alextoth.injector.core.InitializationReport;
 import hu.alextoth.injector.core.ValueResolver;
+import hu.alextoth.injector.core.WiringPlan;
 import hu.alextoth.injector.core.helper.AnnotationProcessorHelper;
+import hu.alextoth.injector.core.helper.SubtypeIndex;
+import hu.alextoth.injector.core.helper.ValueConverters;
+import hu.alextoth.injector.property.PropertyResolver;
+import hu.alextoth.injector.property.PropertySource;
+import hu.alextoth.injector.provider.Provider;
+import hu.alextoth.injector.scan.ClasspathScanner;
+import hu.alextoth.injector.scan.ScanCache;
+import hu.alextoth.injector.scope.Scope;
 
 /**
- * Main class of the dependency injection framework.
+ * Main class of the dependency injection framework.<br>
+ * Child containers created by {@link #createChild()} share the scanned
+ * metadata and the frozen dependencies of their parent, and hold only their own
+ * overrides.
  * 
  * @author Alex Toth
  */
 public class DependencyInjector {
 
+	private final String[] basePackages;
+	private final ClasspathScanner classpathScanner;
+	private final Reflections reflections;
+	private final SubtypeIndex subtypeIndex;
+	private final ValueConverters valueConverters;
+	private final PropertyResolver propertyResolver;
+
 	private final AnnotationProcessor annotationProcessor;
 	private final DependencyHandler dependencyHandler;
 
-	public DependencyInjector(String basePackage) {
-		Reflections reflections = new Reflections(
-				new ConfigurationBuilder()
-						.setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner(),
-								new FieldAnnotationsScanner(), new MethodAnnotationsScanner())
-						.setUrls(ClasspathHelper.forPackage(basePackage)));
+	public DependencyInjector(String... basePackages) {
+		this(new ClasspathScanner(), basePackages);
+	}
+
+	/**
+	 * Creates a dependency injector which persists the scanned classpath metadata
+	 * in the given file. Classpath roots which haven't changed since the previous
+	 * run are read from the file instead of being scanned again.
+	 * 
+	 * @param scanCacheFile File in which the scanned metadata is persisted.
+	 * @param basePackages  Packages of which classpath roots must be processed.
+	 */
+	public DependencyInjector(Path scanCacheFile, String... basePackages) {
+		this(new ClasspathScanner(new ScanCache(scanCacheFile)), basePackages);
+	}
 
-		AnnotationProcessorHelper annotationProcessorHelper = new AnnotationProcessorHelper(reflections);
+	/**
+	 * Creates a dependency injector processing the classpath roots of the given
+	 * base packages with the given scanner. The scanner can be configured to
+	 * filter the classpath roots and classes or to scan in parallel.
+	 * 
+	 * @param classpathScanner Scanner collecting the classpath metadata.
+	 * @param basePackages     Packages of which classpath roots must be processed.
+	 */
+	public DependencyInjector(ClasspathScanner classpathScanner, String... basePackages) {
+		this(classpathScanner, classpathScanner.scan(basePackages), basePackages);
+	}
+
+	/**
+	 * @param classpathScanner Scanner collecting the metadata of added classes.
+	 * @param reflections      Metadata of the classpath roots.
+	 * @param basePackages     Packages of which metadata is given.
+	 */
+	private DependencyInjector(ClasspathScanner classpathScanner, Reflections reflections, String... basePackages) {
+		this.basePackages = basePackages.clone();
+		this.classpathScanner = classpathScanner;
+		this.reflections = reflections;
+
+		valueConverters = new ValueConverters();
+		propertyResolver = new PropertyResolver();
+
+		AnnotationProcessorHelper annotationProcessorHelper = new AnnotationProcessorHelper(reflections,
+				valueConverters);
 
 		DependencyAliasResolver dependencyAliasResolver = new DependencyAliasResolver(annotationProcessorHelper);
 
-		ValueResolver valueResolver = new ValueResolver(annotationProcessorHelper);
+		ValueResolver valueResolver = new ValueResolver(annotationProcessorHelper, valueConverters,
+				propertyResolver);
 
-		dependencyHandler = new DependencyHandler(reflections, annotationProcessorHelper, dependencyAliasResolver,
+		subtypeIndex = new SubtypeIndex(reflections);
+
+		dependencyHandler = new DependencyHandler(subtypeIndex, annotationProcessorHelper, dependencyAliasResolver,
 				valueResolver);
 		annotationProcessor = new AnnotationProcessor(annotationProcessorHelper, dependencyHandler,
 				dependencyAliasResolver, valueResolver);
 	}
 
+	/**
+	 * @param parent Container of which child must be created.
+	 */
+	private DependencyInjector(DependencyInjector parent) {
+		basePackages = parent.basePackages;
+		classpathScanner = parent.classpathScanner;
+		reflections = parent.reflections;
+		subtypeIndex = parent.subtypeIndex;
+		valueConverters = null;
+		propertyResolver = null;
+
+		dependencyHandler = parent.dependencyHandler.createChild();
+		annotationProcessor = null;
+	}
+
+	/**
+	 * Creates a dependency injector from the wiring plan saved by
+	 * {@link #saveWiringPlan(Path)}, if it's still valid for the given base
+	 * packages.<br>
+	 * The metadata, the processing order, the aliases, the values and the chosen
+	 * constructors are taken from the plan, so nothing is scanned, sorted or
+	 * resolved again by {@link #injectDependencies()}. If the plan file is
+	 * missing, corrupted or stale, the base packages are scanned as usual.
+	 * Dependencies first requested after the injection are resolved from the
+	 * metadata of the plan, which only knows the annotated classes.
+	 * 
+	 * @param wiringPlanFile File containing the wiring plan.
+	 * @param basePackages   Packages of which classpath roots must be processed.
+	 * @return A dependency injector following the wiring plan, if it's valid.
+	 */
+	public static DependencyInjector restore(Path wiringPlanFile, String... basePackages) {
+		WiringPlan wiringPlan = WiringPlan.read(wiringPlanFile, basePackages);
+		if (wiringPlan == null) {
+			return new DependencyInjector(basePackages);
+		}
+
+		DependencyInjector dependencyInjector = new DependencyInjector(new ClasspathScanner(),
+				wiringPlan.getReflections(), basePackages);
+		dependencyInjector.annotationProcessor.restore(wiringPlan);
+		return dependencyInjector;
+	}
+
+	/**
+	 * Saves the wiring plan of the injected dependencies to the given file, so
+	 * that a later start can be restored from it by
+	 * {@link #restore(Path, String...)}.<br>
+	 * Must be called after {@link #injectDependencies()}.
+	 * 
+	 * @param wiringPlanFile File to which the wiring plan must be saved.
+	 * @throws IllegalStateException If the dependencies haven't been injected, the
+	 *                               container is a child container or the file
+	 *                               cannot be written.
+	 */
+	public void saveWiringPlan(Path wiringPlanFile) {
+		getAnnotationProcessor().createWiringPlan(reflections, basePackages).write(wiringPlanFile);
+	}
+
+	/**
+	 * Creates a child container of this container, eg. for a tenant.<br>
+	 * The child shares the scanned metadata, subtype index and generated proxy
+	 * classes of this container. Dependencies which aren't registered in the child
+	 * are resolved from this container, so the child only holds the dependencies
+	 * registered by {@link #registerDependency(Class, Object, String...)} and the
+	 * ones created on its requests. The annotations aren't processed again, the
+	 * child cannot inject dependencies itself.
+	 * 
+	 * @return A child container of this container.
+	 * @throws IllegalStateException If this container hasn't been frozen.
+	 */
+	public DependencyInjector createChild() {
+		return new DependencyInjector(this);
+	}
+
 	/**
 	 * Starts the processing of {@link Configuration}, {@link Injectable},
 	 * {@link Component} and {@link Inject} annotations.
 	 */
 	public void injectDependencies() {
-		annotationProcessor.processAnnotations();
+		getAnnotationProcessor().processAnnotations();
+	}
+
+	/**
+	 * Starts the processing of {@link Configuration}, {@link Injectable},
+	 * {@link Component} and {@link Inject} annotations, processing the independent
+	 * branches of the dependency graph in parallel on the common
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @return Report of the achieved parallelism.
+	 */
+	public InitializationReport injectDependenciesInParallel() {
+		return injectDependenciesInParallel(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Starts the processing of {@link Configuration}, {@link Injectable},
+	 * {@link Component} and {@link Inject} annotations, processing the independent
+	 * branches of the dependency graph in parallel on the given executor.
+	 * 
+	 * @param executor Executor running the processing tasks.
+	 * @return Report of the achieved parallelism.
+	 */
+	public InitializationReport injectDependenciesInParallel(Executor executor) {
+		return getAnnotationProcessor().processAnnotationsInParallel(executor);
+	}
+
+	/**
+	 * Re-creates the dependencies affected by the given changed or added classes,
+	 * without rebuilding the container.<br>
+	 * The metadata of the given classes is scanned and added to the container.
+	 * Then the dependencies of the given classes and the dependencies created
+	 * from them are re-created, and the dependencies injected into surviving
+	 * components are injected again. Other dependencies are left untouched. If
+	 * the container was frozen, it's frozen again afterwards.<br>
+	 * Must be called after {@link #injectDependencies()}, and mustn't be called
+	 * concurrently with requests of the affected dependencies.
+	 * 
+	 * @param changedClasses Classes which have been changed or added.
+	 * @return The types of which instances have been re-created.
+	 * @throws IllegalStateException If the container is a child container.
+	 */
+	public Set<Class<?>> refresh(Class<?>... changedClasses) {
+		AnnotationProcessor annotationProcessor = getAnnotationProcessor();
+		List<Class<?>> classes = Arrays.asList(changedClasses);
+
+		classpathScanner.scanClasses(reflections, classes);
+		subtypeIndex.addClasses(classes);
+
+		boolean frozen = dependencyHandler.isFrozen();
+		Set<Class<?>> recreatedTypes = annotationProcessor.refresh(classes);
+		if (frozen) {
+			dependencyHandler.freeze();
+		}
+
+		return recreatedTypes;
+	}
+
+	/**
+	 * Sets whether every component and injectable must be created on its first use
+	 * instead of during the injection of dependencies.<br>
+	 * Must be called before {@link #injectDependencies()}. Components and
+	 * injectables can also be made lazy one by one using the lazy attribute of
+	 * {@link Component} and {@link Injectable}.
+	 * 
+	 * @param lazy Whether components and injectables must be created lazily.
+	 */
+	public void setLazy(boolean lazy) {
+		getAnnotationProcessor().setLazy(lazy);
+	}
+
+	/**
+	 * Registers a converter of the values given by {@link Value} annotations for
+	 * the given type, so that fields and parameters of the type (or arrays of it)
+	 * can be annotated with {@link Value}.<br>
+	 * Must be called before {@link #injectDependencies()}. Converted values are
+	 * cached per annotated element, so the converter should create immutable
+	 * values.
+	 * 
+	 * @param type      Type of the converted values.
+	 * @param converter Function converting a string value to the given type.
+	 * @throws IllegalStateException If this is a child container.
+	 */
+	public <T> void registerValueConverter(Class<T> type, Function<String, ? extends T> converter) {
+		if (valueConverters == null) {
+			throw new IllegalStateException("Value converters of a child container are registered by its parent");
+		}
+		valueConverters.registerConverter(type, converter);
+	}
+
+	/**
+	 * Adds a source of the properties referenced by <code>${key}</code> and
+	 * <code>${key:default}</code> placeholders in the values of {@link Value}
+	 * annotations.<br>
+	 * Must be called before {@link #injectDependencies()}. The system properties
+	 * and the environment variables are consulted first, then the added sources in
+	 * the order they were added.
+	 * 
+	 * @param propertySource Property source to be added.
+	 * @throws IllegalStateException If this is a child container.
+	 */
+	public void addPropertySource(PropertySource propertySource) {
+		if (propertyResolver == null) {
+			throw new IllegalStateException("Property sources of a child container are added by its parent");
+		}
+		propertyResolver.addPropertySource(propertySource);
+	}
+
+	/**
+	 * Registers a custom scope with the given name.<br>
+	 * Must be called before {@link #injectDependencies()}. Components and
+	 * injectables can be assigned to the scope using the scope attribute of
+	 * {@link Component} and {@link Injectable}.
+	 * 
+	 * @param scopeName Name of the scope.
+	 * @param scope     Scope to be registered.
+	 */
+	public void registerScope(String scopeName, Scope scope) {
+		dependencyHandler.registerScope(scopeName, scope);
+	}
+
+	/**
+	 * Gives an instance of a scoped dependency back to its scope, so that it can
+	 * be reused, eg. by a pooled scope.
+	 * 
+	 * @param clazz    Class of the dependency.
+	 * @param alias    Alias of the dependency.
+	 * @param instance Instance that isn't used anymore.
+	 */
+	public void releaseDependency(Class<?> clazz, String alias, Object instance) {
+		dependencyHandler.releaseInstanceOf(clazz, alias, instance);
+	}
+
+	/**
+	 * Sets whether the creation and injection of dependencies must be timed or
+	 * not.<br>
+	 * Disabled by default. Must be enabled before {@link #injectDependencies()} to
+	 * record the metrics of the startup.
+	 * 
+	 * @param metricsEnabled Whether the metrics must be recorded or not.
+	 */
+	public void setMetricsEnabled(boolean metricsEnabled) {
+		dependencyHandler.getContainerMetrics().setEnabled(metricsEnabled);
+	}
+
+	/**
+	 * Returns the recorded metrics of creating and injecting the dependencies.
+	 * 
+	 * @return The metrics of the container.
+	 */
+	public ContainerMetrics getMetrics() {
+		return dependencyHandler.getContainerMetrics();
+	}
+
+	/**
+	 * Freezes the registered dependencies, so that subsequent lookups are served
+	 * from an immutable snapshot.<br>
+	 * Should be called after {@link #injectDependencies()}, once the dependency
+	 * graph is complete. Dependencies created after freezing are kept in an
+	 * overlay, replacing a frozen dependency isn't allowed.
+	 */
+	public void freeze() {
+		dependencyHandler.freeze();
+	}
+
+	/**
+	 * Registers the given instance of the given class with the given aliases.<br>
+	 * In a child container, the registered instance overrides the dependency of
+	 * the parent with the same class and alias.
+	 * 
+	 * @param clazz    Class for which the instance must be registered.
+	 * @param instance Instance to be registered.
+	 * @param aliases  Aliases of the instance, the default alias if none is given.
+	 * @throws IllegalStateException If a dependency has already been frozen with
+	 *                               the given class and alias.
+	 */
+	public <T> void registerDependency(Class<T> clazz, T instance, String... aliases) {
+		dependencyHandler.registerInstanceOf(clazz, instance, aliases);
 	}
 
 	/**
@@ -67,4 +379,29 @@ public class DependencyInjector {
 		return dependencyHandler.getInstanceOf(clazz, alias);
 	}
 
+	/**
+	 * Returns a provider of the instances of a given class with the given alias.
+	 * The instance isn't requested until the provider is called.
+	 * 
+	 * @param clazz Class of which instances must be provided.
+	 * @param alias Alias of the dependency that must be provided.
+	 * @return A provider of the instances of the given class.
+	 */
+	public <T> Provider<T> getDependencyProvider(Class<T> clazz, String alias) {
+		return dependencyHandler.getProviderOf(clazz, alias);
+	}
+
+	/**
+	 * Returns the annotation processor of the container.
+	 * 
+	 * @return The annotation processor of the container.
+	 * @throws IllegalStateException If the container is a child container.
+	 */
+	private AnnotationProcessor getAnnotationProcessor() {
+		if (annotationProcessor == null) {
+			throw new IllegalStateException("Annotations of a child container are processed by its parent");
+		}
+		return annotationProcessor;
+	}
+
 }
@@ -6,6 +6,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import hu.alextoth.injector.scope.Scope;
+
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ ElementType.TYPE, ElementType.ANNOTATION_TYPE })
@@ -14,4 +16,16 @@ import java.lang.annotation.Target;
  */
 public @interface Component {
 
+	/**
+	 * Whether the component must be instantiated on its first use instead of
+	 * during the processing of the annotations.
+	 */
+	boolean lazy() default false;
+
+	/**
+	 * Name of the scope managing the instances of the component. Singleton by
+	 * default, see {@link Scope} for the other built-in scopes.
+	 */
+	String scope() default Scope.SINGLETON;
+
 }
@@ -6,6 +6,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import hu.alextoth.injector.scope.Scope;
+
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
@@ -20,4 +22,16 @@ public @interface Injectable {
 
 	String aliasAttributeName() default DEFAULT_ALIAS_ATTRIBUTE_NAME;
 
+	/**
+	 * Whether the injectable method must be invoked on the first use of its return
+	 * value instead of during the processing of the annotations.
+	 */
+	boolean lazy() default false;
+
+	/**
+	 * Name of the scope managing the instances of the injectable method's return value. Singleton by
+	 * default, see {@link Scope} for the other built-in scopes.
+	 */
+	String scope() default Scope.SINGLETON;
+
 }
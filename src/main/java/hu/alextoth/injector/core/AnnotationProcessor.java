@@ -3,19 +3,39 @@ package hu.alextoth.injector.core;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.reflections.Reflections;
+
+import hu.alextoth.injector.annotation.Alias;
 import hu.alextoth.injector.annotation.Component;
 import hu.alextoth.injector.annotation.Configuration;
 import hu.alextoth.injector.annotation.Inject;
 import hu.alextoth.injector.annotation.Injectable;
 import hu.alextoth.injector.annotation.Value;
 import hu.alextoth.injector.core.helper.AnnotationProcessorHelper;
+import hu.alextoth.injector.core.helper.DependencyGraph;
 import hu.alextoth.injector.core.helper.DependencySorter;
 import hu.alextoth.injector.exception.AnnotationProcessingException;
+import hu.alextoth.injector.scope.Scope;
 
 /**
  * Class for processing {@link Configuration}, {@link Injectable},
@@ -30,6 +50,12 @@ public class AnnotationProcessor {
 	private final DependencyAliasResolver dependencyAliasResolver;
 	private final DependencySorter dependencySorter;
 	private final ValueResolver valueResolver;
+	private final MemberInvoker memberInvoker;
+
+	private boolean lazy;
+	private DependencyGraph dependencyGraph;
+	private Map<Class<?>, Consumer<Object>> deferredComponentInjectors;
+	private Map<Class<?>, LazyDependency> deferredComponentCreators;
 
 	public AnnotationProcessor(AnnotationProcessorHelper annotationProcessorHelper, DependencyHandler dependencyHandler,
 			DependencyAliasResolver dependencyAliasResolver, ValueResolver valueResolver) {
@@ -39,6 +65,9 @@ public class AnnotationProcessor {
 		this.valueResolver = valueResolver;
 
 		dependencySorter = new DependencySorter();
+		memberInvoker = new MemberInvoker();
+		deferredComponentInjectors = Collections.emptyMap();
+		deferredComponentCreators = Collections.emptyMap();
 	}
 
 	/**
@@ -47,11 +76,209 @@ public class AnnotationProcessor {
 	 * their alternatives.
 	 */
 	public void processAnnotations() {
-		processConfigurationsAndInjectables();
-		processComponentsAndInjections();
+		DependencyGraph dependencyGraph = this.dependencyGraph != null ? this.dependencyGraph
+				: createDependencyGraph();
+		this.dependencyGraph = dependencyGraph;
+		dependencyHandler.getContainerMetrics().setDependencyGraph(dependencyGraph);
+
+		registerDeferredComponents(dependencyGraph, clazz -> true);
+		processConfigurationsAndInjectables(dependencyGraph);
+		processComponentsAndInjections(dependencyGraph);
 		processValues();
 	}
 
+	/**
+	 * Method for starting the processing of {@link Configuration},
+	 * {@link Injectable}, {@link Component} and {@link Inject} annotations and
+	 * their alternatives in parallel.<br>
+	 * The phases of the processing follow each other as in
+	 * {@link #processAnnotations()}, but within a phase the independent branches of
+	 * the dependency graph are processed concurrently on the given executor. A
+	 * type is only processed after the types it depends on.
+	 * 
+	 * @param executor Executor running the processing tasks.
+	 * @return Report of the achieved parallelism.
+	 */
+	public InitializationReport processAnnotationsInParallel(Executor executor) {
+		long startTime = System.nanoTime();
+
+		DependencyGraph dependencyGraph = createDependencyGraph();
+		this.dependencyGraph = dependencyGraph;
+		dependencyHandler.getContainerMetrics().setDependencyGraph(dependencyGraph);
+		ParallelInitializer parallelInitializer = new ParallelInitializer(dependencyGraph, executor);
+
+		registerDeferredComponents(dependencyGraph, clazz -> true);
+
+		parallelInitializer.runPhase(dependencyGraph.getSortedInjectableMethods(), Method::getReturnType,
+				this::processInjectableMethod);
+		parallelInitializer.runPhase(getEagerMembers(dependencyGraph.getSortedInjectConstructors()),
+				Constructor::getDeclaringClass, this::processInjectConstructor);
+		parallelInitializer.runPhase(getEagerMembers(dependencyGraph.getSortedInjectFields()),
+				Field::getDeclaringClass, this::processInjectField);
+		parallelInitializer.runPhase(getEagerMembers(dependencyGraph.getSortedInjectMethods()),
+				Method::getDeclaringClass, this::processInjectMethod);
+		parallelInitializer.runPhase(getEagerMembers(annotationProcessorHelper.getValueFields()),
+				Field::getDeclaringClass, this::processValueField);
+
+		return parallelInitializer.createReport(System.nanoTime() - startTime);
+	}
+
+	/**
+	 * Re-creates the dependencies affected by the given changed or added classes,
+	 * leaving the rest of the registered dependencies untouched.<br>
+	 * The affected types are the types of the dependency graph assignable from a
+	 * changed class, the types depending on them through injectable method or
+	 * constructor parameters, and the return types of the injectable methods of
+	 * affected configurations. Their instances are unregistered, then the
+	 * processing is repeated for them only. Surviving types depending on them
+	 * through inject fields or methods get these injected again, lazy and scoped
+	 * ones are re-created on their next request instead.
+	 * 
+	 * @param changedClasses Classes which have been changed or added since the
+	 *                       processing of the annotations.
+	 * @return The types of which instances have been re-created.
+	 */
+	public Set<Class<?>> refresh(Collection<Class<?>> changedClasses) {
+		DependencyGraph dependencyGraph = createDependencyGraph();
+		this.dependencyGraph = dependencyGraph;
+		dependencyHandler.getContainerMetrics().setDependencyGraph(dependencyGraph);
+
+		Set<Class<?>> recreatedTypes = getAffectedTypesOf(dependencyGraph, changedClasses);
+		Set<Class<?>> reinjectedTypes = new LinkedHashSet<>();
+		for (Class<?> type : dependencyGraph.getSortedTypes()) {
+			if (!recreatedTypes.contains(type) && !Collections.disjoint(dependencyGraph.getDependenciesOf(type),
+					recreatedTypes)) {
+				(deferredComponentInjectors.containsKey(type) ? recreatedTypes : reinjectedTypes).add(type);
+			}
+		}
+
+		dependencyHandler.unregisterInstancesOf(recreatedTypes);
+
+		Predicate<Member> isRecreated = member -> recreatedTypes.contains(member.getDeclaringClass());
+		Predicate<Member> isInjected = isRecreated
+				.or(member -> reinjectedTypes.contains(member.getDeclaringClass()));
+
+		registerDeferredComponents(dependencyGraph, recreatedTypes::contains);
+		dependencyGraph.getSortedInjectableMethods().stream()
+				.filter(method -> recreatedTypes.contains(method.getReturnType()))
+				.forEach(this::processInjectableMethod);
+		getEagerMembers(dependencyGraph.getSortedInjectConstructors()).stream().filter(isRecreated)
+				.forEach(this::processInjectConstructor);
+		getEagerMembers(dependencyGraph.getSortedInjectFields()).stream().filter(isInjected)
+				.forEach(this::processInjectField);
+		getEagerMembers(dependencyGraph.getSortedInjectMethods()).stream().filter(isInjected)
+				.forEach(this::processInjectMethod);
+		getEagerMembers(annotationProcessorHelper.getValueFields()).stream().filter(isRecreated)
+				.forEach(this::processValueField);
+
+		return recreatedTypes;
+	}
+
+	/**
+	 * Returns the wiring plan of the processed annotations, which can be restored
+	 * by {@link #restore(WiringPlan)} instead of resolving the wiring again.
+	 * 
+	 * @param reflections  Scanned metadata of the processed annotations.
+	 * @param basePackages Scanned base packages.
+	 * @return The wiring plan of the processed annotations.
+	 * @throws IllegalStateException If the annotations haven't been processed.
+	 */
+	public WiringPlan createWiringPlan(Reflections reflections, String... basePackages) {
+		if (dependencyGraph == null) {
+			throw new IllegalStateException("Annotations must be processed before creating a wiring plan");
+		}
+
+		return new WiringPlan(basePackages, reflections, annotationProcessorHelper, dependencyGraph,
+				dependencyAliasResolver, valueResolver, dependencyHandler);
+	}
+
+	/**
+	 * Restores the given wiring plan, so that the next processing of the
+	 * annotations follows its order, and uses its aliases, values and
+	 * constructors instead of resolving them again.<br>
+	 * Must be called before {@link #processAnnotations()}. Parallel processing
+	 * sorts the members again.
+	 * 
+	 * @param wiringPlan Wiring plan to be restored.
+	 */
+	public void restore(WiringPlan wiringPlan) {
+		wiringPlan.applyTo(dependencyAliasResolver, valueResolver, dependencyHandler);
+		dependencyGraph = wiringPlan.getDependencyGraph();
+	}
+
+	/**
+	 * Sets whether every component and injectable must be created on its first use
+	 * instead of during the processing of the annotations.<br>
+	 * Components and injectables can also be made lazy one by one using the lazy
+	 * attribute of {@link Component} and {@link Injectable}.
+	 * 
+	 * @param lazy Whether components and injectables must be created lazily.
+	 */
+	public void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
+
+	/**
+	 * Returns a boolean value indicating whether components and injectables are
+	 * created lazily by default or not.
+	 * 
+	 * @return A boolean value indicating whether components and injectables are
+	 *         created lazily by default or not.
+	 */
+	public boolean isLazy() {
+		return lazy;
+	}
+
+	/**
+	 * Returns the dependency graph of the injectable methods and the inject
+	 * constructors, fields and methods.
+	 * 
+	 * @return The dependency graph of the elements to be processed.
+	 */
+	private DependencyGraph createDependencyGraph() {
+		return dependencySorter.getDependencyGraph(annotationProcessorHelper.getInjectableMethods(),
+				annotationProcessorHelper.getInjectConstructors(), annotationProcessorHelper.getInjectFields(),
+				annotationProcessorHelper.getInjectMethods());
+	}
+
+	/**
+	 * Returns the types which must be re-created because of the given changed
+	 * classes.<br>
+	 * A type is affected if it's assignable from a changed class, if it depends on
+	 * an affected type through injectable method or constructor parameters, or if
+	 * an injectable method of an affected configuration returns it.
+	 * 
+	 * @param dependencyGraph Dependency graph of the processing.
+	 * @param changedClasses  Changed or added classes.
+	 * @return The types affected by the given changed classes.
+	 */
+	private Set<Class<?>> getAffectedTypesOf(DependencyGraph dependencyGraph, Collection<Class<?>> changedClasses) {
+		Set<Class<?>> affectedTypes = new LinkedHashSet<>(changedClasses);
+		dependencyGraph.getSortedTypes().stream()
+				.filter(type -> changedClasses.stream().anyMatch(type::isAssignableFrom))
+				.forEach(affectedTypes::add);
+
+		Map<Class<?>, Set<Class<?>>> configurationsByType = dependencyGraph.getSortedInjectableMethods().stream()
+				.collect(Collectors.groupingBy(Method::getReturnType,
+						Collectors.mapping(Method::getDeclaringClass, Collectors.toSet())));
+
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (Class<?> type : dependencyGraph.getSortedTypes()) {
+				if (!affectedTypes.contains(type)
+						&& (!Collections.disjoint(dependencyGraph.getHardDependenciesOf(type), affectedTypes)
+								|| !Collections.disjoint(
+										configurationsByType.getOrDefault(type, Collections.emptySet()),
+										affectedTypes))) {
+					affectedTypes.add(type);
+					changed = true;
+				}
+			}
+		}
+		return affectedTypes;
+	}
+
 	/**
 	 * It processes classes annotated with {@link Configuration} and methods
 	 * annotated with {@link Injectable}.<br>
@@ -59,27 +286,11 @@ public class AnnotationProcessor {
 	 * registers their return value as a resolved dependency.<br>
 	 * Empty configuration classes don't get instantiated at all as they don't have
 	 * any purpose.
+	 * 
+	 * @param dependencyGraph Dependency graph ordering the injectable methods.
 	 */
-	private void processConfigurationsAndInjectables() {
-		List<Method> sortedInjectableMethods = dependencySorter
-				.getSortedInjectableMethods(annotationProcessorHelper.getInjectableMethods());
-
-		for (Method method : sortedInjectableMethods) {
-			Object configurationInstance = null;
-			if (!Modifier.isStatic(method.getModifiers())) {
-				configurationInstance = dependencyHandler.getInstanceOf(method.getDeclaringClass());
-			}
-
-			method.setAccessible(true);
-			try {
-				Object[] parameterInstances = dependencyHandler.resolveParametersOf(method);
-				dependencyHandler.registerInstanceOf(method.getReturnType(),
-						method.invoke(configurationInstance, parameterInstances),
-						dependencyAliasResolver.getAliases(method));
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				throw new AnnotationProcessingException(String.format("Cannot process Injectable: %s", method), e);
-			}
-		}
+	private void processConfigurationsAndInjectables(DependencyGraph dependencyGraph) {
+		dependencyGraph.getSortedInjectableMethods().forEach(this::processInjectableMethod);
 	}
 
 	/**
@@ -89,11 +300,246 @@ public class AnnotationProcessor {
 	 * Component classes without elements annotated with {@link Inject} don't get
 	 * instantiated until they're explicitly requested or referenced in other
 	 * components.
+	 * 
+	 * @param dependencyGraph Dependency graph ordering the injections.
+	 */
+	private void processComponentsAndInjections(DependencyGraph dependencyGraph) {
+		getEagerMembers(dependencyGraph.getSortedInjectConstructors()).forEach(this::processInjectConstructor);
+		getEagerMembers(dependencyGraph.getSortedInjectFields()).forEach(this::processInjectField);
+		getEagerMembers(dependencyGraph.getSortedInjectMethods()).forEach(this::processInjectMethod);
+	}
+
+	/**
+	 * Method for processing fields annotated with {@link Value}.
+	 */
+	private void processValues() {
+		getEagerMembers(annotationProcessorHelper.getValueFields()).forEach(this::processValueField);
+	}
+
+	/**
+	 * Registers a provider for each component class which isn't instantiated
+	 * eagerly.<br>
+	 * Lazy component classes having elements annotated with {@link Inject} or
+	 * {@link Value} get a lazy dependency, which creates the component and injects
+	 * its dependencies on its first request, using the same elements as the eager
+	 * processing would. Component classes with a scope other than singleton get a
+	 * scoped dependency, which does the same for each instance created by the
+	 * scope. Injectables registered later for these classes are initialized the
+	 * same way.<br>
+	 * As in the eager processing, injectable methods of a lazy configuration class
+	 * are invoked on its created instance, without waiting for the injection of its
+	 * dependencies.
+	 * 
+	 * @param dependencyGraph Dependency graph ordering the injections.
+	 * @param classFilter     Filter of the component classes to be registered.
+	 */
+	private void registerDeferredComponents(DependencyGraph dependencyGraph, Predicate<Class<?>> classFilter) {
+		Map<Class<?>, List<Constructor<?>>> injectConstructors = getDeferredMembersByClass(
+				dependencyGraph.getSortedInjectConstructors());
+		Map<Class<?>, List<Field>> injectFields = getDeferredMembersByClass(dependencyGraph.getSortedInjectFields());
+		Map<Class<?>, List<Method>> injectMethods = getDeferredMembersByClass(
+				dependencyGraph.getSortedInjectMethods());
+		Map<Class<?>, List<Field>> valueFields = getDeferredMembersByClass(annotationProcessorHelper.getValueFields());
+
+		Set<Class<?>> deferredComponentClasses = new LinkedHashSet<>(injectConstructors.keySet());
+		deferredComponentClasses.addAll(injectFields.keySet());
+		deferredComponentClasses.addAll(injectMethods.keySet());
+		deferredComponentClasses.addAll(valueFields.keySet());
+		annotationProcessorHelper.getComponentClasses().stream().filter(this::isScopedComponentClass)
+				.forEach(deferredComponentClasses::add);
+		deferredComponentClasses.removeIf(classFilter.negate());
+
+		Map<Class<?>, Consumer<Object>> componentInjectors = new HashMap<>(deferredComponentInjectors);
+		for (Class<?> clazz : deferredComponentClasses) {
+			List<Field> fields = injectFields.getOrDefault(clazz, Collections.emptyList());
+			List<Method> methods = injectMethods.getOrDefault(clazz, Collections.emptyList());
+			List<Field> values = valueFields.getOrDefault(clazz, Collections.emptyList());
+
+			componentInjectors.put(clazz, componentInstance -> {
+				fields.forEach(field -> injectField(field, componentInstance));
+				methods.forEach(method -> injectMethod(method, componentInstance));
+				values.forEach(field -> injectValue(field, componentInstance));
+			});
+		}
+		deferredComponentInjectors = componentInjectors;
+
+		Map<Class<?>, LazyDependency> componentCreators = new HashMap<>(deferredComponentCreators);
+		for (Class<?> clazz : deferredComponentClasses) {
+			List<Constructor<?>> constructors = injectConstructors.getOrDefault(clazz, Collections.emptyList());
+			Supplier<Object> componentCreator = () -> constructors.isEmpty()
+					? dependencyHandler.newInstanceOf(clazz, Alias.DEFAULT_ALIAS)
+					: createComponent(constructors.get(0));
+			Consumer<Object> componentInjector = componentInjectors.get(clazz);
+
+			String scope = annotationProcessorHelper.getComponentScope(clazz);
+			if (Scope.SINGLETON.equals(scope)) {
+				LazyDependency createdComponent = new LazyDependency(dependency -> componentCreator.get());
+				LazyDependency lazyDependency = new LazyDependency(
+						dependency -> initializeComponent(dependency, createdComponent.get(), componentInjector));
+				componentCreators.put(clazz, createdComponent);
+				dependencyHandler.registerLazyInstanceOf(clazz, lazyDependency);
+			} else {
+				dependencyHandler.registerScopedInstanceOf(clazz, scope,
+						() -> initializeComponent(componentCreator.get(), componentInjector));
+			}
+		}
+		deferredComponentCreators = componentCreators;
+	}
+
+	/**
+	 * Injects the dependencies of the given component instance created by a
+	 * provider.
+	 * 
+	 * @param componentInstance Created component instance.
+	 * @param componentInjector Injector of the component's dependencies, null if
+	 *                          there's nothing to be injected.
+	 * @return The given component instance.
+	 */
+	private Object initializeComponent(Object componentInstance, Consumer<Object> componentInjector) {
+		if (componentInjector != null && componentInstance != null) {
+			componentInjector.accept(componentInstance);
+		}
+		return componentInstance;
+	}
+
+	/**
+	 * Injects the dependencies of the given lazily created component instance,
+	 * after publishing it to the creating thread.
+	 * 
+	 * @param lazyDependency    Lazy dependency creating the component.
+	 * @param componentInstance Created component instance.
+	 * @param componentInjector Injector of the component's dependencies, null if
+	 *                          there's nothing to be injected.
+	 * @return The given component instance.
 	 */
-	private void processComponentsAndInjections() {
-		processConstructorLevelInjections();
-		processFieldLevelInjections();
-		processMethodLevelInjections();
+	private Object initializeComponent(LazyDependency lazyDependency, Object componentInstance,
+			Consumer<Object> componentInjector) {
+		lazyDependency.setEarlyInstance(componentInstance);
+		return initializeComponent(componentInstance, componentInjector);
+	}
+
+	/**
+	 * Returns the given members except the ones processed by providers.
+	 * 
+	 * @param members Members to be filtered.
+	 * @return The members to be processed eagerly.
+	 */
+	private <T extends Member> List<T> getEagerMembers(Collection<T> members) {
+		return members.stream().filter(member -> !isDeferredMember(member)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the given members processed by providers, grouped by their declaring
+	 * class.
+	 * 
+	 * @param members Members to be filtered and grouped.
+	 * @return The members to be processed by providers by their declaring class.
+	 */
+	private <T extends Member> Map<Class<?>, List<T>> getDeferredMembersByClass(Collection<T> members) {
+		return members.stream().filter(this::isDeferredMember)
+				.collect(Collectors.groupingBy(Member::getDeclaringClass, LinkedHashMap::new, Collectors.toList()));
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given member is processed by
+	 * a provider or not.<br>
+	 * Non-static members of lazy and scoped component classes are processed by
+	 * providers.
+	 * 
+	 * @param member Member to check whether it is processed by a provider or not.
+	 * @return A boolean value indicating whether the given member is processed by a
+	 *         provider or not.
+	 */
+	private boolean isDeferredMember(Member member) {
+		Class<?> clazz = member.getDeclaringClass();
+
+		return !Modifier.isStatic(member.getModifiers())
+				&& (lazy || annotationProcessorHelper.isLazyComponentClass(clazz) || isScopedComponentClass(clazz));
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given class is a component
+	 * class with a scope other than singleton or not.
+	 * 
+	 * @param clazz Class to check whether it is a scoped component class or not.
+	 * @return A boolean value indicating whether the given class is a scoped
+	 *         component class or not.
+	 */
+	private boolean isScopedComponentClass(Class<?> clazz) {
+		return !Scope.SINGLETON.equals(annotationProcessorHelper.getComponentScope(clazz));
+	}
+
+	/**
+	 * Invokes the given injectable method on the instance of its configuration
+	 * class, then registers its return value as a resolved dependency.<br>
+	 * Lazy injectable methods are registered as lazy dependencies instead, they are
+	 * invoked on the first request of their return value. Scoped injectable
+	 * methods are registered as scoped dependencies, they are invoked whenever
+	 * their scope needs a new instance. The dependencies of a lazy or scoped
+	 * component provided by an injectable method are injected by the provider
+	 * too.
+	 * 
+	 * @param method Injectable method to be processed.
+	 */
+	private void processInjectableMethod(Method method) {
+		String[] aliases;
+		try {
+			aliases = dependencyAliasResolver.getAliases(method);
+		} catch (IllegalArgumentException e) {
+			throw new AnnotationProcessingException(String.format("Cannot process Injectable: %s", method), e);
+		}
+		Consumer<Object> componentInjector = Arrays.asList(aliases).contains(Alias.DEFAULT_ALIAS)
+				? deferredComponentInjectors.get(method.getReturnType())
+				: null;
+		String scope = annotationProcessorHelper.getInjectableScope(method);
+
+		if (!Scope.SINGLETON.equals(scope)) {
+			dependencyHandler.registerScopedInstanceOf(method.getReturnType(), scope,
+					() -> initializeComponent(invokeInjectableMethod(method), componentInjector), aliases);
+		} else if (lazy || annotationProcessorHelper.isLazyInjectableMethod(method)) {
+			dependencyHandler.registerLazyInstanceOf(method.getReturnType(),
+					new LazyDependency(lazyDependency -> initializeComponent(lazyDependency,
+							invokeInjectableMethod(method), componentInjector)),
+					aliases);
+		} else if (componentInjector != null) {
+			Object instance = invokeInjectableMethod(method);
+			dependencyHandler.registerLazyInstanceOf(method.getReturnType(),
+					new LazyDependency(
+							lazyDependency -> initializeComponent(lazyDependency, instance, componentInjector)),
+					aliases);
+		} else {
+			dependencyHandler.registerInstanceOf(method.getReturnType(), invokeInjectableMethod(method), aliases);
+		}
+	}
+
+	/**
+	 * Invokes the given injectable method on the instance of its configuration
+	 * class.
+	 * 
+	 * @param method Injectable method to be invoked.
+	 * @return The return value of the injectable method.
+	 */
+	private Object invokeInjectableMethod(Method method) {
+		LazyDependency createdConfiguration = Modifier.isStatic(method.getModifiers()) ? null
+				: deferredComponentCreators.get(method.getDeclaringClass());
+		Object configurationInstance = createdConfiguration == null ? getDeclaringInstanceOf(method)
+				: createdConfiguration.get();
+
+		ContainerMetrics containerMetrics = dependencyHandler.getContainerMetrics();
+		ContainerMetrics.Measurement measurement = containerMetrics.startMeasurement();
+		try {
+			Object[] parameterInstances = dependencyHandler.resolveParametersOf(method);
+			containerMetrics.recordResolution(measurement);
+
+			Object instance = memberInvoker.invoke(method, configurationInstance, parameterInstances);
+			if (measurement != null) {
+				containerMetrics.recordCreation(measurement, method.getReturnType(),
+						dependencyAliasResolver.getPrimaryAlias(method), BeanMetrics.Invocation.REFLECTIVE);
+			}
+			return instance;
+		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			throw new AnnotationProcessingException(String.format("Cannot process Injectable: %s", method), e);
+		}
 	}
 
 	/**
@@ -102,22 +548,35 @@ public class AnnotationProcessor {
 	 * dependencies as its parameters.<br>
 	 * Actually, {@link DependencyHandler} does the same in some cases, but this
 	 * method forces the use of the annotated constructor.
+	 * 
+	 * @param constructor Inject constructor to be processed.
 	 */
-	private void processConstructorLevelInjections() {
-		List<Constructor<?>> sortedInjectConstructors = dependencySorter
-				.getSortedInjectConstructors(annotationProcessorHelper.getInjectConstructors());
-
-		for (Constructor<?> constructor : sortedInjectConstructors) {
-			constructor.setAccessible(true);
-			try {
-				Object[] parameterInstances = dependencyHandler.resolveParametersOf(constructor);
-				Object componentInstance = constructor.newInstance(parameterInstances);
-				dependencyHandler.registerInstanceOf(constructor.getDeclaringClass(), componentInstance);
-			} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
-					| InvocationTargetException e) {
-				throw new AnnotationProcessingException(
-						String.format("Cannot process constructor level Inject: %s", constructor), e);
+	private void processInjectConstructor(Constructor<?> constructor) {
+		dependencyHandler.registerInstanceOf(constructor.getDeclaringClass(), createComponent(constructor));
+	}
+
+	/**
+	 * Instantiates the component class using the given inject constructor.
+	 * 
+	 * @param constructor Inject constructor to be used.
+	 * @return The created component instance.
+	 */
+	private Object createComponent(Constructor<?> constructor) {
+		ContainerMetrics containerMetrics = dependencyHandler.getContainerMetrics();
+		ContainerMetrics.Measurement measurement = containerMetrics.startMeasurement();
+		try {
+			Object[] parameterInstances = dependencyHandler.resolveParametersOf(constructor);
+			containerMetrics.recordResolution(measurement);
+
+			Object instance = newInstance(constructor, parameterInstances);
+			if (measurement != null) {
+				containerMetrics.recordCreation(measurement, constructor.getDeclaringClass(), Alias.DEFAULT_ALIAS,
+						getInvocationOf(constructor));
 			}
+			return instance;
+		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			throw new AnnotationProcessingException(
+					String.format("Cannot process constructor level Inject: %s", constructor), e);
 		}
 	}
 
@@ -125,25 +584,29 @@ public class AnnotationProcessor {
 	 * This method is for processing fields annotated with {@link Inject}.<br>
 	 * First, it instantiates the field's declaring component class. Then it
 	 * instantiates an object of the field's type and sets it.
+	 * 
+	 * @param field Inject field to be processed.
 	 */
-	private void processFieldLevelInjections() {
-		List<Field> sortedInjectFields = dependencySorter
-				.getSortedInjectFields(annotationProcessorHelper.getInjectFields());
-
-		for (Field field : sortedInjectFields) {
-			Object componentInstance = null;
-			if (!Modifier.isStatic(field.getModifiers())) {
-				componentInstance = dependencyHandler.getInstanceOf(field.getDeclaringClass());
-			}
+	private void processInjectField(Field field) {
+		injectField(field, getDeclaringInstanceOf(field));
+	}
 
-			field.setAccessible(true);
-			try {
-				field.set(componentInstance,
-						dependencyHandler.getInstanceOf(field.getType(), dependencyAliasResolver.getAlias(field)));
-			} catch (IllegalArgumentException | IllegalAccessException e) {
-				throw new AnnotationProcessingException(String.format("Cannot process field level Inject: %s", field),
-						e);
-			}
+	/**
+	 * Sets the given inject field of the given component instance.
+	 * 
+	 * @param field             Inject field to be set.
+	 * @param componentInstance Instance of the field's declaring class, null for
+	 *                          static fields.
+	 */
+	private void injectField(Field field, Object componentInstance) {
+		ContainerMetrics containerMetrics = dependencyHandler.getContainerMetrics();
+		ContainerMetrics.Measurement measurement = containerMetrics.startMeasurement();
+		try {
+			setField(field, componentInstance, dependencyHandler.resolveDependencyOf(field.getType(),
+					field.getGenericType(), dependencyAliasResolver.getAlias(field)));
+			containerMetrics.recordInjection(measurement, field.getDeclaringClass(), Alias.DEFAULT_ALIAS);
+		} catch (IllegalArgumentException | IllegalAccessException e) {
+			throw new AnnotationProcessingException(String.format("Cannot process field level Inject: %s", field), e);
 		}
 	}
 
@@ -152,46 +615,163 @@ public class AnnotationProcessor {
 	 * First, it instantiates the field's declaring component class. Then it
 	 * instantiates an object for each parameter type and invokes the annotated
 	 * methods with the given parameters.
+	 * 
+	 * @param method Inject method to be processed.
 	 */
-	private void processMethodLevelInjections() {
-		List<Method> sortedInjectMethods = dependencySorter
-				.getSortedInjectMethods(annotationProcessorHelper.getInjectMethods());
+	private void processInjectMethod(Method method) {
+		injectMethod(method, getDeclaringInstanceOf(method));
+	}
 
-		for (Method method : sortedInjectMethods) {
-			Object componentInstance = null;
-			if (!Modifier.isStatic(method.getModifiers())) {
-				componentInstance = dependencyHandler.getInstanceOf(method.getDeclaringClass());
-			}
+	/**
+	 * Invokes the given inject method of the given component instance.
+	 * 
+	 * @param method            Inject method to be invoked.
+	 * @param componentInstance Instance of the method's declaring class, null for
+	 *                          static methods.
+	 */
+	private void injectMethod(Method method, Object componentInstance) {
+		ContainerMetrics containerMetrics = dependencyHandler.getContainerMetrics();
+		ContainerMetrics.Measurement measurement = containerMetrics.startMeasurement();
+		try {
+			Object[] parameterInstances = dependencyHandler.resolveParametersOf(method);
+			invokeMethod(method, componentInstance, parameterInstances);
+			containerMetrics.recordInjection(measurement, method.getDeclaringClass(), Alias.DEFAULT_ALIAS);
+		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			throw new AnnotationProcessingException(String.format("Cannot process method level Inject: %s", method),
+					e);
+		}
+	}
 
-			method.setAccessible(true);
-			try {
-				Object[] parameterInstances = dependencyHandler.resolveParametersOf(method);
-				method.invoke(componentInstance, parameterInstances);
-			} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				throw new AnnotationProcessingException(String.format("Cannot process method level Inject: %s", method),
-						e);
-			}
+	/**
+	 * Method for processing a field annotated with {@link Value}.
+	 * 
+	 * @param field Value field to be processed.
+	 */
+	private void processValueField(Field field) {
+		injectValue(field, getDeclaringInstanceOf(field));
+	}
+
+	/**
+	 * Sets the given value field of the given component instance.
+	 * 
+	 * @param field             Value field to be set.
+	 * @param componentInstance Instance of the field's declaring class, null for
+	 *                          static fields.
+	 */
+	private void injectValue(Field field, Object componentInstance) {
+		ContainerMetrics containerMetrics = dependencyHandler.getContainerMetrics();
+		ContainerMetrics.Measurement measurement = containerMetrics.startMeasurement();
+		try {
+			setField(field, componentInstance, valueResolver.getValueOf(field));
+			containerMetrics.recordInjection(measurement, field.getDeclaringClass(), Alias.DEFAULT_ALIAS);
+		} catch (IllegalArgumentException | IllegalAccessException e) {
+			throw new AnnotationProcessingException(String.format("Cannot process value field: %s", field), e);
 		}
 	}
 
 	/**
-	 * Method for processing fields annotated with {@link Value}.
+	 * Returns the registered instance of the given member's declaring class, or
+	 * null if the member is static.
+	 * 
+	 * @param member Member of which declaring instance must be returned.
+	 * @return The instance of the member's declaring class.
 	 */
-	private void processValues() {
-		Set<Field> valueFields = annotationProcessorHelper.getValueFields();
+	private Object getDeclaringInstanceOf(Member member) {
+		if (Modifier.isStatic(member.getModifiers())) {
+			return null;
+		}
+		return dependencyHandler.getInstanceOf(member.getDeclaringClass());
+	}
 
-		for (Field field : valueFields) {
-			Object componentInstance = null;
-			if (!Modifier.isStatic(field.getModifiers())) {
-				componentInstance = dependencyHandler.getInstanceOf(field.getDeclaringClass());
-			}
+	/**
+	 * Creates a new instance using the given constructor.<br>
+	 * Uses the generated {@link ComponentFactory} of the constructor's declaring
+	 * class if it supports the constructor, falls back to a cached constructor
+	 * handle otherwise.
+	 * 
+	 * @param constructor        Constructor to be invoked.
+	 * @param parameterInstances Parameters of the constructor.
+	 * @return The created instance.
+	 * @throws IllegalAccessException    If the constructor cannot be accessed.
+	 * @throws InvocationTargetException If the constructor throws an exception.
+	 */
+	private Object newInstance(Constructor<?> constructor, Object[] parameterInstances)
+			throws IllegalAccessException, InvocationTargetException {
+		Function<Object[], ?> factoryConstructor = memberInvoker.getFactoryConstructorOf(constructor);
 
-			field.setAccessible(true);
-			try {
-				field.set(componentInstance, valueResolver.getValueOf(field));
-			} catch (IllegalArgumentException | IllegalAccessException e) {
-				throw new AnnotationProcessingException(String.format("Cannot process value field: %s", field), e);
-			}
+		if (factoryConstructor == null) {
+			return memberInvoker.newInstance(constructor, parameterInstances);
+		}
+
+		try {
+			return factoryConstructor.apply(parameterInstances);
+		} catch (RuntimeException e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * Returns the way of invoking the given constructor by
+	 * {@link #newInstance(Constructor, Object[])}.
+	 * 
+	 * @param constructor Constructor to be invoked.
+	 * @return The way of invoking the given constructor.
+	 */
+	private BeanMetrics.Invocation getInvocationOf(Constructor<?> constructor) {
+		return memberInvoker.getFactoryConstructorOf(constructor) != null ? BeanMetrics.Invocation.GENERATED
+				: BeanMetrics.Invocation.REFLECTIVE;
+	}
+
+	/**
+	 * Sets the given field of the given instance.<br>
+	 * Uses the generated {@link ComponentFactory} of the field's declaring class if
+	 * it supports the field, falls back to a cached setter handle otherwise.
+	 * 
+	 * @param field    Field to be set.
+	 * @param instance Instance of which field must be set, null for static fields.
+	 * @param value    Value to be set.
+	 * @throws IllegalAccessException If the field cannot be accessed.
+	 */
+	private void setField(Field field, Object instance, Object value) throws IllegalAccessException {
+		BiConsumer<Object, Object> fieldSetter = memberInvoker.getFactoryFieldSetterOf(field);
+
+		if (fieldSetter == null) {
+			memberInvoker.set(field, instance, value);
+			return;
+		}
+
+		try {
+			fieldSetter.accept(instance, value);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException(String.format("Cannot set %s", field), e);
+		}
+	}
+
+	/**
+	 * Invokes the given method of the given instance.<br>
+	 * Uses the generated {@link ComponentFactory} of the method's declaring class
+	 * if it supports the method, falls back to a cached method handle otherwise.
+	 * 
+	 * @param method             Method to be invoked.
+	 * @param instance           Instance of which method must be invoked, null for
+	 *                           static methods.
+	 * @param parameterInstances Parameters of the method.
+	 * @throws IllegalAccessException    If the method cannot be accessed.
+	 * @throws InvocationTargetException If the method throws an exception.
+	 */
+	private void invokeMethod(Method method, Object instance, Object[] parameterInstances)
+			throws IllegalAccessException, InvocationTargetException {
+		BiConsumer<Object, Object[]> methodInvoker = memberInvoker.getFactoryMethodInvokerOf(method);
+
+		if (methodInvoker == null) {
+			memberInvoker.invoke(method, instance, parameterInstances);
+			return;
+		}
+
+		try {
+			methodInvoker.accept(instance, parameterInstances);
+		} catch (RuntimeException e) {
+			throw new InvocationTargetException(e);
 		}
 	}
 
@@ -0,0 +1,225 @@
+package hu.alextoth.injector.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creation metrics of a dependency identified by its class and alias.<br>
+ * Times are accumulated over every creation of the dependency. The total time
+ * of a creation includes the creation of the dependencies it requires, the self
+ * time doesn't.
+ * 
+ * @author Alex Toth
+ */
+public final class BeanMetrics {
+
+	/**
+	 * Way of invoking the constructor or injectable method creating the
+	 * dependency.
+	 */
+	public enum Invocation {
+
+		/**
+		 * Invoked by a {@link ComponentFactory} generated at compile time.
+		 */
+		GENERATED,
+
+		/**
+		 * Invoked reflectively, through a method handle.
+		 */
+		REFLECTIVE,
+
+		/**
+		 * Instantiated as a configuration proxy.
+		 */
+		PROXIED
+
+	}
+
+	private final Class<?> clazz;
+	private final String alias;
+
+	private final LongAdder creationCount;
+	private final LongAdder totalTime;
+	private final LongAdder selfTime;
+	private final LongAdder resolutionTime;
+	private final LongAdder constructionTime;
+	private final LongAdder injectionTime;
+	private final AtomicLong proxyGenerationTime;
+
+	private volatile Invocation invocation;
+
+	BeanMetrics(Class<?> clazz, String alias) {
+		this.clazz = clazz;
+		this.alias = alias;
+
+		creationCount = new LongAdder();
+		totalTime = new LongAdder();
+		selfTime = new LongAdder();
+		resolutionTime = new LongAdder();
+		constructionTime = new LongAdder();
+		injectionTime = new LongAdder();
+		proxyGenerationTime = new AtomicLong();
+	}
+
+	/**
+	 * Returns the class of the dependency.
+	 * 
+	 * @return The class of the dependency.
+	 */
+	public Class<?> getClazz() {
+		return clazz;
+	}
+
+	/**
+	 * Returns the alias of the dependency.
+	 * 
+	 * @return The alias of the dependency.
+	 */
+	public String getAlias() {
+		return alias;
+	}
+
+	/**
+	 * Returns the number of created instances.
+	 * 
+	 * @return The number of created instances.
+	 */
+	public long getCreationCount() {
+		return creationCount.sum();
+	}
+
+	/**
+	 * Returns the time spent on creating and injecting the instances, including
+	 * the creation of their dependencies.
+	 * 
+	 * @return The total time of the dependency.
+	 */
+	public Duration getTotalTime() {
+		return Duration.ofNanos(totalTime.sum());
+	}
+
+	/**
+	 * Returns the time spent on creating and injecting the instances, excluding
+	 * the creation of their dependencies.
+	 * 
+	 * @return The self time of the dependency.
+	 */
+	public Duration getSelfTime() {
+		return Duration.ofNanos(selfTime.sum());
+	}
+
+	/**
+	 * Returns the time spent on resolving the parameters of the constructor or
+	 * injectable method.
+	 * 
+	 * @return The resolution time of the dependency.
+	 */
+	public Duration getResolutionTime() {
+		return Duration.ofNanos(resolutionTime.sum());
+	}
+
+	/**
+	 * Returns the time spent in the constructor or injectable method.
+	 * 
+	 * @return The construction time of the dependency.
+	 */
+	public Duration getConstructionTime() {
+		return Duration.ofNanos(constructionTime.sum());
+	}
+
+	/**
+	 * Returns the time spent on field, method and value injections.
+	 * 
+	 * @return The injection time of the dependency.
+	 */
+	public Duration getInjectionTime() {
+		return Duration.ofNanos(injectionTime.sum());
+	}
+
+	/**
+	 * Returns the time spent on generating the proxy class of the dependency.
+	 * 
+	 * @return The proxy generation time of the dependency.
+	 */
+	public Duration getProxyGenerationTime() {
+		return Duration.ofNanos(proxyGenerationTime.get());
+	}
+
+	/**
+	 * Returns the way of invoking the constructor or injectable method, null if
+	 * no instance has been created yet.
+	 * 
+	 * @return The way of invoking the constructor or injectable method.
+	 */
+	public Invocation getInvocation() {
+		return invocation;
+	}
+
+	/**
+	 * Records the creation of an instance.
+	 * 
+	 * @param totalTime        Total time of the creation.
+	 * @param selfTime         Self time of the creation.
+	 * @param resolutionTime   Time of resolving the parameters.
+	 * @param constructionTime Time of the invocation.
+	 * @param invocation       Way of the invocation.
+	 */
+	void recordCreation(long totalTime, long selfTime, long resolutionTime, long constructionTime,
+			Invocation invocation) {
+		creationCount.increment();
+		this.totalTime.add(totalTime);
+		this.selfTime.add(selfTime);
+		this.resolutionTime.add(resolutionTime);
+		this.constructionTime.add(constructionTime);
+		this.invocation = invocation;
+	}
+
+	/**
+	 * Records an injection into an instance.
+	 * 
+	 * @param totalTime Total time of the injection.
+	 * @param selfTime  Self time of the injection.
+	 */
+	void recordInjection(long totalTime, long selfTime) {
+		this.totalTime.add(totalTime);
+		this.selfTime.add(selfTime);
+		injectionTime.add(totalTime);
+	}
+
+	/**
+	 * Records the generation time of the proxy class.
+	 * 
+	 * @param proxyGenerationTime Generation time of the proxy class.
+	 */
+	void recordProxyGeneration(long proxyGenerationTime) {
+		this.proxyGenerationTime.accumulateAndGet(proxyGenerationTime, Math::max);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format(
+				"%s (%s): %d created, self: %.3f ms, total: %.3f ms, resolution: %.3f ms, construction: %.3f ms, "
+						+ "injection: %.3f ms, proxy generation: %.3f ms, invocation: %s",
+				clazz.getName(), alias, getCreationCount(), toMillis(selfTime.sum()), toMillis(totalTime.sum()),
+				toMillis(resolutionTime.sum()), toMillis(constructionTime.sum()), toMillis(injectionTime.sum()),
+				toMillis(proxyGenerationTime.get()), invocation);
+	}
+
+	/**
+	 * Converts the given nanoseconds to milliseconds.
+	 * 
+	 * @param nanos Nanoseconds to be converted.
+	 * @return The given time in milliseconds.
+	 */
+	static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+}
@@ -0,0 +1,67 @@
+package hu.alextoth.injector.core;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Class for looking up the compile time generated {@link ComponentFactory} of
+ * component classes.
+ *
+ * @author Alex Toth
+ */
+public final class ComponentFactories {
+
+	private static final ClassValue<ComponentFactory<?>> COMPONENT_FACTORIES = new ClassValue<ComponentFactory<?>>() {
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.ClassValue#computeValue(java.lang.Class)
+		 */
+		@Override
+		protected ComponentFactory<?> computeValue(Class<?> type) {
+			return loadFactoryOf(type);
+		}
+
+	};
+
+	private ComponentFactories() {
+	}
+
+	/**
+	 * Returns the generated factory of the given class, or null if there isn't
+	 * any.
+	 *
+	 * @param clazz Class of which factory must be returned.
+	 * @return The generated factory of the given class.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> ComponentFactory<T> getFactoryOf(Class<T> clazz) {
+		return (ComponentFactory<T>) COMPONENT_FACTORIES.get(clazz);
+	}
+
+	/**
+	 * Loads and instantiates the generated factory of the given class.
+	 *
+	 * @param clazz Class of which factory must be loaded.
+	 * @return The generated factory of the given class, or null if there isn't
+	 *         any.
+	 */
+	private static ComponentFactory<?> loadFactoryOf(Class<?> clazz) {
+		if (clazz.isPrimitive() || clazz.isArray() || clazz.getClassLoader() == null) {
+			return null;
+		}
+
+		try {
+			Class<?> factoryClass = Class.forName(clazz.getName() + ComponentFactory.CLASS_NAME_SUFFIX, true,
+					clazz.getClassLoader());
+
+			return (ComponentFactory<?>) factoryClass.getConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			return null;
+		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+				| InvocationTargetException | NoSuchMethodException | SecurityException | ClassCastException e) {
+			throw new IllegalStateException(String.format("Cannot instantiate component factory of %s", clazz), e);
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+package hu.alextoth.injector.core;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.annotation.Value;
+
+/**
+ * Base class of the factories generated at compile time for classes annotated
+ * with {@link Component} or its alternatives.<br>
+ * A generated factory instantiates its component, sets its fields annotated
+ * with {@link Inject} or {@link Value} and invokes its methods annotated with
+ * {@link Inject} without reflection. Members that cannot be accessed from
+ * generated code aren't registered, they must be handled reflectively.
+ *
+ * @author Alex Toth
+ */
+public abstract class ComponentFactory<T> {
+
+	public static final String CLASS_NAME_SUFFIX = "$$ComponentFactory";
+	public static final String CONSTRUCTOR_NAME = "<init>";
+
+	private final Map<String, Function<Object[], T>> constructors;
+	private final Map<String, BiConsumer<Object, Object>> fieldSetters;
+	private final Map<String, BiConsumer<Object, Object[]>> methodInvokers;
+
+	protected ComponentFactory() {
+		constructors = new HashMap<>();
+		fieldSetters = new HashMap<>();
+		methodInvokers = new HashMap<>();
+	}
+
+	/**
+	 * Returns the function creating a new instance using the given constructor,
+	 * or null if the constructor isn't supported by the factory.
+	 *
+	 * @param constructor Constructor of which function must be returned.
+	 * @return The function creating a new instance using the given constructor.
+	 */
+	public Function<Object[], T> getConstructor(Constructor<?> constructor) {
+		return constructors.get(getSignature(constructor));
+	}
+
+	/**
+	 * Returns the function setting the given field, or null if the field isn't
+	 * supported by the factory.
+	 *
+	 * @param field Field of which setter function must be returned.
+	 * @return The function setting the given field.
+	 */
+	public BiConsumer<Object, Object> getFieldSetter(Field field) {
+		return fieldSetters.get(field.getName());
+	}
+
+	/**
+	 * Returns the function invoking the given method, or null if the method isn't
+	 * supported by the factory.
+	 *
+	 * @param method Method of which invoker function must be returned.
+	 * @return The function invoking the given method.
+	 */
+	public BiConsumer<Object, Object[]> getMethodInvoker(Method method) {
+		return methodInvokers.get(getSignature(method));
+	}
+
+	/**
+	 * Registers a constructor of the component.
+	 *
+	 * @param signature   Signature of the constructor.
+	 * @param constructor Function creating a new instance from the given
+	 *                    parameters.
+	 */
+	protected final void addConstructor(String signature, Function<Object[], T> constructor) {
+		constructors.put(signature, constructor);
+	}
+
+	/**
+	 * Registers a field of the component.
+	 *
+	 * @param name        Name of the field.
+	 * @param fieldSetter Function setting the field of the given instance.
+	 */
+	protected final void addFieldSetter(String name, BiConsumer<Object, Object> fieldSetter) {
+		fieldSetters.put(name, fieldSetter);
+	}
+
+	/**
+	 * Registers a method of the component.
+	 *
+	 * @param signature      Signature of the method.
+	 * @param methodInvoker  Function invoking the method of the given instance
+	 *                       with the given parameters.
+	 */
+	protected final void addMethodInvoker(String signature, BiConsumer<Object, Object[]> methodInvoker) {
+		methodInvokers.put(signature, methodInvoker);
+	}
+
+	/**
+	 * Returns the signature of the given executable, as it's used by the generated
+	 * factories.
+	 *
+	 * @param executable Executable of which signature must be returned.
+	 * @return The signature of the given executable.
+	 */
+	public static String getSignature(Executable executable) {
+		String name = executable instanceof Constructor ? CONSTRUCTOR_NAME : executable.getName();
+
+		return Arrays.stream(executable.getParameterTypes()).map(Class::getTypeName)
+				.collect(Collectors.joining(",", name + "(", ")"));
+	}
+
+}
@@ -0,0 +1,315 @@
+package hu.alextoth.injector.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import hu.alextoth.injector.core.BeanMetrics.Invocation;
+import hu.alextoth.injector.core.helper.DependencyGraph;
+
+/**
+ * Instrumentation of the creation and injection of dependencies.<br>
+ * Disabled by default. When enabled, the creation of each dependency is timed
+ * and recorded per class and alias. The creation of a dependency requested
+ * while creating another one is excluded from the self time of the latter, so
+ * ranking by self time shows the dependencies which are slow on their own.
+ * 
+ * @author Alex Toth
+ */
+public final class ContainerMetrics {
+
+	private final ConcurrentMap<DependencyKey, BeanMetrics> beanMetrics;
+	private final ThreadLocal<long[]> selfTimeOnThread;
+
+	private volatile boolean enabled;
+	private volatile DependencyGraph dependencyGraph;
+
+	ContainerMetrics() {
+		beanMetrics = new ConcurrentHashMap<>();
+		selfTimeOnThread = ThreadLocal.withInitial(() -> new long[1]);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the metrics are recorded or not.
+	 * 
+	 * @return A boolean value indicating whether the metrics are recorded or not.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets whether the metrics must be recorded or not.
+	 * 
+	 * @param enabled Whether the metrics must be recorded or not.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Removes the recorded metrics.
+	 */
+	public void reset() {
+		beanMetrics.clear();
+	}
+
+	/**
+	 * Returns the metrics of every recorded dependency.
+	 * 
+	 * @return The metrics of the recorded dependencies.
+	 */
+	public Collection<BeanMetrics> getBeanMetrics() {
+		return Collections.unmodifiableCollection(new ArrayList<>(beanMetrics.values()));
+	}
+
+	/**
+	 * Returns the metrics of the dependency of the given class with the given
+	 * alias, or null if it hasn't been recorded.
+	 * 
+	 * @param clazz Class of the dependency.
+	 * @param alias Alias of the dependency.
+	 * @return The metrics of the dependency.
+	 */
+	public BeanMetrics getBeanMetrics(Class<?> clazz, String alias) {
+		return beanMetrics.get(new DependencyKey(clazz, alias));
+	}
+
+	/**
+	 * Returns the metrics of the dependencies with the highest self time, in
+	 * descending order.
+	 * 
+	 * @param limit Maximum number of dependencies to be returned.
+	 * @return The metrics of the slowest dependencies.
+	 */
+	public List<BeanMetrics> getSlowestBeans(int limit) {
+		return beanMetrics.values().stream()
+				.sorted(Comparator.comparing(BeanMetrics::getSelfTime).reversed()
+						.thenComparing(metrics -> metrics.getClazz().getName()))
+				.limit(limit).collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the types of the most expensive chain of dependent types in the
+	 * dependency graph of the last processing, dependencies first.<br>
+	 * The cost of a type is the self time of its dependencies with any alias.
+	 * 
+	 * @return The types of the critical path of the startup graph.
+	 */
+	public List<Class<?>> getCriticalPath() {
+		DependencyGraph currentDependencyGraph = dependencyGraph;
+		if (currentDependencyGraph == null) {
+			return Collections.emptyList();
+		}
+
+		Map<Class<?>, Long> selfTimes = new HashMap<>();
+		beanMetrics.values().forEach(metrics -> selfTimes.merge(metrics.getClazz(),
+				metrics.getSelfTime().toNanos(), Long::sum));
+
+		Map<Class<?>, Long> pathTimes = new HashMap<>();
+		Map<Class<?>, Class<?>> predecessors = new HashMap<>();
+		Class<?> lastType = null;
+		for (Class<?> type : currentDependencyGraph.getSortedTypes()) {
+			long pathTime = 0;
+			for (Class<?> dependency : currentDependencyGraph.getDependenciesOf(type)) {
+				long dependencyPathTime = pathTimes.getOrDefault(dependency, 0L);
+				if (dependencyPathTime > pathTime) {
+					pathTime = dependencyPathTime;
+					predecessors.put(type, dependency);
+				}
+			}
+			pathTimes.put(type, pathTime + selfTimes.getOrDefault(type, 0L));
+
+			if (lastType == null || pathTimes.get(type) > pathTimes.get(lastType)) {
+				lastType = type;
+			}
+		}
+
+		List<Class<?>> criticalPath = new ArrayList<>();
+		for (Class<?> type = lastType; type != null; type = predecessors.get(type)) {
+			criticalPath.add(0, type);
+		}
+		return criticalPath;
+	}
+
+	/**
+	 * Returns the summed self time of the types of the critical path.
+	 * 
+	 * @return The time of the critical path of the startup graph.
+	 */
+	public Duration getCriticalPathTime() {
+		List<Class<?>> criticalPath = getCriticalPath();
+		return Duration.ofNanos(beanMetrics.values().stream()
+				.filter(metrics -> criticalPath.contains(metrics.getClazz()))
+				.mapToLong(metrics -> metrics.getSelfTime().toNanos()).sum());
+	}
+
+	/**
+	 * Returns a human readable report of the slowest dependencies and the
+	 * critical path of the startup graph.
+	 * 
+	 * @param limit Maximum number of dependencies to be listed.
+	 * @return A report of the recorded metrics.
+	 */
+	public String getReport(int limit) {
+		StringBuilder report = new StringBuilder("Slowest beans:");
+
+		List<BeanMetrics> slowestBeans = getSlowestBeans(limit);
+		for (int i = 0; i < slowestBeans.size(); i++) {
+			report.append(String.format("%n%4d. %s", i + 1, slowestBeans.get(i)));
+		}
+
+		report.append(String.format("%nCritical path (%.3f ms): %s",
+				BeanMetrics.toMillis(getCriticalPathTime().toNanos()),
+				getCriticalPath().stream().map(Class::getName).collect(Collectors.joining(" -> "))));
+
+		return report.toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return getReport(10);
+	}
+
+	/**
+	 * Sets the dependency graph of the processed annotations.
+	 * 
+	 * @param dependencyGraph Dependency graph of the processing.
+	 */
+	void setDependencyGraph(DependencyGraph dependencyGraph) {
+		this.dependencyGraph = dependencyGraph;
+	}
+
+	/**
+	 * Starts the measurement of a creation or injection.
+	 * 
+	 * @return The started measurement, or null if the metrics are disabled.
+	 */
+	Measurement startMeasurement() {
+		return enabled ? new Measurement(System.nanoTime(), selfTimeOnThread.get()[0]) : null;
+	}
+
+	/**
+	 * Marks the end of resolving the parameters of the measured creation.
+	 * 
+	 * @param measurement Measurement of the creation, null if disabled.
+	 */
+	void recordResolution(Measurement measurement) {
+		if (measurement != null) {
+			measurement.resolvedTime = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Finishes the measurement of a creation and records it for the dependency of
+	 * the given class with the given alias.
+	 * 
+	 * @param measurement Measurement of the creation, null if disabled.
+	 * @param clazz       Class of the created dependency.
+	 * @param alias       Alias of the created dependency.
+	 * @param invocation  Way of the invocation.
+	 */
+	void recordCreation(Measurement measurement, Class<?> clazz, String alias, Invocation invocation) {
+		if (measurement == null) {
+			return;
+		}
+
+		long endTime = System.nanoTime();
+		long resolvedTime = measurement.resolvedTime == 0 ? measurement.startTime : measurement.resolvedTime;
+		long totalTime = endTime - measurement.startTime;
+
+		getOrCreateBeanMetrics(clazz, alias).recordCreation(totalTime, finish(measurement, totalTime),
+				resolvedTime - measurement.startTime, endTime - resolvedTime, invocation);
+	}
+
+	/**
+	 * Finishes the measurement of an injection and records it for the dependency
+	 * of the given class with the given alias.
+	 * 
+	 * @param measurement Measurement of the injection, null if disabled.
+	 * @param clazz       Class of the injected dependency.
+	 * @param alias       Alias of the injected dependency.
+	 */
+	void recordInjection(Measurement measurement, Class<?> clazz, String alias) {
+		if (measurement == null) {
+			return;
+		}
+
+		long totalTime = System.nanoTime() - measurement.startTime;
+		getOrCreateBeanMetrics(clazz, alias).recordInjection(totalTime, finish(measurement, totalTime));
+	}
+
+	/**
+	 * Records the generation time of the proxy class of the dependency of the
+	 * given class with the given alias.
+	 * 
+	 * @param clazz               Class of the dependency.
+	 * @param alias               Alias of the dependency.
+	 * @param proxyGenerationTime Generation time of the proxy class.
+	 */
+	void recordProxyGeneration(Class<?> clazz, String alias, long proxyGenerationTime) {
+		if (enabled) {
+			getOrCreateBeanMetrics(clazz, alias).recordProxyGeneration(proxyGenerationTime);
+		}
+	}
+
+	/**
+	 * Returns the self time of the given finished measurement and adds it to the
+	 * self time measured on the current thread.
+	 * 
+	 * @param measurement Finished measurement.
+	 * @param totalTime   Total time of the measurement.
+	 * @return The self time of the measurement.
+	 */
+	private long finish(Measurement measurement, long totalTime) {
+		long[] selfTime = selfTimeOnThread.get();
+		long nestedTime = selfTime[0] - measurement.startSelfTime;
+		long ownTime = Math.max(0, totalTime - nestedTime);
+
+		selfTime[0] += ownTime;
+		return ownTime;
+	}
+
+	/**
+	 * Returns the metrics of the dependency of the given class with the given
+	 * alias, creating them if necessary.
+	 * 
+	 * @param clazz Class of the dependency.
+	 * @param alias Alias of the dependency.
+	 * @return The metrics of the dependency.
+	 */
+	private BeanMetrics getOrCreateBeanMetrics(Class<?> clazz, String alias) {
+		return beanMetrics.computeIfAbsent(new DependencyKey(clazz, alias),
+				key -> new BeanMetrics(key.getClazz(), key.getAlias()));
+	}
+
+	/**
+	 * Started measurement of a creation or injection.
+	 */
+	static final class Measurement {
+
+		private final long startTime;
+		private final long startSelfTime;
+		private long resolvedTime;
+
+		private Measurement(long startTime, long startSelfTime) {
+			this.startTime = startTime;
+			this.startSelfTime = startSelfTime;
+		}
+
+	}
+
+}
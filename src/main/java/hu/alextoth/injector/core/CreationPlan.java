@@ -0,0 +1,183 @@
+package hu.alextoth.injector.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+/**
+ * Memoized way of creating instances of a class.<br>
+ * Holds the selected constructor of the class, the pre-resolved bindings of its
+ * parameters and the means of invoking it: a generated {@link ComponentFactory}
+ * constructor, a constructor handle, or nothing if the class must be proxied.
+ * 
+ * @author Alex Toth
+ */
+final class CreationPlan {
+
+	private static final MethodType GENERIC_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	private final Constructor<?> constructor;
+	private final ParameterBinding[] parameterBindings;
+	private final boolean proxied;
+
+	private final Function<Object[], ?> factoryConstructor;
+	private final MethodHandle constructorHandle;
+
+	/**
+	 * @param constructor        Selected constructor of the class.
+	 * @param parameterBindings  Bindings of the constructor's parameters.
+	 * @param proxied            Whether instances must be proxied or not.
+	 * @param factoryConstructor Constructor of the generated factory, null if
+	 *                           there isn't any.
+	 * @throws IllegalAccessException If the constructor cannot be accessed.
+	 */
+	CreationPlan(Constructor<?> constructor, ParameterBinding[] parameterBindings, boolean proxied,
+			Function<Object[], ?> factoryConstructor) throws IllegalAccessException {
+		this.constructor = constructor;
+		this.parameterBindings = parameterBindings;
+		this.proxied = proxied;
+		this.factoryConstructor = factoryConstructor;
+
+		constructorHandle = proxied || factoryConstructor != null ? null
+				: MethodHandles.lookup().unreflectConstructor(constructor)
+						.asSpreader(Object[].class, constructor.getParameterCount()).asType(GENERIC_CONSTRUCTOR_TYPE);
+	}
+
+	/**
+	 * Returns the selected constructor.
+	 * 
+	 * @return The selected constructor.
+	 */
+	Constructor<?> getConstructor() {
+		return constructor;
+	}
+
+	/**
+	 * Returns the bindings of the selected constructor's parameters.
+	 * 
+	 * @return The bindings of the constructor's parameters.
+	 */
+	ParameterBinding[] getParameterBindings() {
+		return parameterBindings;
+	}
+
+	/**
+	 * Returns a boolean value indicating whether instances must be proxied or not.
+	 * 
+	 * @return A boolean value indicating whether instances must be proxied or not.
+	 */
+	boolean isProxied() {
+		return proxied;
+	}
+
+	/**
+	 * Returns the way of invoking the selected constructor.
+	 * 
+	 * @return The way of invoking the selected constructor.
+	 */
+	BeanMetrics.Invocation getInvocation() {
+		if (proxied) {
+			return BeanMetrics.Invocation.PROXIED;
+		}
+		return factoryConstructor != null ? BeanMetrics.Invocation.GENERATED : BeanMetrics.Invocation.REFLECTIVE;
+	}
+
+	/**
+	 * Returns a new instance created by the selected constructor.
+	 * 
+	 * @param parameterInstances Parameters of the constructor.
+	 * @return A new instance.
+	 * @throws IllegalArgumentException If the instance cannot be created.
+	 */
+	Object newInstance(Object[] parameterInstances) {
+		try {
+			if (factoryConstructor != null) {
+				return factoryConstructor.apply(parameterInstances);
+			}
+			return (Object) constructorHandle.invokeExact(parameterInstances);
+		} catch (Throwable e) {
+			throw new IllegalArgumentException(
+					String.format("Cannot instantiate %s", constructor.getDeclaringClass()), e);
+		}
+	}
+
+	/**
+	 * Pre-resolved binding of a constructor parameter.
+	 */
+	static final class ParameterBinding {
+
+		private final Parameter parameter;
+		private final Class<?> type;
+		private final Type genericType;
+		private final String alias;
+		private final boolean value;
+
+		/**
+		 * @param parameter Bound parameter.
+		 * @param alias     Alias of the parameter's dependency.
+		 * @param value     Whether the parameter gets a value instead of a
+		 *                  dependency or not.
+		 */
+		ParameterBinding(Parameter parameter, String alias, boolean value) {
+			this.parameter = parameter;
+			this.alias = alias;
+			this.value = value;
+
+			type = parameter.getType();
+			genericType = parameter.getParameterizedType();
+		}
+
+		/**
+		 * Returns the bound parameter.
+		 * 
+		 * @return The bound parameter.
+		 */
+		Parameter getParameter() {
+			return parameter;
+		}
+
+		/**
+		 * Returns the type of the bound parameter.
+		 * 
+		 * @return The type of the bound parameter.
+		 */
+		Class<?> getType() {
+			return type;
+		}
+
+		/**
+		 * Returns the generic type of the bound parameter.
+		 * 
+		 * @return The generic type of the bound parameter.
+		 */
+		Type getGenericType() {
+			return genericType;
+		}
+
+		/**
+		 * Returns the alias of the parameter's dependency.
+		 * 
+		 * @return The alias of the parameter's dependency.
+		 */
+		String getAlias() {
+			return alias;
+		}
+
+		/**
+		 * Returns a boolean value indicating whether the parameter gets a value
+		 * instead of a dependency or not.
+		 * 
+		 * @return A boolean value indicating whether the parameter gets a value or
+		 *         not.
+		 */
+		boolean isValue() {
+			return value;
+		}
+
+	}
+
+}
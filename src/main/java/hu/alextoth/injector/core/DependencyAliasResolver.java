@@ -7,7 +7,11 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.google.common.collect.Lists;
 
@@ -24,8 +28,14 @@ public class DependencyAliasResolver {
 
 	private final AnnotationProcessorHelper annotationProcessorHelper;
 
+	private final ConcurrentMap<AnnotatedElement, String> aliasCache;
+	private final ConcurrentMap<Method, String[]> aliasesCache;
+
 	public DependencyAliasResolver(AnnotationProcessorHelper annotationProcessorHelper) {
 		this.annotationProcessorHelper = annotationProcessorHelper;
+
+		aliasCache = new ConcurrentHashMap<>();
+		aliasesCache = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -52,13 +62,89 @@ public class DependencyAliasResolver {
 
 	/**
 	 * Returns an array of the dependency aliases associated with the given
-	 * injectable method.
+	 * injectable method.<br>
+	 * The aliases are resolved once per method.
 	 * 
 	 * @param method A method that represents an injectable of which dependency
 	 *               aliases must be returned.
 	 * @return An array of aliases associated with the given injectable method.
 	 */
 	public String[] getAliases(Method method) {
+		return aliasesCache.computeIfAbsent(method, this::resolveAliases).clone();
+	}
+
+	/**
+	 * Returns the primary dependency alias of the given injectable method, which
+	 * is its first alias, without copying the aliases.
+	 * 
+	 * @param method A method that represents an injectable of which primary
+	 *               dependency alias must be returned.
+	 * @return The primary alias of the given injectable method.
+	 */
+	String getPrimaryAlias(Method method) {
+		return aliasesCache.computeIfAbsent(method, this::resolveAliases)[0];
+	}
+
+	/**
+	 * Returns the aliases resolved so far for fields and parameters.
+	 * 
+	 * @return The resolved aliases by their elements.
+	 */
+	Map<AnnotatedElement, String> getResolvedAliases() {
+		return new HashMap<>(aliasCache);
+	}
+
+	/**
+	 * Returns the aliases resolved so far for injectable methods.
+	 * 
+	 * @return The resolved aliases by their injectable methods.
+	 */
+	Map<Method, String[]> getResolvedMethodAliases() {
+		return new HashMap<>(aliasesCache);
+	}
+
+	/**
+	 * Registers the already resolved alias of the given field or parameter, so
+	 * that it isn't resolved again.
+	 * 
+	 * @param element Field or parameter of which alias is registered.
+	 * @param alias   Resolved alias of the element.
+	 */
+	void registerAlias(AnnotatedElement element, String alias) {
+		aliasCache.put(element, alias);
+	}
+
+	/**
+	 * Registers the already resolved aliases of the given injectable method, so
+	 * that they aren't resolved again.
+	 * 
+	 * @param method  Injectable method of which aliases are registered.
+	 * @param aliases Resolved aliases of the injectable method.
+	 */
+	void registerAliases(Method method, String[] aliases) {
+		aliasesCache.put(method, aliases.clone());
+	}
+
+	/**
+	 * Returns the value of the {@link Alias} annotation (or its alternative) for
+	 * the given element, or the default alias if it isn't annotated.<br>
+	 * The alias is resolved once per element.
+	 * 
+	 * @param element An element of which dependency alias must be returned.
+	 * @return The dependency alias of the given parameter.
+	 */
+	private String getAlias(AnnotatedElement element) {
+		return aliasCache.computeIfAbsent(element, this::resolveAlias);
+	}
+
+	/**
+	 * Resolves the dependency aliases associated with the given injectable method.
+	 * 
+	 * @param method A method that represents an injectable of which dependency
+	 *               aliases must be resolved.
+	 * @return An array of aliases associated with the given injectable method.
+	 */
+	private String[] resolveAliases(Method method) {
 		List<String> aliases = Lists.newArrayList();
 
 		for (Annotation annotation : method.getAnnotations()) {
@@ -72,13 +158,13 @@ public class DependencyAliasResolver {
 	}
 
 	/**
-	 * Returns the value of the {@link Alias} annotation (or its alternative) for
+	 * Resolves the value of the {@link Alias} annotation (or its alternative) for
 	 * the given element, or the default alias if it isn't annotated.
 	 * 
-	 * @param element An element of which dependency alias must be returned.
+	 * @param element An element of which dependency alias must be resolved.
 	 * @return The dependency alias of the given parameter.
 	 */
-	private String getAlias(AnnotatedElement element) {
+	private String resolveAlias(AnnotatedElement element) {
 		String alias = Alias.DEFAULT_ALIAS;
 
 		for (Annotation annotation : element.getAnnotations()) {
@@ -0,0 +1,70 @@
+package hu.alextoth.injector.core;
+
+import hu.alextoth.injector.provider.Provider;
+
+/**
+ * Provider of a registered dependency bound to its class and alias.<br>
+ * The registered value of the dependency is looked up on the first request and
+ * kept until the registered dependencies change, so subsequent requests only
+ * unwrap it.
+ * 
+ * @author Alex Toth
+ */
+final class DependencyHandle<T> implements Provider<T> {
+
+	private final DependencyHandler dependencyHandler;
+	private final Class<T> clazz;
+	private final String alias;
+
+	private volatile Binding binding;
+
+	/**
+	 * @param dependencyHandler Dependency handler managing the dependency.
+	 * @param clazz             Class of the dependency.
+	 * @param alias             Alias of the dependency.
+	 */
+	DependencyHandle(DependencyHandler dependencyHandler, Class<T> clazz, String alias) {
+		this.dependencyHandler = dependencyHandler;
+		this.clazz = clazz;
+		this.alias = alias;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.provider.Provider#get()
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get() {
+		Binding currentBinding = binding;
+		if (currentBinding != null && currentBinding.modificationCount == dependencyHandler.getModificationCount()) {
+			return (T) dependencyHandler.unwrap(currentBinding.value);
+		}
+
+		T instance = dependencyHandler.getInstanceOf(clazz, alias);
+
+		long modificationCount = dependencyHandler.getModificationCount();
+		Object value = dependencyHandler.getRegisteredValue(clazz, alias);
+		binding = new Binding(value == null ? instance : value, modificationCount);
+
+		return instance;
+	}
+
+	/**
+	 * Registered value of the dependency and the modification count of the
+	 * registered dependencies it was looked up at.
+	 */
+	private static final class Binding {
+
+		private final Object value;
+		private final long modificationCount;
+
+		private Binding(Object value, long modificationCount) {
+			this.value = value;
+			this.modificationCount = modificationCount;
+		}
+
+	}
+
+}
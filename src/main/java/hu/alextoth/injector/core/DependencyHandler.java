@@ -3,45 +3,129 @@ package hu.alextoth.injector.core;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
-import java.util.Arrays;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-
-import org.reflections.Reflections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import hu.alextoth.injector.annotation.Alias;
+import hu.alextoth.injector.core.CreationPlan.ParameterBinding;
 import hu.alextoth.injector.core.helper.AnnotationProcessorHelper;
+import hu.alextoth.injector.core.helper.SubtypeIndex;
+import hu.alextoth.injector.jfr.InjectorEvents;
+import hu.alextoth.injector.provider.Lazy;
+import hu.alextoth.injector.provider.Provider;
+import hu.alextoth.injector.scope.PooledScope;
+import hu.alextoth.injector.scope.PrototypeScope;
+import hu.alextoth.injector.scope.Scope;
+import hu.alextoth.injector.scope.ThreadScope;
 import hu.alextoth.injector.util.ClassUtils;
-import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+import net.sf.cglib.proxy.NoOp;
 
 /**
- * Class for managing instances of dependency classes.
+ * Class for managing instances of dependency classes.<br>
+ * A child handler created by {@link #createChild()} holds only its own
+ * instances, and resolves the missing ones from its parent.
  * 
  * @author Alex Toth
  */
 public class DependencyHandler {
 
-	private final Map<Class<?>, Map<String, Object>> dependencies;
+	private final DependencyHandler parent;
+
+	private final ConcurrentMap<DependencyKey, Object> dependencies;
+	private final ConcurrentMap<DependencyKey, Object> creationLocks;
+	private final ConcurrentMap<Class<?>, CreationPlan> creationPlans;
+	private final AtomicLong modificationCount;
+
+	private volatile DependencySnapshot snapshot;
+
+	private final ProxyClassCache proxyClassCache;
+	private final ContainerMetrics containerMetrics;
+	private final ConcurrentMap<String, Scope> scopes;
 
-	private final Reflections reflections;
+	private final SubtypeIndex subtypeIndex;
 	private final AnnotationProcessorHelper annotationProcessorHelper;
 	private final DependencyAliasResolver dependencyAliasResolver;
 	private final ValueResolver valueResolver;
 
-	public DependencyHandler(Reflections reflections, AnnotationProcessorHelper annotationProcessorHelper,
+	public DependencyHandler(SubtypeIndex subtypeIndex, AnnotationProcessorHelper annotationProcessorHelper,
 			DependencyAliasResolver dependencyAliasResolver, ValueResolver valueResolver) {
-		dependencies = new HashMap<>();
+		parent = null;
 
-		this.reflections = reflections;
+		dependencies = new ConcurrentHashMap<>();
+		creationLocks = new ConcurrentHashMap<>();
+		creationPlans = new ConcurrentHashMap<>();
+		modificationCount = new AtomicLong();
+
+		this.subtypeIndex = subtypeIndex;
 		this.annotationProcessorHelper = annotationProcessorHelper;
 		this.dependencyAliasResolver = dependencyAliasResolver;
 		this.valueResolver = valueResolver;
+
+		scopes = new ConcurrentHashMap<>();
+		scopes.put(Scope.PROTOTYPE, new PrototypeScope());
+		scopes.put(Scope.THREAD, new ThreadScope());
+		scopes.put(Scope.POOLED, new PooledScope());
+
+		proxyClassCache = new ProxyClassCache(method -> annotationProcessorHelper.isInjectableMethod(method) ? 0 : 1,
+				new Callback[] { (MethodInterceptor) this::interceptInjectableMethod, NoOp.INSTANCE });
+		containerMetrics = new ContainerMetrics();
+	}
+
+	/**
+	 * @param parent Handler of which metadata, creation plans, scopes and proxy
+	 *               classes must be shared.
+	 */
+	private DependencyHandler(DependencyHandler parent) {
+		this.parent = parent;
+
+		dependencies = new ConcurrentHashMap<>();
+		creationLocks = new ConcurrentHashMap<>();
+		creationPlans = parent.creationPlans;
+		modificationCount = new AtomicLong();
+
+		subtypeIndex = parent.subtypeIndex;
+		annotationProcessorHelper = parent.annotationProcessorHelper;
+		dependencyAliasResolver = parent.dependencyAliasResolver;
+		valueResolver = parent.valueResolver;
+
+		scopes = new ConcurrentHashMap<>(parent.scopes);
+
+		proxyClassCache = parent.proxyClassCache.withCallbacks(
+				new Callback[] { (MethodInterceptor) this::interceptInjectableMethod, NoOp.INSTANCE });
+		containerMetrics = new ContainerMetrics();
+	}
+
+	/**
+	 * Creates a child handler of this handler.<br>
+	 * The child holds only the instances registered or created in it, other
+	 * requests are served from the instances of this handler. It shares the
+	 * metadata, creation plans and generated proxy classes of this handler, so
+	 * creating it is cheap. Scopes registered in this handler are inherited,
+	 * configuration proxies created by the child resolve their injectable methods
+	 * from the child.
+	 * 
+	 * @return A child handler of this handler.
+	 * @throws IllegalStateException If this handler hasn't been frozen.
+	 */
+	public DependencyHandler createChild() {
+		if (!isFrozen()) {
+			throw new IllegalStateException("Parent dependencies must be frozen before creating a child");
+		}
+
+		return new DependencyHandler(this);
 	}
 
 	/**
@@ -54,13 +138,23 @@ public class DependencyHandler {
 	 *         not.
 	 */
 	public boolean hasInstanceOf(Class<?> clazz, String alias) {
-		Map<String, Object> namedDependencies = dependencies.get(clazz);
+		DependencySnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null && currentSnapshot.get(clazz, alias) != null) {
+			return true;
+		}
 
-		return namedDependencies != null && namedDependencies.get(alias) != null;
+		return dependencies.containsKey(new DependencyKey(clazz, alias))
+				|| (parent != null && parent.hasInstanceOf(clazz, alias));
 	}
 
 	/**
-	 * Returns, or creates if necessary, an instance of the given class.
+	 * Returns, or creates if necessary, an instance of the given class.<br>
+	 * Registered instances are returned without locking, frozen ones without
+	 * allocation too. Missing instances are created at most once, concurrent
+	 * requests of the same class and alias wait for the creating thread. Lazy
+	 * instances are created on their first request the same way, scoped ones are
+	 * requested from their scope. Each request is reported to the flight recorder
+	 * as a {@link hu.alextoth.injector.jfr.DependencyRequestEvent}.
 	 * 
 	 * @param clazz Class of which an instance must be returned.
 	 * @param alias Alias of the requested instance.
@@ -68,10 +162,13 @@ public class DependencyHandler {
 	 */
 	@SuppressWarnings("unchecked")
 	public <T> T getInstanceOf(Class<T> clazz, String alias) {
-		if (hasInstanceOf(clazz, alias)) {
-			return (T) dependencies.get(clazz).get(alias);
-		}
-		return createInstanceOf(clazz, alias);
+		Object event = InjectorEvents.beginDependencyRequest();
+
+		Object value = getRegisteredValue(clazz, alias);
+		T instance = value != null ? (T) unwrap(value) : getOrCreateInstanceOf(clazz, alias);
+
+		InjectorEvents.endDependencyRequest(event, clazz, alias, value != null);
+		return instance;
 	}
 
 	/**
@@ -81,6 +178,59 @@ public class DependencyHandler {
 		return getInstanceOf(clazz, Alias.DEFAULT_ALIAS);
 	}
 
+	/**
+	 * Returns a provider of the instances of the given class with the given
+	 * alias.<br>
+	 * The instance isn't requested until the provider is called. The provider
+	 * keeps the registered value of the dependency, so calling it doesn't require
+	 * a lookup unless the registered dependencies change.
+	 * 
+	 * @param clazz Class of which instances must be provided.
+	 * @param alias Alias of the provided instances.
+	 * @return A provider of the instances of the given class.
+	 */
+	public <T> Provider<T> getProviderOf(Class<T> clazz, String alias) {
+		return new DependencyHandle<>(this, clazz, alias);
+	}
+
+	/**
+	 * Returns a lazy handle of the instance of the given class with the given
+	 * alias.<br>
+	 * The instance is requested on the first call of the handle, which returns the
+	 * same instance afterwards.
+	 * 
+	 * @param clazz Class of which instance must be returned by the handle.
+	 * @param alias Alias of the instance.
+	 * @return A lazy handle of the instance of the given class.
+	 */
+	public <T> Lazy<T> getLazyOf(Class<T> clazz, String alias) {
+		return new LazyHandle<>(getProviderOf(clazz, alias));
+	}
+
+	/**
+	 * Returns the dependency to be injected into an injection point of the given
+	 * type.<br>
+	 * Injection points of type {@link Provider} or {@link Lazy} get a handle of
+	 * the dependency of their type argument, other injection points get the
+	 * instance of the dependency.
+	 * 
+	 * @param type        Type of the injection point.
+	 * @param genericType Generic type of the injection point.
+	 * @param alias       Alias of the dependency.
+	 * @return The dependency to be injected.
+	 * @throws IllegalArgumentException If the type argument of a provider or lazy
+	 *                                  handle cannot be resolved.
+	 */
+	public Object resolveDependencyOf(Class<?> type, Type genericType, String alias) {
+		if (Provider.class.equals(type)) {
+			return getProviderOf(getProvidedClassOf(genericType), alias);
+		}
+		if (Lazy.class.equals(type)) {
+			return getLazyOf(getProvidedClassOf(genericType), alias);
+		}
+		return getInstanceOf(type, alias);
+	}
+
 	/**
 	 * Creates and registers an instance of the given class.<br>
 	 * Returns the created instance.
@@ -89,22 +239,14 @@ public class DependencyHandler {
 	 * @param alias Alias for the requested instance.
 	 * @return An instance of the given class.
 	 */
-	@SuppressWarnings("unchecked")
 	public <T> T createInstanceOf(Class<T> clazz, String alias) {
-		T instance = ClassUtils.getDefaultValueForPrimitive(clazz);
+		Object event = InjectorEvents.beginDependencyCreation();
 
-		if (instance == null) {
-			if (clazz.isArray()) {
-				instance = (T) createArrayOf(clazz.getComponentType());
-			} else if (Modifier.isFinal(clazz.getModifiers())) {
-				instance = createNewInstanceOf(clazz);
-			} else {
-				instance = createProxyOf(clazz);
-			}
-		}
+		T instance = newInstanceOf(clazz, alias);
 
 		registerInstanceOf(clazz, instance, alias);
 
+		InjectorEvents.endDependencyCreation(event, clazz, alias);
 		return instance;
 	}
 
@@ -116,6 +258,28 @@ public class DependencyHandler {
 		return createInstanceOf(clazz, Alias.DEFAULT_ALIAS);
 	}
 
+	/**
+	 * Creates an instance of the given class without registering it.
+	 * 
+	 * @param clazz Class to be instantiated.
+	 * @param alias Alias under which the creation is recorded in the metrics.
+	 * @return An instance of the given class.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T newInstanceOf(Class<T> clazz, String alias) {
+		T instance = ClassUtils.getDefaultValueForPrimitive(clazz);
+
+		if (instance == null) {
+			if (clazz.isArray()) {
+				instance = (T) createArrayOf(clazz.getComponentType());
+			} else {
+				instance = createNewInstanceOf(clazz, alias);
+			}
+		}
+
+		return instance;
+	}
+
 	/**
 	 * Returns instances of the given executable's parameters.
 	 * 
@@ -128,42 +292,286 @@ public class DependencyHandler {
 		for (int i = 0; i < parameters.length; i++) {
 			parameterInstances[i] = annotationProcessorHelper.isValueParameter(parameters[i])
 					? valueResolver.getValueOf(parameters[i])
-					: getInstanceOf(parameters[i].getType(), dependencyAliasResolver.getAlias(parameters[i]));
+					: resolveDependencyOf(parameters[i].getType(), parameters[i].getParameterizedType(),
+							dependencyAliasResolver.getAlias(parameters[i]));
 		}
 		return parameterInstances;
 	}
 
 	/**
-	 * Registers an instance for the given class with the given aliases.
+	 * Registers an instance for the given class with the given aliases.<br>
+	 * Registering null removes the instances registered with the given aliases.
 	 * 
 	 * @param clazz    Class for which the instance must be registered.
 	 * @param instance Class instance to be registered.
 	 * @param aliases  Aliases for the instance to be registered.
 	 */
 	public void registerInstanceOf(Class<?> clazz, Object instance, String... aliases) {
-		Map<String, Object> namedDependencies = dependencies.get(clazz);
-
-		if (namedDependencies == null) {
-			namedDependencies = new HashMap<>();
-		}
-
 		if (aliases == null || aliases.length == 0) {
-			namedDependencies.put(Alias.DEFAULT_ALIAS, instance);
+			registerInstanceOf(new DependencyKey(clazz, Alias.DEFAULT_ALIAS), instance);
 		} else {
 			for (String alias : aliases) {
-				namedDependencies.put(alias, instance);
+				registerInstanceOf(new DependencyKey(clazz, alias), instance);
 			}
 		}
+	}
+
+	/**
+	 * Registers a lazy dependency for the given class with the given aliases.<br>
+	 * The instance is created by the lazy dependency on its first request.
+	 * 
+	 * @param clazz          Class for which the lazy dependency must be
+	 *                       registered.
+	 * @param lazyDependency Lazy dependency to be registered.
+	 * @param aliases        Aliases for the lazy dependency to be registered.
+	 */
+	void registerLazyInstanceOf(Class<?> clazz, LazyDependency lazyDependency, String... aliases) {
+		registerInstanceOf(clazz, lazyDependency, aliases);
+	}
+
+	/**
+	 * Returns the number of modifications of the registered dependencies,
+	 * including the modifications of the parent's dependencies.
+	 * 
+	 * @return The number of modifications of the registered dependencies.
+	 */
+	long getModificationCount() {
+		return parent == null ? modificationCount.get() : modificationCount.get() + parent.getModificationCount();
+	}
+
+	/**
+	 * Returns the given registered value, or the instance provided by it if it's a
+	 * dependency provider.
+	 * 
+	 * @param value Registered value.
+	 * @return The instance represented by the given value.
+	 */
+	Object unwrap(Object value) {
+		return value instanceof DependencyProvider ? ((DependencyProvider) value).get() : value;
+	}
+
+	/**
+	 * Returns the value registered for the given class with the given alias
+	 * without unwrapping or creating it.<br>
+	 * Values missing from this handler are looked up in its parent.
+	 * 
+	 * @param clazz
+	 * @param alias
+	 * @return The registered value, or null if nothing is registered.
+	 */
+	Object getRegisteredValue(Class<?> clazz, String alias) {
+		DependencySnapshot currentSnapshot = snapshot;
+		Object value = currentSnapshot == null ? null : currentSnapshot.get(clazz, alias);
+		if (value == null) {
+			value = dependencies.get(new DependencyKey(clazz, alias));
+		}
+		if (value == null && parent != null) {
+			value = parent.getRegisteredValue(clazz, alias);
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the cache of the generated configuration proxy classes.
+	 * 
+	 * @return The cache of the generated proxy classes.
+	 */
+	public ProxyClassCache getProxyClassCache() {
+		return proxyClassCache;
+	}
+
+	/**
+	 * Returns the constructors chosen so far for creating instances of classes.
+	 * 
+	 * @return The chosen constructors by the requested classes.
+	 */
+	Map<Class<?>, Constructor<?>> getChosenConstructors() {
+		Map<Class<?>, Constructor<?>> chosenConstructors = new HashMap<>();
+		creationPlans.forEach((clazz, creationPlan) -> chosenConstructors.put(clazz, creationPlan.getConstructor()));
+		return chosenConstructors;
+	}
+
+	/**
+	 * Plans the creation of the instances of the given class with the given,
+	 * already chosen constructor, so that no suitable constructor or
+	 * implementation is looked up for it.
+	 * 
+	 * @param clazz       Class of which creation must be planned.
+	 * @param constructor Constructor creating the instances of the class.
+	 * @throws IllegalArgumentException If the given class cannot be instantiated.
+	 */
+	void registerChosenConstructor(Class<?> clazz, Constructor<?> constructor) {
+		creationPlans.computeIfAbsent(clazz, key -> createCreationPlanOf(key, constructor));
+	}
+
+	/**
+	 * Returns the metrics of creating and injecting the dependencies.
+	 * 
+	 * @return The metrics of the container.
+	 */
+	public ContainerMetrics getContainerMetrics() {
+		return containerMetrics;
+	}
+
+	/**
+	 * Registers a scoped dependency for the given class with the given aliases.<br>
+	 * Each request of the dependency is served by the scope with the given name,
+	 * which creates new instances using the given provider.
+	 * 
+	 * @param clazz     Class for which the scoped dependency must be registered.
+	 * @param scopeName Name of the scope managing the dependency.
+	 * @param provider  Provider creating new instances of the dependency.
+	 * @param aliases   Aliases for the scoped dependency to be registered.
+	 * @throws IllegalArgumentException If the scope with the given name isn't
+	 *                                  registered.
+	 */
+	void registerScopedInstanceOf(Class<?> clazz, String scopeName, Supplier<?> provider, String... aliases) {
+		Scope scope = scopes.get(scopeName);
+		if (scope == null) {
+			throw new IllegalArgumentException(String.format("Unknown scope: %s", scopeName));
+		}
+
+		String alias = aliases == null || aliases.length == 0 ? Alias.DEFAULT_ALIAS : aliases[0];
+		registerInstanceOf(clazz, new ScopedDependency(scope, new DependencyKey(clazz, alias).toString(), provider),
+				aliases);
+	}
+
+	/**
+	 * Registers a scope with the given name.<br>
+	 * The prototype, thread and pooled scopes are registered by default.
+	 * 
+	 * @param scopeName Name of the scope.
+	 * @param scope     Scope to be registered.
+	 * @throws IllegalArgumentException If the name of the singleton scope is
+	 *                                  given.
+	 */
+	public void registerScope(String scopeName, Scope scope) {
+		if (Scope.SINGLETON.equals(scopeName)) {
+			throw new IllegalArgumentException("Singleton scope cannot be replaced");
+		}
+
+		scopes.put(scopeName, scope);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether a scope with the given name is
+	 * registered or not.
+	 * 
+	 * @param scopeName Name of the scope.
+	 * @return A boolean value indicating whether a scope with the given name is
+	 *         registered or not.
+	 */
+	public boolean hasScope(String scopeName) {
+		return Scope.SINGLETON.equals(scopeName) || scopes.containsKey(scopeName);
+	}
+
+	/**
+	 * Gives the given instance of a scoped dependency back to its scope, so that
+	 * it can be reused.<br>
+	 * Does nothing if the dependency isn't scoped.
+	 * 
+	 * @param clazz    Class of the dependency.
+	 * @param alias    Alias of the dependency.
+	 * @param instance Instance that isn't used anymore.
+	 */
+	public void releaseInstanceOf(Class<?> clazz, String alias, Object instance) {
+		Object value = getRegisteredValue(clazz, alias);
+		if (value instanceof ScopedDependency) {
+			((ScopedDependency) value).release(instance);
+		}
+	}
+
+	/**
+	 * Unregisters the instances of the given classes with any alias, so that they
+	 * can be registered or created again.<br>
+	 * Their creation plans are dropped too. If the registered instances are
+	 * frozen, the snapshot is compiled again without them.
+	 * 
+	 * @param classes Classes of which instances must be unregistered.
+	 */
+	public synchronized void unregisterInstancesOf(Collection<Class<?>> classes) {
+		dependencies.keySet().removeIf(dependencyKey -> classes.contains(dependencyKey.getClazz()));
+		creationPlans.keySet().removeAll(classes);
+		modificationCount.incrementAndGet();
+
+		if (snapshot != null) {
+			snapshot = new DependencySnapshot(dependencies);
+		}
+	}
 
-		dependencies.put(clazz, namedDependencies);
+	/**
+	 * Compiles the registered instances into an immutable snapshot, which is
+	 * looked up first by subsequent requests.<br>
+	 * Instances registered or created after freezing are kept in an overlay,
+	 * replacing a frozen instance isn't allowed. Freezing again merges the overlay
+	 * into a new snapshot.
+	 */
+	public synchronized void freeze() {
+		snapshot = new DependencySnapshot(dependencies);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the registered instances have
+	 * been frozen or not.
+	 * 
+	 * @return A boolean value indicating whether the registered instances have
+	 *         been frozen or not.
+	 */
+	public boolean isFrozen() {
+		return snapshot != null;
+	}
+
+	/**
+	 * Registers an instance for the given key.
+	 * 
+	 * @param dependencyKey Key for which the instance must be registered.
+	 * @param instance      Class instance to be registered.
+	 * @throws IllegalStateException If an instance has already been frozen for the
+	 *                               given key.
+	 */
+	private void registerInstanceOf(DependencyKey dependencyKey, Object instance) {
+		DependencySnapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null
+				&& currentSnapshot.get(dependencyKey.getClazz(), dependencyKey.getAlias()) != null) {
+			throw new IllegalStateException(String.format("Cannot replace frozen dependency: %s", dependencyKey));
+		}
+
+		if (instance == null) {
+			dependencies.remove(dependencyKey);
+		} else {
+			dependencies.put(dependencyKey, instance);
+		}
+		modificationCount.incrementAndGet();
+	}
+
+	/**
+	 * Returns the class of the dependency provided by an injection point of the
+	 * given generic type.
+	 * 
+	 * @param genericType Generic type of a provider or lazy handle.
+	 * @return The class of the provided dependency.
+	 * @throws IllegalArgumentException If the type argument cannot be resolved.
+	 */
+	private Class<?> getProvidedClassOf(Type genericType) {
+		if (genericType instanceof ParameterizedType) {
+			Type typeArgument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+			if (typeArgument instanceof Class) {
+				return (Class<?>) typeArgument;
+			}
+			if (typeArgument instanceof ParameterizedType) {
+				return (Class<?>) ((ParameterizedType) typeArgument).getRawType();
+			}
+		}
+		throw new IllegalArgumentException(String.format("Cannot resolve provided type of %s", genericType));
 	}
 
 	/**
 	 * Finds a suitable, instantiable class for the given class and returns its
 	 * constructor.<br>
-	 * If the given class itself is instantiable, returns its constructor. In other
-	 * cases (interface or abstract class) looks for a suitable class and returns an
-	 * appropriate constructor.
+	 * If the given class itself is instantiable, returns its constructor with the
+	 * fewest parameters. In other cases (interface or abstract class) looks up the
+	 * only implementation in the subtype index and returns an appropriate
+	 * constructor.
 	 * 
 	 * @param clazz Class for which an appropriate constructor needs to be returned.
 	 * @return An appropriate constructor for the given class.
@@ -171,31 +579,17 @@ public class DependencyHandler {
 	@SuppressWarnings("unchecked")
 	private <T> Constructor<? extends T> getSuitableConstructor(Class<T> clazz) {
 		if (ClassUtils.isConcrete(clazz)) {
-			Constructor<? extends T>[] constructors = (Constructor<? extends T>[]) clazz.getDeclaredConstructors();
-			Arrays.sort(constructors, (constructor1, constructor2) -> {
-				if (constructor1.getParameterCount() > constructor2.getParameterCount()) {
-					return 1;
-				}
-				if (constructor1.getParameterCount() < constructor2.getParameterCount()) {
-					return -1;
+			Constructor<? extends T> suitableConstructor = null;
+			for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+				if (suitableConstructor == null
+						|| constructor.getParameterCount() < suitableConstructor.getParameterCount()) {
+					suitableConstructor = (Constructor<? extends T>) constructor;
 				}
-				return 0;
-			});
-			return constructors[0];
-		}
-
-		List<Class<? extends T>> suitableClasses = reflections.getSubTypesOf(clazz).stream()
-				.filter(ClassUtils::isConcrete).collect(Collectors.toList());
-
-		int numberOfSuitableClasses = suitableClasses.size();
-		if (numberOfSuitableClasses == 0) {
-			throw new IllegalArgumentException(String.format("Cannot find suitable implementation for %s", clazz));
-		}
-		if (numberOfSuitableClasses > 1) {
-			throw new IllegalArgumentException(String.format("Found too many suitable implementations for %s", clazz));
+			}
+			return suitableConstructor;
 		}
 
-		return getSuitableConstructor(suitableClasses.get(0));
+		return getSuitableConstructor(subtypeIndex.getImplementationOf(clazz));
 	}
 
 	/**
@@ -210,50 +604,173 @@ public class DependencyHandler {
 	}
 
 	/**
-	 * Returns a new instance of the given class.
+	 * Returns the registered instance of the given class with the given alias,
+	 * creates and registers it if necessary.<br>
+	 * Creation is synchronized per class and alias, so concurrent requests of a
+	 * missing dependency create it only once.
+	 * 
+	 * @param clazz Class of which an instance must be returned.
+	 * @param alias Alias of the requested instance.
+	 * @return A registered instance of the given class.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T getOrCreateInstanceOf(Class<T> clazz, String alias) {
+		DependencyKey dependencyKey = new DependencyKey(clazz, alias);
+
+		synchronized (creationLocks.computeIfAbsent(dependencyKey, key -> new Object())) {
+			Object instance = dependencies.get(dependencyKey);
+			if (instance != null) {
+				return (T) unwrap(instance);
+			}
+			return createInstanceOf(clazz, alias);
+		}
+	}
+
+	/**
+	 * Returns a new instance of the given class.<br>
+	 * Configuration classes are proxied, so that calling their injectable methods
+	 * returns the registered instances. Other classes are instantiated directly.
+	 * The way of creating instances is planned once per class, only the
+	 * parameters are resolved for each instance.
 	 * 
 	 * @param clazz Class of which a new instance must be returned.
+	 * @param alias Alias under which the creation is recorded in the metrics.
 	 * @return A new instance of the given class.
 	 */
-	private <T> T createNewInstanceOf(Class<T> clazz) {
-		try {
-			Constructor<? extends T> constructor = getSuitableConstructor(clazz);
+	@SuppressWarnings("unchecked")
+	private <T> T createNewInstanceOf(Class<T> clazz, String alias) {
+		ContainerMetrics.Measurement measurement = containerMetrics.startMeasurement();
+
+		CreationPlan creationPlan = creationPlans.computeIfAbsent(clazz,
+				key -> createCreationPlanOf(key, getSuitableConstructor(key)));
+
+		Object[] parameterInstances = resolveParametersOf(creationPlan);
+		containerMetrics.recordResolution(measurement);
+
+		T instance;
+		if (creationPlan.isProxied()) {
+			instance = createProxyOf((Constructor<? extends T>) creationPlan.getConstructor(), parameterInstances);
+			containerMetrics.recordProxyGeneration(clazz, alias,
+					proxyClassCache.getGenerationTimeOf(creationPlan.getConstructor().getDeclaringClass()).toNanos());
+		} else {
+			instance = (T) creationPlan.newInstance(parameterInstances);
+		}
+
+		containerMetrics.recordCreation(measurement, clazz, alias, creationPlan.getInvocation());
+		return instance;
+	}
 
-			Object[] parameterInstances = resolveParametersOf(constructor);
+	/**
+	 * Returns the creation plan of the given class using the given
+	 * constructor.<br>
+	 * Resolves the aliases of the constructor's parameters and looks up the
+	 * generated {@link ComponentFactory} of its declaring class. Classes having a
+	 * generated factory aren't configuration classes, so they don't need to be
+	 * proxied.
+	 * 
+	 * @param clazz       Class of which creation plan must be returned.
+	 * @param constructor Constructor creating the instances of the class.
+	 * @return The creation plan of the given class.
+	 * @throws IllegalArgumentException If the given class cannot be instantiated.
+	 */
+	private CreationPlan createCreationPlanOf(Class<?> clazz, Constructor<?> constructor) {
+		Parameter[] parameters = constructor.getParameters();
+		ParameterBinding[] parameterBindings = new ParameterBinding[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			boolean value = annotationProcessorHelper.isValueParameter(parameters[i]);
+			parameterBindings[i] = new ParameterBinding(parameters[i],
+					value ? null : dependencyAliasResolver.getAlias(parameters[i]), value);
+		}
 
-			return constructor.newInstance(parameterInstances);
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
-				| InvocationTargetException e) {
+		boolean proxied = isProxyRequiredFor(constructor.getDeclaringClass());
+		ComponentFactory<?> componentFactory = proxied ? null
+				: ComponentFactories.getFactoryOf(constructor.getDeclaringClass());
+
+		try {
+			return new CreationPlan(constructor, parameterBindings, proxied,
+					componentFactory == null ? null : componentFactory.getConstructor(constructor));
+		} catch (IllegalAccessException e) {
 			throw new IllegalArgumentException(String.format("Cannot instantiate %s", clazz), e);
 		}
 	}
 
 	/**
-	 * Returns a proxy of the given class.
+	 * Returns instances of the parameters of the given creation plan's
+	 * constructor.
 	 * 
-	 * @param clazz Class of which a proxy must be returned.
-	 * @return A proxy of the given class.
+	 * @param creationPlan Creation plan of which parameters must be resolved.
+	 * @return Instances of the constructor's parameters.
 	 */
-	@SuppressWarnings("unchecked")
-	private <T> T createProxyOf(Class<T> clazz) {
-		Constructor<? extends T> constructor = getSuitableConstructor(clazz);
+	private Object[] resolveParametersOf(CreationPlan creationPlan) {
+		ParameterBinding[] parameterBindings = creationPlan.getParameterBindings();
+		Object[] parameterInstances = new Object[parameterBindings.length];
+		for (int i = 0; i < parameterBindings.length; i++) {
+			ParameterBinding parameterBinding = parameterBindings[i];
+			parameterInstances[i] = parameterBinding.isValue()
+					? valueResolver.getValueOf(parameterBinding.getParameter())
+					: resolveDependencyOf(parameterBinding.getType(), parameterBinding.getGenericType(),
+							parameterBinding.getAlias());
+		}
+		return parameterInstances;
+	}
 
-		Object[] parameterInstances = resolveParametersOf(constructor);
+	/**
+	 * Returns a boolean value indicating whether instances of the given class must
+	 * be proxied or not.<br>
+	 * Only non-final configuration classes need to be proxied.
+	 * 
+	 * @param clazz Class to check whether it must be proxied or not.
+	 * @return A boolean value indicating whether instances of the given class must
+	 *         be proxied or not.
+	 */
+	private boolean isProxyRequiredFor(Class<?> clazz) {
+		return !Modifier.isFinal(clazz.getModifiers()) && annotationProcessorHelper.isConfigurationClass(clazz);
+	}
 
-		Enhancer enhancer = new Enhancer();
-		enhancer.setSuperclass(clazz);
-		enhancer.setCallback((MethodInterceptor) (obj, method, args, proxy) -> {
-			if (annotationProcessorHelper.isInjectableMethod(method)) {
-				String[] aliases = dependencyAliasResolver.getAliases(method);
+	/**
+	 * Returns a proxy of the given constructor's declaring class.<br>
+	 * Only the injectable methods are intercepted, other methods are dispatched
+	 * directly to the superclass. The proxy class is generated once per class.
+	 * 
+	 * @param constructor        Constructor of the proxied class.
+	 * @param parameterInstances Parameters of the constructor.
+	 * @return A proxy of the constructor's declaring class.
+	 */
+	private <T> T createProxyOf(Constructor<? extends T> constructor, Object[] parameterInstances) {
+		Object event = InjectorEvents.beginProxyCreation();
+		boolean cacheHit = proxyClassCache.hasProxyClassOf(constructor.getDeclaringClass());
 
-				if (hasInstanceOf(method.getReturnType(), aliases[0])) {
-					return getInstanceOf(method.getReturnType(), aliases[0]);
-				}
-			}
-			return proxy.invokeSuper(obj, args);
-		});
+		T proxy = proxyClassCache.newProxyOf(constructor, parameterInstances);
+
+		InjectorEvents.endProxyCreation(event, constructor.getDeclaringClass(), cacheHit);
+		return proxy;
+	}
 
-		return (T) enhancer.create(constructor.getParameterTypes(), parameterInstances);
+	/**
+	 * Intercepts the call of an injectable method on a configuration proxy.<br>
+	 * Returns the registered instance if it exists, invokes the injectable method
+	 * otherwise, or if the registered provider is creating the instance on the
+	 * current thread. The registry is looked up once per call.
+	 * 
+	 * @param proxy       Proxy on which the method was called.
+	 * @param method      Called injectable method.
+	 * @param args        Arguments of the call.
+	 * @param methodProxy Proxy of the method invoking the superclass.
+	 * @return The return value of the injectable method.
+	 * @throws Throwable If the injectable method throws an exception.
+	 */
+	private Object interceptInjectableMethod(Object proxy, Method method, Object[] args, MethodProxy methodProxy)
+			throws Throwable {
+		Object event = InjectorEvents.beginProxyInterception();
+		String alias = dependencyAliasResolver.getPrimaryAlias(method);
+
+		Object value = getRegisteredValue(method.getReturnType(), alias);
+		boolean cacheHit = value != null && !(value instanceof DependencyProvider
+				&& ((DependencyProvider) value).isProvidingOnCurrentThread());
+		Object instance = cacheHit ? unwrap(value) : methodProxy.invokeSuper(proxy, args);
+
+		InjectorEvents.endProxyInterception(event, method, alias, cacheHit);
+		return instance;
 	}
 
 }
@@ -0,0 +1,79 @@
+package hu.alextoth.injector.core;
+
+import java.util.Objects;
+
+/**
+ * Composite key identifying a registered dependency by its class and alias.
+ * 
+ * @author Alex Toth
+ */
+final class DependencyKey {
+
+	private final Class<?> clazz;
+	private final String alias;
+	private final int hashCode;
+
+	DependencyKey(Class<?> clazz, String alias) {
+		this.clazz = clazz;
+		this.alias = alias;
+
+		hashCode = 31 * Objects.hashCode(clazz) + Objects.hashCode(alias);
+	}
+
+	/**
+	 * Returns the class of the dependency.
+	 * 
+	 * @return The class of the dependency.
+	 */
+	Class<?> getClazz() {
+		return clazz;
+	}
+
+	/**
+	 * Returns the alias of the dependency.
+	 * 
+	 * @return The alias of the dependency.
+	 */
+	String getAlias() {
+		return alias;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DependencyKey)) {
+			return false;
+		}
+
+		DependencyKey other = (DependencyKey) obj;
+		return clazz == other.clazz && Objects.equals(alias, other.alias);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s (%s)", clazz, alias);
+	}
+
+}
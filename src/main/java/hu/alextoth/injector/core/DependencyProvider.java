@@ -0,0 +1,27 @@
+package hu.alextoth.injector.core;
+
+/**
+ * Interface of values registered in place of a dependency, which provide the
+ * instance of the dependency on request.
+ * 
+ * @author Alex Toth
+ */
+interface DependencyProvider {
+
+	/**
+	 * Returns an instance of the dependency.
+	 * 
+	 * @return An instance of the dependency.
+	 */
+	Object get();
+
+	/**
+	 * Returns a boolean value indicating whether an instance is being created by
+	 * the current thread or not.
+	 * 
+	 * @return A boolean value indicating whether an instance is being created by
+	 *         the current thread or not.
+	 */
+	boolean isProvidingOnCurrentThread();
+
+}
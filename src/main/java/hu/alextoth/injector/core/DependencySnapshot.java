@@ -0,0 +1,93 @@
+package hu.alextoth.injector.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup table of the dependencies registered at a given point in
+ * time.<br>
+ * Classes are stored in an open addressing hash table, each slot holding the
+ * aliases and instances of its class in parallel arrays. Lookups need neither
+ * synchronization nor allocation.
+ * 
+ * @author Alex Toth
+ */
+final class DependencySnapshot {
+
+	private final Class<?>[] classes;
+	private final String[][] aliases;
+	private final Object[][] instances;
+	private final int mask;
+
+	DependencySnapshot(Map<DependencyKey, Object> dependencies) {
+		Map<Class<?>, List<DependencyKey>> dependencyKeysByClass = new LinkedHashMap<>();
+		for (DependencyKey dependencyKey : dependencies.keySet()) {
+			dependencyKeysByClass.computeIfAbsent(dependencyKey.getClazz(), clazz -> new ArrayList<>())
+					.add(dependencyKey);
+		}
+
+		int capacity = Integer.highestOneBit(Math.max(2, dependencyKeysByClass.size()) * 2);
+		classes = new Class<?>[capacity];
+		aliases = new String[capacity][];
+		instances = new Object[capacity][];
+		mask = capacity - 1;
+
+		for (Map.Entry<Class<?>, List<DependencyKey>> entry : dependencyKeysByClass.entrySet()) {
+			List<DependencyKey> dependencyKeys = entry.getValue();
+
+			int index = indexOf(entry.getKey());
+			while (classes[index] != null) {
+				index = (index + 1) & mask;
+			}
+
+			classes[index] = entry.getKey();
+			aliases[index] = new String[dependencyKeys.size()];
+			instances[index] = new Object[dependencyKeys.size()];
+			for (int i = 0; i < dependencyKeys.size(); i++) {
+				aliases[index][i] = dependencyKeys.get(i).getAlias();
+				instances[index][i] = dependencies.get(dependencyKeys.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Returns the instance of the given class registered with the given alias, or
+	 * null if there isn't any.
+	 * 
+	 * @param clazz Class of which instance must be returned.
+	 * @param alias Alias of the requested instance.
+	 * @return The registered instance of the given class.
+	 */
+	Object get(Class<?> clazz, String alias) {
+		int index = indexOf(clazz);
+
+		Class<?> slotClass;
+		while ((slotClass = classes[index]) != null) {
+			if (slotClass == clazz) {
+				String[] slotAliases = aliases[index];
+				for (int i = 0; i < slotAliases.length; i++) {
+					if (slotAliases[i] == alias || (alias != null && alias.equals(slotAliases[i]))) {
+						return instances[index][i];
+					}
+				}
+				return null;
+			}
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the slot of the table where the lookup of the given class starts.
+	 * 
+	 * @param clazz Class of which slot must be returned.
+	 * @return The slot of the table where the lookup of the given class starts.
+	 */
+	private int indexOf(Class<?> clazz) {
+		int hash = System.identityHashCode(clazz);
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+}
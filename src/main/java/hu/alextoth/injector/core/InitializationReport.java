@@ -0,0 +1,96 @@
+package hu.alextoth.injector.core;
+
+import java.time.Duration;
+
+/**
+ * Report of a parallel container initialization.
+ * 
+ * @author Alex Toth
+ */
+public final class InitializationReport {
+
+	private final int taskCount;
+	private final Duration elapsedTime;
+	private final Duration totalTaskTime;
+	private final Duration criticalPathTime;
+	private final int peakParallelism;
+
+	InitializationReport(int taskCount, long elapsedTime, long totalTaskTime, long criticalPathTime,
+			int peakParallelism) {
+		this.taskCount = taskCount;
+		this.elapsedTime = Duration.ofNanos(elapsedTime);
+		this.totalTaskTime = Duration.ofNanos(totalTaskTime);
+		this.criticalPathTime = Duration.ofNanos(criticalPathTime);
+		this.peakParallelism = peakParallelism;
+	}
+
+	/**
+	 * Returns the number of processing tasks.
+	 * 
+	 * @return The number of processing tasks.
+	 */
+	public int getTaskCount() {
+		return taskCount;
+	}
+
+	/**
+	 * Returns the wall-clock time of the initialization.
+	 * 
+	 * @return The wall-clock time of the initialization.
+	 */
+	public Duration getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * Returns the sum of the processing times of the tasks.
+	 * 
+	 * @return The sum of the processing times of the tasks.
+	 */
+	public Duration getTotalTaskTime() {
+		return totalTaskTime;
+	}
+
+	/**
+	 * Returns the processing time of the longest chain of dependent tasks, which
+	 * is the lower bound of the initialization time.
+	 * 
+	 * @return The processing time of the longest chain of dependent tasks.
+	 */
+	public Duration getCriticalPathTime() {
+		return criticalPathTime;
+	}
+
+	/**
+	 * Returns the highest number of tasks running at the same time.
+	 * 
+	 * @return The highest number of tasks running at the same time.
+	 */
+	public int getPeakParallelism() {
+		return peakParallelism;
+	}
+
+	/**
+	 * Returns the achieved parallelism, i.e. the average number of tasks running
+	 * at the same time.
+	 * 
+	 * @return The achieved parallelism.
+	 */
+	public double getParallelism() {
+		return elapsedTime.isZero() ? 0 : (double) totalTaskTime.toNanos() / elapsedTime.toNanos();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format(
+				"%d tasks in %d ms, total task time: %d ms, critical path: %d ms, parallelism: %.2f (peak: %d)",
+				taskCount, elapsedTime.toMillis(), totalTaskTime.toMillis(), criticalPathTime.toMillis(),
+				getParallelism(), peakParallelism);
+	}
+
+}
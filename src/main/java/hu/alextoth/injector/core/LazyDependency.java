@@ -0,0 +1,93 @@
+package hu.alextoth.injector.core;
+
+import java.util.function.Function;
+
+/**
+ * Provider of a lazily created dependency.<br>
+ * It's registered in place of the dependency and creates it on the first
+ * request. The dependency is created at most once, concurrent requests wait for
+ * the creating thread, subsequent ones are served without locking. Checking
+ * whether the current thread is creating the dependency doesn't lock either.
+ * 
+ * @author Alex Toth
+ */
+final class LazyDependency implements DependencyProvider {
+
+	private final Function<LazyDependency, Object> initializer;
+
+	private volatile boolean initialized;
+	private Object instance;
+
+	private volatile Thread initializingThread;
+	private Object earlyInstance;
+
+	/**
+	 * @param initializer Function creating the dependency. It may publish the
+	 *                    created instance by calling
+	 *                    {@link #setEarlyInstance(Object)} before injecting its
+	 *                    dependencies.
+	 */
+	LazyDependency(Function<LazyDependency, Object> initializer) {
+		this.initializer = initializer;
+	}
+
+	/**
+	 * Returns the dependency, creates it if necessary.<br>
+	 * A request made by the creating thread itself returns the early instance if
+	 * it has already been published.
+	 * 
+	 * @return The lazily created dependency.
+	 * @throws IllegalStateException If the creation of the dependency requires the
+	 *                               dependency itself.
+	 */
+	@Override
+	public Object get() {
+		if (initialized) {
+			return instance;
+		}
+
+		synchronized (this) {
+			if (initialized) {
+				return instance;
+			}
+
+			if (initializingThread == Thread.currentThread()) {
+				if (earlyInstance != null) {
+					return earlyInstance;
+				}
+				throw new IllegalStateException("Circular dependency during lazy initialization");
+			}
+
+			initializingThread = Thread.currentThread();
+			try {
+				instance = initializer.apply(this);
+				initialized = true;
+				return instance;
+			} finally {
+				initializingThread = null;
+				earlyInstance = null;
+			}
+		}
+	}
+
+	/**
+	 * Publishes the created, but not yet initialized instance to the creating
+	 * thread.
+	 * 
+	 * @param earlyInstance Instance to be returned to the creating thread.
+	 */
+	synchronized void setEarlyInstance(Object earlyInstance) {
+		this.earlyInstance = earlyInstance;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.core.DependencyProvider#isProvidingOnCurrentThread()
+	 */
+	@Override
+	public boolean isProvidingOnCurrentThread() {
+		return !initialized && initializingThread == Thread.currentThread();
+	}
+
+}
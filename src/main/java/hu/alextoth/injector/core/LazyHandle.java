@@ -0,0 +1,46 @@
+package hu.alextoth.injector.core;
+
+import hu.alextoth.injector.provider.Lazy;
+import hu.alextoth.injector.provider.Provider;
+
+/**
+ * Lazy handle of a dependency, keeping the instance returned by the first
+ * request of its provider.
+ * 
+ * @author Alex Toth
+ */
+final class LazyHandle<T> implements Lazy<T> {
+
+	private final Provider<T> provider;
+
+	private volatile boolean initialized;
+	private T instance;
+
+	/**
+	 * @param provider Provider of the dependency.
+	 */
+	LazyHandle(Provider<T> provider) {
+		this.provider = provider;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.provider.Lazy#get()
+	 */
+	@Override
+	public T get() {
+		if (initialized) {
+			return instance;
+		}
+
+		synchronized (this) {
+			if (!initialized) {
+				instance = provider.get();
+				initialized = true;
+			}
+			return instance;
+		}
+	}
+
+}
@@ -0,0 +1,221 @@
+package hu.alextoth.injector.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Invoker of constructors, methods and field setters through cached
+ * {@link MethodHandle}s.<br>
+ * Each member is unreflected once, its handle is adapted to take the target
+ * instance and the parameters as an array, so that it can be invoked exactly
+ * without further access checks. Static members ignore the target instance.<br>
+ * The functions of the generated {@link ComponentFactory} supporting a member
+ * are looked up once per member too, so that the signature of the member isn't
+ * computed on every injection.
+ * 
+ * @author Alex Toth
+ */
+final class MemberInvoker {
+
+	private static final MethodType GENERIC_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+	private static final MethodType GENERIC_METHOD_TYPE = MethodType.methodType(Object.class, Object.class,
+			Object[].class);
+	private static final MethodType GENERIC_SETTER_TYPE = MethodType.methodType(void.class, Object.class,
+			Object.class);
+
+	private final ConcurrentMap<Constructor<?>, MethodHandle> constructorHandles;
+	private final ConcurrentMap<Method, MethodHandle> methodHandles;
+	private final ConcurrentMap<Field, MethodHandle> setterHandles;
+	private final ConcurrentMap<Constructor<?>, Optional<Function<Object[], ?>>> factoryConstructors;
+	private final ConcurrentMap<Method, Optional<BiConsumer<Object, Object[]>>> factoryMethodInvokers;
+	private final ConcurrentMap<Field, Optional<BiConsumer<Object, Object>>> factoryFieldSetters;
+
+	MemberInvoker() {
+		constructorHandles = new ConcurrentHashMap<>();
+		methodHandles = new ConcurrentHashMap<>();
+		setterHandles = new ConcurrentHashMap<>();
+		factoryConstructors = new ConcurrentHashMap<>();
+		factoryMethodInvokers = new ConcurrentHashMap<>();
+		factoryFieldSetters = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Returns the function of the generated {@link ComponentFactory} creating a
+	 * new instance using the given constructor.
+	 * 
+	 * @param constructor Constructor of which function must be returned.
+	 * @return The function creating a new instance using the given constructor,
+	 *         or null if the constructor isn't supported by a generated factory.
+	 */
+	Function<Object[], ?> getFactoryConstructorOf(Constructor<?> constructor) {
+		return factoryConstructors.computeIfAbsent(constructor, key -> {
+			ComponentFactory<?> componentFactory = ComponentFactories.getFactoryOf(key.getDeclaringClass());
+			return Optional.ofNullable(componentFactory == null ? null : componentFactory.getConstructor(key));
+		}).orElse(null);
+	}
+
+	/**
+	 * Returns the function of the generated {@link ComponentFactory} invoking the
+	 * given method.
+	 * 
+	 * @param method Method of which invoker function must be returned.
+	 * @return The function invoking the given method, or null if the method isn't
+	 *         supported by a generated factory.
+	 */
+	BiConsumer<Object, Object[]> getFactoryMethodInvokerOf(Method method) {
+		return factoryMethodInvokers.computeIfAbsent(method, key -> {
+			ComponentFactory<?> componentFactory = ComponentFactories.getFactoryOf(key.getDeclaringClass());
+			return Optional.ofNullable(componentFactory == null ? null : componentFactory.getMethodInvoker(key));
+		}).orElse(null);
+	}
+
+	/**
+	 * Returns the function of the generated {@link ComponentFactory} setting the
+	 * given field.
+	 * 
+	 * @param field Field of which setter function must be returned.
+	 * @return The function setting the given field, or null if the field isn't
+	 *         supported by a generated factory.
+	 */
+	BiConsumer<Object, Object> getFactoryFieldSetterOf(Field field) {
+		return factoryFieldSetters.computeIfAbsent(field, key -> {
+			ComponentFactory<?> componentFactory = ComponentFactories.getFactoryOf(key.getDeclaringClass());
+			return Optional.ofNullable(componentFactory == null ? null : componentFactory.getFieldSetter(key));
+		}).orElse(null);
+	}
+
+	/**
+	 * Creates a new instance using the given constructor.
+	 * 
+	 * @param constructor        Constructor to be invoked.
+	 * @param parameterInstances Parameters of the constructor.
+	 * @return The created instance.
+	 * @throws IllegalAccessException    If the constructor cannot be accessed.
+	 * @throws InvocationTargetException If the constructor throws an exception.
+	 */
+	Object newInstance(Constructor<?> constructor, Object[] parameterInstances)
+			throws IllegalAccessException, InvocationTargetException {
+		MethodHandle constructorHandle = constructorHandles.get(constructor);
+		if (constructorHandle == null) {
+			constructor.setAccessible(true);
+			constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor)
+					.asSpreader(Object[].class, constructor.getParameterCount()).asType(GENERIC_CONSTRUCTOR_TYPE);
+			constructorHandles.putIfAbsent(constructor, constructorHandle);
+		}
+
+		try {
+			return (Object) constructorHandle.invokeExact(parameterInstances);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * Invokes the given method of the given instance.
+	 * 
+	 * @param method             Method to be invoked.
+	 * @param instance           Instance of which method must be invoked, null for
+	 *                           static methods.
+	 * @param parameterInstances Parameters of the method.
+	 * @return The return value of the method, null for void methods.
+	 * @throws IllegalAccessException    If the method cannot be accessed.
+	 * @throws InvocationTargetException If the method throws an exception.
+	 */
+	Object invoke(Method method, Object instance, Object[] parameterInstances)
+			throws IllegalAccessException, InvocationTargetException {
+		MethodHandle methodHandle = methodHandles.get(method);
+		if (methodHandle == null) {
+			methodHandle = createMethodHandle(method);
+			methodHandles.putIfAbsent(method, methodHandle);
+		}
+
+		try {
+			return (Object) methodHandle.invokeExact(instance, parameterInstances);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * Sets the given field of the given instance.
+	 * 
+	 * @param field    Field to be set.
+	 * @param instance Instance of which field must be set, null for static fields.
+	 * @param value    Value to be set.
+	 * @throws IllegalAccessException If the field cannot be accessed.
+	 */
+	void set(Field field, Object instance, Object value) throws IllegalAccessException {
+		MethodHandle setterHandle = setterHandles.get(field);
+		if (setterHandle == null) {
+			setterHandle = createSetterHandle(field);
+			setterHandles.putIfAbsent(field, setterHandle);
+		}
+
+		try {
+			setterHandle.invokeExact(instance, value);
+		} catch (Throwable e) {
+			throw new IllegalArgumentException(String.format("Cannot set %s", field), e);
+		}
+	}
+
+	/**
+	 * Returns a handle of the given method, taking the target instance and the
+	 * parameters as an array.
+	 * 
+	 * @param method Method of which handle must be returned.
+	 * @return A handle of the given method.
+	 * @throws IllegalAccessException If the method cannot be accessed.
+	 */
+	private MethodHandle createMethodHandle(Method method) throws IllegalAccessException {
+		method.setAccessible(true);
+
+		MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+		if (Modifier.isStatic(method.getModifiers())) {
+			methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+		}
+		return methodHandle.asSpreader(Object[].class, method.getParameterCount()).asType(GENERIC_METHOD_TYPE);
+	}
+
+	/**
+	 * Returns a setter handle of the given field, taking the target instance and
+	 * the value.<br>
+	 * Final fields, which cannot be set by a direct setter handle, are set through
+	 * reflection.
+	 * 
+	 * @param field Field of which setter handle must be returned.
+	 * @return A setter handle of the given field.
+	 * @throws IllegalAccessException If the field cannot be accessed.
+	 */
+	private MethodHandle createSetterHandle(Field field) throws IllegalAccessException {
+		field.setAccessible(true);
+
+		MethodHandle setterHandle;
+		if (Modifier.isFinal(field.getModifiers())) {
+			try {
+				setterHandle = MethodHandles.lookup()
+						.findVirtual(Field.class, "set", MethodType.methodType(void.class, Object.class, Object.class))
+						.bindTo(field);
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException(e);
+			}
+		} else {
+			setterHandle = MethodHandles.lookup().unreflectSetter(field);
+			if (Modifier.isStatic(field.getModifiers())) {
+				setterHandle = MethodHandles.dropArguments(setterHandle, 0, Object.class);
+			}
+		}
+		return setterHandle.asType(GENERIC_SETTER_TYPE);
+	}
+
+}
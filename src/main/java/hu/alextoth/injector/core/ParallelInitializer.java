@@ -0,0 +1,139 @@
+package hu.alextoth.injector.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import hu.alextoth.injector.core.helper.DependencyGraph;
+
+/**
+ * Class for running the phases of the annotation processing in parallel.<br>
+ * Within a phase the elements of the same type are processed by a single task,
+ * which starts once the tasks of the types it depends on are finished. Every
+ * type of the dependency graph gets a task, an empty one if it has no elements
+ * in the phase, so that the waits chain through the types in between. Phases
+ * don't overlap.
+ * 
+ * @author Alex Toth
+ */
+class ParallelInitializer {
+
+	private final DependencyGraph dependencyGraph;
+	private final Executor executor;
+
+	private final AtomicInteger taskCount;
+	private final AtomicLong totalTaskTime;
+	private final AtomicInteger runningTasks;
+	private final AtomicInteger peakParallelism;
+	private long criticalPathTime;
+
+	ParallelInitializer(DependencyGraph dependencyGraph, Executor executor) {
+		this.dependencyGraph = dependencyGraph;
+		this.executor = executor;
+
+		taskCount = new AtomicInteger();
+		totalTaskTime = new AtomicLong();
+		runningTasks = new AtomicInteger();
+		peakParallelism = new AtomicInteger();
+	}
+
+	/**
+	 * Processes the given elements in parallel, honouring the dependency order of
+	 * their types. Returns when every element has been processed.
+	 * 
+	 * @param elements     Elements to be processed, in dependency order.
+	 * @param typeFunction Function returning the graph type of an element.
+	 * @param processor    Function processing an element.
+	 */
+	<T> void runPhase(List<T> elements, Function<T, Class<?>> typeFunction, Consumer<T> processor) {
+		Map<Class<?>, List<T>> elementsByType = new LinkedHashMap<>();
+		for (T element : elements) {
+			elementsByType.computeIfAbsent(typeFunction.apply(element), type -> new ArrayList<>()).add(element);
+		}
+
+		Set<Class<?>> types = new LinkedHashSet<>(dependencyGraph.getSortedTypes());
+		types.addAll(elementsByType.keySet());
+
+		Map<Class<?>, CompletableFuture<Long>> tasks = new HashMap<>();
+		for (Class<?> type : types) {
+			List<CompletableFuture<Long>> dependencyTasks = dependencyGraph.getDependenciesOf(type).stream()
+					.map(tasks::get).collect(Collectors.toList());
+			CompletableFuture<Void> dependenciesDone = CompletableFuture
+					.allOf(dependencyTasks.toArray(new CompletableFuture<?>[dependencyTasks.size()]));
+			List<T> typeElements = elementsByType.get(type);
+
+			tasks.put(type, typeElements == null
+					? dependenciesDone.thenApply(ignored -> getLongestTimeOf(dependencyTasks))
+					: dependenciesDone.thenApplyAsync(
+							ignored -> getLongestTimeOf(dependencyTasks) + runTask(typeElements, processor), executor));
+		}
+
+		try {
+			CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[tasks.size()])).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+
+		criticalPathTime += tasks.values().stream().mapToLong(CompletableFuture::join).max().orElse(0L);
+	}
+
+	/**
+	 * Returns the report of the phases run so far.
+	 * 
+	 * @param elapsedTime Wall-clock time of the whole processing in nanoseconds.
+	 * @return The report of the phases run so far.
+	 */
+	InitializationReport createReport(long elapsedTime) {
+		return new InitializationReport(taskCount.get(), elapsedTime, totalTaskTime.get(), criticalPathTime,
+				peakParallelism.get());
+	}
+
+	/**
+	 * Returns the longest time of the given finished tasks, including the tasks
+	 * they waited for.
+	 * 
+	 * @param tasks Finished tasks.
+	 * @return The longest time in nanoseconds, 0 if there isn't any task.
+	 */
+	private static long getLongestTimeOf(List<CompletableFuture<Long>> tasks) {
+		return tasks.stream().mapToLong(CompletableFuture::join).max().orElse(0L);
+	}
+
+	/**
+	 * Processes the given elements one after the other.
+	 * 
+	 * @param elements  Elements to be processed.
+	 * @param processor Function processing an element.
+	 * @return The time taken in nanoseconds.
+	 */
+	private <T> long runTask(List<T> elements, Consumer<T> processor) {
+		peakParallelism.accumulateAndGet(runningTasks.incrementAndGet(), Math::max);
+		long startTime = System.nanoTime();
+		try {
+			elements.forEach(processor);
+		} finally {
+			runningTasks.decrementAndGet();
+		}
+
+		long taskTime = System.nanoTime() - startTime;
+		taskCount.incrementAndGet();
+		totalTaskTime.addAndGet(taskTime);
+		return taskTime;
+	}
+
+}
@@ -0,0 +1,245 @@
+package hu.alextoth.injector.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.CallbackFilter;
+import net.sf.cglib.proxy.Dispatcher;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.FixedValue;
+import net.sf.cglib.proxy.InvocationHandler;
+import net.sf.cglib.proxy.LazyLoader;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.NoOp;
+import net.sf.cglib.proxy.ProxyRefDispatcher;
+
+/**
+ * Cache of generated proxy classes.<br>
+ * A proxy class is generated once per superclass, with the callbacks of the
+ * cache registered statically. Instances are created through a cached
+ * constructor handle of the generated class, without using {@link Enhancer}
+ * again. Caches derived by {@link #withCallbacks(Callback[])} share the
+ * generated classes, but bind their proxies to their own callbacks.
+ * 
+ * @author Alex Toth
+ */
+public final class ProxyClassCache {
+
+	private static final MethodType GENERIC_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+	private static final List<Class<? extends Callback>> CALLBACK_TYPES = Arrays.asList(MethodInterceptor.class,
+			NoOp.class, Dispatcher.class, LazyLoader.class, FixedValue.class, InvocationHandler.class,
+			ProxyRefDispatcher.class);
+
+	private final CallbackFilter callbackFilter;
+	private final Callback[] staticCallbacks;
+	private final Callback[] callbacks;
+	private final Class<?>[] callbackTypes;
+
+	private final ConcurrentMap<Class<?>, Class<?>> proxyClasses;
+	private final ConcurrentMap<Constructor<?>, MethodHandle> constructorHandles;
+	private final ConcurrentMap<Class<?>, Long> generationTimes;
+
+	private final LongAdder requestCount;
+	private final LongAdder missCount;
+
+	/**
+	 * @param callbackFilter Filter selecting the callback of the proxied methods.
+	 * @param callbacks      Callbacks shared by every proxy instance.
+	 */
+	ProxyClassCache(CallbackFilter callbackFilter, Callback[] callbacks) {
+		this.callbackFilter = callbackFilter;
+		this.callbacks = callbacks.clone();
+		staticCallbacks = this.callbacks;
+		callbackTypes = Arrays.stream(callbacks).map(ProxyClassCache::getCallbackType).toArray(Class<?>[]::new);
+
+		proxyClasses = new ConcurrentHashMap<>();
+		constructorHandles = new ConcurrentHashMap<>();
+		generationTimes = new ConcurrentHashMap<>();
+
+		requestCount = new LongAdder();
+		missCount = new LongAdder();
+	}
+
+	/**
+	 * @param parent    Cache of which generated classes must be shared.
+	 * @param callbacks Callbacks of the proxy instances created by this cache.
+	 */
+	private ProxyClassCache(ProxyClassCache parent, Callback[] callbacks) {
+		callbackFilter = parent.callbackFilter;
+		staticCallbacks = parent.staticCallbacks;
+		this.callbacks = callbacks.clone();
+		callbackTypes = parent.callbackTypes;
+
+		proxyClasses = parent.proxyClasses;
+		constructorHandles = parent.constructorHandles;
+		generationTimes = parent.generationTimes;
+
+		requestCount = new LongAdder();
+		missCount = new LongAdder();
+	}
+
+	/**
+	 * Returns a cache sharing the generated proxy classes of this cache, which
+	 * binds the proxies it creates to the given callbacks.<br>
+	 * The callbacks must be of the same types as the callbacks of this cache.
+	 * 
+	 * @param callbacks Callbacks of the proxies created by the returned cache.
+	 * @return A cache sharing the generated proxy classes of this cache.
+	 * @throws IllegalArgumentException If the types of the given callbacks don't
+	 *                                  match the types of this cache's callbacks.
+	 */
+	ProxyClassCache withCallbacks(Callback[] callbacks) {
+		Class<?>[] types = Arrays.stream(callbacks).map(ProxyClassCache::getCallbackType).toArray(Class<?>[]::new);
+		if (!Arrays.equals(callbackTypes, types)) {
+			throw new IllegalArgumentException(String.format("Callback types don't match: %s", Arrays.toString(types)));
+		}
+
+		return new ProxyClassCache(this, callbacks);
+	}
+
+	/**
+	 * Returns a new proxy of the given constructor's declaring class.
+	 * 
+	 * @param constructor        Constructor of the proxied class.
+	 * @param parameterInstances Parameters of the constructor.
+	 * @return A new proxy of the constructor's declaring class.
+	 * @throws IllegalArgumentException If the proxy cannot be instantiated.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T newProxyOf(Constructor<? extends T> constructor, Object[] parameterInstances) {
+		MethodHandle constructorHandle = constructorHandles.computeIfAbsent(constructor,
+				this::createConstructorHandle);
+
+		requestCount.increment();
+
+		Class<?> proxyClass = callbacks == staticCallbacks ? null
+				: proxyClasses.get(constructor.getDeclaringClass());
+		if (proxyClass != null) {
+			Enhancer.registerCallbacks(proxyClass, callbacks);
+		}
+
+		try {
+			return (T) (Object) constructorHandle.invokeExact(parameterInstances);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalArgumentException(
+					String.format("Cannot instantiate proxy of %s", constructor.getDeclaringClass()), e);
+		} finally {
+			if (proxyClass != null) {
+				Enhancer.registerCallbacks(proxyClass, null);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of proxies created using an already generated proxy
+	 * class.
+	 * 
+	 * @return The number of cache hits.
+	 */
+	public long getHitCount() {
+		return requestCount.sum() - missCount.sum();
+	}
+
+	/**
+	 * Returns the number of generated proxy classes.
+	 * 
+	 * @return The number of cache misses.
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the proxy class of the given
+	 * class has already been generated or not.
+	 * 
+	 * @param superclass Proxied class.
+	 * @return A boolean value indicating whether the proxy class has already been
+	 *         generated or not.
+	 */
+	public boolean hasProxyClassOf(Class<?> superclass) {
+		return proxyClasses.containsKey(superclass);
+	}
+
+	/**
+	 * Returns the time spent on generating the proxy class of the given class,
+	 * zero if it hasn't been generated.
+	 * 
+	 * @param superclass Proxied class.
+	 * @return The generation time of the proxy class.
+	 */
+	public Duration getGenerationTimeOf(Class<?> superclass) {
+		return Duration.ofNanos(generationTimes.getOrDefault(superclass, 0L));
+	}
+
+	/**
+	 * Returns a handle of the proxy class constructor matching the given
+	 * constructor, taking its parameters as an array.
+	 * 
+	 * @param constructor Constructor of the proxied class.
+	 * @return A constructor handle of the proxy class.
+	 */
+	private MethodHandle createConstructorHandle(Constructor<?> constructor) {
+		Class<?> proxyClass = proxyClasses.computeIfAbsent(constructor.getDeclaringClass(),
+				this::createProxyClass);
+
+		try {
+			Constructor<?> proxyConstructor = proxyClass.getDeclaredConstructor(constructor.getParameterTypes());
+			proxyConstructor.setAccessible(true);
+
+			return MethodHandles.lookup().unreflectConstructor(proxyConstructor)
+					.asSpreader(Object[].class, constructor.getParameterCount()).asType(GENERIC_CONSTRUCTOR_TYPE);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalArgumentException(
+					String.format("Cannot instantiate proxy of %s", constructor.getDeclaringClass()), e);
+		}
+	}
+
+	/**
+	 * Generates a proxy class of the given class.
+	 * 
+	 * @param superclass Class to be proxied.
+	 * @return The generated proxy class.
+	 */
+	private Class<?> createProxyClass(Class<?> superclass) {
+		missCount.increment();
+		long startTime = System.nanoTime();
+
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(superclass);
+		enhancer.setCallbackFilter(callbackFilter);
+		enhancer.setCallbackTypes(callbackTypes);
+		enhancer.setUseCache(false);
+
+		Class<?> proxyClass = enhancer.createClass();
+		Enhancer.registerStaticCallbacks(proxyClass, staticCallbacks);
+
+		generationTimes.put(superclass, System.nanoTime() - startTime);
+		return proxyClass;
+	}
+
+	/**
+	 * Returns the callback type implemented by the given callback.
+	 * 
+	 * @param callback Callback of which type must be returned.
+	 * @return The callback type of the given callback.
+	 * @throws IllegalArgumentException If the given callback doesn't implement any
+	 *                                  callback type.
+	 */
+	private static Class<?> getCallbackType(Callback callback) {
+		return CALLBACK_TYPES.stream().filter(callbackType -> callbackType.isInstance(callback)).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException(String.format("Unknown callback: %s", callback)));
+	}
+
+}
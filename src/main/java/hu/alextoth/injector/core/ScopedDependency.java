@@ -0,0 +1,84 @@
+package hu.alextoth.injector.core;
+
+import java.util.function.Supplier;
+
+import hu.alextoth.injector.scope.Scope;
+
+/**
+ * Provider of a dependency managed by a {@link Scope}.<br>
+ * It's registered in place of the dependency and asks its scope for an
+ * instance on each request.
+ * 
+ * @author Alex Toth
+ */
+final class ScopedDependency implements DependencyProvider {
+
+	private final Scope scope;
+	private final String name;
+	private final Supplier<?> provider;
+
+	private final ThreadLocal<Boolean> providing;
+
+	/**
+	 * @param scope    Scope managing the dependency.
+	 * @param name     Unique name of the dependency.
+	 * @param provider Function creating new instances of the dependency.
+	 */
+	ScopedDependency(Scope scope, String name, Supplier<?> provider) {
+		this.scope = scope;
+		this.name = name;
+		this.provider = provider;
+
+		providing = new ThreadLocal<>();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.core.DependencyProvider#get()
+	 */
+	@Override
+	public Object get() {
+		return scope.get(name, this::createInstance);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.core.DependencyProvider#isProvidingOnCurrentThread()
+	 */
+	@Override
+	public boolean isProvidingOnCurrentThread() {
+		return providing.get() != null;
+	}
+
+	/**
+	 * Gives the given instance back to the scope.
+	 * 
+	 * @param instance Instance that isn't used anymore.
+	 */
+	void release(Object instance) {
+		scope.release(name, instance);
+	}
+
+	/**
+	 * Creates a new instance of the dependency.
+	 * 
+	 * @return A new instance of the dependency.
+	 * @throws IllegalStateException If the creation of the dependency requires the
+	 *                               dependency itself.
+	 */
+	private Object createInstance() {
+		if (providing.get() != null) {
+			throw new IllegalStateException(String.format("Circular dependency during creation of %s", name));
+		}
+
+		providing.set(Boolean.TRUE);
+		try {
+			return provider.get();
+		} finally {
+			providing.remove();
+		}
+	}
+
+}
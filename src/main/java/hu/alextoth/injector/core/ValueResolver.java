@@ -1,28 +1,53 @@
 package hu.alextoth.injector.core;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import hu.alextoth.injector.annotation.Value;
 import hu.alextoth.injector.core.helper.AnnotationProcessorHelper;
+import hu.alextoth.injector.core.helper.ValueConverters;
+import hu.alextoth.injector.property.PropertyResolver;
 import hu.alextoth.injector.util.ArrayUtils;
 import hu.alextoth.injector.util.ClassUtils;
 
 /**
- * Class for resolving value of elements annotated with {@link Value}.
+ * Class for resolving value of elements annotated with {@link Value}.<br>
+ * The placeholders of the string values are resolved by
+ * {@link PropertyResolver}, then the values are converted by
+ * {@link ValueConverters} once per element. The converted values are cached,
+ * arrays are copied when they're returned.
  * 
  * @author Alex Toth
  */
 public class ValueResolver {
 
 	private final AnnotationProcessorHelper annotationProcessorHelper;
+	private final ValueConverters valueConverters;
+	private final PropertyResolver propertyResolver;
 
-	public ValueResolver(AnnotationProcessorHelper annotationProcessorHelper) {
+	private final ConcurrentMap<Class<? extends Annotation>, Method> valueAttributes;
+	private final ConcurrentMap<AnnotatedElement, Optional<String[]>> valueCache;
+	private final ConcurrentMap<AnnotatedElement, Object> convertedValueCache;
+
+	public ValueResolver(AnnotationProcessorHelper annotationProcessorHelper, ValueConverters valueConverters,
+			PropertyResolver propertyResolver) {
 		this.annotationProcessorHelper = annotationProcessorHelper;
+		this.valueConverters = valueConverters;
+		this.propertyResolver = propertyResolver;
+
+		valueAttributes = new ConcurrentHashMap<>();
+		valueCache = new ConcurrentHashMap<>();
+		convertedValueCache = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -34,15 +59,7 @@ public class ValueResolver {
 	 *         default value if it's not present.
 	 */
 	public Object getValueOf(Field field) {
-		Annotation valueAnnotation = Arrays.stream(field.getAnnotations())
-				.filter(annotation -> annotationProcessorHelper.isValueAnnotation(annotation.annotationType()))
-				.findFirst().orElse(null);
-
-		if (valueAnnotation == null) {
-			return ClassUtils.getDefaultValueForPrimitive(field.getType());
-		}
-
-		return extractValueOf(field.getType(), valueAnnotation);
+		return getValueOf(field, field.getType());
 	}
 
 	/**
@@ -54,42 +71,117 @@ public class ValueResolver {
 	 *         a default value if it's not present.
 	 */
 	public Object getValueOf(Parameter parameter) {
-		Annotation valueAnnotation = Arrays.stream(parameter.getAnnotations())
-				.filter(annotation -> annotationProcessorHelper.isValueAnnotation(annotation.annotationType()))
-				.findFirst().orElse(null);
+		return getValueOf(parameter, parameter.getType());
+	}
+
+	/**
+	 * Returns the string values extracted so far from annotated elements.
+	 * 
+	 * @return The extracted string values by their elements.
+	 */
+	Map<AnnotatedElement, String[]> getResolvedValues() {
+		Map<AnnotatedElement, String[]> resolvedValues = new HashMap<>();
+		valueCache.forEach((element, stringValues) -> stringValues
+				.ifPresent(values -> resolvedValues.put(element, values)));
+		return resolvedValues;
+	}
+
+	/**
+	 * Registers the already extracted string values of the given element, so that
+	 * its annotation isn't read again.
+	 * 
+	 * @param element      Field or parameter of which values are registered.
+	 * @param stringValues Extracted string values of the element.
+	 */
+	void registerValues(AnnotatedElement element, String[] stringValues) {
+		valueCache.put(element, Optional.of(stringValues.clone()));
+		convertedValueCache.remove(element);
+	}
+
+	/**
+	 * Returns the value of the {@link Value} annotation for the given element
+	 * converted to the given type, or a default value if it's not present.<br>
+	 * The string values of the annotation are extracted, resolved and converted
+	 * once per element.
+	 * 
+	 * @param element Element of which value must be returned.
+	 * @param clazz   Type of the element.
+	 * @return The value of the {@link Value} annotation for the given element, or
+	 *         a default value if it's not present.
+	 */
+	private Object getValueOf(AnnotatedElement element, Class<?> clazz) {
+		Object value = convertedValueCache.get(element);
+		if (value == null) {
+			Optional<String[]> stringValues = valueCache.computeIfAbsent(element, this::findStringValuesOf);
+			if (!stringValues.isPresent()) {
+				return ClassUtils.getDefaultValueForPrimitive(clazz);
+			}
 
-		if (valueAnnotation == null) {
-			return ClassUtils.getDefaultValueForPrimitive(parameter.getType());
+			value = valueConverters.convert(clazz, resolvePlaceholdersOf(stringValues.get()));
+			convertedValueCache.putIfAbsent(element, value);
 		}
 
-		return extractValueOf(parameter.getType(), valueAnnotation);
+		return clazz.isArray() ? ArrayUtils.copyOf(value) : value;
 	}
 
 	/**
-	 * Extracts the value of the given annotation instance.
+	 * Resolves the placeholders of the given string values.
 	 * 
-	 * @param annotation Annotation instance of which value must be extracted.
-	 * @return The extracted value of the given annotation instance.
+	 * @param stringValues String values of which placeholders must be resolved.
+	 * @return The string values with their placeholders resolved.
 	 */
-	private Object extractValueOf(Class<?> clazz, Annotation annotation) {
-		Class<?> valueClass = annotation.annotationType();
-		Object valueInstance = valueClass.cast(annotation);
+	private String[] resolvePlaceholdersOf(String[] stringValues) {
+		return Arrays.stream(stringValues).map(propertyResolver::resolvePlaceholders).toArray(String[]::new);
+	}
+
+	/**
+	 * Extracts the string values of the {@link Value} annotation (or its
+	 * alternative) of the given element.
+	 * 
+	 * @param element Element of which values must be extracted.
+	 * @return The extracted string values, or an empty optional if the element
+	 *         isn't annotated.
+	 */
+	private Optional<String[]> findStringValuesOf(AnnotatedElement element) {
+		return Arrays.stream(element.getAnnotations())
+				.filter(annotation -> annotationProcessorHelper.isValueAnnotation(annotation.annotationType()))
+				.findFirst().map(this::extractStringValuesOf);
+	}
+
+	/**
+	 * Extracts the string values of the given annotation instance.
+	 * 
+	 * @param annotation Annotation instance of which values must be extracted.
+	 * @return The extracted string values of the given annotation instance.
+	 */
+	private String[] extractStringValuesOf(Annotation annotation) {
+		Method valueAttribute = valueAttributes.computeIfAbsent(annotation.annotationType(),
+				this::findValueAttributeOf);
 
+		try {
+			return (String[]) valueAttribute.invoke(annotation);
+		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException | ClassCastException e) {
+			throw new IllegalArgumentException(
+					String.format("Annotation %s must have '%s' attribute to be used as value.",
+							annotation.annotationType().getName(), valueAttribute.getName()),
+					e);
+		}
+	}
+
+	/**
+	 * Returns the value attribute of the given annotation type.
+	 * 
+	 * @param valueClass Annotation type of which value attribute must be returned.
+	 * @return The value attribute of the given annotation type.
+	 */
+	private Method findValueAttributeOf(Class<? extends Annotation> valueClass) {
 		Value valueAnnotation = valueClass.getAnnotation(Value.class);
 		String valueAttributeName = valueAnnotation == null ? Value.DEFAULT_VALUE_ATTRIBUTE_NAME
 				: valueAnnotation.valueAttributeName();
 
 		try {
-			Method valueAttribute = valueClass.getMethod(valueAttributeName);
-
-			String[] stringValues = (String[]) valueAttribute.invoke(valueInstance);
-
-			if (clazz.isArray()) {
-				return ArrayUtils.convertToPrimitiveArray(clazz.getComponentType(), stringValues);
-			}
-			return ClassUtils.convertToPrimitive(clazz, stringValues[0]);
-		} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException
-				| InvocationTargetException e) {
+			return valueClass.getMethod(valueAttributeName);
+		} catch (NoSuchMethodException | SecurityException e) {
 			throw new IllegalArgumentException(
 					String.format("Annotation %s must have '%s' attribute to be used as value.", valueClass.getName(),
 							valueAttributeName),
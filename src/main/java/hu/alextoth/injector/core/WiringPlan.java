@@ -0,0 +1,610 @@
+package hu.alextoth.injector.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.reflections.Reflections;
+import org.reflections.Store;
+import org.reflections.scanners.FieldAnnotationsScanner;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+
+import hu.alextoth.injector.annotation.Value;
+import hu.alextoth.injector.core.helper.AnnotationProcessorHelper;
+import hu.alextoth.injector.core.helper.DependencyGraph;
+import hu.alextoth.injector.scan.ScanCache;
+
+/**
+ * Resolved wiring of a container, which can be saved after the processing of
+ * the annotations and executed by a later start instead of resolving it
+ * again.<br>
+ * The plan contains the scanned metadata of the processed annotations, the
+ * inject members in processing order, the resolved aliases and {@link Value}
+ * strings, and the constructors chosen for the created classes. It's stored in
+ * a binary file with a string table, protected by a checksum of its content.
+ * The fingerprint of the classpath roots of the base packages is stored too, a
+ * plan is stale once it has changed.
+ * 
+ * @author Alex Toth
+ */
+public final class WiringPlan {
+
+	private static final int MAGIC = 0x44495750;
+	private static final int VERSION = 1;
+
+	private static final String MEMBER_SEPARATOR = "#";
+	private static final String PARAMETER_SEPARATOR = "@";
+	private static final String PARAMETER_TYPE_SEPARATOR = ",";
+	private static final String CONSTRUCTOR_NAME = "<init>";
+
+	private static final List<String> INDEXES = Arrays.asList(SubTypesScanner.class.getSimpleName(),
+			TypeAnnotationsScanner.class.getSimpleName(), FieldAnnotationsScanner.class.getSimpleName(),
+			MethodAnnotationsScanner.class.getSimpleName());
+	private static final Set<String> TYPE_INDEXES = new HashSet<>(Arrays
+			.asList(SubTypesScanner.class.getSimpleName(), TypeAnnotationsScanner.class.getSimpleName()));
+	private static final Map<String, Class<?>> PRIMITIVES = Stream.of(boolean.class, byte.class, char.class,
+			short.class, int.class, long.class, float.class, double.class, void.class)
+			.collect(Collectors.toMap(Class::getName, clazz -> clazz));
+
+	private final String[] basePackages;
+	private final long classpathFingerprint;
+	private final List<String[]> entries;
+	private final DependencyGraph dependencyGraph;
+	private final Map<Method, String[]> methodAliases;
+	private final Map<AnnotatedElement, String> aliases;
+	private final Map<AnnotatedElement, String[]> values;
+	private final Map<Class<?>, Constructor<?>> chosenConstructors;
+
+	/**
+	 * Creates the plan of a container which has processed its annotations.
+	 * 
+	 * @param basePackages              Packages scanned by the container.
+	 * @param reflections               Scanned metadata of the container.
+	 * @param annotationProcessorHelper Helper knowing the processed annotations.
+	 * @param dependencyGraph           Graph ordering the processed members.
+	 * @param dependencyAliasResolver   Resolver holding the resolved aliases.
+	 * @param valueResolver             Resolver holding the resolved values.
+	 * @param dependencyHandler         Handler holding the chosen constructors.
+	 */
+	WiringPlan(String[] basePackages, Reflections reflections, AnnotationProcessorHelper annotationProcessorHelper,
+			DependencyGraph dependencyGraph, DependencyAliasResolver dependencyAliasResolver,
+			ValueResolver valueResolver, DependencyHandler dependencyHandler) {
+		this(basePackages.clone(), getClasspathFingerprintOf(basePackages),
+				getEntriesOf(reflections, getAnnotationNamesOf(annotationProcessorHelper)), dependencyGraph,
+				dependencyAliasResolver.getResolvedMethodAliases(), dependencyAliasResolver.getResolvedAliases(),
+				valueResolver.getResolvedValues(), dependencyHandler.getChosenConstructors());
+	}
+
+	private WiringPlan(String[] basePackages, long classpathFingerprint, List<String[]> entries,
+			DependencyGraph dependencyGraph, Map<Method, String[]> methodAliases,
+			Map<AnnotatedElement, String> aliases, Map<AnnotatedElement, String[]> values,
+			Map<Class<?>, Constructor<?>> chosenConstructors) {
+		this.basePackages = basePackages;
+		this.classpathFingerprint = classpathFingerprint;
+		this.entries = entries;
+		this.dependencyGraph = dependencyGraph;
+		this.methodAliases = methodAliases;
+		this.aliases = aliases;
+		this.values = values;
+		this.chosenConstructors = chosenConstructors;
+	}
+
+	/**
+	 * Reads the plan saved in the given file for the given base packages.
+	 * 
+	 * @param file         File containing the plan.
+	 * @param basePackages Packages scanned by the container to be restored.
+	 * @return The read plan, or null if the file doesn't exist, is corrupted, was
+	 *         saved for other base packages or is stale.
+	 */
+	public static WiringPlan read(Path file, String... basePackages) {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				return null;
+			}
+
+			long checksum = buffer.getLong();
+			CRC32 crc = new CRC32();
+			crc.update(buffer.slice());
+			if (crc.getValue() != checksum) {
+				return null;
+			}
+
+			String[] strings = new String[buffer.getInt()];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = readString(buffer);
+			}
+
+			String[] planPackages = readStrings(buffer, strings);
+			long planFingerprint = buffer.getLong();
+			if (!Arrays.equals(planPackages, basePackages)
+					|| planFingerprint != getClasspathFingerprintOf(basePackages)) {
+				return null;
+			}
+
+			List<String[]> entries = new ArrayList<>();
+			for (int i = buffer.getInt(); i > 0; i--) {
+				entries.add(new String[] { strings[buffer.getInt()], strings[buffer.getInt()],
+						strings[buffer.getInt()] });
+			}
+
+			DependencyGraph dependencyGraph = DependencyGraph.ofSortedMembers(readElements(buffer, strings),
+					readElements(buffer, strings), readElements(buffer, strings), readElements(buffer, strings));
+
+			Map<Method, String[]> methodAliases = new HashMap<>();
+			for (int i = buffer.getInt(); i > 0; i--) {
+				methodAliases.put((Method) resolve(strings[buffer.getInt()]), readStrings(buffer, strings));
+			}
+
+			Map<AnnotatedElement, String> aliases = new HashMap<>();
+			for (int i = buffer.getInt(); i > 0; i--) {
+				aliases.put(resolve(strings[buffer.getInt()]), strings[buffer.getInt()]);
+			}
+
+			Map<AnnotatedElement, String[]> values = new HashMap<>();
+			for (int i = buffer.getInt(); i > 0; i--) {
+				values.put(resolve(strings[buffer.getInt()]), readStrings(buffer, strings));
+			}
+
+			Map<Class<?>, Constructor<?>> chosenConstructors = new HashMap<>();
+			for (int i = buffer.getInt(); i > 0; i--) {
+				chosenConstructors.put((Class<?>) resolve(strings[buffer.getInt()]),
+						(Constructor<?>) resolve(strings[buffer.getInt()]));
+			}
+
+			return new WiringPlan(planPackages, planFingerprint, entries, dependencyGraph, methodAliases, aliases,
+					values, chosenConstructors);
+		} catch (IOException | ReflectiveOperationException | BufferUnderflowException | IndexOutOfBoundsException
+				| IllegalArgumentException | ClassCastException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the plan to the given file atomically.
+	 * 
+	 * @param file File to be written.
+	 * @throws IllegalStateException If the file cannot be written.
+	 */
+	public void write(Path file) {
+		try {
+			byte[] content = getContent();
+			CRC32 crc = new CRC32();
+			crc.update(content);
+
+			Path directory = file.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+
+			Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			try {
+				try (DataOutputStream output = new DataOutputStream(
+						new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+					output.writeInt(MAGIC);
+					output.writeInt(VERSION);
+					output.writeLong(crc.getValue());
+					output.write(content);
+				}
+				move(temporaryFile, file);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Cannot write wiring plan: %s", file), e);
+		}
+	}
+
+	/**
+	 * Returns a {@link Reflections} instance containing the metadata stored in the
+	 * plan, without scanning the classpath.
+	 * 
+	 * @return The metadata stored in the plan.
+	 */
+	public Reflections getReflections() {
+		Reflections reflections = new Reflections() {
+		};
+
+		Store store = reflections.getStore();
+		INDEXES.forEach(store::getOrCreate);
+		entries.forEach(entry -> store.getOrCreate(entry[0]).put(entry[1], entry[2]));
+		return reflections;
+	}
+
+	/**
+	 * Returns the graph of the processed members in processing order.
+	 * 
+	 * @return The graph of the processed members.
+	 */
+	DependencyGraph getDependencyGraph() {
+		return dependencyGraph;
+	}
+
+	/**
+	 * Registers the resolved aliases, values and chosen constructors of the plan,
+	 * so that they aren't resolved again.
+	 * 
+	 * @param dependencyAliasResolver Resolver of the aliases.
+	 * @param valueResolver           Resolver of the values.
+	 * @param dependencyHandler       Handler creating the instances.
+	 */
+	void applyTo(DependencyAliasResolver dependencyAliasResolver, ValueResolver valueResolver,
+			DependencyHandler dependencyHandler) {
+		methodAliases.forEach(dependencyAliasResolver::registerAliases);
+		aliases.forEach(dependencyAliasResolver::registerAlias);
+		values.forEach(valueResolver::registerValues);
+		chosenConstructors.forEach(dependencyHandler::registerChosenConstructor);
+	}
+
+	/**
+	 * Returns the content of the plan file following the checksum: the string
+	 * table, then the plan referring to the strings by their indexes.
+	 * 
+	 * @return The content of the plan file.
+	 * @throws IOException If the content cannot be written.
+	 */
+	private byte[] getContent() throws IOException {
+		Map<String, Integer> stringIds = new LinkedHashMap<>();
+
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(body)) {
+			writeStrings(output, stringIds, Arrays.asList(basePackages));
+			output.writeLong(classpathFingerprint);
+
+			output.writeInt(entries.size());
+			for (String[] entry : entries) {
+				for (String string : entry) {
+					writeString(output, stringIds, string);
+				}
+			}
+
+			writeElements(output, stringIds, dependencyGraph.getSortedInjectableMethods());
+			writeElements(output, stringIds, dependencyGraph.getSortedInjectConstructors());
+			writeElements(output, stringIds, dependencyGraph.getSortedInjectFields());
+			writeElements(output, stringIds, dependencyGraph.getSortedInjectMethods());
+
+			output.writeInt(methodAliases.size());
+			for (Map.Entry<Method, String[]> methodAlias : methodAliases.entrySet()) {
+				writeString(output, stringIds, getDescriptorOf(methodAlias.getKey()));
+				writeStrings(output, stringIds, Arrays.asList(methodAlias.getValue()));
+			}
+
+			output.writeInt(aliases.size());
+			for (Map.Entry<AnnotatedElement, String> alias : aliases.entrySet()) {
+				writeString(output, stringIds, getDescriptorOf(alias.getKey()));
+				writeString(output, stringIds, alias.getValue());
+			}
+
+			output.writeInt(values.size());
+			for (Map.Entry<AnnotatedElement, String[]> value : values.entrySet()) {
+				writeString(output, stringIds, getDescriptorOf(value.getKey()));
+				writeStrings(output, stringIds, Arrays.asList(value.getValue()));
+			}
+
+			output.writeInt(chosenConstructors.size());
+			for (Map.Entry<Class<?>, Constructor<?>> chosenConstructor : chosenConstructors.entrySet()) {
+				writeString(output, stringIds, getDescriptorOf(chosenConstructor.getKey()));
+				writeString(output, stringIds, getDescriptorOf(chosenConstructor.getValue()));
+			}
+		}
+
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(content)) {
+			output.writeInt(stringIds.size());
+			for (String string : stringIds.keySet()) {
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				output.writeInt(bytes.length);
+				output.write(bytes);
+			}
+			body.writeTo(output);
+		}
+		return content.toByteArray();
+	}
+
+	/**
+	 * Writes the descriptors of the given elements.
+	 * 
+	 * @param output    Output to be written.
+	 * @param stringIds Indexes of the strings in the string table.
+	 * @param elements  Elements to be written.
+	 * @throws IOException If the output cannot be written.
+	 */
+	private static void writeElements(DataOutputStream output, Map<String, Integer> stringIds,
+			Collection<? extends AnnotatedElement> elements) throws IOException {
+		writeStrings(output, stringIds,
+				elements.stream().map(WiringPlan::getDescriptorOf).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Writes the number of the given strings, then their indexes.
+	 * 
+	 * @param output    Output to be written.
+	 * @param stringIds Indexes of the strings in the string table.
+	 * @param strings   Strings to be written.
+	 * @throws IOException If the output cannot be written.
+	 */
+	private static void writeStrings(DataOutputStream output, Map<String, Integer> stringIds,
+			Collection<String> strings) throws IOException {
+		output.writeInt(strings.size());
+		for (String string : strings) {
+			writeString(output, stringIds, string);
+		}
+	}
+
+	/**
+	 * Writes the index of the given string, adds it to the string table if
+	 * necessary.
+	 * 
+	 * @param output    Output to be written.
+	 * @param stringIds Indexes of the strings in the string table.
+	 * @param string    String to be written.
+	 * @throws IOException If the output cannot be written.
+	 */
+	private static void writeString(DataOutputStream output, Map<String, Integer> stringIds, String string)
+			throws IOException {
+		output.writeInt(stringIds.computeIfAbsent(string, key -> stringIds.size()));
+	}
+
+	/**
+	 * Reads elements written by
+	 * {@link #writeElements(DataOutputStream, Map, Collection)}.
+	 * 
+	 * @param buffer  Buffer to be read.
+	 * @param strings String table of the plan.
+	 * @return The read elements.
+	 * @throws ReflectiveOperationException If an element cannot be resolved.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T extends Member> List<T> readElements(MappedByteBuffer buffer, String[] strings)
+			throws ReflectiveOperationException {
+		List<T> elements = new ArrayList<>();
+		for (String descriptor : readStrings(buffer, strings)) {
+			elements.add((T) resolve(descriptor));
+		}
+		return elements;
+	}
+
+	/**
+	 * Reads strings written by
+	 * {@link #writeStrings(DataOutputStream, Map, Collection)}.
+	 * 
+	 * @param buffer  Buffer to be read.
+	 * @param strings String table of the plan.
+	 * @return The read strings.
+	 */
+	private static String[] readStrings(MappedByteBuffer buffer, String[] strings) {
+		String[] readStrings = new String[buffer.getInt()];
+		for (int i = 0; i < readStrings.length; i++) {
+			readStrings[i] = strings[buffer.getInt()];
+		}
+		return readStrings;
+	}
+
+	/**
+	 * Reads a length-prefixed UTF-8 string of the string table.
+	 * 
+	 * @param buffer Buffer to be read.
+	 * @return The read string.
+	 */
+	private static String readString(MappedByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the store entries of the given {@link Reflections} instance which
+	 * are needed to process the given annotations: the types annotated with them,
+	 * transitively, the subtypes of these types and the annotated members.
+	 * 
+	 * @param reflections     {@link Reflections} instance of which entries must be
+	 *                        returned.
+	 * @param annotationNames Names of the processed annotations.
+	 * @return The needed store entries.
+	 */
+	private static List<String[]> getEntriesOf(Reflections reflections, Set<String> annotationNames) {
+		List<String[]> remainingEntries = new ArrayList<>();
+		Store store = reflections.getStore();
+		for (String index : store.keySet()) {
+			store.get(index).entries().forEach(
+					entry -> remainingEntries.add(new String[] { index, entry.getKey(), entry.getValue() }));
+		}
+
+		Set<String> keys = new HashSet<>(annotationNames);
+		List<String[]> entries = new ArrayList<>();
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (Iterator<String[]> iterator = remainingEntries.iterator(); iterator.hasNext();) {
+				String[] entry = iterator.next();
+				if (keys.contains(entry[1])) {
+					entries.add(entry);
+					iterator.remove();
+					changed |= TYPE_INDEXES.contains(entry[0]) && keys.add(entry[2]);
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Returns the names of the annotations processed by the given helper,
+	 * including their alternatives.
+	 * 
+	 * @param annotationProcessorHelper Helper knowing the processed annotations.
+	 * @return The names of the processed annotations.
+	 */
+	private static Set<String> getAnnotationNamesOf(AnnotationProcessorHelper annotationProcessorHelper) {
+		return Stream
+				.of(annotationProcessorHelper.getComponentAnnotations(),
+						annotationProcessorHelper.getConfigurationAnnotations(),
+						annotationProcessorHelper.getInjectableAnnotations(),
+						annotationProcessorHelper.getInjectAnnotations(),
+						annotationProcessorHelper.getAliasAnnotations(),
+						annotationProcessorHelper.getValueAnnotations())
+				.flatMap(Set<Class<? extends Annotation>>::stream).map(Class::getName).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Returns the fingerprint of the classpath roots of the given base packages.
+	 * 
+	 * @param basePackages Packages of which classpath roots must be fingerprinted.
+	 * @return The fingerprint of the classpath roots.
+	 */
+	private static long getClasspathFingerprintOf(String[] basePackages) {
+		Set<URL> urls = new LinkedHashSet<>();
+		for (String basePackage : basePackages) {
+			urls.addAll(ClasspathHelper.forPackage(basePackage));
+		}
+
+		long fingerprint = 0;
+		for (URL url : urls) {
+			fingerprint += 31 * url.toExternalForm().hashCode() + ScanCache.getFingerprintOf(url);
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Returns the descriptor of the given class, member or parameter, resolvable
+	 * by {@link #resolve(String)}.
+	 * 
+	 * @param element Element of which descriptor must be returned.
+	 * @return The descriptor of the given element.
+	 * @throws IllegalArgumentException If the element cannot be described.
+	 */
+	private static String getDescriptorOf(AnnotatedElement element) {
+		if (element instanceof Class) {
+			return ((Class<?>) element).getName();
+		}
+		if (element instanceof Field) {
+			Field field = (Field) element;
+			return field.getDeclaringClass().getName() + MEMBER_SEPARATOR + field.getName();
+		}
+		if (element instanceof Executable) {
+			Executable executable = (Executable) element;
+			return executable.getDeclaringClass().getName() + MEMBER_SEPARATOR
+					+ (executable instanceof Constructor ? CONSTRUCTOR_NAME : executable.getName()) + "("
+					+ Arrays.stream(executable.getParameterTypes()).map(Class::getName)
+							.collect(Collectors.joining(PARAMETER_TYPE_SEPARATOR))
+					+ ")";
+		}
+		if (element instanceof Parameter) {
+			Parameter parameter = (Parameter) element;
+			Executable executable = parameter.getDeclaringExecutable();
+			return getDescriptorOf(executable) + PARAMETER_SEPARATOR
+					+ Arrays.asList(executable.getParameters()).indexOf(parameter);
+		}
+		throw new IllegalArgumentException(String.format("Cannot describe %s", element));
+	}
+
+	/**
+	 * Returns the class, member or parameter of the given descriptor.
+	 * 
+	 * @param descriptor Descriptor returned by
+	 *                   {@link #getDescriptorOf(AnnotatedElement)}.
+	 * @return The described element.
+	 * @throws ReflectiveOperationException If the element doesn't exist.
+	 */
+	private static AnnotatedElement resolve(String descriptor) throws ReflectiveOperationException {
+		int parameterSeparator = descriptor.lastIndexOf(PARAMETER_SEPARATOR);
+		if (parameterSeparator >= 0) {
+			Executable executable = (Executable) resolve(descriptor.substring(0, parameterSeparator));
+			return executable.getParameters()[Integer.parseInt(descriptor.substring(parameterSeparator + 1))];
+		}
+
+		int memberSeparator = descriptor.indexOf(MEMBER_SEPARATOR);
+		if (memberSeparator < 0) {
+			return forName(descriptor);
+		}
+
+		Class<?> clazz = forName(descriptor.substring(0, memberSeparator));
+		String member = descriptor.substring(memberSeparator + 1);
+		int parametersStart = member.indexOf('(');
+		if (parametersStart < 0) {
+			return clazz.getDeclaredField(member);
+		}
+
+		String parameterTypeNames = member.substring(parametersStart + 1, member.length() - 1);
+		List<Class<?>> parameterTypes = new ArrayList<>();
+		if (!parameterTypeNames.isEmpty()) {
+			for (String parameterTypeName : parameterTypeNames.split(PARAMETER_TYPE_SEPARATOR)) {
+				parameterTypes.add(forName(parameterTypeName));
+			}
+		}
+
+		String name = member.substring(0, parametersStart);
+		Class<?>[] parameterTypeArray = parameterTypes.toArray(new Class<?>[parameterTypes.size()]);
+		return CONSTRUCTOR_NAME.equals(name) ? clazz.getDeclaredConstructor(parameterTypeArray)
+				: clazz.getDeclaredMethod(name, parameterTypeArray);
+	}
+
+	/**
+	 * Returns the class with the given name, without initializing it.
+	 * 
+	 * @param className Name of the class, as returned by {@link Class#getName()}.
+	 * @return The class with the given name.
+	 * @throws ClassNotFoundException If the class cannot be found.
+	 */
+	private static Class<?> forName(String className) throws ClassNotFoundException {
+		Class<?> primitive = PRIMITIVES.get(className);
+		if (primitive != null) {
+			return primitive;
+		}
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return Class.forName(className, false, classLoader != null ? classLoader : WiringPlan.class.getClassLoader());
+	}
+
+	/**
+	 * Moves the given source file to the given target atomically, if the file
+	 * system supports it.
+	 * 
+	 * @param source File to be moved.
+	 * @param target Target of the file.
+	 * @throws IOException If the file cannot be moved.
+	 */
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+}
@@ -6,10 +6,12 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.reflections.Reflections;
 
@@ -21,8 +23,7 @@ import hu.alextoth.injector.annotation.Configuration;
 import hu.alextoth.injector.annotation.Inject;
 import hu.alextoth.injector.annotation.Injectable;
 import hu.alextoth.injector.annotation.Value;
-import hu.alextoth.injector.util.ArrayUtils;
-import hu.alextoth.injector.util.ClassUtils;
+import hu.alextoth.injector.scope.Scope;
 
 /**
  * Helper class for processing {@link Component}, {@link Configuration},
@@ -34,13 +35,19 @@ import hu.alextoth.injector.util.ClassUtils;
 public class AnnotationProcessorHelper {
 
 	private final Map<Class<? extends Annotation>, Set<Class<? extends Annotation>>> annotations;
+	private final Map<Method, Boolean> injectableMethodFlags;
+	private final Map<Parameter, Boolean> valueParameterFlags;
 
 	private final Reflections reflections;
+	private final ValueConverters valueConverters;
 
-	public AnnotationProcessorHelper(Reflections reflections) {
-		annotations = new HashMap<>(5);
+	public AnnotationProcessorHelper(Reflections reflections, ValueConverters valueConverters) {
+		annotations = new ConcurrentHashMap<>(5);
+		injectableMethodFlags = new ConcurrentHashMap<>();
+		valueParameterFlags = new ConcurrentHashMap<>();
 
 		this.reflections = reflections;
+		this.valueConverters = valueConverters;
 	}
 
 	/**
@@ -201,18 +208,16 @@ public class AnnotationProcessorHelper {
 
 	/**
 	 * Returns a boolean value indicating whether the given method is an injactable
-	 * method or not.
+	 * method or not.<br>
+	 * The result is computed once per method, as it's checked on every call of a
+	 * configuration proxy.
 	 * 
 	 * @param method Method to check whether it is an injectable method or not.
 	 * @return A boolean value indicating whether the given method is an injectable
 	 *         method or not.
 	 */
 	public boolean isInjectableMethod(Method method) {
-		if (!canBeUsedAsInjectableMethod(method)) {
-			return false;
-		}
-		return Arrays.stream(method.getAnnotations())
-				.anyMatch(annotation -> isInjectableAnnotation(annotation.annotationType()));
+		return injectableMethodFlags.computeIfAbsent(method, this::resolveInjectableMethod);
 	}
 
 	/**
@@ -282,18 +287,71 @@ public class AnnotationProcessorHelper {
 
 	/**
 	 * Returns a boolean value indicating whether the given parameter value must be
-	 * set or not.
+	 * set or not.<br>
+	 * The result is computed once per parameter.
 	 * 
 	 * @param parameter Parameter to check whether its value must be set or not.
 	 * @return A boolean value indicating whether the given parameter value must be
 	 *         set or not.
 	 */
 	public boolean isValueParameter(Parameter parameter) {
-		if (!canBeUsedAsValueParameter(parameter)) {
-			return false;
-		}
-		return Arrays.stream(parameter.getAnnotations())
-				.anyMatch(annotation -> isValueAnnotation(annotation.annotationType()));
+		return valueParameterFlags.computeIfAbsent(parameter, this::resolveValueParameter);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given class is a lazy
+	 * component class or not.<br>
+	 * A component class is lazy if it's annotated with {@link Component} with its
+	 * lazy attribute set or with an alternative annotation which is annotated so.
+	 * 
+	 * @param clazz Class to check whether it is a lazy component class or not.
+	 * @return A boolean value indicating whether the given class is a lazy
+	 *         component class or not.
+	 */
+	public boolean isLazyComponentClass(Class<?> clazz) {
+		return getComponentsOf(clazz).anyMatch(Component::lazy);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given method is a lazy
+	 * injectable method or not.<br>
+	 * An injectable method is lazy if it's annotated with {@link Injectable} with
+	 * its lazy attribute set or with an alternative annotation which is annotated
+	 * so.
+	 * 
+	 * @param method Method to check whether it is a lazy injectable method or not.
+	 * @return A boolean value indicating whether the given method is a lazy
+	 *         injectable method or not.
+	 */
+	public boolean isLazyInjectableMethod(Method method) {
+		return getInjectablesOf(method).anyMatch(Injectable::lazy);
+	}
+
+	/**
+	 * Returns the name of the scope of the given component class.<br>
+	 * The scope is set by the scope attribute of {@link Component}, either on the
+	 * class or on its alternative annotation.
+	 * 
+	 * @param clazz Class of which scope must be returned.
+	 * @return The name of the scope of the given component class.
+	 */
+	public String getComponentScope(Class<?> clazz) {
+		return getComponentsOf(clazz).map(Component::scope).filter(scope -> !Scope.SINGLETON.equals(scope))
+				.findFirst().orElse(Scope.SINGLETON);
+	}
+
+	/**
+	 * Returns the name of the scope of the given injectable method's return
+	 * value.<br>
+	 * The scope is set by the scope attribute of {@link Injectable}, either on the
+	 * method or on its alternative annotation.
+	 * 
+	 * @param method Injectable method of which scope must be returned.
+	 * @return The name of the scope of the given injectable method.
+	 */
+	public String getInjectableScope(Method method) {
+		return getInjectablesOf(method).map(Injectable::scope).filter(scope -> !Scope.SINGLETON.equals(scope))
+				.findFirst().orElse(Scope.SINGLETON);
 	}
 
 	/**
@@ -457,6 +515,68 @@ public class AnnotationProcessorHelper {
 		return reflections.getFieldsAnnotatedWith(annotation);
 	}
 
+	/**
+	 * Returns the {@link Component} annotations of the given class, including the
+	 * ones annotating its alternative component annotations.
+	 * 
+	 * @param clazz Class of which component annotations must be returned.
+	 * @return The component annotations of the given class.
+	 */
+	private Stream<Component> getComponentsOf(Class<?> clazz) {
+		return Arrays.stream(clazz.getAnnotations())
+				.filter(annotation -> isComponentAnnotation(annotation.annotationType()))
+				.map(annotation -> annotation instanceof Component ? (Component) annotation
+						: annotation.annotationType().getAnnotation(Component.class))
+				.filter(Objects::nonNull);
+	}
+
+	/**
+	 * Returns the {@link Injectable} annotations of the given method, including
+	 * the ones annotating its alternative injectable annotations.
+	 * 
+	 * @param method Method of which injectable annotations must be returned.
+	 * @return The injectable annotations of the given method.
+	 */
+	private Stream<Injectable> getInjectablesOf(Method method) {
+		return Arrays.stream(method.getAnnotations())
+				.filter(annotation -> isInjectableAnnotation(annotation.annotationType()))
+				.map(annotation -> annotation instanceof Injectable ? (Injectable) annotation
+						: annotation.annotationType().getAnnotation(Injectable.class))
+				.filter(Objects::nonNull);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given method is an injactable
+	 * method or not, without caching.
+	 * 
+	 * @param method Method to check whether it is an injectable method or not.
+	 * @return A boolean value indicating whether the given method is an injectable
+	 *         method or not.
+	 */
+	private boolean resolveInjectableMethod(Method method) {
+		if (!canBeUsedAsInjectableMethod(method)) {
+			return false;
+		}
+		return Arrays.stream(method.getAnnotations())
+				.anyMatch(annotation -> isInjectableAnnotation(annotation.annotationType()));
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given parameter value must be
+	 * set or not, without caching.
+	 * 
+	 * @param parameter Parameter to check whether its value must be set or not.
+	 * @return A boolean value indicating whether the given parameter value must be
+	 *         set or not.
+	 */
+	private boolean resolveValueParameter(Parameter parameter) {
+		if (!canBeUsedAsValueParameter(parameter)) {
+			return false;
+		}
+		return Arrays.stream(parameter.getAnnotations())
+				.anyMatch(annotation -> isValueAnnotation(annotation.annotationType()));
+	}
+
 	/**
 	 * Returns a boolean value indicating whether the given method can be used as
 	 * injectable or not.
@@ -515,10 +635,7 @@ public class AnnotationProcessorHelper {
 	 *         or not.
 	 */
 	private boolean canBeUsedAsValueField(Field field) {
-		return isComponentClass(field.getDeclaringClass())
-				&& (ClassUtils.isPrimitiveOrWrapper(field.getType()) || String.class.isAssignableFrom(field.getType())
-						|| ArrayUtils.isPrimitiveOrWrapperArray(field.getType())
-						|| String[].class.isAssignableFrom(field.getType()));
+		return isComponentClass(field.getDeclaringClass()) && valueConverters.canConvertTo(field.getType());
 	}
 
 	/**
@@ -530,10 +647,7 @@ public class AnnotationProcessorHelper {
 	 *         set or not.
 	 */
 	private boolean canBeUsedAsValueParameter(Parameter parameter) {
-		return ClassUtils.isPrimitiveOrWrapper(parameter.getType())
-				|| String.class.isAssignableFrom(parameter.getType())
-				|| ArrayUtils.isPrimitiveOrWrapperArray(parameter.getType())
-				|| String[].class.isAssignableFrom(parameter.getType());
+		return valueConverters.canConvertTo(parameter.getType());
 	}
 
 }
@@ -0,0 +1,461 @@
+package hu.alextoth.injector.core.helper;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.annotation.Injectable;
+import hu.alextoth.injector.exception.AnnotationProcessingException;
+import hu.alextoth.injector.util.ClassUtils;
+
+/**
+ * Dependency graph of the types taking part in the annotation processing,
+ * built once and sorted topologically.<br>
+ * The nodes of the graph are the return types of {@link Injectable} methods and
+ * the declaring classes of {@link Inject} constructors, fields and methods.
+ * Parameters of injectable methods and constructors are hard dependencies, as
+ * they must exist before the dependent type can be created. Inject fields and
+ * methods are soft dependencies, cycles made of them are broken. Types which
+ * aren't nodes of the graph are followed through their constructor
+ * parameters.<br>
+ * The types are ordered using Kahn's algorithm with priority queues, in
+ * O((V+E) log V) time. Independent types keep their input order.
+ *
+ * @author Alex Toth
+ */
+public class DependencyGraph {
+
+	private final Map<Class<?>, Node> nodes;
+	private final Map<Class<?>, Set<Node>> reachableNodes;
+
+	private final List<Class<?>> sortedTypes;
+	private final Map<Class<?>, Integer> ranks;
+	private final List<Method> sortedInjectableMethods;
+	private final List<Constructor<?>> sortedInjectConstructors;
+	private final List<Field> sortedInjectFields;
+	private final List<Method> sortedInjectMethods;
+
+	public DependencyGraph(Set<Method> injectableMethods, Set<Constructor<?>> injectConstructors,
+			Set<Field> injectFields, Set<Method> injectMethods) {
+		nodes = new LinkedHashMap<>();
+		reachableNodes = new HashMap<>();
+
+		injectableMethods.forEach(method -> getOrCreateNode(method.getReturnType()));
+		injectConstructors
+				.forEach(constructor -> getOrCreateNode(constructor.getDeclaringClass()).injectConstructor = true);
+		injectFields.forEach(field -> getOrCreateNode(field.getDeclaringClass()));
+		injectMethods.forEach(method -> getOrCreateNode(method.getDeclaringClass()));
+
+		injectableMethods.forEach(method -> addDependencies(nodes.get(method.getReturnType()),
+				method.getParameterTypes(), true));
+		injectConstructors.forEach(constructor -> addDependencies(nodes.get(constructor.getDeclaringClass()),
+				constructor.getParameterTypes(), true));
+		injectFields.forEach(field -> addDependencies(nodes.get(field.getDeclaringClass()),
+				new Class<?>[] { field.getType() }, false));
+		injectMethods.forEach(method -> addDependencies(nodes.get(method.getDeclaringClass()),
+				method.getParameterTypes(), false));
+		for (Node node : new ArrayList<>(nodes.values())) {
+			Constructor<?> constructor = node.injectConstructor ? null : getSuitableConstructor(node.type);
+			if (constructor != null) {
+				addDependencies(node, constructor.getParameterTypes(), true);
+			}
+		}
+
+		sortedTypes = Collections.unmodifiableList(sort());
+
+		ranks = new HashMap<>();
+		for (int i = 0; i < sortedTypes.size(); i++) {
+			ranks.put(sortedTypes.get(i), i);
+		}
+		sortedInjectableMethods = sortByRank(injectableMethods, Method::getReturnType, ranks);
+		sortedInjectConstructors = sortByRank(injectConstructors, Constructor::getDeclaringClass, ranks);
+		sortedInjectFields = sortByRank(injectFields, Member::getDeclaringClass, ranks);
+		sortedInjectMethods = sortByRank(injectMethods, Member::getDeclaringClass, ranks);
+	}
+
+	/**
+	 * @param sortedInjectableMethods  Injectable methods in processing order.
+	 * @param sortedInjectConstructors Inject constructors in processing order.
+	 * @param sortedInjectFields       Inject fields in processing order.
+	 * @param sortedInjectMethods      Inject methods in processing order.
+	 */
+	private DependencyGraph(List<Method> sortedInjectableMethods, List<Constructor<?>> sortedInjectConstructors,
+			List<Field> sortedInjectFields, List<Method> sortedInjectMethods) {
+		nodes = Collections.emptyMap();
+		reachableNodes = Collections.emptyMap();
+
+		Set<Class<?>> types = new LinkedHashSet<>();
+		sortedInjectableMethods.forEach(method -> types.add(method.getReturnType()));
+		sortedInjectConstructors.forEach(constructor -> types.add(constructor.getDeclaringClass()));
+		sortedInjectFields.forEach(field -> types.add(field.getDeclaringClass()));
+		sortedInjectMethods.forEach(method -> types.add(method.getDeclaringClass()));
+		sortedTypes = Collections.unmodifiableList(new ArrayList<>(types));
+
+		ranks = new HashMap<>();
+		for (int i = 0; i < sortedTypes.size(); i++) {
+			ranks.put(sortedTypes.get(i), i);
+		}
+		this.sortedInjectableMethods = Collections.unmodifiableList(new ArrayList<>(sortedInjectableMethods));
+		this.sortedInjectConstructors = Collections.unmodifiableList(new ArrayList<>(sortedInjectConstructors));
+		this.sortedInjectFields = Collections.unmodifiableList(new ArrayList<>(sortedInjectFields));
+		this.sortedInjectMethods = Collections.unmodifiableList(new ArrayList<>(sortedInjectMethods));
+	}
+
+	/**
+	 * Returns a graph of the given members, which have already been sorted, eg.
+	 * by a previous processing.<br>
+	 * The members keep their order and nothing is sorted again. The returned graph
+	 * doesn't know the dependencies of its types.
+	 *
+	 * @param sortedInjectableMethods  Injectable methods in processing order.
+	 * @param sortedInjectConstructors Inject constructors in processing order.
+	 * @param sortedInjectFields       Inject fields in processing order.
+	 * @param sortedInjectMethods      Inject methods in processing order.
+	 * @return A graph of the given members.
+	 */
+	public static DependencyGraph ofSortedMembers(List<Method> sortedInjectableMethods,
+			List<Constructor<?>> sortedInjectConstructors, List<Field> sortedInjectFields,
+			List<Method> sortedInjectMethods) {
+		return new DependencyGraph(sortedInjectableMethods, sortedInjectConstructors, sortedInjectFields,
+				sortedInjectMethods);
+	}
+
+	/**
+	 * Returns the types of the graph in topological order, dependencies first.
+	 *
+	 * @return The types of the graph in topological order.
+	 */
+	public List<Class<?>> getSortedTypes() {
+		return sortedTypes;
+	}
+
+	/**
+	 * Returns the types the given type depends on and which precede it in the
+	 * topological order. Dependencies dropped for breaking a soft dependency
+	 * cycle aren't returned.
+	 *
+	 * @param type Type of which dependencies must be returned.
+	 * @return The types the given type depends on.
+	 */
+	public Set<Class<?>> getDependenciesOf(Class<?> type) {
+		Node node = nodes.get(type);
+		if (node == null) {
+			return Collections.emptySet();
+		}
+
+		int rank = ranks.get(type);
+		return Stream.concat(node.hardDependencies.stream(), node.softDependencies.stream())
+				.filter(dependency -> ranks.get(dependency.type) < rank).map(dependency -> dependency.type)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+	/**
+	 * Returns the types the given type depends on through injectable method or
+	 * constructor parameters.
+	 *
+	 * @param type Type of which hard dependencies must be returned.
+	 * @return The types the given type depends on through parameters.
+	 */
+	public Set<Class<?>> getHardDependenciesOf(Class<?> type) {
+		Node node = nodes.get(type);
+		if (node == null) {
+			return Collections.emptySet();
+		}
+
+		return node.hardDependencies.stream().map(dependency -> dependency.type)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+	/**
+	 * Returns the injectable methods ordered by the graph.
+	 *
+	 * @return The injectable methods ordered by the graph.
+	 */
+	public List<Method> getSortedInjectableMethods() {
+		return sortedInjectableMethods;
+	}
+
+	/**
+	 * Returns the inject constructors ordered by the graph.
+	 *
+	 * @return The inject constructors ordered by the graph.
+	 */
+	public List<Constructor<?>> getSortedInjectConstructors() {
+		return sortedInjectConstructors;
+	}
+
+	/**
+	 * Returns the inject fields ordered by the graph.
+	 *
+	 * @return The inject fields ordered by the graph.
+	 */
+	public List<Field> getSortedInjectFields() {
+		return sortedInjectFields;
+	}
+
+	/**
+	 * Returns the inject methods ordered by the graph.
+	 *
+	 * @return The inject methods ordered by the graph.
+	 */
+	public List<Method> getSortedInjectMethods() {
+		return sortedInjectMethods;
+	}
+
+	/**
+	 * Returns the node of the given type, creating it if necessary.
+	 *
+	 * @param type Type of which node must be returned.
+	 * @return The node of the given type.
+	 */
+	private Node getOrCreateNode(Class<?> type) {
+		return nodes.computeIfAbsent(type, key -> new Node(key, nodes.size()));
+	}
+
+	/**
+	 * Adds the nodes reachable from the given types as dependencies of the given
+	 * node.
+	 *
+	 * @param node  Dependent node.
+	 * @param types Types the node depends on.
+	 * @param hard  Whether the dependencies are hard or soft.
+	 */
+	private void addDependencies(Node node, Class<?>[] types, boolean hard) {
+		for (Class<?> type : types) {
+			for (Node dependency : getReachableNodes(type, new LinkedHashSet<>())) {
+				if (dependency == node) {
+					continue;
+				}
+
+				Set<Node> dependencies = hard ? node.hardDependencies : node.softDependencies;
+				if (dependencies.add(dependency)) {
+					dependency.dependents.add(node);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the nodes which must exist before an instance of the given type can
+	 * be created.
+	 *
+	 * @param type         Type of which reachable nodes must be returned.
+	 * @param visitedTypes Types already visited during the current lookup.
+	 * @return The nodes reachable from the given type.
+	 */
+	private Set<Node> getReachableNodes(Class<?> type, Set<Class<?>> visitedTypes) {
+		Node node = nodes.get(type);
+		if (node != null) {
+			return Collections.singleton(node);
+		}
+
+		Set<Node> cachedNodes = reachableNodes.get(type);
+		if (cachedNodes != null) {
+			return cachedNodes;
+		}
+		if (!visitedTypes.add(type)) {
+			return Collections.emptySet();
+		}
+
+		Set<Node> result = new LinkedHashSet<>();
+		Constructor<?> constructor = getSuitableConstructor(type);
+		if (constructor != null) {
+			for (Class<?> parameterType : constructor.getParameterTypes()) {
+				result.addAll(getReachableNodes(parameterType, visitedTypes));
+			}
+		}
+
+		reachableNodes.put(type, result);
+		return result;
+	}
+
+	/**
+	 * Returns the constructor which is used for instantiating the given type, or
+	 * null if the type isn't concrete.
+	 *
+	 * @param type Type of which constructor must be returned.
+	 * @return The constructor used for instantiating the given type.
+	 */
+	private Constructor<?> getSuitableConstructor(Class<?> type) {
+		if (!ClassUtils.isConcrete(type)) {
+			return null;
+		}
+
+		Constructor<?> suitableConstructor = null;
+		for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+			if (suitableConstructor == null
+					|| constructor.getParameterCount() < suitableConstructor.getParameterCount()) {
+				suitableConstructor = constructor;
+			}
+		}
+		return suitableConstructor;
+	}
+
+	/**
+	 * Sorts the nodes of the graph using Kahn's algorithm.<br>
+	 * If every remaining node waits for a dependency, the node with the lowest
+	 * input index having only soft dependencies left is taken, breaking the soft
+	 * dependency cycle. If there isn't any, the remaining nodes contain a cycle of
+	 * hard dependencies.<br>
+	 * The ready nodes and the nodes of which hard dependencies are all sorted are
+	 * kept in queues ordered by input index, so that taking the next node and
+	 * breaking a cycle both take O(log V) time.
+	 *
+	 * @return The types of the graph in topological order.
+	 * @throws AnnotationProcessingException If the graph contains a cycle of hard
+	 *                                       dependencies.
+	 */
+	private List<Class<?>> sort() {
+		List<Class<?>> result = new ArrayList<>(nodes.size());
+		PriorityQueue<Node> readyNodes = new PriorityQueue<>(Comparator.comparingInt(node -> node.index));
+		PriorityQueue<Node> cycleBreakers = new PriorityQueue<>(Comparator.comparingInt(node -> node.index));
+
+		for (Node node : nodes.values()) {
+			node.remainingHardDependencies = node.hardDependencies.size();
+			node.remainingSoftDependencies = node.softDependencies.size();
+			if (node.isReady()) {
+				readyNodes.add(node);
+			} else if (node.remainingHardDependencies == 0) {
+				cycleBreakers.add(node);
+			}
+		}
+
+		while (result.size() < nodes.size()) {
+			if (readyNodes.isEmpty()) {
+				readyNodes.add(getSoftCycleBreaker(cycleBreakers));
+			}
+
+			Node node = readyNodes.poll();
+			if (node.sorted) {
+				continue;
+			}
+
+			node.sorted = true;
+			result.add(node.type);
+
+			for (Node dependent : node.dependents) {
+				if (dependent.hardDependencies.contains(node)) {
+					dependent.remainingHardDependencies--;
+				}
+				if (dependent.softDependencies.contains(node)) {
+					dependent.remainingSoftDependencies--;
+				}
+				if (dependent.sorted) {
+					continue;
+				}
+				if (dependent.isReady()) {
+					readyNodes.add(dependent);
+				} else if (dependent.remainingHardDependencies == 0 && dependent.hardDependencies.contains(node)) {
+					cycleBreakers.add(dependent);
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the unsorted node with the lowest input index, of which hard
+	 * dependencies are all sorted.
+	 *
+	 * @param cycleBreakers Nodes of which hard dependencies are all sorted,
+	 *                      including already sorted ones, ordered by input
+	 *                      index.
+	 * @return The node breaking a soft dependency cycle.
+	 * @throws AnnotationProcessingException If every unsorted node waits for a
+	 *                                       hard dependency.
+	 */
+	private Node getSoftCycleBreaker(PriorityQueue<Node> cycleBreakers) {
+		Node node;
+		while ((node = cycleBreakers.poll()) != null) {
+			if (!node.sorted) {
+				return node;
+			}
+		}
+
+		Node firstUnsortedNode = nodes.values().stream().filter(unsortedNode -> !unsortedNode.sorted).findFirst()
+				.get();
+		throw new AnnotationProcessingException(
+				String.format("Circular dependency: %s", getCyclePathFrom(firstUnsortedNode)));
+	}
+
+	/**
+	 * Returns the path of the hard dependency cycle reachable from the given
+	 * unsorted node.
+	 *
+	 * @param startNode Unsorted node waiting for a hard dependency.
+	 * @return The path of the cycle, e.g. {@code A -> B -> A}.
+	 */
+	private String getCyclePathFrom(Node startNode) {
+		List<Node> path = new ArrayList<>();
+		Node node = startNode;
+		while (!path.contains(node)) {
+			path.add(node);
+			node = node.hardDependencies.stream().filter(dependency -> !dependency.sorted).findFirst().get();
+		}
+
+		List<Node> cycle = new ArrayList<>(path.subList(path.indexOf(node), path.size()));
+		cycle.add(node);
+		return cycle.stream().map(cycleNode -> cycleNode.type.getName()).collect(Collectors.joining(" -> "));
+	}
+
+	/**
+	 * Returns the given members sorted by the rank of their types, keeping the
+	 * input order of members with the same type.
+	 *
+	 * @param members      Members to be sorted.
+	 * @param typeFunction Function returning the graph type of a member.
+	 * @param ranks        Ranks of the graph types.
+	 * @return The sorted members.
+	 */
+	private static <T> List<T> sortByRank(Collection<T> members, Function<T, Class<?>> typeFunction,
+			Map<Class<?>, Integer> ranks) {
+		List<T> sortedMembers = new ArrayList<>(members);
+		sortedMembers.sort(Comparator.comparingInt(member -> ranks.get(typeFunction.apply(member))));
+		return Collections.unmodifiableList(sortedMembers);
+	}
+
+	/**
+	 * Node of the dependency graph.
+	 */
+	private static final class Node {
+
+		private final Class<?> type;
+		private final int index;
+		private final Set<Node> hardDependencies = new LinkedHashSet<>();
+		private final Set<Node> softDependencies = new LinkedHashSet<>();
+		private final Set<Node> dependents = new LinkedHashSet<>();
+
+		private boolean injectConstructor;
+		private int remainingHardDependencies;
+		private int remainingSoftDependencies;
+		private boolean sorted;
+
+		private Node(Class<?> type, int index) {
+			this.type = type;
+			this.index = index;
+		}
+
+		private boolean isReady() {
+			return remainingHardDependencies == 0 && remainingSoftDependencies == 0;
+		}
+
+	}
+
+}
@@ -3,31 +3,33 @@ package hu.alextoth.injector.core.helper;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 /**
  * Class for sorting injectable methods and elements that must be injected by
- * their dependencies.
+ * their dependencies.<br>
+ * Sorting is backed by {@link DependencyGraph}, which should be created once
+ * for all members taking part in the annotation processing.
  * 
  * @author Alex Toth
  */
 public class DependencySorter {
 
-	private final InjectableMethodComparator injectableMethodComparator;
-	private final InjectConstructorComparator injectConstructorComparator;
-	private final InjectFieldComparator injectFieldComparator;
-	private final InjectMethodComparator injectMethodComparator;
-
-	public DependencySorter() {
-		DependencyComparator dependencyComparator = new DependencyComparator();
-
-		injectableMethodComparator = new InjectableMethodComparator(dependencyComparator);
-		injectConstructorComparator = new InjectConstructorComparator(dependencyComparator);
-		injectFieldComparator = new InjectFieldComparator(dependencyComparator);
-		injectMethodComparator = new InjectMethodComparator(dependencyComparator);
+	/**
+	 * Returns the dependency graph of the given members, which orders all of them
+	 * at once.
+	 * 
+	 * @param injectableMethods  A set of injectable methods.
+	 * @param injectConstructors A set of inject constructors.
+	 * @param injectFields       A set of inject fields.
+	 * @param injectMethods      A set of inject methods.
+	 * @return The dependency graph of the given members.
+	 */
+	public DependencyGraph getDependencyGraph(Set<Method> injectableMethods, Set<Constructor<?>> injectConstructors,
+			Set<Field> injectFields, Set<Method> injectMethods) {
+		return new DependencyGraph(injectableMethods, injectConstructors, injectFields, injectMethods);
 	}
 
 	/**
@@ -37,11 +39,8 @@ public class DependencySorter {
 	 * @return A sorted list of the given injectable methods.
 	 */
 	public List<Method> getSortedInjectableMethods(Set<Method> injectableMethods) {
-		List<Method> sortedInjectableMethods = new ArrayList<>(injectableMethods);
-
-		Collections.sort(sortedInjectableMethods, injectableMethodComparator);
-
-		return sortedInjectableMethods;
+		return getDependencyGraph(injectableMethods, Collections.emptySet(), Collections.emptySet(),
+				Collections.emptySet()).getSortedInjectableMethods();
 	}
 
 	/**
@@ -51,11 +50,8 @@ public class DependencySorter {
 	 * @return A sorted list of the given inject constructors.
 	 */
 	public List<Constructor<?>> getSortedInjectConstructors(Set<Constructor<?>> injectConstructors) {
-		List<Constructor<?>> sortedInjectConstructors = new ArrayList<>(injectConstructors);
-
-		Collections.sort(sortedInjectConstructors, injectConstructorComparator);
-
-		return sortedInjectConstructors;
+		return getDependencyGraph(Collections.emptySet(), injectConstructors, Collections.emptySet(),
+				Collections.emptySet()).getSortedInjectConstructors();
 	}
 
 	/**
@@ -65,11 +61,8 @@ public class DependencySorter {
 	 * @return A sorted list of the given inject fields.
 	 */
 	public List<Field> getSortedInjectFields(Set<Field> injectFields) {
-		List<Field> sortedInjectFields = new ArrayList<>(injectFields);
-
-		Collections.sort(sortedInjectFields, injectFieldComparator);
-
-		return sortedInjectFields;
+		return getDependencyGraph(Collections.emptySet(), Collections.emptySet(), injectFields,
+				Collections.emptySet()).getSortedInjectFields();
 	}
 
 	/**
@@ -79,11 +72,8 @@ public class DependencySorter {
 	 * @return A sorted list of the given inject methods.
 	 */
 	public List<Method> getSortedInjectMethods(Set<Method> injectMethods) {
-		List<Method> sortedInjectMethods = new ArrayList<>(injectMethods);
-
-		Collections.sort(sortedInjectMethods, injectMethodComparator);
-
-		return sortedInjectMethods;
+		return getDependencyGraph(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+				injectMethods).getSortedInjectMethods();
 	}
 
 }
@@ -0,0 +1,164 @@
+package hu.alextoth.injector.core.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
+
+import org.reflections.ReflectionUtils;
+import org.reflections.Reflections;
+import org.reflections.Store;
+import org.reflections.scanners.SubTypesScanner;
+
+import com.google.common.collect.Multimap;
+
+import hu.alextoth.injector.util.ClassUtils;
+
+/**
+ * Index of the concrete implementations of interfaces and abstract classes,
+ * backed by the subtype metadata of the scanned (or indexed) classes.<br>
+ * The metadata only holds class names, so nothing is loaded up front. The
+ * implementations of a type are resolved on its first lookup, by walking the
+ * names of its subtypes and loading only those candidates. The result is
+ * cached as an immutable list. Classes added later invalidate the cached
+ * results.
+ * 
+ * @author Alex Toth
+ */
+public class SubtypeIndex {
+
+	private final Reflections reflections;
+	private final Set<Class<?>> addedClasses;
+	private final ConcurrentMap<Class<?>, List<Class<?>>> implementations;
+
+	public SubtypeIndex(Reflections reflections) {
+		this.reflections = reflections;
+
+		addedClasses = new CopyOnWriteArraySet<>();
+		implementations = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Returns the concrete implementations of the given type, sorted by their
+	 * name.
+	 * 
+	 * @param type Interface or abstract class of which implementations must be
+	 *             returned.
+	 * @return The concrete implementations of the given type.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <T> List<Class<? extends T>> getImplementationsOf(Class<T> type) {
+		return (List) implementations.computeIfAbsent(type, this::findImplementationsOf);
+	}
+
+	/**
+	 * Returns the only concrete implementation of the given type.
+	 * 
+	 * @param type Interface or abstract class of which implementation must be
+	 *             returned.
+	 * @return The only concrete implementation of the given type.
+	 * @throws IllegalArgumentException If the given type has no or more than one
+	 *                                  concrete implementations.
+	 */
+	public <T> Class<? extends T> getImplementationOf(Class<T> type) {
+		List<Class<? extends T>> suitableClasses = getImplementationsOf(type);
+
+		if (suitableClasses.isEmpty()) {
+			throw new IllegalArgumentException(String.format("Cannot find suitable implementation for %s", type));
+		}
+		if (suitableClasses.size() > 1) {
+			throw new IllegalArgumentException(String.format("Found too many suitable implementations for %s: %s",
+					type, suitableClasses.stream().map(Class::getName).collect(Collectors.joining(", "))));
+		}
+
+		return suitableClasses.get(0);
+	}
+
+	/**
+	 * Registers the given classes as candidate implementations, eg. classes added
+	 * to the classpath after the metadata was scanned, and invalidates the
+	 * already resolved implementations.
+	 * 
+	 * @param classes Classes to be registered.
+	 */
+	public void addClasses(Collection<Class<?>> classes) {
+		addedClasses.addAll(classes);
+		implementations.clear();
+	}
+
+	/**
+	 * Returns the number of interfaces and abstract classes of which
+	 * implementations have been resolved.
+	 * 
+	 * @return The number of resolved types.
+	 */
+	public int size() {
+		return implementations.size();
+	}
+
+	/**
+	 * Resolves the concrete implementations of the given type, loading only the
+	 * classes named as its subtypes in the metadata.
+	 * 
+	 * @param type Type of which implementations must be resolved.
+	 * @return An immutable list of the implementations, sorted by their name.
+	 */
+	private List<Class<?>> findImplementationsOf(Class<?> type) {
+		if (ClassUtils.isConcrete(type)) {
+			return Collections.emptyList();
+		}
+
+		Set<Class<?>> candidates = new LinkedHashSet<>(addedClasses);
+		Set<String> subtypeNames = getSubtypeNamesOf(type.getName());
+		ClassLoader[] classLoaders = subtypeNames.isEmpty() ? null : reflections.getConfiguration().getClassLoaders();
+		for (String subtypeName : subtypeNames) {
+			Class<?> subtype = ReflectionUtils.forName(subtypeName, classLoaders);
+			if (subtype != null) {
+				candidates.add(subtype);
+			}
+		}
+
+		List<Class<?>> subtypes = candidates.stream()
+				.filter(candidate -> ClassUtils.isConcrete(candidate) && type.isAssignableFrom(candidate))
+				.sorted(Comparator.comparing(Class::getName)).collect(Collectors.toList());
+		return Collections.unmodifiableList(subtypes);
+	}
+
+	/**
+	 * Returns the names of the direct and indirect subtypes of the given type,
+	 * known by the subtype scanner.
+	 * 
+	 * @param typeName Name of the type of which subtypes must be returned.
+	 * @return The names of the subtypes of the given type.
+	 */
+	private Set<String> getSubtypeNamesOf(String typeName) {
+		Store store = reflections.getStore();
+		String index = SubTypesScanner.class.getSimpleName();
+		if (store == null || !store.keySet().contains(index)) {
+			return Collections.emptySet();
+		}
+
+		Multimap<String, String> subtypesByName = store.get(index);
+		Set<String> subtypeNames = new LinkedHashSet<>();
+		List<String> namesToVisit = new ArrayList<>();
+		namesToVisit.add(typeName);
+
+		while (!namesToVisit.isEmpty()) {
+			for (String subtypeName : subtypesByName.get(namesToVisit.remove(namesToVisit.size() - 1))) {
+				if (subtypeNames.add(subtypeName)) {
+					namesToVisit.add(subtypeName);
+				}
+			}
+		}
+
+		return subtypeNames;
+	}
+
+}
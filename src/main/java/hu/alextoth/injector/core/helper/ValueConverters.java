@@ -0,0 +1,212 @@
+package hu.alextoth.injector.core.helper;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import hu.alextoth.injector.annotation.Value;
+import hu.alextoth.injector.util.ArrayUtils;
+import hu.alextoth.injector.util.ClassUtils;
+
+/**
+ * Registry of the converters turning the string values of {@link Value}
+ * annotations to the types of the annotated elements.<br>
+ * Primitive types, their wrappers, String, {@link BigDecimal},
+ * {@link BigInteger}, {@link Duration}, {@link URI} and enum types are
+ * supported by default, further types can be supported by registering a
+ * converter. Converters are plain parsing functions, so no reflection is used
+ * for converting values. Arrays of all supported types are supported too.
+ * 
+ * @author Alex Toth
+ */
+public class ValueConverters {
+
+	private static final Map<Class<?>, Function<String, ?>> DEFAULT_CONVERTER_MAP;
+
+	static {
+		Map<Class<?>, Function<String, ?>> defaultConverterMap = new HashMap<>(4);
+
+		defaultConverterMap.put(BigDecimal.class, BigDecimal::new);
+		defaultConverterMap.put(BigInteger.class, BigInteger::new);
+		defaultConverterMap.put(Duration.class, Duration::parse);
+		defaultConverterMap.put(URI.class, URI::create);
+
+		DEFAULT_CONVERTER_MAP = Collections.unmodifiableMap(defaultConverterMap);
+	}
+
+	private final ConcurrentMap<Class<?>, Function<String, ?>> converters;
+
+	public ValueConverters() {
+		converters = new ConcurrentHashMap<>(DEFAULT_CONVERTER_MAP);
+	}
+
+	/**
+	 * Registers the given converter for the given type, replacing the previously
+	 * registered one.<br>
+	 * The converters of primitive types, their wrappers and String cannot be
+	 * replaced.
+	 * 
+	 * @param type      Type of the converted values.
+	 * @param converter Function converting a string value to the given type.
+	 * @throws IllegalArgumentException If the type or the converter is null, or
+	 *                                  the type's converter cannot be replaced.
+	 */
+	public <T> void registerConverter(Class<T> type, Function<String, ? extends T> converter) {
+		if (type == null || converter == null) {
+			throw new IllegalArgumentException("The type and the converter shouldn't be null.");
+		}
+		if (isPrimitiveOrString(type) || type.isArray()) {
+			throw new IllegalArgumentException(String.format("Converter of %s cannot be replaced.", type.getName()));
+		}
+
+		converters.put(type, converter);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether values can be converted to the
+	 * given type or not.
+	 * 
+	 * @param type Type to check whether values can be converted to it or not.
+	 * @return A boolean value indicating whether values can be converted to the
+	 *         given type or not.
+	 */
+	public boolean canConvertTo(Class<?> type) {
+		Class<?> elementType = type.isArray() ? type.getComponentType() : type;
+		return isPrimitiveOrString(elementType) || elementType.isEnum() || converters.containsKey(elementType);
+	}
+
+	/**
+	 * Converts the given string values to the given type. Only the first value is
+	 * used, unless the type is an array.
+	 * 
+	 * @param type   The conversion's target type.
+	 * @param values The values to be converted.
+	 * @return The values converted to the given type.
+	 * @throws IllegalArgumentException If there isn't any converter for the type,
+	 *                                  the values cannot be converted or the
+	 *                                  converter returns null.
+	 */
+	public Object convert(Class<?> type, String... values) {
+		if (type == null || values == null) {
+			throw new IllegalArgumentException("The type and the values shouldn't be null.");
+		}
+
+		if (type.isArray()) {
+			return convertToArray(type.getComponentType(), values);
+		}
+
+		if (values.length == 0) {
+			throw new IllegalArgumentException(String.format("No value to be converted to %s.", type.getName()));
+		}
+		if (isPrimitiveOrString(type)) {
+			return ClassUtils.convertToPrimitive(type, values[0]);
+		}
+
+		Function<String, ?> converter = getConverterOf(type);
+		Object convertedValue;
+		try {
+			convertedValue = converter.apply(values[0]);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException(String.format("Cannot convert %s to %s.", values[0], type.getName()),
+					e);
+		}
+		return requireConverted(convertedValue, values[0], type);
+	}
+
+	/**
+	 * Converts the given string values to an array of the given component type.
+	 * 
+	 * @param componentType The conversion's target component type.
+	 * @param values        The values to be converted.
+	 * @return The values converted to an array of the given component type.
+	 */
+	private Object convertToArray(Class<?> componentType, String[] values) {
+		if (isPrimitiveOrString(componentType)) {
+			return ArrayUtils.convertToPrimitiveArray(componentType, values);
+		}
+
+		Function<String, ?> converter = getConverterOf(componentType);
+		Object[] convertedValues = (Object[]) Array.newInstance(componentType, values.length);
+		try {
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = converter.apply(values[i]);
+			}
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException(
+					String.format("Cannot convert %s to %s.", Arrays.toString(values), componentType.getName()), e);
+		}
+		for (int i = 0; i < convertedValues.length; i++) {
+			requireConverted(convertedValues[i], values[i], componentType);
+		}
+		return convertedValues;
+	}
+
+	/**
+	 * Checks that a converter didn't return null, as converted values are
+	 * injected and cached as they are.
+	 * 
+	 * @param convertedValue The value returned by the converter.
+	 * @param value          The value that was converted.
+	 * @param type           The conversion's target type.
+	 * @return The converted value.
+	 * @throws IllegalArgumentException If the converted value is null.
+	 */
+	private static Object requireConverted(Object convertedValue, String value, Class<?> type) {
+		if (convertedValue == null) {
+			throw new IllegalArgumentException(
+					String.format("Converter of %s returned null for %s.", type.getName(), value));
+		}
+		return convertedValue;
+	}
+
+	/**
+	 * Returns the converter of the given type. The converter of an enum type is
+	 * created on its first use.
+	 * 
+	 * @param type Type of which converter must be returned.
+	 * @return The converter of the given type.
+	 * @throws IllegalArgumentException If there isn't any converter for the type.
+	 */
+	private Function<String, ?> getConverterOf(Class<?> type) {
+		Function<String, ?> converter = type.isEnum() ? converters.computeIfAbsent(type, this::createEnumConverter)
+				: converters.get(type);
+		if (converter == null) {
+			throw new IllegalArgumentException(String.format("No converter is registered for %s.", type.getName()));
+		}
+		return converter;
+	}
+
+	/**
+	 * Creates a converter returning the constant of the given enum type by its
+	 * name.
+	 * 
+	 * @param enumType Enum type of which converter must be created.
+	 * @return A converter of the given enum type.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Function<String, ?> createEnumConverter(Class<?> enumType) {
+		return value -> Enum.valueOf((Class) enumType, value);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given type is a primitive
+	 * type, a wrapper class or String.
+	 * 
+	 * @param type Type to check.
+	 * @return A boolean value indicating whether the given type is a primitive
+	 *         type, a wrapper class or String.
+	 */
+	private static boolean isPrimitiveOrString(Class<?> type) {
+		return ClassUtils.isPrimitiveOrWrapper(type) || String.class.equals(type);
+	}
+
+}
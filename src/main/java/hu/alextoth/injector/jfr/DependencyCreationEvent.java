@@ -0,0 +1,69 @@
+package hu.alextoth.injector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the creation and registration of a dependency.<br>
+ * Disabled by default, every creation is recorded when enabled.
+ * 
+ * @author Alex Toth
+ */
+@Name("hu.alextoth.injector.DependencyCreation")
+@Label("Dependency Creation")
+@Description("Creation and registration of a dependency.")
+@Category("Dependency Injector")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+public final class DependencyCreationEvent extends Event {
+
+	private static final EventType EVENT_TYPE = EventType.getEventType(DependencyCreationEvent.class);
+
+	@Label("Dependency Class")
+	@Description("Class of the created dependency.")
+	private Class<?> dependencyClass;
+
+	@Label("Alias")
+	@Description("Alias of the created dependency.")
+	private String alias;
+
+	/**
+	 * Returns a new event with its start time set, if the event is enabled in a
+	 * running recording. Otherwise nothing is allocated.
+	 * 
+	 * @return The started event, or null if the event isn't enabled.
+	 */
+	static DependencyCreationEvent start() {
+		if (!EVENT_TYPE.isEnabled()) {
+			return null;
+		}
+
+		DependencyCreationEvent event = new DependencyCreationEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it with the given data if it has to be recorded.
+	 * 
+	 * @param dependencyClass Class of the created dependency.
+	 * @param alias           Alias of the created dependency.
+	 */
+	void finish(Class<?> dependencyClass, String alias) {
+		end();
+		if (shouldCommit()) {
+			this.dependencyClass = dependencyClass;
+			this.alias = alias;
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+package hu.alextoth.injector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of a request of a dependency.<br>
+ * The cache hit flag tells whether the dependency was registered or had to be
+ * created. Disabled by default, recorded above a threshold of 1 ms when
+ * enabled.
+ * 
+ * @author Alex Toth
+ */
+@Name("hu.alextoth.injector.DependencyRequest")
+@Label("Dependency Request")
+@Description("Request of a dependency from the container.")
+@Category("Dependency Injector")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public final class DependencyRequestEvent extends Event {
+
+	private static final EventType EVENT_TYPE = EventType.getEventType(DependencyRequestEvent.class);
+
+	@Label("Dependency Class")
+	@Description("Class of the requested dependency.")
+	private Class<?> dependencyClass;
+
+	@Label("Alias")
+	@Description("Alias of the requested dependency.")
+	private String alias;
+
+	@Label("Cache Hit")
+	@Description("Whether the dependency was registered before the request.")
+	private boolean cacheHit;
+
+	/**
+	 * Returns a new event with its start time set, if the event is enabled in a
+	 * running recording. Otherwise nothing is allocated.
+	 * 
+	 * @return The started event, or null if the event isn't enabled.
+	 */
+	static DependencyRequestEvent start() {
+		if (!EVENT_TYPE.isEnabled()) {
+			return null;
+		}
+
+		DependencyRequestEvent event = new DependencyRequestEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it with the given data if it has to be recorded.
+	 * 
+	 * @param dependencyClass Class of the requested dependency.
+	 * @param alias           Alias of the requested dependency.
+	 * @param cacheHit        Whether the dependency was registered before the request.
+	 */
+	void finish(Class<?> dependencyClass, String alias, boolean cacheHit) {
+		end();
+		if (shouldCommit()) {
+			this.dependencyClass = dependencyClass;
+			this.alias = alias;
+			this.cacheHit = cacheHit;
+			commit();
+		}
+	}
+
+}
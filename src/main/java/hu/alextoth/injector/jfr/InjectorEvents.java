@@ -0,0 +1,145 @@
+package hu.alextoth.injector.jfr;
+
+import java.lang.reflect.Method;
+
+/**
+ * Entry point for emitting the flight recorder events of the container.<br>
+ * The events are only instantiated if the running JVM provides the flight
+ * recorder API, and only while a recording has enabled them, so that a request
+ * doesn't allocate anything otherwise. Without the API every method is a no-op.
+ * Started events are passed around as plain objects, so that the event classes
+ * are never loaded without the API being present.
+ * 
+ * @author Alex Toth
+ */
+public final class InjectorEvents {
+
+	private static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+	private InjectorEvents() {
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the flight recorder API is
+	 * available or not.
+	 * 
+	 * @return A boolean value indicating whether the flight recorder API is
+	 *         available or not.
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	/**
+	 * Starts a {@link DependencyRequestEvent}.
+	 * 
+	 * @return The started event, or null if the flight recorder isn't available
+	 *         or the event isn't enabled.
+	 */
+	public static Object beginDependencyRequest() {
+		return AVAILABLE ? DependencyRequestEvent.start() : null;
+	}
+
+	/**
+	 * Ends the given {@link DependencyRequestEvent}.
+	 * 
+	 * @param event           Event to be ended, may be null.
+	 * @param dependencyClass Class of the requested dependency.
+	 * @param alias           Alias of the requested dependency.
+	 * @param cacheHit        Whether the dependency was registered before the
+	 *                        request.
+	 */
+	public static void endDependencyRequest(Object event, Class<?> dependencyClass, String alias,
+			boolean cacheHit) {
+		if (event != null) {
+			((DependencyRequestEvent) event).finish(dependencyClass, alias, cacheHit);
+		}
+	}
+
+	/**
+	 * Starts a {@link DependencyCreationEvent}.
+	 * 
+	 * @return The started event, or null if the flight recorder isn't available
+	 *         or the event isn't enabled.
+	 */
+	public static Object beginDependencyCreation() {
+		return AVAILABLE ? DependencyCreationEvent.start() : null;
+	}
+
+	/**
+	 * Ends the given {@link DependencyCreationEvent}.
+	 * 
+	 * @param event           Event to be ended, may be null.
+	 * @param dependencyClass Class of the created dependency.
+	 * @param alias           Alias of the created dependency.
+	 */
+	public static void endDependencyCreation(Object event, Class<?> dependencyClass, String alias) {
+		if (event != null) {
+			((DependencyCreationEvent) event).finish(dependencyClass, alias);
+		}
+	}
+
+	/**
+	 * Starts a {@link ProxyCreationEvent}.
+	 * 
+	 * @return The started event, or null if the flight recorder isn't available
+	 *         or the event isn't enabled.
+	 */
+	public static Object beginProxyCreation() {
+		return AVAILABLE ? ProxyCreationEvent.start() : null;
+	}
+
+	/**
+	 * Ends the given {@link ProxyCreationEvent}.
+	 * 
+	 * @param event        Event to be ended, may be null.
+	 * @param proxiedClass Class of the proxied configuration.
+	 * @param cacheHit     Whether the proxy class had already been generated.
+	 */
+	public static void endProxyCreation(Object event, Class<?> proxiedClass, boolean cacheHit) {
+		if (event != null) {
+			((ProxyCreationEvent) event).finish(proxiedClass, cacheHit);
+		}
+	}
+
+	/**
+	 * Starts a {@link ProxyInterceptionEvent}.
+	 * 
+	 * @return The started event, or null if the flight recorder isn't available
+	 *         or the event isn't enabled.
+	 */
+	public static Object beginProxyInterception() {
+		return AVAILABLE ? ProxyInterceptionEvent.start() : null;
+	}
+
+	/**
+	 * Ends the given {@link ProxyInterceptionEvent}.
+	 * 
+	 * @param event    Event to be ended, may be null.
+	 * @param method   Intercepted injectable method.
+	 * @param alias    Alias of the returned dependency.
+	 * @param cacheHit Whether the registered dependency was returned.
+	 */
+	public static void endProxyInterception(Object event, Method method, String alias, boolean cacheHit) {
+		if (event != null) {
+			((ProxyInterceptionEvent) event).finish(method.getReturnType(), alias, method.getName(), cacheHit);
+		}
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the running JVM provides the
+	 * flight recorder API or not.
+	 * 
+	 * @return A boolean value indicating whether the flight recorder API is
+	 *         available or not.
+	 */
+	private static boolean isFlightRecorderAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, InjectorEvents.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package hu.alextoth.injector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of the instantiation of a configuration proxy.<br>
+ * The cache hit flag tells whether the proxy class had already been generated.
+ * Disabled by default, every instantiation is recorded when enabled.
+ * 
+ * @author Alex Toth
+ */
+@Name("hu.alextoth.injector.ProxyCreation")
+@Label("Proxy Creation")
+@Description("Instantiation of a configuration proxy.")
+@Category("Dependency Injector")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+public final class ProxyCreationEvent extends Event {
+
+	private static final EventType EVENT_TYPE = EventType.getEventType(ProxyCreationEvent.class);
+
+	@Label("Proxied Class")
+	@Description("Class of the proxied configuration.")
+	private Class<?> proxiedClass;
+
+	@Label("Cache Hit")
+	@Description("Whether the proxy class had already been generated.")
+	private boolean cacheHit;
+
+	/**
+	 * Returns a new event with its start time set, if the event is enabled in a
+	 * running recording. Otherwise nothing is allocated.
+	 * 
+	 * @return The started event, or null if the event isn't enabled.
+	 */
+	static ProxyCreationEvent start() {
+		if (!EVENT_TYPE.isEnabled()) {
+			return null;
+		}
+
+		ProxyCreationEvent event = new ProxyCreationEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it with the given data if it has to be recorded.
+	 * 
+	 * @param proxiedClass Class of the proxied configuration.
+	 * @param cacheHit     Whether the proxy class had already been generated.
+	 */
+	void finish(Class<?> proxiedClass, boolean cacheHit) {
+		end();
+		if (shouldCommit()) {
+			this.proxiedClass = proxiedClass;
+			this.cacheHit = cacheHit;
+			commit();
+		}
+	}
+
+}
@@ -0,0 +1,84 @@
+package hu.alextoth.injector.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event of an intercepted injectable method call on a
+ * configuration proxy.<br>
+ * The cache hit flag tells whether the registered dependency was returned or the
+ * injectable method was invoked. Disabled by default, recorded above a threshold
+ * of 1 ms when enabled.
+ * 
+ * @author Alex Toth
+ */
+@Name("hu.alextoth.injector.ProxyInterception")
+@Label("Proxy Interception")
+@Description("Interception of an injectable method call on a configuration proxy.")
+@Category("Dependency Injector")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public final class ProxyInterceptionEvent extends Event {
+
+	private static final EventType EVENT_TYPE = EventType.getEventType(ProxyInterceptionEvent.class);
+
+	@Label("Dependency Class")
+	@Description("Return type of the injectable method.")
+	private Class<?> dependencyClass;
+
+	@Label("Alias")
+	@Description("Alias of the returned dependency.")
+	private String alias;
+
+	@Label("Method Name")
+	@Description("Name of the injectable method.")
+	private String methodName;
+
+	@Label("Cache Hit")
+	@Description("Whether the registered dependency was returned.")
+	private boolean cacheHit;
+
+	/**
+	 * Returns a new event with its start time set, if the event is enabled in a
+	 * running recording. Otherwise nothing is allocated.
+	 * 
+	 * @return The started event, or null if the event isn't enabled.
+	 */
+	static ProxyInterceptionEvent start() {
+		if (!EVENT_TYPE.isEnabled()) {
+			return null;
+		}
+
+		ProxyInterceptionEvent event = new ProxyInterceptionEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends the event and commits it with the given data if it has to be recorded.
+	 * 
+	 * @param dependencyClass Return type of the injectable method.
+	 * @param alias           Alias of the returned dependency.
+	 * @param methodName      Name of the injectable method.
+	 * @param cacheHit        Whether the registered dependency was returned.
+	 */
+	void finish(Class<?> dependencyClass, String alias, String methodName, boolean cacheHit) {
+		end();
+		if (shouldCommit()) {
+			this.dependencyClass = dependencyClass;
+			this.alias = alias;
+			this.methodName = methodName;
+			this.cacheHit = cacheHit;
+			commit();
+		}
+	}
+
+}
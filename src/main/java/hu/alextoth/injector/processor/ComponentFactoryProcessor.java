@@ -0,0 +1,339 @@
+package hu.alextoth.injector.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Configuration;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.annotation.Value;
+import hu.alextoth.injector.core.ComponentFactory;
+
+/**
+ * Compile time annotation processor generating a {@link ComponentFactory} for
+ * each class annotated with {@link Component} or its alternatives.<br>
+ * Configuration classes don't get a factory, as they must be proxied. Members
+ * that cannot be accessed from the component's package (private members,
+ * members throwing checked exceptions, final fields) are left out of the
+ * generated factory.
+ *
+ * @author Alex Toth
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentFactoryProcessor extends AbstractProcessor {
+
+	private FrameworkAnnotations frameworkAnnotations;
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * javax.annotation.processing.AbstractProcessor#init(javax.annotation.processing.
+	 * ProcessingEnvironment)
+	 */
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+
+		frameworkAnnotations = new FrameworkAnnotations(processingEnv);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set,
+	 * javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getRootElements()) {
+			if (element instanceof TypeElement) {
+				processType((TypeElement) element);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Generates the factory of the given type and its nested types, if they're
+	 * components.
+	 *
+	 * @param typeElement Type to be processed.
+	 */
+	private void processType(TypeElement typeElement) {
+		for (Element enclosedElement : typeElement.getEnclosedElements()) {
+			if (enclosedElement instanceof TypeElement) {
+				processType((TypeElement) enclosedElement);
+			}
+		}
+
+		if (typeElement.getKind() != ElementKind.CLASS || typeElement.getModifiers().contains(Modifier.ABSTRACT)
+				|| !frameworkAnnotations.isAnnotatedWith(typeElement, Component.class)
+				|| frameworkAnnotations.isAnnotatedWith(typeElement, Configuration.class)
+				|| !isAccessible(typeElement, getPackageOf(typeElement))) {
+			return;
+		}
+
+		List<String> registrations = getRegistrations(typeElement);
+		if (!registrations.isEmpty()) {
+			writeFactory(typeElement, registrations);
+		}
+	}
+
+	/**
+	 * Returns the statements registering the accessible constructors, fields and
+	 * methods of the given component in its factory.
+	 *
+	 * @param typeElement Component of which members must be registered.
+	 * @return The statements registering the accessible members of the given
+	 *         component.
+	 */
+	private List<String> getRegistrations(TypeElement typeElement) {
+		List<String> registrations = new ArrayList<>();
+
+		PackageElement packageElement = getPackageOf(typeElement);
+		String typeName = typeElement.getQualifiedName().toString();
+
+		for (Element enclosedElement : typeElement.getEnclosedElements()) {
+			if (!isAccessible(enclosedElement)) {
+				continue;
+			}
+
+			if (enclosedElement.getKind() == ElementKind.CONSTRUCTOR) {
+				ExecutableElement constructor = (ExecutableElement) enclosedElement;
+				if (canBeInvoked(constructor, packageElement)) {
+					registrations.add(String.format("addConstructor(\"%s(%s)\", parameters -> new %s(%s));",
+							ComponentFactory.CONSTRUCTOR_NAME,
+							frameworkAnnotations.getParameterTypeNames(constructor), typeName,
+							getArguments(constructor)));
+				}
+			} else if (enclosedElement.getKind() == ElementKind.FIELD) {
+				VariableElement field = (VariableElement) enclosedElement;
+				if (!field.getModifiers().contains(Modifier.FINAL)
+						&& (frameworkAnnotations.isAnnotatedWith(field, Inject.class)
+								|| frameworkAnnotations.isAnnotatedWith(field, Value.class))
+						&& isAccessible(field.asType(), packageElement)) {
+					registrations.add(String.format("addFieldSetter(\"%s\", (instance, value) -> %s.%s = (%s) value);",
+							field.getSimpleName(), getReceiver(field, typeName), field.getSimpleName(),
+							getCastableName(field.asType())));
+				}
+			} else if (enclosedElement.getKind() == ElementKind.METHOD) {
+				ExecutableElement method = (ExecutableElement) enclosedElement;
+				if (frameworkAnnotations.isAnnotatedWith(method, Inject.class)
+						&& canBeInvoked(method, packageElement)) {
+					registrations.add(String.format(
+							"addMethodInvoker(\"%s(%s)\", (instance, parameters) -> %s.%s(%s));",
+							method.getSimpleName(), frameworkAnnotations.getParameterTypeNames(method),
+							getReceiver(method, typeName), method.getSimpleName(), getArguments(method)));
+				}
+			}
+		}
+
+		return registrations;
+	}
+
+	/**
+	 * Writes the source file of the given component's factory.
+	 *
+	 * @param typeElement   Component of which factory must be written.
+	 * @param registrations Statements registering the component's members.
+	 */
+	private void writeFactory(TypeElement typeElement, List<String> registrations) {
+		PackageElement packageElement = getPackageOf(typeElement);
+		String binaryName = frameworkAnnotations.getBinaryName(typeElement);
+		String factoryName = binaryName.substring(binaryName.lastIndexOf('.') + 1)
+				+ ComponentFactory.CLASS_NAME_SUFFIX;
+		String packageName = packageElement.getQualifiedName().toString();
+
+		try {
+			JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(
+					packageElement.isUnnamed() ? factoryName : packageName + "." + factoryName, typeElement);
+
+			try (PrintWriter writer = new PrintWriter(sourceFile.openWriter())) {
+				if (!packageElement.isUnnamed()) {
+					writer.printf("package %s;%n%n", packageName);
+				}
+				writer.printf("/**%n * Generated by %s.%n */%n", ComponentFactoryProcessor.class.getName());
+				writer.printf("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })%n");
+				writer.printf("public final class %s extends %s<%s> {%n%n", factoryName,
+						ComponentFactory.class.getName(), typeElement.getQualifiedName());
+				writer.printf("\tpublic %s() {%n", factoryName);
+				for (String registration : registrations) {
+					writer.printf("\t\t%s%n", registration);
+				}
+				writer.printf("\t}%n%n}%n");
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					String.format("Cannot write component factory: %s", e.getMessage()), typeElement);
+		}
+	}
+
+	/**
+	 * Returns the argument list passing the elements of the {@code parameters}
+	 * array to the given executable.
+	 *
+	 * @param executableElement Executable of which argument list must be
+	 *                          returned.
+	 * @return The argument list of the given executable.
+	 */
+	private String getArguments(ExecutableElement executableElement) {
+		List<String> arguments = new ArrayList<>();
+
+		List<? extends VariableElement> parameters = executableElement.getParameters();
+		for (int i = 0; i < parameters.size(); i++) {
+			arguments.add(String.format("(%s) parameters[%d]", getCastableName(parameters.get(i).asType()), i));
+		}
+
+		return String.join(", ", arguments);
+	}
+
+	/**
+	 * Returns the expression on which the given member must be accessed.
+	 *
+	 * @param element  Field or method to be accessed.
+	 * @param typeName Qualified name of the member's declaring type.
+	 * @return The expression on which the given member must be accessed.
+	 */
+	private String getReceiver(Element element, String typeName) {
+		return element.getModifiers().contains(Modifier.STATIC) ? typeName
+				: String.format("((%s) instance)", typeName);
+	}
+
+	/**
+	 * Returns the name of the given type's erasure as it can be used in a cast
+	 * expression.
+	 *
+	 * @param typeMirror Type of which name must be returned.
+	 * @return The name of the given type's erasure.
+	 */
+	private String getCastableName(TypeMirror typeMirror) {
+		TypeMirror erasure = processingEnv.getTypeUtils().erasure(typeMirror);
+
+		switch (erasure.getKind()) {
+		case ARRAY:
+			return getCastableName(((ArrayType) erasure).getComponentType()) + "[]";
+		case DECLARED:
+			return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+		default:
+			return erasure.toString();
+		}
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given executable can be
+	 * invoked from generated code placed in the given package.
+	 *
+	 * @param executableElement Executable to check.
+	 * @param packageElement    Package of the generated code.
+	 * @return A boolean value indicating whether the given executable can be
+	 *         invoked from generated code.
+	 */
+	private boolean canBeInvoked(ExecutableElement executableElement, PackageElement packageElement) {
+		return executableElement.getThrownTypes().isEmpty() && !executableElement.isVarArgs()
+				&& executableElement.getParameters().stream()
+						.allMatch(parameter -> isAccessible(parameter.asType(), packageElement));
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given type can be referenced
+	 * from the given package.
+	 *
+	 * @param typeMirror     Type to check.
+	 * @param packageElement Package from which the type must be referenced.
+	 * @return A boolean value indicating whether the given type can be referenced
+	 *         from the given package.
+	 */
+	private boolean isAccessible(TypeMirror typeMirror, PackageElement packageElement) {
+		TypeMirror erasure = processingEnv.getTypeUtils().erasure(typeMirror);
+
+		switch (erasure.getKind()) {
+		case ARRAY:
+			return isAccessible(((ArrayType) erasure).getComponentType(), packageElement);
+		case DECLARED:
+			return isAccessible((TypeElement) ((DeclaredType) erasure).asElement(), packageElement);
+		default:
+			return erasure.getKind().isPrimitive();
+		}
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given type and its enclosing
+	 * types can be referenced from the given package.
+	 *
+	 * @param typeElement    Type to check.
+	 * @param packageElement Package from which the type must be referenced.
+	 * @return A boolean value indicating whether the given type can be referenced
+	 *         from the given package.
+	 */
+	private boolean isAccessible(TypeElement typeElement, PackageElement packageElement) {
+		Element element = typeElement;
+		while (element instanceof TypeElement) {
+			Set<Modifier> modifiers = element.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE) || (!modifiers.contains(Modifier.PUBLIC)
+					&& !getPackageOf(element).equals(packageElement))) {
+				return false;
+			}
+			if (element.getEnclosingElement() instanceof TypeElement && !modifiers.contains(Modifier.STATIC)
+					&& element.getKind() == ElementKind.CLASS) {
+				return false;
+			}
+			element = element.getEnclosingElement();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given member can be accessed
+	 * from its own package.
+	 *
+	 * @param element Member to check.
+	 * @return A boolean value indicating whether the given member can be accessed
+	 *         from its own package.
+	 */
+	private boolean isAccessible(Element element) {
+		return !element.getModifiers().contains(Modifier.PRIVATE);
+	}
+
+	/**
+	 * Returns the package of the given element.
+	 *
+	 * @param element Element of which package must be returned.
+	 * @return The package of the given element.
+	 */
+	private PackageElement getPackageOf(Element element) {
+		return processingEnv.getElementUtils().getPackageOf(element);
+	}
+
+}
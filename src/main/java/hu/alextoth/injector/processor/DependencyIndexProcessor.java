@@ -0,0 +1,342 @@
+package hu.alextoth.injector.processor;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import hu.alextoth.injector.annotation.Alias;
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Configuration;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.annotation.Injectable;
+import hu.alextoth.injector.annotation.Value;
+import hu.alextoth.injector.scan.ClasspathScanner;
+
+/**
+ * Compile time annotation processor generating the dependency index of a
+ * module.<br>
+ * The index contains the usages of {@link Component}, {@link Configuration},
+ * {@link Injectable}, {@link Inject}, {@link Alias} and {@link Value}
+ * annotations and their alternatives together with the subtype relations of
+ * the compiled types, so that {@link ClasspathScanner} doesn't have to scan
+ * the module at runtime.<br>
+ * The index entries have the same format as the ones collected by the
+ * Reflections scanners. When only some types of the module are recompiled, the
+ * entries of the other types are kept from the previously generated index, so
+ * that an incremental compilation doesn't leave a partial index behind.
+ *
+ * @author Alex Toth
+ */
+@SupportedAnnotationTypes("*")
+public class DependencyIndexProcessor extends AbstractProcessor {
+
+	private static final String SUB_TYPES_INDEX = "SubTypesScanner";
+	private static final String TYPE_ANNOTATIONS_INDEX = "TypeAnnotationsScanner";
+	private static final String FIELD_ANNOTATIONS_INDEX = "FieldAnnotationsScanner";
+	private static final String METHOD_ANNOTATIONS_INDEX = "MethodAnnotationsScanner";
+
+	private final Set<String> indexEntries = new TreeSet<>();
+	private final Set<String> indexedAnnotations = new HashSet<>();
+	private final Set<String> processedTypeNames = new HashSet<>();
+
+	private FrameworkAnnotations frameworkAnnotations;
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * javax.annotation.processing.AbstractProcessor#init(javax.annotation.processing.
+	 * ProcessingEnvironment)
+	 */
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+
+		frameworkAnnotations = new FrameworkAnnotations(processingEnv);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set,
+	 * javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeIndex();
+		} else {
+			for (Element element : roundEnv.getRootElements()) {
+				if (element instanceof TypeElement) {
+					processType((TypeElement) element);
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the subtype relations and the annotated elements of the given type and
+	 * its nested types to the index.
+	 *
+	 * @param typeElement Type to be indexed.
+	 */
+	private void processType(TypeElement typeElement) {
+		String typeName = frameworkAnnotations.getBinaryName(typeElement);
+		processedTypeNames.add(typeName);
+
+		addSuperType(typeElement.getSuperclass(), typeName);
+		typeElement.getInterfaces().forEach(superInterface -> addSuperType(superInterface, typeName));
+
+		addAnnotations(TYPE_ANNOTATIONS_INDEX, typeElement, typeName);
+
+		for (Element enclosedElement : typeElement.getEnclosedElements()) {
+			switch (enclosedElement.getKind()) {
+			case FIELD:
+				addAnnotations(FIELD_ANNOTATIONS_INDEX, enclosedElement,
+						typeName + "." + enclosedElement.getSimpleName());
+				break;
+			case METHOD:
+			case CONSTRUCTOR:
+				processExecutable((ExecutableElement) enclosedElement, typeName);
+				break;
+			default:
+				if (enclosedElement instanceof TypeElement) {
+					processType((TypeElement) enclosedElement);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the given executable and the annotation types used on its parameters
+	 * to the index.
+	 *
+	 * @param executableElement Method or constructor to be indexed.
+	 * @param typeName          Binary name of the executable's declaring type.
+	 */
+	private void processExecutable(ExecutableElement executableElement, String typeName) {
+		String memberName = executableElement.getKind() == ElementKind.CONSTRUCTOR ? "<init>"
+				: executableElement.getSimpleName().toString();
+		String parameterTypeNames = frameworkAnnotations.getParameterTypeNames(executableElement);
+
+		addAnnotations(METHOD_ANNOTATIONS_INDEX, executableElement,
+				typeName + "." + memberName + "(" + parameterTypeNames + ")");
+
+		for (VariableElement parameter : executableElement.getParameters()) {
+			for (AnnotationMirror annotationMirror : parameter.getAnnotationMirrors()) {
+				TypeElement annotationType = frameworkAnnotations.getAnnotationType(annotationMirror);
+				if (frameworkAnnotations.isFrameworkAnnotation(annotationType)) {
+					addAnnotationType(annotationType);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the framework annotations of the given element to the given index.
+	 *
+	 * @param index       Name of the index to which the annotations must be added.
+	 * @param element     Element of which annotations must be indexed.
+	 * @param elementName Name of the element as it must appear in the index.
+	 */
+	private void addAnnotations(String index, Element element, String elementName) {
+		for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+			TypeElement annotationType = frameworkAnnotations.getAnnotationType(annotationMirror);
+			if (frameworkAnnotations.isFrameworkAnnotation(annotationType)) {
+				addIndexEntry(index, frameworkAnnotations.getBinaryName(annotationType), elementName);
+				addAnnotationType(annotationType);
+			}
+		}
+	}
+
+	/**
+	 * Adds the given annotation type and its framework meta-annotations to the
+	 * index, so that alternatives declared in other modules can be resolved too.
+	 *
+	 * @param annotationType Annotation type to be indexed.
+	 */
+	private void addAnnotationType(TypeElement annotationType) {
+		String annotationTypeName = frameworkAnnotations.getBinaryName(annotationType);
+		if (FrameworkAnnotations.FRAMEWORK_ANNOTATIONS.contains(annotationTypeName)
+				|| !indexedAnnotations.add(annotationTypeName)) {
+			return;
+		}
+
+		annotationType.getInterfaces().forEach(superInterface -> addSuperType(superInterface, annotationTypeName));
+		addAnnotations(TYPE_ANNOTATIONS_INDEX, annotationType, annotationTypeName);
+	}
+
+	/**
+	 * Adds a subtype relation to the index.
+	 *
+	 * @param superType Super type of the relation.
+	 * @param typeName  Binary name of the subtype.
+	 */
+	private void addSuperType(TypeMirror superType, String typeName) {
+		if (superType.getKind() == TypeKind.DECLARED) {
+			addIndexEntry(SUB_TYPES_INDEX, frameworkAnnotations.getErasedName(superType), typeName);
+		}
+	}
+
+	/**
+	 * Adds an entry to the index.
+	 *
+	 * @param index Name of the index.
+	 * @param key   Key of the entry.
+	 * @param value Value of the entry.
+	 */
+	private void addIndexEntry(String index, String key, String value) {
+		indexEntries.add(String.join(ClasspathScanner.INDEX_SEPARATOR, index, key, value));
+	}
+
+	/**
+	 * Writes the collected entries to the index file, together with the entries
+	 * of the previously generated index which belong to types that weren't
+	 * processed in this compilation.
+	 */
+	private void writeIndex() {
+		boolean indexExists;
+		try {
+			indexExists = readPreviousIndex();
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					String.format("Cannot read dependency index: %s", e.getMessage()));
+			return;
+		}
+
+		if (indexEntries.isEmpty() && !indexExists) {
+			return;
+		}
+
+		try {
+			FileObject indexFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					ClasspathScanner.INDEX_LOCATION);
+
+			try (Writer writer = new OutputStreamWriter(indexFile.openOutputStream(), StandardCharsets.UTF_8)) {
+				writer.write(ClasspathScanner.INDEX_COMMENT_PREFIX + " Generated by "
+						+ DependencyIndexProcessor.class.getName() + "\n");
+				for (String line : indexEntries) {
+					writer.write(line);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					String.format("Cannot write dependency index: %s", e.getMessage()));
+		}
+	}
+
+	/**
+	 * Adds the entries of the previously generated index to the collected ones,
+	 * except the entries of the types processed in this compilation.
+	 *
+	 * @return A boolean value indicating whether a previously generated index
+	 *         exists or not.
+	 * @throws IOException If the previously generated index cannot be read.
+	 */
+	private boolean readPreviousIndex() throws IOException {
+		FileObject indexFile;
+		try {
+			indexFile = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+					ClasspathScanner.INDEX_LOCATION);
+		} catch (FileNotFoundException | IllegalArgumentException e) {
+			return false;
+		}
+
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(indexFile.openInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty() || line.startsWith(ClasspathScanner.INDEX_COMMENT_PREFIX)) {
+					continue;
+				}
+
+				String[] indexEntry = line.split(ClasspathScanner.INDEX_SEPARATOR);
+				if (indexEntry.length == 3 && !isProcessed(getOwnerOf(indexEntry))) {
+					indexEntries.add(line);
+				}
+			}
+			return true;
+		} catch (FileNotFoundException | NoSuchFileException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given type or one of its
+	 * enclosing types was processed in this compilation or not. The nested types
+	 * removed from a processed type are considered processed too.
+	 *
+	 * @param typeName Binary name of the type to check.
+	 * @return A boolean value indicating whether the given type was processed or
+	 *         not.
+	 */
+	private boolean isProcessed(String typeName) {
+		String name = typeName;
+		while (!processedTypeNames.contains(name)) {
+			int nestingSeparator = name.lastIndexOf('$');
+			if (nestingSeparator < 0) {
+				return false;
+			}
+			name = name.substring(0, nestingSeparator);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the binary name of the type to which the given index entry belongs.
+	 *
+	 * @param indexEntry Index entry split into its index, key and value.
+	 * @return The binary name of the type to which the index entry belongs.
+	 */
+	private static String getOwnerOf(String[] indexEntry) {
+		String element = indexEntry[2];
+
+		int parametersStart = element.indexOf('(');
+		if (parametersStart >= 0) {
+			element = element.substring(0, parametersStart);
+		}
+		if (FIELD_ANNOTATIONS_INDEX.equals(indexEntry[0]) || METHOD_ANNOTATIONS_INDEX.equals(indexEntry[0])) {
+			element = element.substring(0, element.lastIndexOf('.'));
+		}
+
+		return element;
+	}
+
+}
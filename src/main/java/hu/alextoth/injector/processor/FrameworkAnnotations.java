@@ -0,0 +1,164 @@
+package hu.alextoth.injector.processor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+import hu.alextoth.injector.annotation.Alias;
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Configuration;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.annotation.Injectable;
+import hu.alextoth.injector.annotation.Value;
+
+/**
+ * Helper class for the annotation processors to resolve {@link Component},
+ * {@link Configuration}, {@link Injectable}, {@link Inject}, {@link Alias} and
+ * {@link Value} annotations and their alternatives on source elements.
+ *
+ * @author Alex Toth
+ */
+class FrameworkAnnotations {
+
+	static final List<String> FRAMEWORK_ANNOTATIONS = Collections.unmodifiableList(
+			Arrays.asList(Component.class.getName(), Configuration.class.getName(), Injectable.class.getName(),
+					Inject.class.getName(), Alias.class.getName(), Value.class.getName()));
+
+	private final Map<String, Set<String>> annotationTypes;
+
+	private final ProcessingEnvironment processingEnv;
+
+	FrameworkAnnotations(ProcessingEnvironment processingEnv) {
+		annotationTypes = new HashMap<>();
+
+		this.processingEnv = processingEnv;
+	}
+
+	/**
+	 * Returns the names of the framework annotations the given annotation type
+	 * stands for, either by being one of them or by being annotated with them.
+	 *
+	 * @param annotationType Annotation type to check.
+	 * @return The names of the framework annotations the given annotation type
+	 *         stands for.
+	 */
+	Set<String> getFrameworkAnnotationsOf(TypeElement annotationType) {
+		String annotationTypeName = annotationType.getQualifiedName().toString();
+		if (FRAMEWORK_ANNOTATIONS.contains(annotationTypeName)) {
+			return Collections.singleton(annotationTypeName);
+		}
+
+		Set<String> frameworkAnnotations = annotationTypes.get(annotationTypeName);
+		if (frameworkAnnotations != null) {
+			return frameworkAnnotations;
+		}
+
+		// Guards against meta-annotation cycles, like the one of @Documented.
+		annotationTypes.put(annotationTypeName, Collections.emptySet());
+
+		frameworkAnnotations = new HashSet<>();
+		for (AnnotationMirror annotationMirror : annotationType.getAnnotationMirrors()) {
+			frameworkAnnotations.addAll(getFrameworkAnnotationsOf(getAnnotationType(annotationMirror)));
+		}
+		frameworkAnnotations = Collections.unmodifiableSet(frameworkAnnotations);
+		annotationTypes.put(annotationTypeName, frameworkAnnotations);
+
+		return frameworkAnnotations;
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given annotation type is a
+	 * framework annotation or an alternative of one.
+	 *
+	 * @param annotationType Annotation type to check.
+	 * @return A boolean value indicating whether the given annotation type is a
+	 *         framework annotation or an alternative of one.
+	 */
+	boolean isFrameworkAnnotation(TypeElement annotationType) {
+		return !getFrameworkAnnotationsOf(annotationType).isEmpty();
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given element is annotated
+	 * with the given framework annotation or one of its alternatives.
+	 *
+	 * @param element             Element to check.
+	 * @param frameworkAnnotation Framework annotation to look for.
+	 * @return A boolean value indicating whether the given element is annotated
+	 *         with the given framework annotation or one of its alternatives.
+	 */
+	boolean isAnnotatedWith(Element element, Class<?> frameworkAnnotation) {
+		return element.getAnnotationMirrors().stream().anyMatch(annotationMirror -> getFrameworkAnnotationsOf(
+				getAnnotationType(annotationMirror)).contains(frameworkAnnotation.getName()));
+	}
+
+	/**
+	 * Returns the type of the given annotation.
+	 *
+	 * @param annotationMirror Annotation of which type must be returned.
+	 * @return The type of the given annotation.
+	 */
+	TypeElement getAnnotationType(AnnotationMirror annotationMirror) {
+		return (TypeElement) annotationMirror.getAnnotationType().asElement();
+	}
+
+	/**
+	 * Returns the binary name of the given type, as it's returned by
+	 * {@link Class#getName()}.
+	 *
+	 * @param typeElement Type of which binary name must be returned.
+	 * @return The binary name of the given type.
+	 */
+	String getBinaryName(TypeElement typeElement) {
+		return processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+	}
+
+	/**
+	 * Returns the name of the given type's erasure, as it's returned by
+	 * {@link Class#getTypeName()}.
+	 *
+	 * @param typeMirror Type of which erased name must be returned.
+	 * @return The name of the given type's erasure.
+	 */
+	String getErasedName(TypeMirror typeMirror) {
+		TypeMirror erasure = processingEnv.getTypeUtils().erasure(typeMirror);
+
+		switch (erasure.getKind()) {
+		case ARRAY:
+			return getErasedName(((ArrayType) erasure).getComponentType()) + "[]";
+		case DECLARED:
+			return getBinaryName((TypeElement) ((DeclaredType) erasure).asElement());
+		default:
+			return erasure.toString();
+		}
+	}
+
+	/**
+	 * Returns the comma separated erased names of the given executable's
+	 * parameter types.
+	 *
+	 * @param executableElement Executable of which parameter types must be
+	 *                          returned.
+	 * @return The comma separated erased names of the given executable's
+	 *         parameter types.
+	 */
+	String getParameterTypeNames(ExecutableElement executableElement) {
+		return executableElement.getParameters().stream().map(parameter -> getErasedName(parameter.asType()))
+				.collect(Collectors.joining(","));
+	}
+
+}
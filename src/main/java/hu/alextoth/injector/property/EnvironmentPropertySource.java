@@ -0,0 +1,44 @@
+package hu.alextoth.injector.property;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Property source of the environment variables.<br>
+ * A property is looked up by its key first, then by the key converted to the
+ * usual form of environment variables, eg. <code>server.port</code> is looked
+ * up as <code>SERVER_PORT</code> as well.
+ * 
+ * @author Alex Toth
+ */
+public class EnvironmentPropertySource implements PropertySource {
+
+	private final Map<String, String> environment;
+
+	public EnvironmentPropertySource() {
+		this(System.getenv());
+	}
+
+	/**
+	 * @param environment Environment variables by their names.
+	 */
+	public EnvironmentPropertySource(Map<String, String> environment) {
+		this.environment = environment;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.property.PropertySource#getProperty(java.lang.
+	 * String)
+	 */
+	@Override
+	public String getProperty(String key) {
+		String value = environment.get(key);
+		if (value != null) {
+			return value;
+		}
+		return environment.get(key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT));
+	}
+
+}
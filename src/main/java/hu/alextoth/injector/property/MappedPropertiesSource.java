@@ -0,0 +1,306 @@
+package hu.alextoth.injector.property;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Property source of a properties file, read through a memory-mapped
+ * buffer.<br>
+ * The file isn't read until the first property is requested. Then only the
+ * keys are decoded, each of them is indexed with the position of its value in
+ * the file. A value is decoded from the buffer when it's requested.<br>
+ * The file must be in the format of {@link java.util.Properties} files encoded
+ * in UTF-8, the later definition of a key overrides the earlier ones. The file
+ * mustn't be modified while it's used.
+ * 
+ * @author Alex Toth
+ */
+public class MappedPropertiesSource implements PropertySource {
+
+	private final Path propertiesFile;
+	private volatile Index index;
+
+	/**
+	 * @param propertiesFile Properties file to be read on the first request.
+	 */
+	public MappedPropertiesSource(Path propertiesFile) {
+		if (propertiesFile == null) {
+			throw new IllegalArgumentException("The properties file shouldn't be null.");
+		}
+
+		this.propertiesFile = propertiesFile;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.property.PropertySource#getProperty(java.lang.
+	 * String)
+	 */
+	@Override
+	public String getProperty(String key) {
+		Index currentIndex = getIndex();
+
+		Long position = currentIndex.valuePositions.get(key);
+		if (position == null) {
+			return null;
+		}
+		return decode(currentIndex.buffer, (int) (position >>> 32), position.intValue());
+	}
+
+	/**
+	 * Returns the number of properties defined by the file, reading it if it
+	 * hasn't been read yet.
+	 * 
+	 * @return The number of properties defined by the file.
+	 */
+	public int size() {
+		return getIndex().valuePositions.size();
+	}
+
+	/**
+	 * Returns the index of the properties file, building it on the first call.
+	 * 
+	 * @return The index of the properties file.
+	 * @throws IllegalStateException If the properties file cannot be read.
+	 */
+	private Index getIndex() {
+		Index currentIndex = index;
+		if (currentIndex == null) {
+			synchronized (this) {
+				currentIndex = index;
+				if (currentIndex == null) {
+					currentIndex = createIndex();
+					index = currentIndex;
+				}
+			}
+		}
+		return currentIndex;
+	}
+
+	/**
+	 * Maps the properties file and indexes the positions of its values by their
+	 * keys.
+	 * 
+	 * @return The index of the properties file.
+	 * @throws IllegalStateException If the properties file cannot be read.
+	 */
+	private Index createIndex() {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(propertiesFile, StandardOpenOption.READ)) {
+			buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException | IllegalArgumentException e) {
+			throw new IllegalStateException(String.format("Cannot read properties file: %s", propertiesFile), e);
+		}
+
+		Map<String, Long> valuePositions = new HashMap<>();
+		int limit = buffer.limit();
+		int position = 0;
+
+		while (position < limit) {
+			position = skipWhitespaces(buffer, position, limit);
+			if (position == limit) {
+				break;
+			}
+
+			byte current = buffer.get(position);
+			if (isLineEnd(current)) {
+				position++;
+				continue;
+			}
+			if (current == '#' || current == '!') {
+				while (position < limit && !isLineEnd(buffer.get(position))) {
+					position++;
+				}
+				continue;
+			}
+
+			int keyStart = position;
+			while (position < limit && !isKeyEnd(buffer.get(position))) {
+				position = buffer.get(position) == '\\' ? skipEscaped(buffer, position, limit) : position + 1;
+			}
+			int keyEnd = position;
+
+			position = skipWhitespaces(buffer, position, limit);
+			if (position < limit && (buffer.get(position) == '=' || buffer.get(position) == ':')) {
+				position = skipWhitespaces(buffer, position + 1, limit);
+			}
+
+			int valueStart = position;
+			while (position < limit && !isLineEnd(buffer.get(position))) {
+				position = buffer.get(position) == '\\' ? skipEscaped(buffer, position, limit) : position + 1;
+			}
+
+			valuePositions.put(decode(buffer, keyStart, keyEnd), (long) valueStart << 32 | position);
+		}
+
+		return new Index(buffer, valuePositions);
+	}
+
+	/**
+	 * Decodes the given range of the buffer, resolving escape sequences and line
+	 * continuations.
+	 * 
+	 * @param buffer Buffer of the properties file.
+	 * @param start  Start of the range, inclusive.
+	 * @param end    End of the range, exclusive.
+	 * @return The decoded string.
+	 * @throws IllegalArgumentException If the range contains a malformed unicode
+	 *                                  escape sequence.
+	 */
+	private static String decode(ByteBuffer buffer, int start, int end) {
+		ByteBuffer range = buffer.duplicate();
+		range.limit(end).position(start);
+		String encoded = StandardCharsets.UTF_8.decode(range).toString();
+
+		int escape = encoded.indexOf('\\');
+		if (escape < 0) {
+			return encoded;
+		}
+
+		StringBuilder decoded = new StringBuilder(encoded.length()).append(encoded, 0, escape);
+		for (int i = escape; i < encoded.length(); i++) {
+			char current = encoded.charAt(i);
+			if (current != '\\') {
+				decoded.append(current);
+				continue;
+			}
+			if (++i == encoded.length()) {
+				break;
+			}
+
+			current = encoded.charAt(i);
+			switch (current) {
+			case 't':
+				decoded.append('\t');
+				break;
+			case 'n':
+				decoded.append('\n');
+				break;
+			case 'r':
+				decoded.append('\r');
+				break;
+			case 'f':
+				decoded.append('\f');
+				break;
+			case 'u':
+				if (i + 4 >= encoded.length()) {
+					throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+				}
+				try {
+					decoded.append((char) Integer.parseInt(encoded.substring(i + 1, i + 5), 16));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Malformed \\uxxxx encoding.", e);
+				}
+				i += 4;
+				break;
+			case '\r':
+			case '\n':
+				if (current == '\r' && i + 1 < encoded.length() && encoded.charAt(i + 1) == '\n') {
+					i++;
+				}
+				while (i + 1 < encoded.length() && isWhitespace(encoded.charAt(i + 1))) {
+					i++;
+				}
+				break;
+			default:
+				decoded.append(current);
+			}
+		}
+		return decoded.toString();
+	}
+
+	/**
+	 * Returns the position after the escape sequence starting at the given
+	 * position. A line terminator following a backslash continues the line.
+	 * 
+	 * @param buffer   Buffer of the properties file.
+	 * @param position Position of the backslash.
+	 * @param limit    Limit of the buffer.
+	 * @return The position after the escape sequence.
+	 */
+	private static int skipEscaped(ByteBuffer buffer, int position, int limit) {
+		int next = position + 2;
+		if (next < limit && buffer.get(next - 1) == '\r' && buffer.get(next) == '\n') {
+			next++;
+		}
+		return Math.min(next, limit);
+	}
+
+	/**
+	 * Returns the position of the first non-whitespace byte from the given
+	 * position.
+	 * 
+	 * @param buffer   Buffer of the properties file.
+	 * @param position Position to start from.
+	 * @param limit    Limit of the buffer.
+	 * @return The position of the first non-whitespace byte, or the limit.
+	 */
+	private static int skipWhitespaces(ByteBuffer buffer, int position, int limit) {
+		while (position < limit && isWhitespace((char) buffer.get(position))) {
+			position++;
+		}
+		return position;
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given byte ends a key or
+	 * not.
+	 * 
+	 * @param current Byte to check.
+	 * @return A boolean value indicating whether the given byte ends a key or
+	 *         not.
+	 */
+	private static boolean isKeyEnd(byte current) {
+		return current == '=' || current == ':' || isWhitespace((char) current) || isLineEnd(current);
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given byte is a line
+	 * terminator or not.
+	 * 
+	 * @param current Byte to check.
+	 * @return A boolean value indicating whether the given byte is a line
+	 *         terminator or not.
+	 */
+	private static boolean isLineEnd(byte current) {
+		return current == '\n' || current == '\r';
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given character is a
+	 * whitespace separating keys and values or not.
+	 * 
+	 * @param current Character to check.
+	 * @return A boolean value indicating whether the given character is a
+	 *         whitespace or not.
+	 */
+	private static boolean isWhitespace(char current) {
+		return current == ' ' || current == '\t' || current == '\f';
+	}
+
+	/**
+	 * Mapped buffer of the properties file with the positions of the values by
+	 * their keys. A position holds the start of the value in its upper and the
+	 * end of the value in its lower 32 bits.
+	 */
+	private static final class Index {
+
+		private final ByteBuffer buffer;
+		private final Map<String, Long> valuePositions;
+
+		private Index(ByteBuffer buffer, Map<String, Long> valuePositions) {
+			this.buffer = buffer;
+			this.valuePositions = valuePositions;
+		}
+
+	}
+
+}
@@ -0,0 +1,163 @@
+package hu.alextoth.injector.property;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Class for resolving <code>${key}</code> and <code>${key:default}</code>
+ * placeholders against property sources.<br>
+ * The sources are consulted in the order they were added, the first value
+ * found for a key is used. The resolved value of each key is cached until a
+ * new source is added. Default values can contain placeholders too.
+ * 
+ * @author Alex Toth
+ */
+public class PropertyResolver {
+
+	private static final String PLACEHOLDER_PREFIX = "${";
+	private static final char PLACEHOLDER_SUFFIX = '}';
+	private static final char DEFAULT_VALUE_SEPARATOR = ':';
+
+	private final List<PropertySource> propertySources;
+	private final ConcurrentMap<String, Optional<String>> propertyCache;
+
+	/**
+	 * Creates a resolver consulting the system properties and the environment
+	 * variables, in this order.
+	 */
+	public PropertyResolver() {
+		this(new SystemPropertySource(), new EnvironmentPropertySource());
+	}
+
+	/**
+	 * @param propertySources Property sources to be consulted, in the given order.
+	 */
+	public PropertyResolver(PropertySource... propertySources) {
+		if (Arrays.stream(propertySources).anyMatch(Objects::isNull)) {
+			throw new IllegalArgumentException("The property sources shouldn't be null.");
+		}
+
+		this.propertySources = new CopyOnWriteArrayList<>(propertySources);
+		propertyCache = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Adds the given property source, which is consulted after the already added
+	 * ones.
+	 * 
+	 * @param propertySource Property source to be added.
+	 */
+	public void addPropertySource(PropertySource propertySource) {
+		if (propertySource == null) {
+			throw new IllegalArgumentException("The property source shouldn't be null.");
+		}
+
+		propertySources.add(propertySource);
+		propertyCache.clear();
+	}
+
+	/**
+	 * Returns the value of the property with the given key from the first source
+	 * defining it.
+	 * 
+	 * @param key Key of the property.
+	 * @return The value of the property, or null if it isn't defined.
+	 */
+	public String getProperty(String key) {
+		return propertyCache.computeIfAbsent(key, this::findProperty).orElse(null);
+	}
+
+	/**
+	 * Replaces the placeholders of the given value with the values of the
+	 * referenced properties.
+	 * 
+	 * @param value Value of which placeholders must be resolved.
+	 * @return The value with its placeholders resolved.
+	 * @throws IllegalArgumentException If a placeholder isn't closed, or a
+	 *                                  referenced property isn't defined and the
+	 *                                  placeholder has no default value.
+	 */
+	public String resolvePlaceholders(String value) {
+		int start = value.indexOf(PLACEHOLDER_PREFIX);
+		if (start < 0) {
+			return value;
+		}
+
+		StringBuilder resolvedValue = new StringBuilder(value.length());
+		int position = 0;
+		while (start >= 0) {
+			int end = findPlaceholderEnd(value, start + PLACEHOLDER_PREFIX.length());
+			if (end < 0) {
+				throw new IllegalArgumentException(String.format("Placeholder isn't closed in %s", value));
+			}
+
+			resolvedValue.append(value, position, start)
+					.append(resolvePlaceholder(value.substring(start + PLACEHOLDER_PREFIX.length(), end)));
+
+			position = end + 1;
+			start = value.indexOf(PLACEHOLDER_PREFIX, position);
+		}
+
+		return resolvedValue.append(value, position, value.length()).toString();
+	}
+
+	/**
+	 * Returns the value of the given placeholder.
+	 * 
+	 * @param placeholder Placeholder without its prefix and suffix.
+	 * @return The value of the referenced property, or the default value if it
+	 *         isn't defined.
+	 */
+	private String resolvePlaceholder(String placeholder) {
+		int separator = placeholder.indexOf(DEFAULT_VALUE_SEPARATOR);
+		String key = separator < 0 ? placeholder : placeholder.substring(0, separator);
+
+		String value = getProperty(key);
+		if (value != null) {
+			return value;
+		}
+		if (separator < 0) {
+			throw new IllegalArgumentException(String.format("Property %s isn't defined", key));
+		}
+		return resolvePlaceholders(placeholder.substring(separator + 1));
+	}
+
+	/**
+	 * Returns the position of the suffix closing the placeholder, skipping the
+	 * placeholders nested into it.
+	 * 
+	 * @param value    Value containing the placeholder.
+	 * @param position Position after the prefix of the placeholder.
+	 * @return The position of the closing suffix, or -1 if there isn't any.
+	 */
+	private int findPlaceholderEnd(String value, int position) {
+		int depth = 0;
+		for (int i = position; i < value.length(); i++) {
+			if (value.startsWith(PLACEHOLDER_PREFIX, i)) {
+				depth++;
+				i++;
+			} else if (value.charAt(i) == PLACEHOLDER_SUFFIX && depth-- == 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the value of the property with the given key, without caching.
+	 * 
+	 * @param key Key of the property.
+	 * @return The value of the property, or an empty optional if it isn't
+	 *         defined.
+	 */
+	private Optional<String> findProperty(String key) {
+		return propertySources.stream().map(propertySource -> propertySource.getProperty(key))
+				.filter(Objects::nonNull).findFirst();
+	}
+
+}
@@ -0,0 +1,22 @@
+package hu.alextoth.injector.property;
+
+/**
+ * Source of the properties referenced by placeholders in the values of
+ * {@link hu.alextoth.injector.annotation.Value} annotations.<br>
+ * Custom sources can be added to the container, which consults them in the
+ * order they were added.
+ * 
+ * @author Alex Toth
+ */
+public interface PropertySource {
+
+	/**
+	 * Returns the value of the property with the given key.
+	 * 
+	 * @param key Key of the property.
+	 * @return The value of the property, or null if it isn't defined by this
+	 *         source.
+	 */
+	String getProperty(String key);
+
+}
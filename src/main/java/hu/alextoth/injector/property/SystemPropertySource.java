@@ -0,0 +1,21 @@
+package hu.alextoth.injector.property;
+
+/**
+ * Property source of the system properties.
+ * 
+ * @author Alex Toth
+ */
+public class SystemPropertySource implements PropertySource {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.property.PropertySource#getProperty(java.lang.
+	 * String)
+	 */
+	@Override
+	public String getProperty(String key) {
+		return System.getProperty(key);
+	}
+
+}
@@ -0,0 +1,21 @@
+package hu.alextoth.injector.provider;
+
+/**
+ * Handle of a dependency which can be injected in place of the dependency
+ * itself.<br>
+ * Unlike {@link Provider}, the instance returned by the first call of
+ * {@link #get()} is kept by the handle and returned by every subsequent call,
+ * even if the dependency is scoped.
+ * 
+ * @author Alex Toth
+ */
+public interface Lazy<T> {
+
+	/**
+	 * Returns the instance of the dependency, requests it on the first call.
+	 * 
+	 * @return The instance of the dependency.
+	 */
+	T get();
+
+}
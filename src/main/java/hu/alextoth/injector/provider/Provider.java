@@ -0,0 +1,22 @@
+package hu.alextoth.injector.provider;
+
+/**
+ * Handle of a dependency which can be injected in place of the dependency
+ * itself.<br>
+ * The class and alias of the dependency are resolved once, at injection time,
+ * the dependency is only requested when {@link #get()} is called. Each call
+ * returns the instance the container would inject at that moment, so scoped
+ * dependencies are requested from their scope on every call.
+ * 
+ * @author Alex Toth
+ */
+public interface Provider<T> {
+
+	/**
+	 * Returns an instance of the dependency, creates it if necessary.
+	 * 
+	 * @return An instance of the dependency.
+	 */
+	T get();
+
+}
@@ -0,0 +1,383 @@
+package hu.alextoth.injector.scan;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.reflections.Reflections;
+import org.reflections.Store;
+import org.reflections.scanners.FieldAnnotationsScanner;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.Scanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+
+import hu.alextoth.injector.processor.DependencyIndexProcessor;
+
+/**
+ * Class for collecting the metadata of the annotated elements found on the
+ * classpath.<br>
+ * Classpath roots containing a dependency index generated at compile time by
+ * {@link DependencyIndexProcessor} are read from their index, only the
+ * remaining roots get scanned. If a {@link ScanCache} is given, the metadata of
+ * the scanned roots is cached, and roots which haven't changed since they were
+ * cached are read from the cache instead of being scanned.<br>
+ * The processed classpath roots and classes can be narrowed by filters. Each
+ * classpath root is processed by a separate task of the configured executor.
+ *
+ * @author Alex Toth
+ */
+public class ClasspathScanner {
+
+	public static final String INDEX_LOCATION = "META-INF/dependency-injector/dependency.index";
+	public static final String INDEX_SEPARATOR = "\t";
+	public static final String INDEX_COMMENT_PREFIX = "#";
+
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	private static final Set<String> MEMBER_INDEXES = new HashSet<>(Arrays.asList(
+			FieldAnnotationsScanner.class.getSimpleName(), MethodAnnotationsScanner.class.getSimpleName()));
+
+	private final ScanCache scanCache;
+
+	private Predicate<URL> urlFilter;
+	private Predicate<String> classNameFilter;
+	private Executor executor;
+
+	public ClasspathScanner() {
+		this(null);
+	}
+
+	/**
+	 * @param scanCache Cache of the scanned metadata, null if the metadata mustn't
+	 *                  be cached.
+	 */
+	public ClasspathScanner(ScanCache scanCache) {
+		this.scanCache = scanCache;
+
+		urlFilter = url -> true;
+		classNameFilter = className -> true;
+		executor = Runnable::run;
+	}
+
+	/**
+	 * Sets the filter selecting the classpath roots to be processed, eg. by their
+	 * jar names using {@link ScanFilters#jarNameMatches(String)}. Every classpath
+	 * root of the base packages is processed by default.
+	 *
+	 * @param urlFilter Filter accepting the classpath roots to be processed.
+	 */
+	public void setUrlFilter(Predicate<URL> urlFilter) {
+		this.urlFilter = urlFilter;
+	}
+
+	/**
+	 * Sets the filter selecting the classes of which metadata must be collected,
+	 * eg. by their packages using {@link ScanFilters#inPackages(String...)}. Every
+	 * class of the processed classpath roots is accepted by default.<br>
+	 * Without a {@link ScanCache}, the filtered out classes aren't even scanned.
+	 * With a cache, classpath roots are scanned and cached unfiltered, so that the
+	 * cache stays usable for other filters, and the filter is applied afterwards.
+	 *
+	 * @param classNameFilter Filter accepting the names of the classes to be
+	 *                        processed.
+	 */
+	public void setClassNameFilter(Predicate<String> classNameFilter) {
+		this.classNameFilter = classNameFilter;
+	}
+
+	/**
+	 * Sets the executor processing the classpath roots. Each classpath root is
+	 * processed by a separate task, so an executor with multiple threads scans
+	 * them in parallel. Classpath roots are processed on the calling thread by
+	 * default.
+	 *
+	 * @param executor Executor processing the classpath roots.
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns a {@link Reflections} instance containing the metadata of the
+	 * classpath roots of the given base packages.
+	 *
+	 * @param basePackages Packages of which classpath roots must be processed.
+	 * @return A {@link Reflections} instance containing the metadata of the
+	 *         classpath roots of the given base packages.
+	 */
+	public Reflections scan(String... basePackages) {
+		Set<URL> urls = new LinkedHashSet<>();
+		for (String basePackage : basePackages) {
+			ClasspathHelper.forPackage(basePackage).stream().filter(urlFilter).forEach(urls::add);
+		}
+
+		List<CompletableFuture<List<String[]>>> entriesOfUrls = urls.stream()
+				.map(url -> CompletableFuture.supplyAsync(() -> getEntriesOf(url), executor))
+				.collect(Collectors.toList());
+
+		Reflections reflections = new Reflections() {
+		};
+
+		Store store = reflections.getStore();
+		for (Scanner scanner : createScanners()) {
+			store.getOrCreate(scanner.getClass().getSimpleName());
+		}
+		for (CompletableFuture<List<String[]>> entriesOfUrl : entriesOfUrls) {
+			for (String[] entry : join(entriesOfUrl)) {
+				if (isAccepted(entry)) {
+					store.getOrCreate(entry[0]).put(entry[1], entry[2]);
+				}
+			}
+		}
+
+		if (scanCache != null) {
+			scanCache.save();
+		}
+
+		return reflections;
+	}
+
+	/**
+	 * Adds the metadata of the given classes to the store of the given
+	 * {@link Reflections} instance, eg. for classes added to the classpath after
+	 * it was scanned. Only the class files of the given classes are scanned, the
+	 * filters of the scanner aren't applied.<br>
+	 * The previous metadata of the given classes is removed first, so that
+	 * annotations and members removed from the classes aren't found anymore.
+	 *
+	 * @param reflections {@link Reflections} instance to which metadata must be
+	 *                    added.
+	 * @param classes     Classes of which metadata must be added.
+	 */
+	public void scanClasses(Reflections reflections, Collection<Class<?>> classes) {
+		Map<URL, Set<String>> classNamesByUrl = new LinkedHashMap<>();
+		for (Class<?> clazz : classes) {
+			URL url = ClasspathHelper.forClass(clazz, clazz.getClassLoader());
+			if (url != null) {
+				classNamesByUrl.computeIfAbsent(url, key -> new HashSet<>()).add(clazz.getName());
+			}
+		}
+
+		Set<String> changedClassNames = classes.stream().map(Class::getName).collect(Collectors.toSet());
+		Store store = reflections.getStore();
+		for (String index : store.keySet()) {
+			store.get(index).entries().removeIf(
+					entry -> changedClassNames.contains(getOwnerOf(index, entry.getValue())));
+		}
+
+		classNamesByUrl.forEach((url, classNames) -> {
+			Reflections scannedReflections = new Reflections(new ConfigurationBuilder().setScanners(createScanners())
+					.setUrls(url).filterInputsBy(input -> input.endsWith(CLASS_FILE_EXTENSION)
+							&& classNames.contains(toClassName(input))));
+			for (String[] entry : getEntriesOf(scannedReflections)) {
+				store.getOrCreate(entry[0]).put(entry[1], entry[2]);
+			}
+		});
+	}
+
+	/**
+	 * Returns the scanners collecting the metadata needed by the framework.
+	 *
+	 * @return The scanners collecting the metadata needed by the framework.
+	 */
+	private Scanner[] createScanners() {
+		return new Scanner[] { new SubTypesScanner(false), new TypeAnnotationsScanner(), new FieldAnnotationsScanner(),
+				new MethodAnnotationsScanner() };
+	}
+
+	/**
+	 * Returns the store entries of the given classpath root.<br>
+	 * Reads the dependency index of the classpath root if it has one. Otherwise
+	 * reads the entries from the scan cache, or scans the classpath root and
+	 * caches its entries if they aren't cached or the classpath root has changed
+	 * since.
+	 *
+	 * @param url Classpath root of which store entries must be returned.
+	 * @return The store entries of the given classpath root.
+	 */
+	private List<String[]> getEntriesOf(URL url) {
+		List<String[]> indexEntries = new ArrayList<>();
+		if (readIndexOf(url, indexEntries)) {
+			return indexEntries;
+		}
+
+		if (scanCache == null) {
+			return getEntriesOf(new Reflections(new ConfigurationBuilder().setScanners(createScanners()).setUrls(url)
+					.filterInputsBy(input -> !input.endsWith(CLASS_FILE_EXTENSION)
+							|| classNameFilter.test(toClassName(input)))));
+		}
+
+		long fingerprint = ScanCache.getFingerprintOf(url);
+
+		List<String[]> entries = fingerprint == ScanCache.NO_FINGERPRINT ? null : scanCache.get(url, fingerprint);
+		if (entries == null) {
+			entries = getEntriesOf(
+					new Reflections(new ConfigurationBuilder().setScanners(createScanners()).setUrls(url)));
+			if (fingerprint != ScanCache.NO_FINGERPRINT) {
+				scanCache.put(url, fingerprint, entries);
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Returns a boolean value indicating whether the given store entry belongs to
+	 * a class accepted by the class name filter or not.
+	 *
+	 * @param entry Store entry to be checked.
+	 * @return A boolean value indicating whether the given store entry is
+	 *         accepted or not.
+	 */
+	private boolean isAccepted(String[] entry) {
+		return classNameFilter.test(getOwnerOf(entry[0], entry[2]));
+	}
+
+	/**
+	 * Returns the name of the class to which the given value of a store entry
+	 * belongs, ie. the class itself or the declaring class of a member.
+	 *
+	 * @param index Index of the store entry.
+	 * @param value Value of the store entry.
+	 * @return The name of the class to which the value belongs.
+	 */
+	private static String getOwnerOf(String index, String value) {
+		String element = value;
+
+		int parametersStart = element.indexOf('(');
+		if (parametersStart >= 0) {
+			element = element.substring(0, parametersStart);
+		}
+		if (MEMBER_INDEXES.contains(index)) {
+			element = element.substring(0, element.lastIndexOf('.'));
+		}
+
+		return element;
+	}
+
+	/**
+	 * Waits for the given store entries of a classpath root and returns them.
+	 *
+	 * @param entries Store entries being processed.
+	 * @return The store entries of the classpath root.
+	 */
+	private List<String[]> join(CompletableFuture<List<String[]>> entries) {
+		try {
+			return entries.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the entries of the given {@link Reflections} instance's store, in
+	 * the format of the dependency index.
+	 *
+	 * @param reflections {@link Reflections} instance of which entries must be
+	 *                    returned.
+	 * @return The store entries of the given {@link Reflections} instance.
+	 */
+	private List<String[]> getEntriesOf(Reflections reflections) {
+		List<String[]> entries = new ArrayList<>();
+
+		Store store = reflections.getStore();
+		for (String index : store.keySet()) {
+			store.get(index).entries()
+					.forEach(entry -> entries.add(new String[] { index, entry.getKey(), entry.getValue() }));
+		}
+		return entries;
+	}
+
+	/**
+	 * Reads the dependency index of the given classpath root, if there's any.
+	 *
+	 * @param url          Classpath root of which dependency index must be read.
+	 * @param indexEntries List to which the read index entries must be added.
+	 * @return A boolean value indicating whether the given classpath root has a
+	 *         dependency index or not.
+	 */
+	private boolean readIndexOf(URL url, List<String[]> indexEntries) {
+		URL indexUrl;
+		try {
+			indexUrl = new URL(getRootUrl(url), INDEX_LOCATION);
+		} catch (MalformedURLException e) {
+			return false;
+		}
+
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(indexUrl.openStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty() || line.startsWith(INDEX_COMMENT_PREFIX)) {
+					continue;
+				}
+
+				String[] indexEntry = line.split(INDEX_SEPARATOR);
+				if (indexEntry.length != 3) {
+					throw new IllegalStateException(String.format("Malformed dependency index entry in %s: %s",
+							indexUrl, line));
+				}
+				indexEntries.add(indexEntry);
+			}
+			return true;
+		} catch (FileNotFoundException e) {
+			return false;
+		} catch (IOException e) {
+			throw new IllegalStateException(String.format("Cannot read dependency index: %s", indexUrl), e);
+		}
+	}
+
+	/**
+	 * Returns the name of the class stored in the given class file.
+	 *
+	 * @param classFile Path or dotted name of the class file.
+	 * @return The name of the class.
+	 */
+	private static String toClassName(String classFile) {
+		return classFile.substring(0, classFile.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.');
+	}
+
+	/**
+	 * Returns an URL against which resources of the given classpath root can be
+	 * resolved.
+	 *
+	 * @param url Classpath root of which resolvable URL must be returned.
+	 * @return An URL against which resources of the given classpath root can be
+	 *         resolved.
+	 * @throws MalformedURLException If the given classpath root cannot be
+	 *                               converted.
+	 */
+	private URL getRootUrl(URL url) throws MalformedURLException {
+		if ("file".equals(url.getProtocol()) && url.getPath().endsWith(".jar")) {
+			return new URL("jar:" + url.toExternalForm() + "!/");
+		}
+		return url;
+	}
+
+}
@@ -0,0 +1,392 @@
+package hu.alextoth.injector.scan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent cache of the metadata scanned from classpath roots.<br>
+ * The metadata of each classpath root is stored as store entries, the same way
+ * as in a dependency index, together with a fingerprint of the root computed
+ * from the size and modification time of its files. Cached entries are only
+ * used while the fingerprint of the root is unchanged, so only the modified
+ * roots get scanned again.<br>
+ * The cache file is read through a memory-mapped buffer and written atomically,
+ * its content is protected by a checksum. An unreadable or corrupted cache file
+ * is ignored and overwritten by the next save, a cache file which cannot be
+ * written is ignored too, so the cache never prevents scanning.
+ *
+ * @author Alex Toth
+ */
+public class ScanCache {
+
+	public static final long NO_FINGERPRINT = -1L;
+
+	private static final int MAGIC = 0x44494E4A;
+	private static final int VERSION = 2;
+	private static final String JAR_SEPARATOR = "!/";
+
+	private final Path cacheFile;
+	private final ConcurrentMap<String, CachedRoot> cachedRoots;
+	private final AtomicBoolean modified;
+
+	/**
+	 * @param cacheFile File in which the scanned metadata is persisted. It's read
+	 *                  immediately if it exists.
+	 */
+	public ScanCache(Path cacheFile) {
+		this.cacheFile = cacheFile;
+
+		cachedRoots = new ConcurrentHashMap<>(read(cacheFile));
+		modified = new AtomicBoolean();
+	}
+
+	/**
+	 * Returns the cached store entries of the given classpath root, or null if
+	 * there aren't any with the given fingerprint.
+	 *
+	 * @param url         Classpath root of which entries must be returned.
+	 * @param fingerprint Current fingerprint of the classpath root.
+	 * @return The cached store entries of the given classpath root.
+	 */
+	public List<String[]> get(URL url, long fingerprint) {
+		CachedRoot cachedRoot = cachedRoots.get(url.toExternalForm());
+		return cachedRoot != null && cachedRoot.fingerprint == fingerprint ? cachedRoot.entries : null;
+	}
+
+	/**
+	 * Caches the store entries of the given classpath root with the given
+	 * fingerprint.
+	 *
+	 * @param url         Classpath root of which entries must be cached.
+	 * @param fingerprint Current fingerprint of the classpath root.
+	 * @param entries     Store entries of the classpath root.
+	 */
+	public void put(URL url, long fingerprint, List<String[]> entries) {
+		cachedRoots.put(url.toExternalForm(),
+				new CachedRoot(fingerprint, Collections.unmodifiableList(new ArrayList<>(entries))));
+		modified.set(true);
+	}
+
+	/**
+	 * Returns the number of cached classpath roots.
+	 *
+	 * @return The number of cached classpath roots.
+	 */
+	public int size() {
+		return cachedRoots.size();
+	}
+
+	/**
+	 * Writes the cached metadata to the cache file, if it has changed since it
+	 * was read. The cache is only an optimization, so a failure to write it is
+	 * ignored and retried by the next save.
+	 *
+	 * @return A boolean value indicating whether the cache file is up to date or
+	 *         not.
+	 */
+	public boolean save() {
+		if (!modified.getAndSet(false)) {
+			return true;
+		}
+
+		try {
+			Path directory = cacheFile.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+
+			Path temporaryFile = Files.createTempFile(directory, cacheFile.getFileName().toString(), ".tmp");
+			try {
+				write(temporaryFile);
+				move(temporaryFile, cacheFile);
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+			return true;
+		} catch (IOException | RuntimeException e) {
+			modified.set(true);
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the fingerprint of the given classpath root, computed from the size
+	 * and modification time of its files.
+	 *
+	 * @param url Classpath root of which fingerprint must be returned.
+	 * @return The fingerprint of the given classpath root, or
+	 *         {@link #NO_FINGERPRINT} if it isn't a local jar or directory.
+	 */
+	public static long getFingerprintOf(URL url) {
+		try {
+			URL fileUrl = getFileUrlOf(url);
+			if (!"file".equals(fileUrl.getProtocol())) {
+				return NO_FINGERPRINT;
+			}
+
+			Path root = Paths.get(fileUrl.toURI());
+			BasicFileAttributes attributes = Files.readAttributes(root, BasicFileAttributes.class);
+			if (!attributes.isDirectory()) {
+				return 31 * attributes.lastModifiedTime().toMillis() + attributes.size();
+			}
+
+			try (Stream<Path> files = Files.walk(root)) {
+				return files.filter(Files::isRegularFile).mapToLong(file -> getFingerprintOf(root, file)).sum();
+			}
+		} catch (URISyntaxException | IOException | IllegalArgumentException e) {
+			return NO_FINGERPRINT;
+		}
+	}
+
+	/**
+	 * Writes the cached metadata to the given file, preceded by the checksum of
+	 * the metadata.
+	 *
+	 * @param file File to be written.
+	 * @throws IOException If the file cannot be written.
+	 */
+	private void write(Path file) throws IOException {
+		byte[] content = getContent();
+		CRC32 crc = new CRC32();
+		crc.update(content);
+
+		try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeLong(crc.getValue());
+			output.write(content);
+		}
+	}
+
+	/**
+	 * Returns the cached metadata in the format of the cache file.
+	 *
+	 * @return The cached metadata.
+	 * @throws IOException If the metadata cannot be written.
+	 */
+	private byte[] getContent() throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(content)) {
+			Map<String, CachedRoot> roots = new HashMap<>(cachedRoots);
+			output.writeInt(roots.size());
+			for (Map.Entry<String, CachedRoot> root : roots.entrySet()) {
+				writeString(output, root.getKey());
+				output.writeLong(root.getValue().fingerprint);
+				writeEntries(output, root.getValue().entries);
+			}
+		}
+		return content.toByteArray();
+	}
+
+	/**
+	 * Writes the given store entries, their strings only once.
+	 *
+	 * @param output  Output to be written.
+	 * @param entries Store entries to be written.
+	 * @throws IOException If the output cannot be written.
+	 */
+	private void writeEntries(DataOutputStream output, List<String[]> entries) throws IOException {
+		Map<String, Integer> stringIds = new HashMap<>();
+		List<String> strings = new ArrayList<>();
+		int[] ids = new int[entries.size() * 3];
+
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = stringIds.computeIfAbsent(entries.get(i / 3)[i % 3], string -> {
+				strings.add(string);
+				return strings.size() - 1;
+			});
+		}
+
+		output.writeInt(strings.size());
+		for (String string : strings) {
+			writeString(output, string);
+		}
+
+		output.writeInt(entries.size());
+		for (int id : ids) {
+			output.writeInt(id);
+		}
+	}
+
+	/**
+	 * Writes the given string as length-prefixed UTF-8 bytes.
+	 *
+	 * @param output Output to be written.
+	 * @param string String to be written.
+	 * @throws IOException If the output cannot be written.
+	 */
+	private void writeString(DataOutputStream output, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * Reads the cached metadata from the given file.
+	 *
+	 * @param file File to be read.
+	 * @return The cached classpath roots by their URLs, empty if the file doesn't
+	 *         exist, cannot be read or is corrupted.
+	 */
+	private static Map<String, CachedRoot> read(Path file) {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				return Collections.emptyMap();
+			}
+
+			long checksum = buffer.getLong();
+			CRC32 crc = new CRC32();
+			crc.update(buffer.slice());
+			if (crc.getValue() != checksum) {
+				return Collections.emptyMap();
+			}
+
+			int rootCount = readCount(buffer, Long.BYTES + 3 * Integer.BYTES);
+			Map<String, CachedRoot> roots = new HashMap<>();
+			for (int i = 0; i < rootCount; i++) {
+				String url = readString(buffer);
+				long fingerprint = buffer.getLong();
+				roots.put(url, new CachedRoot(fingerprint, readEntries(buffer)));
+			}
+			return roots;
+		} catch (IOException | RuntimeException e) {
+			return Collections.emptyMap();
+		}
+	}
+
+	/**
+	 * Reads store entries written by {@link #writeEntries(DataOutputStream, List)}.
+	 *
+	 * @param buffer Buffer to be read.
+	 * @return The read store entries.
+	 */
+	private static List<String[]> readEntries(MappedByteBuffer buffer) {
+		String[] strings = new String[readCount(buffer, Integer.BYTES)];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = readString(buffer);
+		}
+
+		int entryCount = readCount(buffer, 3 * Integer.BYTES);
+		List<String[]> entries = new ArrayList<>(entryCount);
+		for (int i = 0; i < entryCount; i++) {
+			entries.add(new String[] { strings[buffer.getInt()], strings[buffer.getInt()], strings[buffer.getInt()] });
+		}
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+	 *
+	 * @param buffer Buffer to be read.
+	 * @return The read string.
+	 */
+	private static String readString(MappedByteBuffer buffer) {
+		byte[] bytes = new byte[readCount(buffer, 1)];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the number of the following elements and checks that the rest of the
+	 * buffer can hold them, so that a corrupted count doesn't allocate more memory
+	 * than the file's size.
+	 *
+	 * @param buffer      Buffer to be read.
+	 * @param elementSize Minimal number of bytes an element takes.
+	 * @return The read number of elements.
+	 * @throws IllegalArgumentException If the count is negative or the rest of the
+	 *                                  buffer cannot hold the elements.
+	 */
+	private static int readCount(MappedByteBuffer buffer, int elementSize) {
+		int count = buffer.getInt();
+		if (count < 0 || count > buffer.remaining() / elementSize) {
+			throw new IllegalArgumentException(String.format("Invalid element count in scan cache: %d", count));
+		}
+		return count;
+	}
+
+	/**
+	 * Moves the given source file to the given target atomically, if the file
+	 * system supports it.
+	 *
+	 * @param source File to be moved.
+	 * @param target Target of the file.
+	 * @throws IOException If the file cannot be moved.
+	 */
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Returns the URL of the jar file of the given jar URL, or the given URL if
+	 * it isn't a jar URL.
+	 *
+	 * @param url URL of which file URL must be returned.
+	 * @return The file URL of the given URL.
+	 * @throws MalformedURLException If the URL of the jar file is malformed.
+	 */
+	static URL getFileUrlOf(URL url) throws MalformedURLException {
+		String externalForm = url.toExternalForm();
+		if (!"jar".equals(url.getProtocol()) || !externalForm.contains(JAR_SEPARATOR)) {
+			return url;
+		}
+		return new URL(externalForm.substring("jar:".length(), externalForm.indexOf(JAR_SEPARATOR)));
+	}
+
+	/**
+	 * Returns the fingerprint of the given file of a classpath root directory.
+	 *
+	 * @param root Classpath root directory.
+	 * @param file File in the classpath root directory.
+	 * @return The fingerprint of the given file.
+	 */
+	private static long getFingerprintOf(Path root, Path file) {
+		File ioFile = file.toFile();
+		return (31 * root.relativize(file).toString().hashCode() + ioFile.lastModified()) * 31 + ioFile.length();
+	}
+
+	/**
+	 * Cached metadata of a classpath root.
+	 */
+	private static final class CachedRoot {
+
+		private final long fingerprint;
+		private final List<String[]> entries;
+
+		private CachedRoot(long fingerprint, List<String[]> entries) {
+			this.fingerprint = fingerprint;
+			this.entries = entries;
+		}
+
+	}
+
+}
@@ -0,0 +1,70 @@
+package hu.alextoth.injector.scan;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Factory of common filters for {@link ClasspathScanner}.<br>
+ * Filters can be combined and negated using the default methods of
+ * {@link Predicate}, eg. to exclude the jars matching a pattern.
+ *
+ * @author Alex Toth
+ */
+public final class ScanFilters {
+
+	private ScanFilters() {
+	}
+
+	/**
+	 * Returns a filter accepting the classpath roots of which file name matches
+	 * the given glob pattern, eg. <code>"spring-*.jar"</code>.
+	 *
+	 * @param glob Glob pattern of the accepted file names.
+	 * @return A filter accepting the classpath roots with matching file names.
+	 */
+	public static Predicate<URL> jarNameMatches(String glob) {
+		PathMatcher pathMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+		return url -> pathMatcher.matches(Paths.get(getFileNameOf(url)));
+	}
+
+	/**
+	 * Returns a filter accepting the names of the classes in the given packages
+	 * or their subpackages.
+	 *
+	 * @param packageNames Names of the accepted packages.
+	 * @return A filter accepting the names of the classes in the given packages.
+	 */
+	public static Predicate<String> inPackages(String... packageNames) {
+		List<String> prefixes = Arrays.stream(packageNames).map(packageName -> packageName + ".")
+				.collect(Collectors.toList());
+		return className -> prefixes.stream().anyMatch(className::startsWith);
+	}
+
+	/**
+	 * Returns the file name of the given classpath root.
+	 *
+	 * @param url Classpath root of which file name must be returned.
+	 * @return The file name of the given classpath root.
+	 */
+	private static String getFileNameOf(URL url) {
+		String path;
+		try {
+			path = ScanCache.getFileUrlOf(url).getPath();
+		} catch (MalformedURLException e) {
+			path = url.getPath();
+		}
+
+		if (path.endsWith("/")) {
+			path = path.substring(0, path.length() - 1);
+		}
+		return path.substring(path.lastIndexOf('/') + 1);
+	}
+
+}
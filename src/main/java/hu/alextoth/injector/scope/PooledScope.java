@@ -0,0 +1,115 @@
+package hu.alextoth.injector.scope;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Scope reusing released instances.<br>
+ * Each dependency has a bounded, lock-free pool of released instances. A
+ * request takes an instance from the pool, or creates a new one if the pool is
+ * empty. Released instances are reset if they are {@link Resettable} and put
+ * back to the pool, or dropped if the pool is full. Releasing an instance which
+ * is already pooled has no effect, so it cannot be handed out twice.
+ * 
+ * @author Alex Toth
+ */
+public class PooledScope implements Scope {
+
+	public static final int DEFAULT_CAPACITY = 16;
+
+	private final int capacity;
+	private final ConcurrentMap<String, AtomicReferenceArray<Object>> pools;
+
+	public PooledScope() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity Maximum number of pooled instances per dependency.
+	 */
+	public PooledScope(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException(String.format("Invalid pool capacity: %d", capacity));
+		}
+
+		this.capacity = capacity;
+		pools = new ConcurrentHashMap<>();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.scope.Scope#get(java.lang.String,
+	 * java.util.function.Supplier)
+	 */
+	@Override
+	public Object get(String name, Supplier<?> provider) {
+		AtomicReferenceArray<Object> pool = pools.get(name);
+
+		if (pool != null) {
+			for (int i = 0; i < capacity; i++) {
+				Object instance = pool.getAndSet(i, null);
+				if (instance != null) {
+					return instance;
+				}
+			}
+		}
+
+		return provider.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.scope.Scope#release(java.lang.String,
+	 * java.lang.Object)
+	 */
+	@Override
+	public void release(String name, Object instance) {
+		if (instance == null) {
+			return;
+		}
+
+		AtomicReferenceArray<Object> pool = pools.computeIfAbsent(name, key -> new AtomicReferenceArray<>(capacity));
+		for (int i = 0; i < capacity; i++) {
+			if (pool.get(i) == instance) {
+				return;
+			}
+		}
+
+		if (instance instanceof Resettable) {
+			((Resettable) instance).reset();
+		}
+
+		for (int i = 0; i < capacity; i++) {
+			if (pool.get(i) == null && pool.compareAndSet(i, null, instance)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of pooled instances of the dependency with the given
+	 * name.
+	 * 
+	 * @param name Unique name of the dependency within the container.
+	 * @return The number of pooled instances.
+	 */
+	public int getPooledCount(String name) {
+		AtomicReferenceArray<Object> pool = pools.get(name);
+		if (pool == null) {
+			return 0;
+		}
+
+		int pooledCount = 0;
+		for (int i = 0; i < capacity; i++) {
+			if (pool.get(i) != null) {
+				pooledCount++;
+			}
+		}
+		return pooledCount;
+	}
+
+}
@@ -0,0 +1,23 @@
+package hu.alextoth.injector.scope;
+
+import java.util.function.Supplier;
+
+/**
+ * Scope creating a new instance on each request.
+ * 
+ * @author Alex Toth
+ */
+public class PrototypeScope implements Scope {
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.scope.Scope#get(java.lang.String,
+	 * java.util.function.Supplier)
+	 */
+	@Override
+	public Object get(String name, Supplier<?> provider) {
+		return provider.get();
+	}
+
+}
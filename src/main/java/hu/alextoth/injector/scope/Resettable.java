@@ -0,0 +1,16 @@
+package hu.alextoth.injector.scope;
+
+/**
+ * Interface of dependencies that can be reset to their initial state, so that
+ * a {@link PooledScope} can reuse their instances.
+ * 
+ * @author Alex Toth
+ */
+public interface Resettable {
+
+	/**
+	 * Resets the instance to its initial state before it gets reused.
+	 */
+	void reset();
+
+}
@@ -0,0 +1,43 @@
+package hu.alextoth.injector.scope;
+
+import java.util.function.Supplier;
+
+/**
+ * Strategy deciding when a dependency has to be instantiated.<br>
+ * Singleton dependencies are managed by the container itself, every other
+ * scope is looked up by its name, which can be set using the scope attribute
+ * of {@link hu.alextoth.injector.annotation.Component} and
+ * {@link hu.alextoth.injector.annotation.Injectable}. Custom scopes can be
+ * registered under any other name.
+ * 
+ * @author Alex Toth
+ */
+public interface Scope {
+
+	public static final String SINGLETON = "singleton";
+	public static final String PROTOTYPE = "prototype";
+	public static final String THREAD = "thread";
+	public static final String POOLED = "pooled";
+
+	/**
+	 * Returns an instance of the dependency with the given name, created by the
+	 * given provider if the scope doesn't have a suitable one.
+	 * 
+	 * @param name     Unique name of the dependency within the container.
+	 * @param provider Provider creating new instances of the dependency.
+	 * @return An instance of the dependency.
+	 */
+	Object get(String name, Supplier<?> provider);
+
+	/**
+	 * Notifies the scope that the given instance of the dependency with the given
+	 * name isn't used anymore.<br>
+	 * Does nothing by default.
+	 * 
+	 * @param name     Unique name of the dependency within the container.
+	 * @param instance Instance that isn't used anymore.
+	 */
+	default void release(String name, Object instance) {
+	}
+
+}
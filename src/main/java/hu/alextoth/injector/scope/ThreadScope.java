@@ -0,0 +1,46 @@
+package hu.alextoth.injector.scope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Scope sharing one instance within a thread.
+ * 
+ * @author Alex Toth
+ */
+public class ThreadScope implements Scope {
+
+	private final ThreadLocal<Map<String, Object>> instances = ThreadLocal.withInitial(HashMap::new);
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.scope.Scope#get(java.lang.String,
+	 * java.util.function.Supplier)
+	 */
+	@Override
+	public Object get(String name, Supplier<?> provider) {
+		Map<String, Object> threadInstances = instances.get();
+
+		Object instance = threadInstances.get(name);
+		if (instance == null) {
+			instance = provider.get();
+			threadInstances.put(name, instance);
+		}
+
+		return instance;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see hu.alextoth.injector.scope.Scope#release(java.lang.String,
+	 * java.lang.Object)
+	 */
+	@Override
+	public void release(String name, Object instance) {
+		instances.get().remove(name, instance);
+	}
+
+}
@@ -23,7 +23,9 @@ public final class ArrayUtils {
 	}
 
 	/**
-	 * Converts the given values to the given primitive type.
+	 * Converts the given values to the given primitive type.<br>
+	 * Arrays of primitive type are filled by parsing the values directly, without
+	 * boxing them.
 	 * 
 	 * @param componentType The conversion's target primitive type.
 	 * @param values        The values to be converted.
@@ -38,15 +40,24 @@ public final class ArrayUtils {
 			return values;
 		}
 
-		Class<?> wrapper = ClassUtils.getWrapperForPrimitive(componentType);
-		if (wrapper == null) {
+		if (ClassUtils.getWrapperForPrimitive(componentType) == null) {
 			throw new IllegalArgumentException(String.format("%s is not a primitive data type.", componentType));
 		}
 
-		Object convertedValues = Array.newInstance(wrapper, values.length);
-		Arrays.setAll((Object[]) convertedValues, i -> ClassUtils.convertToPrimitive(componentType, values[i]));
+		if (ClassUtils.isWrapper(componentType)) {
+			Object[] convertedValues = (Object[]) Array.newInstance(componentType, values.length);
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = ClassUtils.convertToPrimitive(componentType, values[i]);
+			}
+			return convertedValues;
+		}
 
-		return componentType.isPrimitive() ? convertToPrimitiveArray(componentType, convertedValues) : convertedValues;
+		try {
+			return parsePrimitiveArray(componentType, values);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException(
+					String.format("Cannot convert %s to %s.", Arrays.toString(values), componentType.getName()), e);
+		}
 	}
 
 	/**
@@ -209,6 +220,24 @@ public final class ArrayUtils {
 		return convertedValues;
 	}
 
+	/**
+	 * Returns a shallow copy of the given array of any type.
+	 * 
+	 * @param array The array to be copied.
+	 * @return A new array of the same type containing the same elements.
+	 */
+	public static Object copyOf(Object array) {
+		if (array == null || !array.getClass().isArray()) {
+			throw new IllegalArgumentException(String.format("%s is not an array.", array));
+		}
+
+		int length = Array.getLength(array);
+		Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+		System.arraycopy(array, 0, copy, 0, length);
+
+		return copy;
+	}
+
 	/**
 	 * Returns a boolean value indicating whether the given class is an array of
 	 * primitive type.
@@ -246,35 +275,67 @@ public final class ArrayUtils {
 	}
 
 	/**
-	 * Helper method to convert an array of wrapper type to primitive array.
+	 * Helper method to parse the given values to a primitive array.
 	 * 
 	 * @param componentType The target primitive data type.
-	 * @param values        A wrapper array as an object.
+	 * @param values        The values to be parsed.
 	 * @return A primitive array as an object.
 	 */
-	private static Object convertToPrimitiveArray(Class<?> componentType, Object values) {
+	private static Object parsePrimitiveArray(Class<?> componentType, String[] values) {
 		if (boolean.class.equals(componentType)) {
-			return convertToPrimitiveArray((Boolean[]) values);
+			boolean[] convertedValues = new boolean[values.length];
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = Boolean.parseBoolean(values[i]);
+			}
+			return convertedValues;
 		}
 		if (byte.class.equals(componentType)) {
-			return convertToPrimitiveArray((Byte[]) values);
+			byte[] convertedValues = new byte[values.length];
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = Byte.parseByte(values[i]);
+			}
+			return convertedValues;
 		}
 		if (char.class.equals(componentType)) {
-			return convertToPrimitiveArray((Character[]) values);
+			char[] convertedValues = new char[values.length];
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = values[i].charAt(0);
+			}
+			return convertedValues;
 		}
 		if (double.class.equals(componentType)) {
-			return convertToPrimitiveArray((Double[]) values);
+			double[] convertedValues = new double[values.length];
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = Double.parseDouble(values[i]);
+			}
+			return convertedValues;
 		}
 		if (float.class.equals(componentType)) {
-			return convertToPrimitiveArray((Float[]) values);
+			float[] convertedValues = new float[values.length];
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = Float.parseFloat(values[i]);
+			}
+			return convertedValues;
 		}
 		if (int.class.equals(componentType)) {
-			return convertToPrimitiveArray((Integer[]) values);
+			int[] convertedValues = new int[values.length];
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = Integer.parseInt(values[i]);
+			}
+			return convertedValues;
 		}
 		if (long.class.equals(componentType)) {
-			return convertToPrimitiveArray((Long[]) values);
+			long[] convertedValues = new long[values.length];
+			for (int i = 0; i < convertedValues.length; i++) {
+				convertedValues[i] = Long.parseLong(values[i]);
+			}
+			return convertedValues;
 		}
-		return convertToPrimitiveArray((Short[]) values);
+		short[] convertedValues = new short[values.length];
+		for (int i = 0; i < convertedValues.length; i++) {
+			convertedValues[i] = Short.parseShort(values[i]);
+		}
+		return convertedValues;
 	}
 
 }
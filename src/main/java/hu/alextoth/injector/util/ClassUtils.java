@@ -1,11 +1,10 @@
 package hu.alextoth.injector.util;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Class related utility methods.
@@ -69,8 +68,29 @@ public final class ClassUtils {
 		WRAPPER_PRIMITIVE_MAP = Collections.unmodifiableMap(wrapperPrimitiveMap);
 	}
 
+	private static final Map<Class<?>, Function<String, ?>> PARSER_MAP;
+
+	static {
+		Map<Class<?>, Function<String, ?>> parserMap = new HashMap<>(17);
+
+		parserMap.put(boolean.class, Boolean::valueOf);
+		parserMap.put(byte.class, Byte::valueOf);
+		parserMap.put(char.class, value -> Character.valueOf(value.charAt(0)));
+		parserMap.put(double.class, Double::valueOf);
+		parserMap.put(float.class, Float::valueOf);
+		parserMap.put(int.class, Integer::valueOf);
+		parserMap.put(long.class, Long::valueOf);
+		parserMap.put(short.class, Short::valueOf);
+		PRIMITIVE_WRAPPER_MAP.forEach((primitive, wrapper) -> parserMap.put(wrapper, parserMap.get(primitive)));
+		parserMap.put(String.class, Function.identity());
+
+		PARSER_MAP = Collections.unmodifiableMap(parserMap);
+	}
+
 	/**
-	 * Converts the given value to the given primitive type.
+	 * Converts the given value to the given primitive type.<br>
+	 * The value is parsed by a precompiled parser of the type, so no reflection is
+	 * used.
 	 * 
 	 * @param clazz The conversion's target primitive type.
 	 * @param value The value to be converted.
@@ -82,24 +102,14 @@ public final class ClassUtils {
 			throw new IllegalArgumentException("The type and the value shouldn't be null.");
 		}
 
-		if (String.class.isAssignableFrom(clazz)) {
-			return (T) value;
-		}
-		if (char.class.equals(clazz) || Character.class.equals(clazz)) {
-			return (T) Character.valueOf(value.charAt(0));
-		}
-
-		Class<?> wrapper = getWrapperForPrimitive(clazz);
-		if (wrapper == null) {
+		Function<String, ?> parser = PARSER_MAP.get(clazz);
+		if (parser == null) {
 			throw new IllegalArgumentException(String.format("%s is not primitive type.", clazz.getName()));
 		}
 
 		try {
-			Method valueOfMethod = wrapper.getDeclaredMethod("valueOf", String.class);
-			valueOfMethod.setAccessible(true);
-			return (T) valueOfMethod.invoke(null, value);
-		} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException
-				| InvocationTargetException e) {
+			return (T) parser.apply(value);
+		} catch (RuntimeException e) {
 			throw new IllegalArgumentException(String.format("Cannot convert %s to %s.", value, clazz.getName()), e);
 		}
 	}
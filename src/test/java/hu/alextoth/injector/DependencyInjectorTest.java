@@ -1,17 +1,41 @@
 package hu.alextoth.injector;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.FieldAnnotationsScanner;
+
+import com.google.common.collect.Multimap;
 
 import hu.alextoth.injector.annotation.Alias;
 import hu.alextoth.injector.annotation.Inject;
 import hu.alextoth.injector.annotation.Value;
+import hu.alextoth.injector.core.BeanMetrics;
+import hu.alextoth.injector.core.ContainerMetrics;
+import hu.alextoth.injector.core.InitializationReport;
 import hu.alextoth.injector.demo.DemoAnnotation;
+import hu.alextoth.injector.demo.DemoChainComponent;
+import hu.alextoth.injector.demo.DemoChainHolder;
+import hu.alextoth.injector.demo.DemoChainInjectable;
 import hu.alextoth.injector.demo.DemoInjectConstructor2;
 import hu.alextoth.injector.demo.DemoInjectConstructor3;
 import hu.alextoth.injector.demo.DemoInjectableFour;
@@ -19,6 +43,13 @@ import hu.alextoth.injector.demo.DemoInjectableNine;
 import hu.alextoth.injector.demo.DemoInjectableOne;
 import hu.alextoth.injector.demo.DemoInjectableThree;
 import hu.alextoth.injector.demo.DemoInjectableTwo;
+import hu.alextoth.injector.demo.DemoLazyComponent;
+import hu.alextoth.injector.demo.DemoLazyConfiguration;
+import hu.alextoth.injector.demo.DemoPooledComponent;
+import hu.alextoth.injector.demo.DemoPrototypeComponent;
+import hu.alextoth.injector.demo.DemoProviderComponent;
+import hu.alextoth.injector.provider.Provider;
+import hu.alextoth.injector.scan.ClasspathScanner;
 
 @DemoAnnotation
 public class DependencyInjectorTest {
@@ -165,4 +196,293 @@ public class DependencyInjectorTest {
 				dependencyInjector.getDependency(DemoInjectableOne.class, "valueInjectedOne").getDemoString());
 	}
 
+	@Test
+	public void testInjectDependenciesInParallel() {
+		DependencyInjector parallelDependencyInjector = new DependencyInjector("hu.alextoth.injector");
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+		try {
+			InitializationReport initializationReport = parallelDependencyInjector
+					.injectDependenciesInParallel(executorService);
+
+			assertTrue(initializationReport.getTaskCount() > 0);
+			assertTrue(initializationReport.getPeakParallelism() > 0);
+			assertTrue(initializationReport.getCriticalPathTime()
+					.compareTo(initializationReport.getTotalTaskTime()) <= 0);
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		// The static fields were injected by the parallel container.
+		assertSame(demoInjectableOne, parallelDependencyInjector.getDependency(DemoInjectableOne.class, "alias1"));
+		assertSame(demoInjectableTwo,
+				parallelDependencyInjector.getDependency(DemoInjectableTwo.class, Alias.DEFAULT_ALIAS));
+		assertSame(demoInjectableThree,
+				parallelDependencyInjector.getDependency(DemoInjectableThree.class, Alias.DEFAULT_ALIAS));
+		assertSame(demoInjectableNine,
+				parallelDependencyInjector.getDependency(DemoInjectableNine.class, Alias.DEFAULT_ALIAS));
+		assertSame(demoInjectConstructor2,
+				parallelDependencyInjector.getDependency(DemoInjectConstructor2.class, Alias.DEFAULT_ALIAS));
+		testInjectDependencies();
+
+		DemoChainInjectable demoChainInjectable = parallelDependencyInjector.getDependency(DemoChainInjectable.class,
+				Alias.DEFAULT_ALIAS);
+		DemoChainComponent demoChainComponent = parallelDependencyInjector
+				.getDependency(DemoChainHolder.class, Alias.DEFAULT_ALIAS).getDemoChainComponent();
+		assertSame(demoChainComponent,
+				parallelDependencyInjector.getDependency(DemoChainComponent.class, Alias.DEFAULT_ALIAS));
+		assertSame(demoChainInjectable, demoChainComponent.getDemoChainInjectable());
+		assertSame(demoChainInjectable, demoChainComponent.getInjectedDemoChainInjectable());
+	}
+
+	@Test
+	public void testLazyDependencies() {
+		int instanceCount = DemoLazyComponent.getInstanceCount();
+		int invocationCount = DemoLazyConfiguration.getInvocationCount();
+
+		DependencyInjector lazyDependencyInjector = new DependencyInjector("hu.alextoth.injector");
+		lazyDependencyInjector.injectDependencies();
+
+		assertEquals(instanceCount, DemoLazyComponent.getInstanceCount());
+		assertEquals(invocationCount, DemoLazyConfiguration.getInvocationCount());
+
+		DemoLazyComponent demoLazyComponent = lazyDependencyInjector.getDependency(DemoLazyComponent.class,
+				Alias.DEFAULT_ALIAS);
+		assertSame(demoLazyComponent,
+				lazyDependencyInjector.getDependency(DemoLazyComponent.class, Alias.DEFAULT_ALIAS));
+		assertEquals(instanceCount + 1, DemoLazyComponent.getInstanceCount());
+		assertSame(lazyDependencyInjector.getDependency(DemoInjectableTwo.class, Alias.DEFAULT_ALIAS),
+				demoLazyComponent.getDemoInjectableTwo());
+		assertEquals("lazy", demoLazyComponent.getDemoString());
+
+		DemoInjectableOne lazyDemoInjectableOne = lazyDependencyInjector.getDependency(DemoInjectableOne.class,
+				"lazyOne");
+		assertSame(lazyDemoInjectableOne, lazyDependencyInjector.getDependency(DemoInjectableOne.class, "lazyOne"));
+		assertEquals(invocationCount + 1, DemoLazyConfiguration.getInvocationCount());
+		assertEquals("lazyDependency", lazyDemoInjectableOne.getDemoString());
+	}
+
+	@Test
+	public void testInjectDependenciesLazily() {
+		DependencyInjector lazyDependencyInjector = new DependencyInjector("hu.alextoth.injector");
+		lazyDependencyInjector.setLazy(true);
+		lazyDependencyInjector.injectDependencies();
+
+		assertEquals(demoInjectableOne, lazyDependencyInjector.getDependency(DemoInjectableOne.class, "alias1"));
+		assertTrue(lazyDependencyInjector.getDependency(DemoInjectableOne.class, Alias.DEFAULT_ALIAS).isDemoBoolean());
+		testInjectDependencies();
+	}
+
+	@Test
+	public void testProviders() {
+		DemoProviderComponent demoProviderComponent = dependencyInjector.getDependency(DemoProviderComponent.class,
+				Alias.DEFAULT_ALIAS);
+
+		int lazyInstanceCount = DemoLazyComponent.getInstanceCount();
+		DemoLazyComponent demoLazyComponent = demoProviderComponent.getDemoLazyComponentProvider().get();
+		assertEquals(lazyInstanceCount + 1, DemoLazyComponent.getInstanceCount());
+		assertSame(demoLazyComponent, demoProviderComponent.getDemoLazyComponentProvider().get());
+		assertSame(demoLazyComponent, dependencyInjector.getDependency(DemoLazyComponent.class, Alias.DEFAULT_ALIAS));
+
+		assertNotSame(demoProviderComponent.getDemoPrototypeComponentProvider().get(),
+				demoProviderComponent.getDemoPrototypeComponentProvider().get());
+		assertSame(demoProviderComponent.getDemoPrototypeComponentLazy().get(),
+				demoProviderComponent.getDemoPrototypeComponentLazy().get());
+
+		assertSame(demoInjectableOne, demoProviderComponent.getDemoInjectableOneProvider().get());
+		assertSame(demoInjectableOne,
+				dependencyInjector.getDependencyProvider(DemoInjectableOne.class, "alias1").get());
+	}
+
+	@Test
+	public void testScopes() throws InterruptedException, ExecutionException {
+		DemoPrototypeComponent demoPrototypeComponent = dependencyInjector.getDependency(DemoPrototypeComponent.class,
+				Alias.DEFAULT_ALIAS);
+		DemoPrototypeComponent demoPrototypeComponent2 = dependencyInjector.getDependency(DemoPrototypeComponent.class,
+				Alias.DEFAULT_ALIAS);
+		assertNotSame(demoPrototypeComponent, demoPrototypeComponent2);
+		assertNotNull(demoPrototypeComponent.getDemoInjectableTwo());
+		assertSame(demoPrototypeComponent.getDemoInjectableTwo(), demoPrototypeComponent2.getDemoInjectableTwo());
+
+		DemoInjectableOne threadDemoInjectableOne = dependencyInjector.getDependency(DemoInjectableOne.class,
+				"threadOne");
+		assertSame(threadDemoInjectableOne, dependencyInjector.getDependency(DemoInjectableOne.class, "threadOne"));
+
+		DemoInjectableNine prototypeDemoInjectableNine = dependencyInjector.getDependency(DemoInjectableNine.class,
+				"prototypeNine");
+		assertNotSame(prototypeDemoInjectableNine,
+				dependencyInjector.getDependency(DemoInjectableNine.class, "prototypeNine"));
+		assertSame(threadDemoInjectableOne, prototypeDemoInjectableNine.getDemoInjectableOne());
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			assertNotSame(threadDemoInjectableOne, executorService
+					.submit(() -> dependencyInjector.getDependency(DemoInjectableOne.class, "threadOne")).get());
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		DemoPooledComponent demoPooledComponent = dependencyInjector.getDependency(DemoPooledComponent.class,
+				Alias.DEFAULT_ALIAS);
+		demoPooledComponent.getBuffer().append("used");
+		dependencyInjector.releaseDependency(DemoPooledComponent.class, Alias.DEFAULT_ALIAS, demoPooledComponent);
+
+		assertSame(demoPooledComponent,
+				dependencyInjector.getDependency(DemoPooledComponent.class, Alias.DEFAULT_ALIAS));
+		assertEquals(0, demoPooledComponent.getBuffer().length());
+		assertNotSame(demoPooledComponent,
+				dependencyInjector.getDependency(DemoPooledComponent.class, Alias.DEFAULT_ALIAS));
+	}
+
+	@Test
+	public void testFreeze() {
+		dependencyInjector.freeze();
+
+		assertEquals(demoInjectableOne, dependencyInjector.getDependency(DemoInjectableOne.class, "alias1"));
+		assertEquals(demoInjectableTwo, dependencyInjector.getDependency(DemoInjectableTwo.class, Alias.DEFAULT_ALIAS));
+		assertNotNull(dependencyInjector.getDependency(Object.class, "lateDependency"));
+	}
+
+	@Test
+	public void testMetrics() {
+		assertTrue(dependencyInjector.getMetrics().getBeanMetrics().isEmpty());
+
+		dependencyInjector = new DependencyInjector("hu.alextoth.injector");
+		dependencyInjector.setMetricsEnabled(true);
+		dependencyInjector.injectDependencies();
+
+		ContainerMetrics metrics = dependencyInjector.getMetrics();
+		assertFalse(metrics.getBeanMetrics().isEmpty());
+
+		BeanMetrics demoInjectableTwoMetrics = metrics.getBeanMetrics(DemoInjectableTwo.class, Alias.DEFAULT_ALIAS);
+		assertNotNull(demoInjectableTwoMetrics);
+		assertEquals(1, demoInjectableTwoMetrics.getCreationCount());
+		assertTrue(demoInjectableTwoMetrics.getSelfTime().compareTo(demoInjectableTwoMetrics.getTotalTime()) <= 0);
+		assertNotNull(demoInjectableTwoMetrics.getInvocation());
+
+		List<BeanMetrics> slowestBeans = metrics.getSlowestBeans(3);
+		assertEquals(3, slowestBeans.size());
+		assertTrue(slowestBeans.get(0).getSelfTime().compareTo(slowestBeans.get(1).getSelfTime()) >= 0);
+		assertTrue(slowestBeans.get(1).getSelfTime().compareTo(slowestBeans.get(2).getSelfTime()) >= 0);
+
+		assertFalse(metrics.getCriticalPath().isEmpty());
+		assertTrue(metrics.getReport(3).startsWith("Slowest beans:"));
+
+		metrics.reset();
+		assertTrue(metrics.getBeanMetrics().isEmpty());
+	}
+
+	@Test
+	public void testRefresh() {
+		dependencyInjector.freeze();
+
+		DemoInjectableOne oldDemoInjectableOne = demoInjectableOne;
+		DemoInjectableThree oldDemoInjectableThree = demoInjectableThree;
+
+		Set<Class<?>> recreatedTypes = dependencyInjector.refresh(DemoInjectableOne.class);
+		assertTrue(recreatedTypes.contains(DemoInjectableOne.class));
+		assertTrue(recreatedTypes.contains(DemoInjectableTwo.class));
+		assertFalse(recreatedTypes.contains(DemoInjectableThree.class));
+
+		DemoInjectableOne newDemoInjectableOne = dependencyInjector.getDependency(DemoInjectableOne.class, "alias1");
+		assertNotSame(oldDemoInjectableOne, newDemoInjectableOne);
+		assertSame(newDemoInjectableOne, demoInjectableOne);
+		assertSame(newDemoInjectableOne,
+				dependencyInjector.getDependency(DemoInjectableTwo.class, Alias.DEFAULT_ALIAS).getDemoInjectableOne());
+		assertSame(oldDemoInjectableThree,
+				dependencyInjector.getDependency(DemoInjectableThree.class, Alias.DEFAULT_ALIAS));
+	}
+
+	@Test
+	public void testRefreshRemovedMember() {
+		Reflections[] scannedReflections = new Reflections[1];
+		DependencyInjector refreshedDependencyInjector = new DependencyInjector(new ClasspathScanner() {
+
+			@Override
+			public Reflections scan(String... basePackages) {
+				scannedReflections[0] = super.scan(basePackages);
+				return scannedReflections[0];
+			}
+
+		}, "hu.alextoth.injector");
+		refreshedDependencyInjector.injectDependencies();
+
+		Multimap<String, String> fieldAnnotations = scannedReflections[0].getStore()
+				.get(FieldAnnotationsScanner.class.getSimpleName());
+		String removedField = DemoInjectableOne.class.getName() + ".removedDemoString";
+		fieldAnnotations.put(Inject.class.getName(), removedField);
+
+		refreshedDependencyInjector.refresh(DemoInjectableOne.class);
+		assertFalse(fieldAnnotations.containsValue(removedField));
+		assertTrue(fieldAnnotations.containsValue(DemoInjectableOne.class.getName() + ".demoInjectedString"));
+		assertNotNull(refreshedDependencyInjector.getDependency(DemoInjectableOne.class, "alias1"));
+	}
+
+	@Test
+	public void testChildContainer() {
+		assertThrows(IllegalStateException.class, () -> dependencyInjector.createChild());
+
+		dependencyInjector.freeze();
+		DependencyInjector childDependencyInjector = dependencyInjector.createChild();
+		assertThrows(IllegalStateException.class, () -> childDependencyInjector.injectDependencies());
+		assertThrows(IllegalStateException.class,
+				() -> childDependencyInjector.registerValueConverter(Locale.class, Locale::forLanguageTag));
+		assertThrows(IllegalStateException.class, () -> childDependencyInjector.addPropertySource(key -> null));
+
+		DemoInjectableOne tenantDemoInjectableOne = new DemoInjectableOne(2019, "tenant");
+		childDependencyInjector.registerDependency(DemoInjectableOne.class, tenantDemoInjectableOne, "alias1");
+
+		assertSame(tenantDemoInjectableOne, childDependencyInjector.getDependency(DemoInjectableOne.class, "alias1"));
+		assertSame(demoInjectableOne, dependencyInjector.getDependency(DemoInjectableOne.class, "alias1"));
+		assertSame(demoInjectableTwo,
+				childDependencyInjector.getDependency(DemoInjectableTwo.class, Alias.DEFAULT_ALIAS));
+		assertSame(staticDemoInjectableNine,
+				childDependencyInjector.getDependency(DemoInjectableNine.class, "staticNine"));
+
+		Provider<DemoInjectableOne> provider = childDependencyInjector.getDependencyProvider(DemoInjectableOne.class,
+				"lateOne");
+		dependencyInjector.registerDependency(DemoInjectableOne.class, tenantDemoInjectableOne, "lateOne");
+		assertSame(tenantDemoInjectableOne, provider.get());
+	}
+
+	@Test
+	public void testScanCache() throws IOException {
+		Path scanCacheFile = Files.createTempFile("scan", ".cache");
+		try {
+			DependencyInjector cachedDependencyInjector = new DependencyInjector(scanCacheFile,
+					"hu.alextoth.injector.demo", "hu.alextoth.injector");
+			cachedDependencyInjector.injectDependencies();
+
+			assertTrue(Files.size(scanCacheFile) > 0);
+			assertSame(demoInjectableNine,
+					cachedDependencyInjector.getDependency(DemoInjectableNine.class, Alias.DEFAULT_ALIAS));
+		} finally {
+			Files.deleteIfExists(scanCacheFile);
+		}
+	}
+
+	@Test
+	public void testWiringPlan() throws IOException {
+		Path wiringPlanFile = Files.createTempFile("wiring", ".plan");
+		try {
+			dependencyInjector.saveWiringPlan(wiringPlanFile);
+
+			DependencyInjector restoredDependencyInjector = DependencyInjector.restore(wiringPlanFile,
+					"hu.alextoth.injector");
+			restoredDependencyInjector.injectDependencies();
+
+			assertSame(demoInjectableOne,
+					restoredDependencyInjector.getDependency(DemoInjectableOne.class, "alias1"));
+			assertSame(demoInjectableOne, demoInjectableTwo.getDemoInjectableOne());
+			assertSame(demoInjectableNine, restoredDependencyInjector.getDependency(DemoInjectableNine.class,
+					Alias.DEFAULT_ALIAS));
+			assertSame(demoInjectableFour1, demoInjectableFour2);
+			assertEquals(20181225, demoValue);
+			assertEquals((short) 2018, demoPrimitiveValueArray[0]);
+			assertEquals("Hello", demoStringValueArray[0]);
+		} finally {
+			Files.deleteIfExists(wiringPlanFile);
+		}
+	}
+
 }
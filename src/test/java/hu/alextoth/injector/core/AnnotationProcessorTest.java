@@ -34,6 +34,7 @@ import hu.alextoth.injector.demo.DemoInjectableOne;
 import hu.alextoth.injector.demo.DemoInjectableThree;
 import hu.alextoth.injector.demo.DemoInjectableTwo;
 import hu.alextoth.injector.exception.AnnotationProcessingException;
+import hu.alextoth.injector.scope.Scope;
 
 @ExtendWith(MockitoExtension.class)
 @DemoAnnotation
@@ -97,6 +98,10 @@ public class AnnotationProcessorTest {
 		// Configuration classes
 		Mockito.when(annotationProcessorHelper.isConfigurationClass(ConfigClass.class)).thenReturn(true);
 
+		// Scopes
+		Mockito.when(annotationProcessorHelper.getComponentScope(Mockito.any())).thenReturn(Scope.SINGLETON);
+		Mockito.when(annotationProcessorHelper.getInjectableScope(Mockito.any())).thenReturn(Scope.SINGLETON);
+
 		// Inject constructors
 		Mockito.when(annotationProcessorHelper.getInjectConstructors())
 				.thenReturn(Sets.newHashSet(DemoInjectableTwo.class.getConstructor(DemoInjectableOne.class)));
@@ -133,6 +138,8 @@ public class AnnotationProcessorTest {
 		Mockito.when(dependencyAliasResolver.getAlias((Parameter) Mockito.notNull())).thenReturn(Alias.DEFAULT_ALIAS);
 		Mockito.when(dependencyAliasResolver.getAliases((Method) Mockito.notNull()))
 				.thenReturn(new String[] { Alias.DEFAULT_ALIAS });
+		Mockito.when(dependencyAliasResolver.getPrimaryAlias((Method) Mockito.notNull()))
+				.thenReturn(Alias.DEFAULT_ALIAS);
 
 		// Aliases in AnnotationProcessorTest
 		Mockito.when(
@@ -190,6 +197,12 @@ public class AnnotationProcessorTest {
 		Mockito.when(dependencyHandler.getInstanceOf(DemoInjectableFive.class, Alias.DEFAULT_ALIAS))
 				.thenReturn(demoInjectableFive);
 
+		Mockito.when(dependencyHandler.getContainerMetrics()).thenReturn(new ContainerMetrics());
+
+		Mockito.when(dependencyHandler.resolveDependencyOf(Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenAnswer(invocation -> dependencyHandler.getInstanceOf(invocation.getArgument(0),
+						invocation.getArgument(2)));
+
 		Object[] emptyObjectArray = new Object[0];
 		Mockito.when(dependencyHandler.resolveParametersOf(ConfigClass.class.getDeclaredConstructor()))
 				.thenReturn(emptyObjectArray);
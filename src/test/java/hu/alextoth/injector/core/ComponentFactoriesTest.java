@@ -0,0 +1,67 @@
+package hu.alextoth.injector.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import hu.alextoth.injector.demo.ConfigClass;
+import hu.alextoth.injector.demo.DemoInjectConstructor1;
+import hu.alextoth.injector.demo.DemoInjectableEight;
+import hu.alextoth.injector.demo.DemoInjectableThree;
+import hu.alextoth.injector.demo.DemoInjectableTwo;
+
+public class ComponentFactoriesTest {
+
+	@Test
+	public void testGetFactoryOf() {
+		assertNotNull(ComponentFactories.getFactoryOf(DemoInjectableTwo.class));
+		assertSame(ComponentFactories.getFactoryOf(DemoInjectableTwo.class),
+				ComponentFactories.getFactoryOf(DemoInjectableTwo.class));
+
+		assertNull(ComponentFactories.getFactoryOf(DemoInjectableEight.class));
+		assertNull(ComponentFactories.getFactoryOf(ConfigClass.class));
+		assertNull(ComponentFactories.getFactoryOf(String.class));
+		assertNull(ComponentFactories.getFactoryOf(int.class));
+		assertNull(ComponentFactories.getFactoryOf(DemoInjectableTwo[].class));
+	}
+
+	@Test
+	public void testGetConstructor() throws NoSuchMethodException {
+		ComponentFactory<DemoInjectConstructor1> componentFactory = ComponentFactories
+				.getFactoryOf(DemoInjectConstructor1.class);
+		DemoInjectableTwo demoInjectableTwo = new DemoInjectableTwo(null);
+
+		DemoInjectConstructor1 demoInjectConstructor1 = componentFactory
+				.getConstructor(DemoInjectConstructor1.class.getConstructor(DemoInjectableTwo.class))
+				.apply(new Object[] { demoInjectableTwo });
+
+		assertSame(demoInjectableTwo, demoInjectConstructor1.getDemoInjectableTwo());
+	}
+
+	@Test
+	public void testGetMethodInvoker() throws NoSuchMethodException {
+		ComponentFactory<DemoInjectableThree> componentFactory = ComponentFactories
+				.getFactoryOf(DemoInjectableThree.class);
+		DemoInjectableThree demoInjectableThree = new DemoInjectableThree();
+		DemoInjectableTwo demoInjectableTwo = new DemoInjectableTwo(null);
+
+		componentFactory
+				.getMethodInvoker(
+						DemoInjectableThree.class.getMethod("setDemoInjectableTwo", DemoInjectableTwo.class))
+				.accept(demoInjectableThree, new Object[] { demoInjectableTwo });
+
+		assertSame(demoInjectableTwo, demoInjectableThree.getDemoInjectableTwo());
+		assertNull(componentFactory.getMethodInvoker(DemoInjectableThree.class.getMethod("getDemoInjectableTwo")));
+	}
+
+	@Test
+	public void testGetSignature() throws NoSuchMethodException {
+		assertEquals("<init>(hu.alextoth.injector.demo.DemoInjectableTwo)",
+				ComponentFactory.getSignature(DemoInjectConstructor1.class.getConstructor(DemoInjectableTwo.class)));
+		assertEquals("valueOf(char[])", ComponentFactory.getSignature(String.class.getMethod("valueOf", char[].class)));
+	}
+
+}
@@ -0,0 +1,63 @@
+package hu.alextoth.injector.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import hu.alextoth.injector.annotation.Alias;
+import hu.alextoth.injector.core.BeanMetrics.Invocation;
+import hu.alextoth.injector.demo.DemoInjectableOne;
+import hu.alextoth.injector.demo.DemoInjectableTwo;
+
+public class ContainerMetricsTest {
+
+	private ContainerMetrics containerMetrics;
+
+	@BeforeEach
+	public void setUp() {
+		containerMetrics = new ContainerMetrics();
+	}
+
+	@Test
+	public void testDisabled() {
+		assertNull(containerMetrics.startMeasurement());
+
+		containerMetrics.recordCreation(null, DemoInjectableOne.class, Alias.DEFAULT_ALIAS, Invocation.REFLECTIVE);
+		containerMetrics.recordProxyGeneration(DemoInjectableOne.class, Alias.DEFAULT_ALIAS, 1);
+
+		assertTrue(containerMetrics.getBeanMetrics().isEmpty());
+	}
+
+	@Test
+	public void testNestedCreations() throws InterruptedException {
+		containerMetrics.setEnabled(true);
+
+		ContainerMetrics.Measurement outerMeasurement = containerMetrics.startMeasurement();
+		ContainerMetrics.Measurement innerMeasurement = containerMetrics.startMeasurement();
+		TimeUnit.MILLISECONDS.sleep(20);
+		containerMetrics.recordCreation(innerMeasurement, DemoInjectableOne.class, Alias.DEFAULT_ALIAS,
+				Invocation.GENERATED);
+		containerMetrics.recordResolution(outerMeasurement);
+		containerMetrics.recordCreation(outerMeasurement, DemoInjectableTwo.class, Alias.DEFAULT_ALIAS,
+				Invocation.REFLECTIVE);
+
+		BeanMetrics innerMetrics = containerMetrics.getBeanMetrics(DemoInjectableOne.class, Alias.DEFAULT_ALIAS);
+		BeanMetrics outerMetrics = containerMetrics.getBeanMetrics(DemoInjectableTwo.class, Alias.DEFAULT_ALIAS);
+
+		assertEquals(1, innerMetrics.getCreationCount());
+		assertEquals(Invocation.GENERATED, innerMetrics.getInvocation());
+		assertTrue(innerMetrics.getSelfTime().toMillis() >= 20);
+		assertTrue(outerMetrics.getTotalTime().compareTo(innerMetrics.getTotalTime()) >= 0);
+		assertTrue(outerMetrics.getSelfTime().compareTo(innerMetrics.getSelfTime()) < 0);
+		assertTrue(outerMetrics.getResolutionTime().toMillis() >= 20);
+
+		assertEquals(innerMetrics, containerMetrics.getSlowestBeans(1).get(0));
+		assertTrue(containerMetrics.getCriticalPath().isEmpty());
+	}
+
+}
@@ -1,6 +1,8 @@
 package hu.alextoth.injector.core;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.lang.reflect.Field;
@@ -95,6 +97,24 @@ public class DependencyAliasResolverTest {
 		assertThrows(IllegalArgumentException.class, () -> dependencyAliasResolver.getAliases(method2));
 	}
 
+	@Test
+	public void testGetAliasesCached() throws NoSuchMethodException, SecurityException, NoSuchFieldException {
+		Method method = ConfigClass.class.getMethod("getNamedDemoInjectableOne");
+		Field field = AnnotationProcessorTest.class.getDeclaredField("demoInjectableOne");
+
+		String[] aliases = dependencyAliasResolver.getAliases(method);
+		aliases[0] = "modified";
+
+		assertArrayEquals(new String[] { "alias1", "alias2" }, dependencyAliasResolver.getAliases(method));
+		assertNotSame(dependencyAliasResolver.getAliases(method), dependencyAliasResolver.getAliases(method));
+		assertEquals("alias1", dependencyAliasResolver.getPrimaryAlias(method));
+		assertEquals("alias2", dependencyAliasResolver.getAlias(field));
+		assertEquals("alias2", dependencyAliasResolver.getAlias(field));
+
+		Mockito.verify(annotationProcessorHelper, Mockito.times(1)).isInjectableAnnotation(DemoAnnotation.class);
+		Mockito.verify(annotationProcessorHelper, Mockito.times(1)).isAliasAnnotation(Alias.class);
+	}
+
 	@Test
 	public void testGetAliasesWithoutAnnotation() throws NoSuchMethodException, SecurityException {
 		Method method = DemoInjectableTwo.class.getMethod("getDemoInjectableOne");
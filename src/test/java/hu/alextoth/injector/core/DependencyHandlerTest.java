@@ -1,8 +1,22 @@
 package hu.alextoth.injector.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -10,11 +24,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.reflections.Reflections;
-
-import com.google.common.collect.Sets;
 
+import hu.alextoth.injector.annotation.Alias;
 import hu.alextoth.injector.core.helper.AnnotationProcessorHelper;
+import hu.alextoth.injector.core.helper.SubtypeIndex;
+import hu.alextoth.injector.demo.ConfigClass;
 import hu.alextoth.injector.demo.DemoFinalClass;
 import hu.alextoth.injector.demo.DemoInjectableEight;
 import hu.alextoth.injector.demo.DemoInjectableFive;
@@ -23,17 +37,21 @@ import hu.alextoth.injector.demo.DemoInjectableFour;
 import hu.alextoth.injector.demo.DemoInjectableFourImpl;
 import hu.alextoth.injector.demo.DemoInjectableOne;
 import hu.alextoth.injector.demo.DemoInjectableSeven;
-import hu.alextoth.injector.demo.DemoInjectableSevenImpl1;
-import hu.alextoth.injector.demo.DemoInjectableSevenImpl2;
 import hu.alextoth.injector.demo.DemoInjectableSix;
 import hu.alextoth.injector.demo.DemoInjectableThree;
 import hu.alextoth.injector.demo.DemoInjectableTwo;
+import hu.alextoth.injector.demo.DemoProviderComponent;
+import hu.alextoth.injector.provider.Lazy;
+import hu.alextoth.injector.provider.Provider;
+import hu.alextoth.injector.scope.PrototypeScope;
+import hu.alextoth.injector.scope.Scope;
+import net.sf.cglib.proxy.Enhancer;
 
 @ExtendWith(MockitoExtension.class)
 public class DependencyHandlerTest {
 
 	@Mock
-	private Reflections reflections;
+	private SubtypeIndex subtypeIndex;
 
 	@Mock
 	private AnnotationProcessorHelper annotationProcessorHelper;
@@ -46,7 +64,7 @@ public class DependencyHandlerTest {
 
 	@AfterEach
 	public void tearDown() {
-		Mockito.reset(reflections, annotationProcessorHelper, dependencyAliasResolver);
+		Mockito.reset(subtypeIndex, annotationProcessorHelper, dependencyAliasResolver);
 	}
 
 	@Test
@@ -56,6 +74,175 @@ public class DependencyHandlerTest {
 		assertNotNull(demoInjectableThree);
 	}
 
+	@Test
+	public void testGetInstanceOfConcurrently() throws InterruptedException, ExecutionException {
+		int numberOfThreads = 8;
+		ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+		CountDownLatch startLatch = new CountDownLatch(1);
+
+		try {
+			List<Future<DemoInjectableThree>> futures = new ArrayList<>();
+			for (int i = 0; i < numberOfThreads; i++) {
+				futures.add(executorService.submit(() -> {
+					startLatch.await();
+					return dependencyHandler.getInstanceOf(DemoInjectableThree.class);
+				}));
+			}
+			startLatch.countDown();
+
+			DemoInjectableThree demoInjectableThree = futures.get(0).get();
+			assertNotNull(demoInjectableThree);
+			for (Future<DemoInjectableThree> future : futures) {
+				assertSame(demoInjectableThree, future.get());
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testGetLazyInstanceOfConcurrently() throws InterruptedException, ExecutionException {
+		int numberOfThreads = 8;
+		ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+		CountDownLatch startLatch = new CountDownLatch(1);
+		AtomicInteger initializationCount = new AtomicInteger();
+
+		dependencyHandler.registerLazyInstanceOf(DemoInjectableThree.class, new LazyDependency(lazyDependency -> {
+			initializationCount.incrementAndGet();
+			return new DemoInjectableThree();
+		}));
+
+		assertTrue(dependencyHandler.hasInstanceOf(DemoInjectableThree.class, Alias.DEFAULT_ALIAS));
+		assertEquals(0, initializationCount.get());
+
+		try {
+			List<Future<DemoInjectableThree>> futures = new ArrayList<>();
+			for (int i = 0; i < numberOfThreads; i++) {
+				futures.add(executorService.submit(() -> {
+					startLatch.await();
+					return dependencyHandler.getInstanceOf(DemoInjectableThree.class);
+				}));
+			}
+			startLatch.countDown();
+
+			DemoInjectableThree demoInjectableThree = futures.get(0).get();
+			assertNotNull(demoInjectableThree);
+			for (Future<DemoInjectableThree> future : futures) {
+				assertSame(demoInjectableThree, future.get());
+			}
+			assertEquals(1, initializationCount.get());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testGetLazyInstanceOfCircularly() {
+		dependencyHandler.registerLazyInstanceOf(DemoInjectableThree.class,
+				new LazyDependency(lazyDependency -> dependencyHandler.getInstanceOf(DemoInjectableThree.class)));
+
+		assertThrows(IllegalStateException.class, () -> dependencyHandler.getInstanceOf(DemoInjectableThree.class));
+	}
+
+	@Test
+	public void testCreateInstanceOfWithProxy() throws NoSuchMethodException, SecurityException {
+		Mockito.when(annotationProcessorHelper.isConfigurationClass(ConfigClass.class)).thenReturn(true);
+		Mockito.when(annotationProcessorHelper.isInjectableMethod(ConfigClass.class.getMethod("getDemoInjectableOne")))
+				.thenReturn(true);
+		Mockito.when(dependencyAliasResolver.getPrimaryAlias(ConfigClass.class.getMethod("getDemoInjectableOne")))
+				.thenReturn(Alias.DEFAULT_ALIAS);
+
+		DemoInjectableOne demoInjectableOne = new DemoInjectableOne(2019, "registered");
+		dependencyHandler.registerInstanceOf(DemoInjectableOne.class, demoInjectableOne);
+
+		ConfigClass configClass = dependencyHandler.createInstanceOf(ConfigClass.class);
+
+		assertTrue(Enhancer.isEnhanced(configClass.getClass()));
+		assertSame(demoInjectableOne, configClass.getDemoInjectableOne());
+		assertNotSame(demoInjectableOne, configClass.getNamedDemoInjectableOne());
+
+		assertEquals(DemoInjectableThree.class,
+				dependencyHandler.createInstanceOf(DemoInjectableThree.class).getClass());
+	}
+
+	@Test
+	public void testGetProviderOf() {
+		Provider<DemoInjectableThree> provider = dependencyHandler.getProviderOf(DemoInjectableThree.class,
+				Alias.DEFAULT_ALIAS);
+		assertFalse(dependencyHandler.hasInstanceOf(DemoInjectableThree.class, Alias.DEFAULT_ALIAS));
+
+		DemoInjectableThree demoInjectableThree = provider.get();
+		assertSame(demoInjectableThree, dependencyHandler.getInstanceOf(DemoInjectableThree.class));
+		assertSame(demoInjectableThree, provider.get());
+
+		DemoInjectableThree demoInjectableThree2 = new DemoInjectableThree();
+		dependencyHandler.registerInstanceOf(DemoInjectableThree.class, demoInjectableThree2);
+		assertSame(demoInjectableThree2, provider.get());
+
+		dependencyHandler.registerScopedInstanceOf(DemoInjectableThree.class, Scope.PROTOTYPE,
+				DemoInjectableThree::new);
+		Lazy<DemoInjectableThree> lazy = dependencyHandler.getLazyOf(DemoInjectableThree.class, Alias.DEFAULT_ALIAS);
+		assertNotSame(provider.get(), provider.get());
+		assertSame(lazy.get(), lazy.get());
+	}
+
+	@Test
+	public void testResolveDependencyOf() throws NoSuchFieldException {
+		assertTrue(dependencyHandler.resolveDependencyOf(Provider.class,
+				DemoProviderComponent.class.getDeclaredField("demoLazyComponentProvider").getGenericType(),
+				Alias.DEFAULT_ALIAS) instanceof Provider);
+		assertTrue(dependencyHandler.resolveDependencyOf(Lazy.class,
+				DemoProviderComponent.class.getDeclaredField("demoPrototypeComponentLazy").getGenericType(),
+				Alias.DEFAULT_ALIAS) instanceof Lazy);
+		assertTrue(dependencyHandler.resolveDependencyOf(DemoInjectableThree.class, DemoInjectableThree.class,
+				Alias.DEFAULT_ALIAS) instanceof DemoInjectableThree);
+		assertThrows(IllegalArgumentException.class,
+				() -> dependencyHandler.resolveDependencyOf(Provider.class, Provider.class, Alias.DEFAULT_ALIAS));
+	}
+
+	@Test
+	public void testRegisterScopedInstanceOf() {
+		dependencyHandler.registerScope("custom", (name, provider) -> name);
+
+		assertTrue(dependencyHandler.hasScope(Scope.SINGLETON));
+		assertTrue(dependencyHandler.hasScope(Scope.PROTOTYPE));
+		assertTrue(dependencyHandler.hasScope("custom"));
+		assertFalse(dependencyHandler.hasScope("unknown"));
+		assertThrows(IllegalArgumentException.class,
+				() -> dependencyHandler.registerScope(Scope.SINGLETON, new PrototypeScope()));
+
+		dependencyHandler.registerScopedInstanceOf(String.class, "custom", () -> "unused", "customString");
+		dependencyHandler.registerScopedInstanceOf(DemoInjectableThree.class, Scope.PROTOTYPE,
+				DemoInjectableThree::new);
+
+		assertEquals("class java.lang.String (customString)",
+				dependencyHandler.getInstanceOf(String.class, "customString"));
+		assertNotSame(dependencyHandler.getInstanceOf(DemoInjectableThree.class),
+				dependencyHandler.getInstanceOf(DemoInjectableThree.class));
+		assertThrows(IllegalArgumentException.class,
+				() -> dependencyHandler.registerScopedInstanceOf(String.class, "unknown", () -> "unknown"));
+	}
+
+	@Test
+	public void testCreateInstanceOfWithCreationPlan() throws NoSuchMethodException {
+		Parameter parameter = DemoInjectableTwo.class.getDeclaredConstructor(DemoInjectableOne.class)
+				.getParameters()[0];
+		Mockito.when(dependencyAliasResolver.getAlias(parameter)).thenReturn("alias1");
+
+		DemoInjectableOne demoInjectableOne = new DemoInjectableOne(2018, "alias1");
+		dependencyHandler.registerInstanceOf(DemoInjectableOne.class, demoInjectableOne, "alias1");
+
+		DemoInjectableTwo demoInjectableTwo = dependencyHandler.createInstanceOf(DemoInjectableTwo.class);
+		DemoInjectableTwo demoInjectableTwo2 = dependencyHandler.createInstanceOf(DemoInjectableTwo.class);
+
+		assertNotSame(demoInjectableTwo, demoInjectableTwo2);
+		assertSame(demoInjectableOne, demoInjectableTwo.getDemoInjectableOne());
+		assertSame(demoInjectableOne, demoInjectableTwo2.getDemoInjectableOne());
+
+		Mockito.verify(annotationProcessorHelper).isValueParameter(parameter);
+		Mockito.verify(dependencyAliasResolver).getAlias(parameter);
+	}
+
 	@Test
 	public void testCreateInstanceOfWithDefaultConstructor() {
 		DemoInjectableThree demoInjectableThree = dependencyHandler.createInstanceOf(DemoInjectableThree.class);
@@ -87,51 +274,48 @@ public class DependencyHandlerTest {
 				() -> dependencyHandler.createInstanceOf(DemoInjectableEight.class));
 	}
 
-	@SuppressWarnings("unchecked")
 	@Test
 	public void testCreateInstanceOfWithInterface() {
-		Mockito.when(reflections.getSubTypesOf(DemoInjectableFour.class))
-				.thenReturn(Sets.newHashSet(DemoInjectableFourImpl.class));
+		Mockito.doReturn(DemoInjectableFourImpl.class).when(subtypeIndex).getImplementationOf(DemoInjectableFour.class);
 
 		DemoInjectableFour demoInjectableFour = dependencyHandler.createInstanceOf(DemoInjectableFour.class);
 
 		assertNotNull(demoInjectableFour);
+		assertEquals(DemoInjectableFourImpl.class, demoInjectableFour.getClass());
 
-		Mockito.verify(reflections).getSubTypesOf(DemoInjectableFour.class);
+		Mockito.verify(subtypeIndex).getImplementationOf(DemoInjectableFour.class);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Test
 	public void testCreateInstanceOfWithAbstractClass() {
-		Mockito.when(reflections.getSubTypesOf(DemoInjectableFive.class))
-				.thenReturn(Sets.newHashSet(DemoInjectableFiveImpl.class));
+		Mockito.doReturn(DemoInjectableFiveImpl.class).when(subtypeIndex).getImplementationOf(DemoInjectableFive.class);
 
 		DemoInjectableFive demoInjectableFive = dependencyHandler.createInstanceOf(DemoInjectableFive.class);
 
 		assertNotNull(demoInjectableFive);
 
-		Mockito.verify(reflections).getSubTypesOf(DemoInjectableFive.class);
+		Mockito.verify(subtypeIndex).getImplementationOf(DemoInjectableFive.class);
 	}
 
 	@Test
 	public void testCreateInstanceOfWithInterfaceWithoutSuitableImplementation() {
-		Mockito.when(reflections.getSubTypesOf(DemoInjectableSix.class)).thenReturn(Sets.newHashSet());
+		Mockito.when(subtypeIndex.getImplementationOf(DemoInjectableSix.class))
+				.thenThrow(new IllegalArgumentException("Cannot find suitable implementation"));
 
 		assertThrows(IllegalArgumentException.class, () -> dependencyHandler.createInstanceOf(DemoInjectableSix.class));
 
-		Mockito.verify(reflections).getSubTypesOf(DemoInjectableSix.class);
+		Mockito.verify(subtypeIndex).getImplementationOf(DemoInjectableSix.class);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Test
 	public void testCreateInstanceOfWithInterfaceWithTooManySuitableImplementation() {
-		Mockito.when(reflections.getSubTypesOf(DemoInjectableSeven.class))
-				.thenReturn(Sets.newHashSet(DemoInjectableSevenImpl1.class, DemoInjectableSevenImpl2.class));
+		Mockito.when(subtypeIndex.getImplementationOf(DemoInjectableSeven.class))
+				.thenThrow(new IllegalArgumentException("Found too many suitable implementations"));
 
 		assertThrows(IllegalArgumentException.class,
 				() -> dependencyHandler.createInstanceOf(DemoInjectableSeven.class));
 
-		Mockito.verify(reflections).getSubTypesOf(DemoInjectableSeven.class);
+		Mockito.verify(subtypeIndex).getImplementationOf(DemoInjectableSeven.class);
 	}
 
 	@Test
@@ -177,6 +361,40 @@ public class DependencyHandlerTest {
 		assertNotNull(dependencyHandler.getInstanceOf(DemoInjectableTwo.class));
 		assertEquals(demoInjectableTwo, dependencyHandler.getInstanceOf(DemoInjectableTwo.class));
 
+		dependencyHandler.registerInstanceOf(DemoInjectableOne.class, null, "alias");
+		assertFalse(dependencyHandler.hasInstanceOf(DemoInjectableOne.class, "alias"));
+	}
+
+	@Test
+	public void testFreeze() {
+		DemoInjectableOne demoInjectableOne = new DemoInjectableOne(1995, "Alex");
+		DemoInjectableOne otherDemoInjectableOne = new DemoInjectableOne(2018, "Other");
+
+		dependencyHandler.registerInstanceOf(DemoInjectableOne.class, demoInjectableOne, "alias1", "alias2");
+		assertFalse(dependencyHandler.isFrozen());
+
+		dependencyHandler.freeze();
+		assertTrue(dependencyHandler.isFrozen());
+
+		assertTrue(dependencyHandler.hasInstanceOf(DemoInjectableOne.class, "alias1"));
+		assertSame(demoInjectableOne, dependencyHandler.getInstanceOf(DemoInjectableOne.class, "alias1"));
+		assertSame(demoInjectableOne, dependencyHandler.getInstanceOf(DemoInjectableOne.class, "alias2"));
+		assertFalse(dependencyHandler.hasInstanceOf(DemoInjectableOne.class, "alias3"));
+
+		assertThrows(IllegalStateException.class,
+				() -> dependencyHandler.registerInstanceOf(DemoInjectableOne.class, otherDemoInjectableOne, "alias1"));
+
+		dependencyHandler.registerInstanceOf(DemoInjectableOne.class, otherDemoInjectableOne, "alias3");
+		assertSame(otherDemoInjectableOne, dependencyHandler.getInstanceOf(DemoInjectableOne.class, "alias3"));
+
+		DemoInjectableThree demoInjectableThree = dependencyHandler.getInstanceOf(DemoInjectableThree.class);
+		assertSame(demoInjectableThree, dependencyHandler.getInstanceOf(DemoInjectableThree.class));
+
+		dependencyHandler.freeze();
+		assertSame(otherDemoInjectableOne, dependencyHandler.getInstanceOf(DemoInjectableOne.class, "alias3"));
+		assertSame(demoInjectableThree, dependencyHandler.getInstanceOf(DemoInjectableThree.class));
+		assertThrows(IllegalStateException.class,
+				() -> dependencyHandler.registerInstanceOf(DemoInjectableThree.class, null));
 	}
 
 }
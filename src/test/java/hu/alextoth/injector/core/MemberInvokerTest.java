@@ -0,0 +1,104 @@
+package hu.alextoth.injector.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import hu.alextoth.injector.demo.ConfigClass;
+import hu.alextoth.injector.demo.DemoInjectConstructor1;
+import hu.alextoth.injector.demo.DemoInjectableOne;
+import hu.alextoth.injector.demo.DemoInjectableThree;
+import hu.alextoth.injector.demo.DemoInjectableTwo;
+
+public class MemberInvokerTest {
+
+	private static String staticField;
+
+	private final String finalField = "final";
+
+	private final MemberInvoker memberInvoker = new MemberInvoker();
+
+	@Test
+	public void testNewInstance() throws ReflectiveOperationException {
+		DemoInjectableOne demoInjectableOne = new DemoInjectableOne(2019, "invoked");
+
+		DemoInjectableTwo demoInjectableTwo = (DemoInjectableTwo) memberInvoker.newInstance(
+				DemoInjectableTwo.class.getConstructor(DemoInjectableOne.class), new Object[] { demoInjectableOne });
+
+		assertSame(demoInjectableOne, demoInjectableTwo.getDemoInjectableOne());
+		assertThrows(InvocationTargetException.class, () -> memberInvoker
+				.newInstance(DemoInjectableTwo.class.getConstructor(DemoInjectableOne.class), new Object[] { "" }));
+	}
+
+	@Test
+	public void testInvoke() throws ReflectiveOperationException {
+		DemoInjectableThree demoInjectableThree = new DemoInjectableThree();
+		DemoInjectableTwo demoInjectableTwo = new DemoInjectableTwo(null);
+
+		assertNull(memberInvoker.invoke(
+				DemoInjectableThree.class.getMethod("setDemoInjectableTwo", DemoInjectableTwo.class),
+				demoInjectableThree, new Object[] { demoInjectableTwo }));
+		assertSame(demoInjectableTwo, demoInjectableThree.getDemoInjectableTwo());
+
+		assertEquals((short) 2018, memberInvoker.invoke(ConfigClass.class.getMethod("getShort"), null, new Object[0]));
+		assertEquals("namedDependency", ((DemoInjectableOne) memberInvoker
+				.invoke(ConfigClass.class.getMethod("getNamedDemoInjectableOne"), new ConfigClass(), new Object[0]))
+						.getDemoString());
+
+		InvocationTargetException exception = assertThrows(InvocationTargetException.class,
+				() -> memberInvoker.invoke(MemberInvokerTest.class.getDeclaredMethod("fail"), this, new Object[0]));
+		assertTrue(exception.getCause() instanceof UnsupportedOperationException);
+	}
+
+	@Test
+	public void testSet() throws ReflectiveOperationException {
+		DemoInjectableThree demoInjectableThree = new DemoInjectableThree();
+		DemoInjectableTwo demoInjectableTwo = new DemoInjectableTwo(null);
+
+		memberInvoker.set(DemoInjectableThree.class.getDeclaredField("demoInjectableTwo"), demoInjectableThree,
+				demoInjectableTwo);
+		assertSame(demoInjectableTwo, demoInjectableThree.getDemoInjectableTwo());
+
+		memberInvoker.set(MemberInvokerTest.class.getDeclaredField("staticField"), null, "static");
+		assertEquals("static", staticField);
+
+		memberInvoker.set(MemberInvokerTest.class.getDeclaredField("finalField"), this, "changed");
+		assertEquals("changed", MemberInvokerTest.class.getDeclaredField("finalField").get(this));
+
+		assertThrows(IllegalArgumentException.class, () -> memberInvoker
+				.set(DemoInjectableThree.class.getDeclaredField("demoInjectableTwo"), demoInjectableThree, ""));
+	}
+
+	@Test
+	public void testGetFactoryFunctions() throws ReflectiveOperationException {
+		Constructor<DemoInjectConstructor1> constructor = DemoInjectConstructor1.class
+				.getConstructor(DemoInjectableTwo.class);
+		Method method = DemoInjectableThree.class.getMethod("setDemoInjectableTwo", DemoInjectableTwo.class);
+
+		assertNotNull(memberInvoker.getFactoryConstructorOf(constructor));
+		assertSame(memberInvoker.getFactoryConstructorOf(constructor),
+				memberInvoker.getFactoryConstructorOf(constructor));
+		assertNotNull(memberInvoker.getFactoryMethodInvokerOf(method));
+		assertSame(memberInvoker.getFactoryMethodInvokerOf(method), memberInvoker.getFactoryMethodInvokerOf(method));
+
+		assertNull(memberInvoker.getFactoryConstructorOf(ConfigClass.class.getConstructor()));
+		assertNull(
+				memberInvoker.getFactoryMethodInvokerOf(DemoInjectableThree.class.getMethod("getDemoInjectableTwo")));
+		assertNull(memberInvoker.getFactoryFieldSetterOf(MemberInvokerTest.class.getDeclaredField("staticField")));
+	}
+
+	@SuppressWarnings("unused")
+	private void fail() {
+		throw new UnsupportedOperationException();
+	}
+
+}
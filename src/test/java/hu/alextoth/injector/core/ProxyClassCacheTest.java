@@ -0,0 +1,81 @@
+package hu.alextoth.injector.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import hu.alextoth.injector.demo.ConfigClass;
+import hu.alextoth.injector.demo.DemoInjectConstructor1;
+import hu.alextoth.injector.demo.DemoInjectableOne;
+import hu.alextoth.injector.demo.DemoInjectableTwo;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.FixedValue;
+import net.sf.cglib.proxy.NoOp;
+
+public class ProxyClassCacheTest {
+
+	private final DemoInjectableOne fixedDemoInjectableOne = new DemoInjectableOne(2019, "fixed");
+
+	private final ProxyClassCache proxyClassCache = new ProxyClassCache(
+			method -> DemoInjectableOne.class.equals(method.getReturnType()) ? 0 : 1,
+			new Callback[] { (FixedValue) () -> fixedDemoInjectableOne, NoOp.INSTANCE });
+
+	@Test
+	public void testNewProxyOf() throws NoSuchMethodException, SecurityException {
+		ConfigClass configClass1 = proxyClassCache.newProxyOf(ConfigClass.class.getConstructor(), new Object[0]);
+		ConfigClass configClass2 = proxyClassCache.newProxyOf(ConfigClass.class.getConstructor(), new Object[0]);
+
+		assertTrue(Enhancer.isEnhanced(configClass1.getClass()));
+		assertSame(configClass1.getClass(), configClass2.getClass());
+		assertNotSame(configClass1, configClass2);
+
+		assertSame(fixedDemoInjectableOne, configClass1.getDemoInjectableOne());
+		assertSame(fixedDemoInjectableOne, configClass2.getNamedDemoInjectableOne());
+		assertEquals((short) 2018, ConfigClass.getShort());
+
+		assertEquals(1, proxyClassCache.getMissCount());
+		assertEquals(1, proxyClassCache.getHitCount());
+	}
+
+	@Test
+	public void testNewProxyOfWithParameters() throws NoSuchMethodException, SecurityException {
+		DemoInjectableTwo demoInjectableTwo = new DemoInjectableTwo(null);
+
+		DemoInjectConstructor1 demoInjectConstructor1 = proxyClassCache.newProxyOf(
+				DemoInjectConstructor1.class.getConstructor(DemoInjectableTwo.class),
+				new Object[] { demoInjectableTwo });
+
+		assertTrue(Enhancer.isEnhanced(demoInjectConstructor1.getClass()));
+		assertSame(demoInjectableTwo, demoInjectConstructor1.getDemoInjectableTwo());
+		assertEquals(1, proxyClassCache.getMissCount());
+		assertEquals(0, proxyClassCache.getHitCount());
+	}
+
+	@Test
+	public void testWithCallbacks() throws NoSuchMethodException, SecurityException {
+		DemoInjectableOne childDemoInjectableOne = new DemoInjectableOne(2019, "child");
+		ProxyClassCache childProxyClassCache = proxyClassCache
+				.withCallbacks(new Callback[] { (FixedValue) () -> childDemoInjectableOne, NoOp.INSTANCE });
+
+		ConfigClass configClass = proxyClassCache.newProxyOf(ConfigClass.class.getConstructor(), new Object[0]);
+		ConfigClass childConfigClass = childProxyClassCache.newProxyOf(ConfigClass.class.getConstructor(),
+				new Object[0]);
+
+		assertSame(configClass.getClass(), childConfigClass.getClass());
+		assertSame(fixedDemoInjectableOne, configClass.getDemoInjectableOne());
+		assertSame(childDemoInjectableOne, childConfigClass.getDemoInjectableOne());
+		assertSame(fixedDemoInjectableOne,
+				proxyClassCache.newProxyOf(ConfigClass.class.getConstructor(), new Object[0]).getDemoInjectableOne());
+
+		assertEquals(0, childProxyClassCache.getMissCount());
+		assertEquals(1, childProxyClassCache.getHitCount());
+		assertThrows(IllegalArgumentException.class,
+				() -> proxyClassCache.withCallbacks(new Callback[] { NoOp.INSTANCE, NoOp.INSTANCE }));
+	}
+
+}
@@ -1,9 +1,17 @@
 package hu.alextoth.injector.core;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,13 +19,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 
 import hu.alextoth.injector.annotation.Value;
 import hu.alextoth.injector.core.helper.AnnotationProcessorHelper;
+import hu.alextoth.injector.core.helper.ValueConverters;
 import hu.alextoth.injector.demo.ConfigClass;
 import hu.alextoth.injector.demo.DemoInjectableOne;
 import hu.alextoth.injector.demo.DemoValue;
 import hu.alextoth.injector.demo.DemoWrongValue;
+import hu.alextoth.injector.property.EnvironmentPropertySource;
+import hu.alextoth.injector.property.PropertyResolver;
 
 @ExtendWith(MockitoExtension.class)
 public class ValueResolverTest {
@@ -25,6 +37,13 @@ public class ValueResolverTest {
 	@Mock
 	private AnnotationProcessorHelper annotationProcessorHelper;
 
+	@Spy
+	private ValueConverters valueConverters = new ValueConverters();
+
+	@Spy
+	private PropertyResolver propertyResolver = new PropertyResolver(
+			new EnvironmentPropertySource(Collections.singletonMap("DEMO_TIMEOUT", "PT2M")));
+
 	@InjectMocks
 	private ValueResolver valueResolver;
 
@@ -94,6 +113,24 @@ public class ValueResolverTest {
 	@Value({ "2018", "12", "26" })
 	private Integer[] demoIntegerArray;
 
+	@Value("PT1M30S")
+	private Duration demoDuration;
+
+	@Value("https://github.com/tothalex95/dependency-injector")
+	private URI demoUri;
+
+	@Value({ "SECONDS", "MINUTES" })
+	private TimeUnit[] demoTimeUnitArray;
+
+	@Value("hu-HU")
+	private Locale demoLocale;
+
+	@Value("${demo.timeout:PT1M}")
+	private Duration demoTimeout;
+
+	@Value({ "${demo.year:2018}", "${demo.month}" })
+	private int[] demoPlaceholderArray;
+
 	@BeforeEach
 	public void setUp() {
 		Mockito.when(annotationProcessorHelper.isValueAnnotation(Value.class)).thenReturn(true);
@@ -174,4 +211,43 @@ public class ValueResolverTest {
 				DemoInjectableOne.class.getDeclaredMethod("setDemoInteger", Integer.class).getParameters()[0]));
 	}
 
+	@Test
+	public void testGetConvertedValueOf() throws NoSuchFieldException, SecurityException {
+		assertEquals(Duration.ofSeconds(90),
+				valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoDuration")));
+		assertEquals(URI.create("https://github.com/tothalex95/dependency-injector"),
+				valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoUri")));
+		assertArrayEquals(new TimeUnit[] { TimeUnit.SECONDS, TimeUnit.MINUTES },
+				(TimeUnit[]) valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoTimeUnitArray")));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoLocale")));
+		valueConverters.registerConverter(Locale.class, Locale::forLanguageTag);
+		assertEquals(Locale.forLanguageTag("hu-HU"),
+				valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoLocale")));
+
+		int[] ints = (int[]) valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoIntArray"));
+		ints[0] = 2019;
+		int[] intsAgain = (int[]) valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoIntArray"));
+		assertNotSame(ints, intsAgain);
+		assertEquals(2018, intsAgain[0]);
+
+		Mockito.verify(valueConverters, Mockito.times(1)).convert(int[].class, "2018", "12", "26");
+	}
+
+	@Test
+	public void testGetPlaceholderValueOf() throws NoSuchFieldException, SecurityException {
+		assertEquals(Duration.ofMinutes(2),
+				valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoTimeout")));
+		assertEquals(Duration.ofMinutes(2),
+				valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoTimeout")));
+		Mockito.verify(propertyResolver, Mockito.times(1)).resolvePlaceholders("${demo.timeout:PT1M}");
+
+		assertThrows(IllegalArgumentException.class,
+				() -> valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoPlaceholderArray")));
+		propertyResolver.addPropertySource(key -> "demo.month".equals(key) ? "12" : null);
+		assertArrayEquals(new int[] { 2018, 12 },
+				(int[]) valueResolver.getValueOf(ValueResolverTest.class.getDeclaredField("demoPlaceholderArray")));
+	}
+
 }
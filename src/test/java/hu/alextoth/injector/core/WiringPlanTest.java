@@ -0,0 +1,68 @@
+package hu.alextoth.injector.core;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+
+import hu.alextoth.injector.DependencyInjector;
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.demo.DemoInjectableFour;
+import hu.alextoth.injector.demo.DemoInjectableTwo;
+
+public class WiringPlanTest {
+
+	private static final String BASE_PACKAGE = "hu.alextoth.injector";
+
+	private Path wiringPlanFile;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		wiringPlanFile = Files.createTempFile("wiring", ".plan");
+
+		DependencyInjector dependencyInjector = new DependencyInjector(BASE_PACKAGE);
+		dependencyInjector.injectDependencies();
+		dependencyInjector.saveWiringPlan(wiringPlanFile);
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(wiringPlanFile);
+	}
+
+	@Test
+	public void testRead() {
+		WiringPlan wiringPlan = WiringPlan.read(wiringPlanFile, BASE_PACKAGE);
+		assertNotNull(wiringPlan);
+		assertFalse(wiringPlan.getDependencyGraph().getSortedInjectFields().isEmpty());
+
+		Reflections reflections = wiringPlan.getReflections();
+		assertTrue(reflections.getTypesAnnotatedWith(Component.class).contains(DemoInjectableTwo.class));
+		assertFalse(reflections.getFieldsAnnotatedWith(Inject.class).isEmpty());
+		assertTrue(reflections.getSubTypesOf(DemoInjectableFour.class).isEmpty());
+	}
+
+	@Test
+	public void testReadInvalidPlan() throws IOException {
+		assertNull(WiringPlan.read(wiringPlanFile, "hu.alextoth.injector.demo"));
+
+		byte[] content = Files.readAllBytes(wiringPlanFile);
+		content[content.length / 2] ^= 1;
+		Files.write(wiringPlanFile, content);
+		assertNull(WiringPlan.read(wiringPlanFile, BASE_PACKAGE));
+
+		Files.delete(wiringPlanFile);
+		assertNull(WiringPlan.read(wiringPlanFile, BASE_PACKAGE));
+	}
+
+}
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.reflections.Reflections;
 
 import com.google.common.collect.Sets;
@@ -38,6 +39,8 @@ import hu.alextoth.injector.demo.DemoAnnotation2;
 import hu.alextoth.injector.demo.DemoInjectableOne;
 import hu.alextoth.injector.demo.DemoInjectableThree;
 import hu.alextoth.injector.demo.DemoInjectableTwo;
+import hu.alextoth.injector.demo.DemoLazyComponent;
+import hu.alextoth.injector.demo.DemoLazyConfiguration;
 import hu.alextoth.injector.demo.DemoWrongAlias;
 import hu.alextoth.injector.demo.InjectablesWithoutConfiguration;
 import hu.alextoth.injector.demo.InjectsWithoutComponent;
@@ -48,6 +51,9 @@ public class AnnotationProcessorHelperTest {
 	@Mock
 	private Reflections reflections;
 
+	@Spy
+	private ValueConverters valueConverters = new ValueConverters();
+
 	@InjectMocks
 	private AnnotationProcessorHelper annotationProcessorHelper;
 
@@ -235,6 +241,23 @@ public class AnnotationProcessorHelperTest {
 				AnnotationProcessorTest.class.getMethod("setDemoInjectableThree", DemoInjectableThree.class)));
 	}
 
+	@Test
+	public void testIsLazyComponentClass() {
+		assertTrue(annotationProcessorHelper.isLazyComponentClass(DemoLazyComponent.class));
+		assertFalse(annotationProcessorHelper.isLazyComponentClass(DemoInjectableTwo.class));
+		assertFalse(annotationProcessorHelper.isLazyComponentClass(DependencyInjectorTest.class));
+	}
+
+	@Test
+	public void testIsLazyInjectableMethod() throws NoSuchMethodException, SecurityException {
+		assertTrue(annotationProcessorHelper
+				.isLazyInjectableMethod(DemoLazyConfiguration.class.getMethod("getLazyDemoInjectableOne")));
+		assertFalse(annotationProcessorHelper
+				.isLazyInjectableMethod(ConfigClass.class.getMethod("getDemoInjectableOne")));
+		assertFalse(annotationProcessorHelper
+				.isLazyInjectableMethod(ConfigClass.class.getMethod("getNamedDemoInjectableOne")));
+	}
+
 	@Test
 	public void testIsInjectConstructor() throws NoSuchMethodException, SecurityException {
 		assertTrue(annotationProcessorHelper
@@ -0,0 +1,120 @@
+package hu.alextoth.injector.core.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Constructor;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import hu.alextoth.injector.demo.ConfigClass;
+import hu.alextoth.injector.demo.DemoInjectConstructor1;
+import hu.alextoth.injector.demo.DemoInjectConstructor2;
+import hu.alextoth.injector.demo.DemoInjectConstructor3;
+import hu.alextoth.injector.demo.DemoInjectableNine;
+import hu.alextoth.injector.demo.DemoInjectableOne;
+import hu.alextoth.injector.demo.DemoInjectableTwo;
+import hu.alextoth.injector.exception.AnnotationProcessingException;
+
+public class DependencyGraphTest {
+
+	@Test
+	public void testGetSortedTypes() throws NoSuchMethodException, SecurityException {
+		DependencyGraph dependencyGraph = new DependencyGraph(
+				Sets.newLinkedHashSet(Lists.newArrayList(ConfigClass.class.getDeclaredMethod("getDemoInjectableNine"),
+						ConfigClass.class.getDeclaredMethod("getDemoInjectableOne"))),
+				Sets.newLinkedHashSet(Lists.<Constructor<?>>newArrayList(
+						DemoInjectConstructor2.class.getDeclaredConstructor(DemoInjectableTwo.class,
+								DemoInjectConstructor3.class),
+						DemoInjectConstructor1.class.getDeclaredConstructor(DemoInjectableTwo.class))),
+				Collections.emptySet(), Collections.emptySet());
+
+		assertEquals(Lists.<Class<?>>newArrayList(DemoInjectableOne.class, DemoInjectableNine.class,
+				DemoInjectConstructor1.class, DemoInjectConstructor2.class), dependencyGraph.getSortedTypes());
+
+		assertEquals(Sets.<Class<?>>newHashSet(DemoInjectableOne.class, DemoInjectConstructor1.class),
+				dependencyGraph.getDependenciesOf(DemoInjectConstructor2.class));
+		assertEquals(Collections.emptySet(), dependencyGraph.getDependenciesOf(DemoInjectableOne.class));
+	}
+
+	@Test
+	public void testSoftCycle() throws NoSuchFieldException, SecurityException {
+		DependencyGraph dependencyGraph = new DependencyGraph(Collections.emptySet(), Collections.emptySet(),
+				Sets.newLinkedHashSet(Lists.newArrayList(SoftCycleB.class.getDeclaredField("softCycleA"),
+						SoftCycleA.class.getDeclaredField("softCycleB"))),
+				Collections.emptySet());
+
+		assertEquals(Lists.<Class<?>>newArrayList(SoftCycleB.class, SoftCycleA.class),
+				dependencyGraph.getSortedTypes());
+		assertEquals(Collections.emptySet(), dependencyGraph.getDependenciesOf(SoftCycleB.class));
+		assertEquals(Collections.singleton(SoftCycleB.class), dependencyGraph.getDependenciesOf(SoftCycleA.class));
+	}
+
+	@Test
+	public void testSoftCycleWithHardDependency() throws NoSuchFieldException, NoSuchMethodException,
+			SecurityException {
+		DependencyGraph dependencyGraph = new DependencyGraph(Collections.emptySet(),
+				Collections.singleton(MixedCycleB.class.getDeclaredConstructor(MixedCycleA.class)),
+				Collections.singleton(MixedCycleA.class.getDeclaredField("mixedCycleB")), Collections.emptySet());
+
+		assertEquals(Lists.<Class<?>>newArrayList(MixedCycleA.class, MixedCycleB.class),
+				dependencyGraph.getSortedTypes());
+	}
+
+	@Test
+	public void testHardCycle() throws NoSuchMethodException, SecurityException {
+		AnnotationProcessingException exception = assertThrows(AnnotationProcessingException.class,
+				() -> new DependencyGraph(Collections.emptySet(),
+						Sets.newLinkedHashSet(Lists.<Constructor<?>>newArrayList(
+								HardCycleA.class.getDeclaredConstructor(HardCycleB.class),
+								HardCycleB.class.getDeclaredConstructor(HardCycleA.class))),
+						Collections.emptySet(), Collections.emptySet()));
+
+		assertEquals(String.format("Circular dependency: %s -> %s -> %s", HardCycleA.class.getName(),
+				HardCycleB.class.getName(), HardCycleA.class.getName()), exception.getMessage());
+	}
+
+	static class SoftCycleA {
+
+		SoftCycleB softCycleB;
+
+	}
+
+	static class SoftCycleB {
+
+		SoftCycleA softCycleA;
+
+	}
+
+	static class MixedCycleA {
+
+		MixedCycleB mixedCycleB;
+
+	}
+
+	static class MixedCycleB {
+
+		MixedCycleB(MixedCycleA mixedCycleA) {
+		}
+
+	}
+
+	static class HardCycleA {
+
+		HardCycleA(HardCycleB hardCycleB) {
+		}
+
+	}
+
+	static class HardCycleB {
+
+		HardCycleB(HardCycleA hardCycleA) {
+		}
+
+	}
+
+}
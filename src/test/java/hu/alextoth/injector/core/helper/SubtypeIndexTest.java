@@ -0,0 +1,95 @@
+package hu.alextoth.injector.core.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+
+import hu.alextoth.injector.demo.DemoInjectableFive;
+import hu.alextoth.injector.demo.DemoInjectableFiveImpl;
+import hu.alextoth.injector.demo.DemoInjectableFour;
+import hu.alextoth.injector.demo.DemoInjectableFourImpl;
+import hu.alextoth.injector.demo.DemoInjectableOne;
+import hu.alextoth.injector.demo.DemoInjectableSeven;
+import hu.alextoth.injector.demo.DemoInjectableSevenImpl1;
+import hu.alextoth.injector.demo.DemoInjectableSevenImpl2;
+import hu.alextoth.injector.demo.DemoInjectableSix;
+import hu.alextoth.injector.scan.ClasspathScanner;
+
+public class SubtypeIndexTest {
+
+	private static SubtypeIndex subtypeIndex;
+
+	@BeforeAll
+	public static void setUp() {
+		subtypeIndex = new SubtypeIndex(new ClasspathScanner().scan("hu.alextoth.injector"));
+	}
+
+	@Test
+	public void testGetImplementationsOf() {
+		assertEquals(Arrays.asList(DemoInjectableFourImpl.class),
+				subtypeIndex.getImplementationsOf(DemoInjectableFour.class));
+		assertEquals(Arrays.asList(DemoInjectableSevenImpl1.class, DemoInjectableSevenImpl2.class),
+				subtypeIndex.getImplementationsOf(DemoInjectableSeven.class));
+		assertTrue(subtypeIndex.getImplementationsOf(DemoInjectableSix.class).isEmpty());
+		assertTrue(subtypeIndex.getImplementationsOf(DemoInjectableOne.class).isEmpty());
+	}
+
+	@Test
+	public void testGetImplementationOf() {
+		assertEquals(DemoInjectableFourImpl.class, subtypeIndex.getImplementationOf(DemoInjectableFour.class));
+		assertEquals(DemoInjectableFiveImpl.class, subtypeIndex.getImplementationOf(DemoInjectableFive.class));
+
+		assertThrows(IllegalArgumentException.class, () -> subtypeIndex.getImplementationOf(DemoInjectableSix.class));
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> subtypeIndex.getImplementationOf(DemoInjectableSeven.class));
+		assertTrue(exception.getMessage().contains(DemoInjectableSevenImpl1.class.getName()));
+		assertTrue(exception.getMessage().contains(DemoInjectableSevenImpl2.class.getName()));
+	}
+
+	@Test
+	public void testEmptyIndex() {
+		SubtypeIndex emptySubtypeIndex = new SubtypeIndex(new Reflections() {
+		});
+
+		assertEquals(0, emptySubtypeIndex.size());
+		assertTrue(emptySubtypeIndex.getImplementationsOf(DemoInjectableFour.class).isEmpty());
+	}
+
+	@Test
+	public void testAddClasses() {
+		SubtypeIndex extendedSubtypeIndex = new SubtypeIndex(new Reflections() {
+		});
+		extendedSubtypeIndex.addClasses(Arrays.asList(DemoInjectableFourImpl.class, DemoInjectableSevenImpl2.class));
+		extendedSubtypeIndex.addClasses(Arrays.asList(DemoInjectableSevenImpl1.class, DemoInjectableSevenImpl2.class));
+
+		assertEquals(DemoInjectableFourImpl.class, extendedSubtypeIndex.getImplementationOf(DemoInjectableFour.class));
+		assertEquals(Arrays.asList(DemoInjectableSevenImpl1.class, DemoInjectableSevenImpl2.class),
+				extendedSubtypeIndex.getImplementationsOf(DemoInjectableSeven.class));
+	}
+
+	@Test
+	public void testResolveOnFirstLookup() {
+		SubtypeIndex lazySubtypeIndex = new SubtypeIndex(new ClasspathScanner().scan("hu.alextoth.injector"));
+		assertEquals(0, lazySubtypeIndex.size());
+
+		List<Class<? extends DemoInjectableSeven>> implementations = lazySubtypeIndex
+				.getImplementationsOf(DemoInjectableSeven.class);
+		assertEquals(1, lazySubtypeIndex.size());
+		assertSame(implementations, lazySubtypeIndex.getImplementationsOf(DemoInjectableSeven.class));
+		assertThrows(UnsupportedOperationException.class, () -> implementations.add(DemoInjectableSevenImpl1.class));
+
+		lazySubtypeIndex.addClasses(Arrays.asList(DemoInjectableFourImpl.class));
+		assertEquals(0, lazySubtypeIndex.size());
+		assertEquals(implementations, lazySubtypeIndex.getImplementationsOf(DemoInjectableSeven.class));
+	}
+
+}
@@ -0,0 +1,88 @@
+package hu.alextoth.injector.core.helper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ValueConvertersTest {
+
+	private ValueConverters valueConverters;
+
+	@BeforeEach
+	public void setUp() {
+		valueConverters = new ValueConverters();
+	}
+
+	@Test
+	public void testCanConvertTo() {
+		assertTrue(valueConverters.canConvertTo(int.class));
+		assertTrue(valueConverters.canConvertTo(Integer[].class));
+		assertTrue(valueConverters.canConvertTo(String[].class));
+		assertTrue(valueConverters.canConvertTo(Duration.class));
+		assertTrue(valueConverters.canConvertTo(TimeUnit[].class));
+
+		assertFalse(valueConverters.canConvertTo(Object.class));
+		assertFalse(valueConverters.canConvertTo(int[][].class));
+		assertFalse(valueConverters.canConvertTo(Locale.class));
+
+		valueConverters.registerConverter(Locale.class, Locale::forLanguageTag);
+		assertTrue(valueConverters.canConvertTo(Locale.class));
+		assertTrue(valueConverters.canConvertTo(Locale[].class));
+	}
+
+	@Test
+	public void testConvert() {
+		assertEquals(2018, valueConverters.convert(int.class, "2018"));
+		assertEquals("2018", valueConverters.convert(String.class, "2018", "12"));
+		assertArrayEquals(new long[] { 2018L, 12L },
+				(long[]) valueConverters.convert(long[].class, "2018", "12"));
+
+		assertEquals(new BigDecimal("2018.1227"), valueConverters.convert(BigDecimal.class, "2018.1227"));
+		assertEquals(Duration.ofMillis(250), valueConverters.convert(Duration.class, "PT0.25S"));
+		assertEquals(URI.create("file:///tmp"), valueConverters.convert(URI.class, "file:///tmp"));
+		assertEquals(TimeUnit.DAYS, valueConverters.convert(TimeUnit.class, "DAYS"));
+		assertArrayEquals(new Duration[] { Duration.ofDays(1), Duration.ofHours(2) },
+				(Duration[]) valueConverters.convert(Duration[].class, "P1D", "PT2H"));
+
+		valueConverters.registerConverter(Locale.class, Locale::forLanguageTag);
+		assertEquals(Locale.forLanguageTag("hu-HU"), valueConverters.convert(Locale.class, "hu-HU"));
+
+		valueConverters.registerConverter(TimeUnit.class, value -> TimeUnit.valueOf(value.toUpperCase()));
+		assertEquals(TimeUnit.HOURS, valueConverters.convert(TimeUnit.class, "hours"));
+
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.convert(null, "2018"));
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.convert(int.class, (String[]) null));
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.convert(int.class));
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.convert(Object.class, "2018"));
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.convert(Duration.class, "2018"));
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.convert(TimeUnit[].class, "YEARS"));
+
+		valueConverters.registerConverter(Locale.class, value -> null);
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.convert(Locale.class, "hu-HU"));
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.convert(Locale[].class, "hu-HU"));
+	}
+
+	@Test
+	public void testRegisterConverter() {
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.registerConverter(null, value -> value));
+		assertThrows(IllegalArgumentException.class, () -> valueConverters.registerConverter(Locale.class, null));
+		assertThrows(IllegalArgumentException.class,
+				() -> valueConverters.registerConverter(int.class, value -> 2018));
+		assertThrows(IllegalArgumentException.class,
+				() -> valueConverters.registerConverter(String.class, value -> value));
+		assertThrows(IllegalArgumentException.class,
+				() -> valueConverters.registerConverter(Locale[].class, value -> new Locale[0]));
+	}
+
+}
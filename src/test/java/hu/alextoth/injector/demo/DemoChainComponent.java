@@ -0,0 +1,26 @@
+package hu.alextoth.injector.demo;
+
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Inject;
+
+@Component
+public class DemoChainComponent {
+
+	private final DemoChainInjectable demoChainInjectable;
+
+	@Inject
+	private DemoChainInjectable injectedDemoChainInjectable;
+
+	public DemoChainComponent(DemoChainInjectable demoChainInjectable) {
+		this.demoChainInjectable = demoChainInjectable;
+	}
+
+	public DemoChainInjectable getDemoChainInjectable() {
+		return demoChainInjectable;
+	}
+
+	public DemoChainInjectable getInjectedDemoChainInjectable() {
+		return injectedDemoChainInjectable;
+	}
+
+}
@@ -0,0 +1,19 @@
+package hu.alextoth.injector.demo;
+
+import hu.alextoth.injector.annotation.Configuration;
+import hu.alextoth.injector.annotation.Injectable;
+
+@Configuration
+public class DemoChainConfiguration {
+
+	@Injectable
+	public DemoChainHolder getDemoChainHolder(DemoChainComponent demoChainComponent) {
+		return new DemoChainHolder(demoChainComponent);
+	}
+
+	@Injectable
+	public DemoChainInjectable getDemoChainInjectable() {
+		return new DemoChainInjectable();
+	}
+
+}
@@ -0,0 +1,15 @@
+package hu.alextoth.injector.demo;
+
+public class DemoChainHolder {
+
+	private final DemoChainComponent demoChainComponent;
+
+	public DemoChainHolder(DemoChainComponent demoChainComponent) {
+		this.demoChainComponent = demoChainComponent;
+	}
+
+	public DemoChainComponent getDemoChainComponent() {
+		return demoChainComponent;
+	}
+
+}
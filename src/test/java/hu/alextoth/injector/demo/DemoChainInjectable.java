@@ -0,0 +1,5 @@
+package hu.alextoth.injector.demo;
+
+public class DemoChainInjectable {
+
+}
@@ -0,0 +1,36 @@
+package hu.alextoth.injector.demo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.annotation.Value;
+
+@Component(lazy = true)
+public class DemoLazyComponent {
+
+	private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+
+	@Inject
+	private DemoInjectableTwo demoInjectableTwo;
+
+	@Value("lazy")
+	private String demoString;
+
+	public DemoLazyComponent() {
+		INSTANCE_COUNT.incrementAndGet();
+	}
+
+	public static int getInstanceCount() {
+		return INSTANCE_COUNT.get();
+	}
+
+	public DemoInjectableTwo getDemoInjectableTwo() {
+		return demoInjectableTwo;
+	}
+
+	public String getDemoString() {
+		return demoString;
+	}
+
+}
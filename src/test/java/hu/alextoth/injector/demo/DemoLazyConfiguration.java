@@ -0,0 +1,23 @@
+package hu.alextoth.injector.demo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import hu.alextoth.injector.annotation.Configuration;
+import hu.alextoth.injector.annotation.Injectable;
+
+@Configuration
+public class DemoLazyConfiguration {
+
+	private static final AtomicInteger INVOCATION_COUNT = new AtomicInteger();
+
+	@Injectable(alias = "lazyOne", lazy = true)
+	public DemoInjectableOne getLazyDemoInjectableOne() {
+		INVOCATION_COUNT.incrementAndGet();
+		return new DemoInjectableOne(2019, "lazyDependency");
+	}
+
+	public static int getInvocationCount() {
+		return INVOCATION_COUNT.get();
+	}
+
+}
@@ -0,0 +1,21 @@
+package hu.alextoth.injector.demo;
+
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.scope.Resettable;
+import hu.alextoth.injector.scope.Scope;
+
+@Component(scope = Scope.POOLED)
+public class DemoPooledComponent implements Resettable {
+
+	private final StringBuilder buffer = new StringBuilder();
+
+	public StringBuilder getBuffer() {
+		return buffer;
+	}
+
+	@Override
+	public void reset() {
+		buffer.setLength(0);
+	}
+
+}
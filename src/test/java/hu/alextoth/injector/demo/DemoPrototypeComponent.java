@@ -0,0 +1,17 @@
+package hu.alextoth.injector.demo;
+
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.scope.Scope;
+
+@Component(scope = Scope.PROTOTYPE)
+public class DemoPrototypeComponent {
+
+	@Inject
+	private DemoInjectableTwo demoInjectableTwo;
+
+	public DemoInjectableTwo getDemoInjectableTwo() {
+		return demoInjectableTwo;
+	}
+
+}
@@ -0,0 +1,48 @@
+package hu.alextoth.injector.demo;
+
+import hu.alextoth.injector.annotation.Alias;
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.provider.Lazy;
+import hu.alextoth.injector.provider.Provider;
+
+@Component
+public class DemoProviderComponent {
+
+	private final Provider<DemoPrototypeComponent> demoPrototypeComponentProvider;
+
+	@Inject
+	private Provider<DemoLazyComponent> demoLazyComponentProvider;
+
+	@Inject
+	private Lazy<DemoPrototypeComponent> demoPrototypeComponentLazy;
+
+	private Provider<DemoInjectableOne> demoInjectableOneProvider;
+
+	@Inject
+	public DemoProviderComponent(Provider<DemoPrototypeComponent> demoPrototypeComponentProvider) {
+		this.demoPrototypeComponentProvider = demoPrototypeComponentProvider;
+	}
+
+	@Inject
+	public void setDemoInjectableOneProvider(@Alias("alias1") Provider<DemoInjectableOne> demoInjectableOneProvider) {
+		this.demoInjectableOneProvider = demoInjectableOneProvider;
+	}
+
+	public Provider<DemoPrototypeComponent> getDemoPrototypeComponentProvider() {
+		return demoPrototypeComponentProvider;
+	}
+
+	public Provider<DemoLazyComponent> getDemoLazyComponentProvider() {
+		return demoLazyComponentProvider;
+	}
+
+	public Lazy<DemoPrototypeComponent> getDemoPrototypeComponentLazy() {
+		return demoPrototypeComponentLazy;
+	}
+
+	public Provider<DemoInjectableOne> getDemoInjectableOneProvider() {
+		return demoInjectableOneProvider;
+	}
+
+}
@@ -0,0 +1,20 @@
+package hu.alextoth.injector.demo;
+
+import hu.alextoth.injector.annotation.Configuration;
+import hu.alextoth.injector.annotation.Injectable;
+import hu.alextoth.injector.scope.Scope;
+
+@Configuration
+public class DemoScopeConfiguration {
+
+	@Injectable(alias = "threadOne", scope = Scope.THREAD)
+	public DemoInjectableOne getThreadDemoInjectableOne() {
+		return new DemoInjectableOne(2019, "threadDependency");
+	}
+
+	@Injectable(alias = "prototypeNine", scope = Scope.PROTOTYPE)
+	public DemoInjectableNine getPrototypeDemoInjectableNine() {
+		return new DemoInjectableNine(getThreadDemoInjectableOne());
+	}
+
+}
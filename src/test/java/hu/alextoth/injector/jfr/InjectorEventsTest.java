@@ -0,0 +1,82 @@
+package hu.alextoth.injector.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import hu.alextoth.injector.DependencyInjector;
+import hu.alextoth.injector.annotation.Alias;
+import hu.alextoth.injector.demo.DemoInjectableTwo;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class InjectorEventsTest {
+
+	@Test
+	public void testIsAvailable() {
+		assertTrue(InjectorEvents.isAvailable());
+	}
+
+	@Test
+	public void testDisabledEvents() {
+		assertNull(InjectorEvents.beginDependencyRequest());
+		assertNull(InjectorEvents.beginProxyInterception());
+
+		try (Recording recording = new Recording()) {
+			recording.enable(DependencyRequestEvent.class);
+			recording.start();
+
+			assertNotNull(InjectorEvents.beginDependencyRequest());
+			assertNull(InjectorEvents.beginProxyInterception());
+		}
+
+		assertNull(InjectorEvents.beginDependencyRequest());
+	}
+
+	@Test
+	public void testEvents() throws IOException {
+		Path recordingPath = Files.createTempFile("injector", ".jfr");
+
+		try (Recording recording = new Recording()) {
+			recording.enable(DependencyRequestEvent.class).withThreshold(null);
+			recording.enable(DependencyCreationEvent.class);
+			recording.enable(ProxyCreationEvent.class);
+			recording.enable(ProxyInterceptionEvent.class).withThreshold(null);
+			recording.start();
+
+			DependencyInjector dependencyInjector = new DependencyInjector("hu.alextoth.injector");
+			dependencyInjector.injectDependencies();
+			dependencyInjector.getDependency(DemoInjectableTwo.class, Alias.DEFAULT_ALIAS);
+
+			recording.stop();
+			recording.dump(recordingPath);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+		Files.delete(recordingPath);
+
+		Set<String> eventNames = events.stream().map(event -> event.getEventType().getName())
+				.collect(Collectors.toSet());
+		assertTrue(eventNames.contains("hu.alextoth.injector.DependencyRequest"));
+		assertTrue(eventNames.contains("hu.alextoth.injector.DependencyCreation"));
+		assertTrue(eventNames.contains("hu.alextoth.injector.ProxyCreation"));
+		assertTrue(eventNames.contains("hu.alextoth.injector.ProxyInterception"));
+
+		assertTrue(events.stream()
+				.filter(event -> "hu.alextoth.injector.DependencyRequest".equals(event.getEventType().getName()))
+				.filter(event -> event.getBoolean("cacheHit"))
+				.anyMatch(event -> DemoInjectableTwo.class.getName()
+						.equals(event.getClass("dependencyClass").getName())));
+	}
+
+}
@@ -0,0 +1,94 @@
+package hu.alextoth.injector.processor;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import hu.alextoth.injector.scan.ClasspathScanner;
+
+public class DependencyIndexProcessorTest {
+
+	private static final String COMPONENT_ENTRY = "TypeAnnotationsScanner\thu.alextoth.injector.annotation.Component\t";
+	private static final String INJECT_ENTRY = "FieldAnnotationsScanner\thu.alextoth.injector.annotation.Inject\t";
+
+	private Path directory;
+	private Path sourceDirectory;
+	private Path outputDirectory;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("dependency-index");
+		sourceDirectory = Files.createDirectories(directory.resolve("src/demo"));
+		outputDirectory = Files.createDirectories(directory.resolve("classes"));
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.walk(directory).sorted((path1, path2) -> path2.compareTo(path1)).forEach(path -> path.toFile().delete());
+	}
+
+	@Test
+	public void testFullCompilation() throws IOException {
+		compile(writeSource("A", "@Component public class A { @Inject private B b; }"),
+				writeSource("B", "@Component public class B { }"));
+
+		List<String> index = readIndex();
+		assertTrue(index.contains(COMPONENT_ENTRY + "demo.A"));
+		assertTrue(index.contains(COMPONENT_ENTRY + "demo.B"));
+		assertTrue(index.contains(INJECT_ENTRY + "demo.A.b"));
+	}
+
+	@Test
+	public void testIncrementalCompilation() throws IOException {
+		compile(writeSource("A", "@Component public class A { @Inject private B b; }"),
+				writeSource("B", "@Component public class B { }"));
+
+		compile(writeSource("A", "@Component public class A { private B b; @Inject private String value; }"));
+
+		List<String> index = readIndex();
+		assertTrue(index.contains(COMPONENT_ENTRY + "demo.A"));
+		assertTrue(index.contains(COMPONENT_ENTRY + "demo.B"));
+		assertTrue(index.contains(INJECT_ENTRY + "demo.A.value"));
+		assertFalse(index.contains(INJECT_ENTRY + "demo.A.b"));
+	}
+
+	private Path writeSource(String className, String classBody) throws IOException {
+		String source = "package demo;\n" + "import hu.alextoth.injector.annotation.Component;\n"
+				+ "import hu.alextoth.injector.annotation.Inject;\n" + classBody + "\n";
+		return Files.write(sourceDirectory.resolve(className + ".java"), source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void compile(Path... sourceFiles) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		String classPath = outputDirectory + File.pathSeparator + System.getProperty("java.class.path");
+		String[] options = { "-processor", DependencyIndexProcessor.class.getName(), "-d",
+				outputDirectory.toString(), "-classpath", classPath, "-sourcepath", "" };
+		String[] sources = Arrays.stream(sourceFiles).map(Path::toString).toArray(String[]::new);
+
+		String[] arguments = new String[options.length + sources.length];
+		System.arraycopy(options, 0, arguments, 0, options.length);
+		System.arraycopy(sources, 0, arguments, options.length, sources.length);
+
+		assertTrue(compiler.run(null, null, null, arguments) == 0);
+	}
+
+	private List<String> readIndex() throws IOException {
+		return Files.readAllLines(outputDirectory.resolve(ClasspathScanner.INDEX_LOCATION), StandardCharsets.UTF_8);
+	}
+
+}
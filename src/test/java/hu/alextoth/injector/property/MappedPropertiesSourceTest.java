@@ -0,0 +1,77 @@
+package hu.alextoth.injector.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MappedPropertiesSourceTest {
+
+	private static final String PROPERTIES = "# Demo properties\n" + "! with both comment styles\n"
+			+ "demo.host=localhost\n" + "demo.port : 8080\r\n" + "demo.name   Dependency Injector\n"
+			+ "   demo.path = /demo/\\\n" + "      injector\n" + "demo\\ key=spaced\n"
+			+ "demo.escaped=a\\tb\\u00e1\\\\\n"
+			+ "demo.utf8=árvíztűrő\n" + "demo.empty=\n" + "demo.host=example.com\n" + "demo.last=2018";
+
+	private Path propertiesFile;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		propertiesFile = Files.createTempFile("demo", ".properties");
+		Files.write(propertiesFile, PROPERTIES.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(propertiesFile);
+	}
+
+	@Test
+	public void testGetProperty() throws IOException {
+		MappedPropertiesSource mappedPropertiesSource = new MappedPropertiesSource(propertiesFile);
+
+		Properties properties = new Properties();
+		properties.load(new StringReader(PROPERTIES));
+
+		assertEquals(properties.size(), mappedPropertiesSource.size());
+		for (String key : properties.stringPropertyNames()) {
+			assertEquals(properties.getProperty(key), mappedPropertiesSource.getProperty(key));
+		}
+
+		assertEquals("example.com", mappedPropertiesSource.getProperty("demo.host"));
+		assertEquals("8080", mappedPropertiesSource.getProperty("demo.port"));
+		assertEquals("/demo/injector", mappedPropertiesSource.getProperty("demo.path"));
+		assertEquals("a\tbá\\", mappedPropertiesSource.getProperty("demo.escaped"));
+		assertEquals("árvíztűrő", mappedPropertiesSource.getProperty("demo.utf8"));
+		assertEquals("", mappedPropertiesSource.getProperty("demo.empty"));
+		assertNull(mappedPropertiesSource.getProperty("demo.missing"));
+	}
+
+	@Test
+	public void testIndexOnFirstAccess() throws IOException {
+		Path missingFile = propertiesFile.resolveSibling(propertiesFile.getFileName() + ".missing");
+		MappedPropertiesSource mappedPropertiesSource = new MappedPropertiesSource(missingFile);
+
+		assertThrows(IllegalStateException.class, () -> mappedPropertiesSource.getProperty("demo.host"));
+
+		Files.copy(propertiesFile, missingFile);
+		try {
+			assertEquals("2018", mappedPropertiesSource.getProperty("demo.last"));
+		} finally {
+			Files.delete(missingFile);
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> new MappedPropertiesSource(null));
+	}
+
+}
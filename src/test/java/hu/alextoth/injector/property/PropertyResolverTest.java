@@ -0,0 +1,69 @@
+package hu.alextoth.injector.property;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PropertyResolverTest {
+
+	private Map<String, String> environment;
+
+	private PropertyResolver propertyResolver;
+
+	@BeforeEach
+	public void setUp() {
+		environment = new HashMap<>();
+		environment.put("DEMO_HOST", "localhost");
+		environment.put("demo.port", "8080");
+
+		propertyResolver = new PropertyResolver(new EnvironmentPropertySource(environment));
+	}
+
+	@Test
+	public void testGetProperty() {
+		assertEquals("localhost", propertyResolver.getProperty("demo.host"));
+		assertEquals("localhost", propertyResolver.getProperty("demo-host"));
+		assertEquals("8080", propertyResolver.getProperty("demo.port"));
+		assertNull(propertyResolver.getProperty("demo.path"));
+
+		environment.put("DEMO_PATH", "/demo");
+		assertNull(propertyResolver.getProperty("demo.path"));
+
+		AtomicInteger requestCount = new AtomicInteger();
+		propertyResolver.addPropertySource(key -> {
+			requestCount.incrementAndGet();
+			return "demo.host".equals(key) ? "example.com" : null;
+		});
+		assertEquals("/demo", propertyResolver.getProperty("demo.path"));
+		assertEquals("localhost", propertyResolver.getProperty("demo.host"));
+		assertEquals(0, requestCount.get());
+
+		assertNull(propertyResolver.getProperty("demo.user"));
+		assertNull(propertyResolver.getProperty("demo.user"));
+		assertEquals(1, requestCount.get());
+
+		assertThrows(IllegalArgumentException.class, () -> propertyResolver.addPropertySource(null));
+		assertThrows(IllegalArgumentException.class, () -> new PropertyResolver((PropertySource) null));
+	}
+
+	@Test
+	public void testResolvePlaceholders() {
+		assertEquals("localhost", propertyResolver.resolvePlaceholders("localhost"));
+		assertEquals("localhost:8080", propertyResolver.resolvePlaceholders("${demo.host}:${demo.port}"));
+		assertEquals("http://localhost:8080/demo",
+				propertyResolver.resolvePlaceholders("http://${demo.host}:${demo.port}${demo.path:/demo}"));
+		assertEquals("http://localhost", propertyResolver.resolvePlaceholders("${demo.url:http://${demo.host}}"));
+		assertEquals("", propertyResolver.resolvePlaceholders("${demo.path:}"));
+
+		assertThrows(IllegalArgumentException.class, () -> propertyResolver.resolvePlaceholders("${demo.path}"));
+		assertThrows(IllegalArgumentException.class, () -> propertyResolver.resolvePlaceholders("${demo.host"));
+	}
+
+}
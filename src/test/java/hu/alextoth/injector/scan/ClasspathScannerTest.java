@@ -0,0 +1,165 @@
+package hu.alextoth.injector.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.FieldAnnotationsScanner;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.Scanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.serializers.Serializer;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+
+import com.google.common.collect.Lists;
+
+import hu.alextoth.injector.annotation.Alias;
+import hu.alextoth.injector.annotation.Component;
+import hu.alextoth.injector.annotation.Configuration;
+import hu.alextoth.injector.annotation.Inject;
+import hu.alextoth.injector.annotation.Injectable;
+import hu.alextoth.injector.annotation.Value;
+import hu.alextoth.injector.demo.DemoAnnotation;
+import hu.alextoth.injector.demo.DemoAnnotation2;
+import hu.alextoth.injector.demo.DemoInjectableFive;
+import hu.alextoth.injector.demo.DemoInjectableFour;
+import hu.alextoth.injector.demo.DemoValue;
+
+public class ClasspathScannerTest {
+
+	private static final String BASE_PACKAGE = "hu.alextoth.injector";
+	private static final String CACHED_PACKAGE = "org.reflections.scanners";
+	private static final String DEMO_PACKAGE = "hu.alextoth.injector.demo";
+
+	private static Reflections indexedReflections;
+	private static Reflections scannedReflections;
+
+	@BeforeAll
+	public static void setUp() {
+		indexedReflections = new ClasspathScanner().scan(BASE_PACKAGE);
+		scannedReflections = new Reflections(new ConfigurationBuilder()
+				.setScanners(new SubTypesScanner(false), new TypeAnnotationsScanner(), new FieldAnnotationsScanner(),
+						new MethodAnnotationsScanner())
+				.setUrls(ClasspathHelper.forPackage(BASE_PACKAGE)));
+	}
+
+	@Test
+	public void testIndexIsGenerated() {
+		assertNotNull(getClass().getClassLoader().getResource(ClasspathScanner.INDEX_LOCATION));
+	}
+
+	@Test
+	public void testScanMatchesClasspathScanning() {
+		Class<?>[] annotationTypes = { Component.class, Configuration.class, Injectable.class, Inject.class,
+				Alias.class, Value.class, DemoAnnotation.class, DemoAnnotation2.class, DemoValue.class };
+
+		for (Class<?> annotationType : annotationTypes) {
+			Class<? extends Annotation> annotation = annotationType.asSubclass(Annotation.class);
+			assertEquals(scannedReflections.getTypesAnnotatedWith(annotation),
+					indexedReflections.getTypesAnnotatedWith(annotation));
+			assertEquals(scannedReflections.getMethodsAnnotatedWith(annotation),
+					indexedReflections.getMethodsAnnotatedWith(annotation));
+			assertEquals(scannedReflections.getConstructorsAnnotatedWith(annotation),
+					indexedReflections.getConstructorsAnnotatedWith(annotation));
+			assertEquals(scannedReflections.getFieldsAnnotatedWith(annotation),
+					indexedReflections.getFieldsAnnotatedWith(annotation));
+		}
+
+		assertFalse(indexedReflections.getSubTypesOf(DemoInjectableFour.class).isEmpty());
+		assertEquals(scannedReflections.getSubTypesOf(DemoInjectableFour.class),
+				indexedReflections.getSubTypesOf(DemoInjectableFour.class));
+		assertEquals(scannedReflections.getSubTypesOf(DemoInjectableFive.class),
+				indexedReflections.getSubTypesOf(DemoInjectableFive.class));
+	}
+
+	@Test
+	public void testScanCache() throws IOException {
+		Path cacheFile = Files.createTempFile("scan", ".cache");
+		Files.delete(cacheFile);
+
+		try {
+			Reflections reflections = new Reflections(new ConfigurationBuilder().setScanners(new SubTypesScanner())
+					.setUrls(ClasspathHelper.forPackage(CACHED_PACKAGE)));
+			Reflections cachedReflections = new ClasspathScanner(new ScanCache(cacheFile)).scan(CACHED_PACKAGE);
+
+			assertTrue(Files.exists(cacheFile));
+			assertFalse(cachedReflections.getSubTypesOf(Scanner.class).isEmpty());
+			assertEquals(reflections.getSubTypesOf(Scanner.class), cachedReflections.getSubTypesOf(Scanner.class));
+
+			FileTime lastModifiedTime = Files.getLastModifiedTime(cacheFile);
+			Reflections readReflections = new ClasspathScanner(new ScanCache(cacheFile)).scan(CACHED_PACKAGE);
+
+			assertEquals(lastModifiedTime, Files.getLastModifiedTime(cacheFile));
+			assertEquals(reflections.getSubTypesOf(Scanner.class), readReflections.getSubTypesOf(Scanner.class));
+		} finally {
+			Files.deleteIfExists(cacheFile);
+		}
+	}
+
+	@Test
+	public void testMultiplePackagesInParallel() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			ClasspathScanner classpathScanner = new ClasspathScanner();
+			classpathScanner.setExecutor(executor);
+			Reflections reflections = classpathScanner.scan(BASE_PACKAGE, CACHED_PACKAGE);
+
+			assertEquals(indexedReflections.getTypesAnnotatedWith(Component.class),
+					reflections.getTypesAnnotatedWith(Component.class));
+			assertEquals(new ClasspathScanner().scan(CACHED_PACKAGE).getSubTypesOf(Scanner.class),
+					reflections.getSubTypesOf(Scanner.class));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testFilters() {
+		ClasspathScanner classpathScanner = new ClasspathScanner();
+		classpathScanner.setUrlFilter(ScanFilters.jarNameMatches("reflections-*.jar").negate());
+		assertTrue(classpathScanner.scan(CACHED_PACKAGE).getSubTypesOf(Scanner.class).isEmpty());
+
+		classpathScanner = new ClasspathScanner();
+		classpathScanner.setClassNameFilter(ScanFilters.inPackages("org.reflections.serializers"));
+		Reflections reflections = classpathScanner.scan(CACHED_PACKAGE);
+		assertTrue(reflections.getSubTypesOf(Scanner.class).isEmpty());
+		assertFalse(reflections.getSubTypesOf(Serializer.class).isEmpty());
+
+		classpathScanner = new ClasspathScanner();
+		classpathScanner.setClassNameFilter(ScanFilters.inPackages(DEMO_PACKAGE));
+		reflections = classpathScanner.scan(BASE_PACKAGE);
+		assertFalse(reflections.getFieldsAnnotatedWith(Inject.class).isEmpty());
+		assertTrue(reflections.getFieldsAnnotatedWith(Inject.class).stream()
+				.allMatch(field -> field.getDeclaringClass().getName().startsWith(DEMO_PACKAGE)));
+		assertTrue(reflections.getTypesAnnotatedWith(Component.class).stream()
+				.allMatch(type -> type.getName().startsWith(DEMO_PACKAGE)));
+	}
+
+	@Test
+	public void testScanClasses() {
+		ClasspathScanner classpathScanner = new ClasspathScanner();
+		classpathScanner.setClassNameFilter(ScanFilters.inPackages("org.reflections.serializers"));
+		Reflections reflections = classpathScanner.scan(CACHED_PACKAGE);
+		assertTrue(reflections.getSubTypesOf(Scanner.class).isEmpty());
+
+		classpathScanner.scanClasses(reflections, Lists.newArrayList(SubTypesScanner.class));
+		assertTrue(reflections.getSubTypesOf(Scanner.class).contains(SubTypesScanner.class));
+		assertFalse(reflections.getSubTypesOf(Scanner.class).contains(TypeAnnotationsScanner.class));
+		assertFalse(reflections.getSubTypesOf(Serializer.class).isEmpty());
+	}
+
+}
@@ -0,0 +1,126 @@
+package hu.alextoth.injector.scan;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ScanCacheTest {
+
+	private Path directory;
+	private Path cacheFile;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("scan-cache");
+		cacheFile = directory.resolve("scan.cache");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.walk(directory).sorted((path1, path2) -> path2.compareTo(path1)).forEach(path -> path.toFile().delete());
+	}
+
+	@Test
+	public void testSaveAndRead() throws IOException {
+		URL url = directory.toUri().toURL();
+		List<String[]> entries = Arrays.asList(new String[] { "SubTypesScanner", "java.lang.Object", "a.B" },
+				new String[] { "TypeAnnotationsScanner", "a.Component", "a.B" });
+
+		ScanCache scanCache = new ScanCache(cacheFile);
+		assertEquals(0, scanCache.size());
+
+		scanCache.put(url, 42L, entries);
+		scanCache.save();
+
+		ScanCache readScanCache = new ScanCache(cacheFile);
+		assertEquals(1, readScanCache.size());
+		assertNull(readScanCache.get(url, 43L));
+
+		List<String[]> readEntries = readScanCache.get(url, 42L);
+		assertEquals(entries.size(), readEntries.size());
+		for (int i = 0; i < entries.size(); i++) {
+			assertArrayEquals(entries.get(i), readEntries.get(i));
+		}
+	}
+
+	@Test
+	public void testUnreadableCacheFile() throws IOException {
+		Files.write(cacheFile, "not a scan cache".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(0, new ScanCache(cacheFile).size());
+	}
+
+	@Test
+	public void testCorruptedCacheFile() throws IOException {
+		URL url = directory.toUri().toURL();
+		List<String[]> entries = Collections
+				.singletonList(new String[] { "SubTypesScanner", "java.lang.Object", "a.B" });
+
+		ScanCache scanCache = new ScanCache(cacheFile);
+		scanCache.put(url, 42L, entries);
+		assertTrue(scanCache.save());
+
+		byte[] content = Files.readAllBytes(cacheFile);
+		content[content.length - 1] ^= 1;
+		Files.write(cacheFile, content);
+
+		assertEquals(0, new ScanCache(cacheFile).size());
+	}
+
+	@Test
+	public void testInvalidCountInCacheFile() throws IOException {
+		ByteBuffer content = ByteBuffer.allocate(24).putInt(1).putInt(Integer.MAX_VALUE);
+		CRC32 crc = new CRC32();
+		crc.update(content.array());
+
+		ByteBuffer cacheContent = ByteBuffer.allocate(40).putInt(0x44494E4A).putInt(2).putLong(crc.getValue())
+				.put(content.array());
+		Files.write(cacheFile, cacheContent.array());
+
+		assertEquals(0, new ScanCache(cacheFile).size());
+	}
+
+	@Test
+	public void testUnwritableCacheFile() throws IOException {
+		Path file = Files.createFile(directory.resolve("file"));
+
+		ScanCache scanCache = new ScanCache(file.resolve("scan.cache"));
+		scanCache.put(directory.toUri().toURL(), 42L, Collections.emptyList());
+		assertFalse(scanCache.save());
+	}
+
+	@Test
+	public void testGetFingerprintOf() throws IOException {
+		URL url = directory.toUri().toURL();
+		Path file = Files.write(directory.resolve("A.class"), new byte[] { 1, 2, 3 });
+
+		long fingerprint = ScanCache.getFingerprintOf(url);
+		assertNotEquals(ScanCache.NO_FINGERPRINT, fingerprint);
+		assertEquals(fingerprint, ScanCache.getFingerprintOf(url));
+
+		Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+		assertNotEquals(fingerprint, ScanCache.getFingerprintOf(url));
+
+		assertEquals(ScanCache.NO_FINGERPRINT, ScanCache.getFingerprintOf(new URL("http://localhost/")));
+	}
+
+}
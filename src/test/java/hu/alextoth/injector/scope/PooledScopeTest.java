@@ -0,0 +1,68 @@
+package hu.alextoth.injector.scope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import hu.alextoth.injector.demo.DemoPooledComponent;
+
+public class PooledScopeTest {
+
+	@Test
+	public void testGet() {
+		PooledScope pooledScope = new PooledScope(2);
+		AtomicInteger creationCount = new AtomicInteger();
+
+		DemoPooledComponent demoPooledComponent = (DemoPooledComponent) pooledScope.get("pooled", () -> {
+			creationCount.incrementAndGet();
+			return new DemoPooledComponent();
+		});
+		demoPooledComponent.getBuffer().append("used");
+
+		pooledScope.release("pooled", demoPooledComponent);
+		assertEquals(1, pooledScope.getPooledCount("pooled"));
+
+		assertSame(demoPooledComponent, pooledScope.get("pooled", DemoPooledComponent::new));
+		assertEquals(0, demoPooledComponent.getBuffer().length());
+		assertEquals(0, pooledScope.getPooledCount("pooled"));
+		assertNotSame(demoPooledComponent, pooledScope.get("pooled", DemoPooledComponent::new));
+		assertEquals(1, creationCount.get());
+	}
+
+	@Test
+	public void testReleaseToFullPool() {
+		PooledScope pooledScope = new PooledScope(2);
+
+		pooledScope.release("pooled", new DemoPooledComponent());
+		pooledScope.release("pooled", new DemoPooledComponent());
+		pooledScope.release("pooled", new DemoPooledComponent());
+		pooledScope.release("pooled", null);
+
+		assertEquals(2, pooledScope.getPooledCount("pooled"));
+		assertEquals(0, pooledScope.getPooledCount("other"));
+	}
+
+	@Test
+	public void testReleaseTwice() {
+		PooledScope pooledScope = new PooledScope(2);
+		DemoPooledComponent demoPooledComponent = new DemoPooledComponent();
+
+		pooledScope.release("pooled", demoPooledComponent);
+		pooledScope.release("pooled", demoPooledComponent);
+		assertEquals(1, pooledScope.getPooledCount("pooled"));
+
+		assertSame(demoPooledComponent, pooledScope.get("pooled", DemoPooledComponent::new));
+		assertNotSame(demoPooledComponent, pooledScope.get("pooled", DemoPooledComponent::new));
+	}
+
+	@Test
+	public void testInvalidCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new PooledScope(0));
+	}
+
+}
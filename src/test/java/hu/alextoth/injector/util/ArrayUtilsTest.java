@@ -1,8 +1,10 @@
 package hu.alextoth.injector.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -134,6 +136,22 @@ public class ArrayUtilsTest {
 		assertEquals(0, shorts.length);
 	}
 
+	@Test
+	public void testCopyOf() {
+		int[] ints = { 2018, 12, 26 };
+		int[] intsCopy = (int[]) ArrayUtils.copyOf(ints);
+		assertNotSame(ints, intsCopy);
+		assertArrayEquals(ints, intsCopy);
+
+		String[] strings = { "2018", "12", "26" };
+		String[] stringsCopy = (String[]) ArrayUtils.copyOf(strings);
+		assertNotSame(strings, stringsCopy);
+		assertArrayEquals(strings, stringsCopy);
+
+		assertThrows(IllegalArgumentException.class, () -> ArrayUtils.copyOf(null));
+		assertThrows(IllegalArgumentException.class, () -> ArrayUtils.copyOf("2018"));
+	}
+
 	@Test
 	public void testIsPrimitiveArray() {
 		assertTrue(ArrayUtils.isPrimitiveArray(int[].class));